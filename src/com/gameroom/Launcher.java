@@ -1,8 +1,9 @@
 package com.gameroom;
 
 import com.gameroom.data.game.GameFolderManager;
+import com.gameroom.data.game.NameNormalizer;
 import com.gameroom.data.game.entry.GameEntryUtils;
-import com.gameroom.data.game.scraper.IGDBScraper;
+import com.gameroom.data.http.images.ImageCache;
 import com.gameroom.data.io.DataBase;
 import com.gameroom.data.io.FileUtils;
 import com.gameroom.data.migration.OldGameEntry;
@@ -24,6 +25,7 @@ import org.apache.logging.log4j.LogManager;
 import org.boris.winrun4j.DDE;
 import org.boris.winrun4j.SplashScreen;
 import com.gameroom.system.application.Monitor;
+import com.gameroom.system.application.SessionJournal;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.system.device.ControllerButtonListener;
 import com.gameroom.system.device.GameController;
@@ -137,7 +139,6 @@ public class Launcher extends Application {
             DDE.addActivationListener(s -> open(MAIN_SCENE.getParentStage()));
             DDE.ready();
         }
-        IGDBScraper.init();
 
         setSplashscreenText("Checking files...");
         initFiles();
@@ -155,8 +156,11 @@ public class Launcher extends Application {
         Main.main(args);
         setSplashscreenText("Migrating games...");
         OldGameEntry.transferOldGameEntries();
+        //play time of sessions interrupted by a crash must be added before games are loaded
+        SessionJournal.getInstance().recover();
         setSplashscreenText("Loading games...");
         GameEntryUtils.loadGames();
+        Main.getExecutorService().submit(GameEntryUtils::collectImageGarbage);
 
         String gameToStartID = getArg(ARGS_START_GAME, args, true);
         if (gameToStartID != null) {
@@ -228,7 +232,12 @@ public class Launcher extends Application {
         Main.FILES_MAP.put("pictures", FileUtils.initOrCreateFolder(gameRoomFolder + File.separator + "pictures"));
         Main.FILES_MAP.put("cover", FileUtils.initOrCreateFolder(Main.FILES_MAP.get("pictures").getAbsolutePath() + File.separator + "cover"));
         Main.FILES_MAP.put("screenshot", FileUtils.initOrCreateFolder(Main.FILES_MAP.get("pictures").getAbsolutePath() + File.separator + "screenshot"));
+        //kept between runs, unlike the cache folder
+        Main.FILES_MAP.put("image_cache", FileUtils.initOrCreateFolder(Main.FILES_MAP.get("pictures").getAbsolutePath() + File.separator + "cache"));
         Main.FILES_MAP.put("games_log", FileUtils.initOrCreateFolder(Main.FILES_MAP.get("log").getAbsolutePath() + File.separator + "games"));
+        Main.FILES_MAP.put("name_rules", new File(gameRoomFolder + File.separator + NameNormalizer.USER_RULES_FILE));
+
+        NameNormalizer.loadUserRules(Main.FILES_MAP.get("name_rules"));
 
     }
 
@@ -454,6 +463,7 @@ public class Launcher extends Application {
     @Override
     public void stop() {
         Main.LOGGER.info("Closing app, saving settings.");
+        Main.LOGGER.info("Image cache: " + ImageCache.getInstance());
         if (MAIN_SCENE != null) {
             Main.runAndWait(() -> {
                 MAIN_SCENE.saveScrollBarVValue();
@@ -2,6 +2,7 @@ package com.gameroom.data;
 
 import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.entry.GameEntry;
+import com.gameroom.data.game.scraper.IGDBLookupBatcher;
 import com.gameroom.data.game.scraper.IGDBScraper;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import org.json.JSONArray;
@@ -11,6 +12,10 @@ import org.json.JSONException;
  * Created by LM on 11/01/2017.
  */
 public class LevenshteinDistance {
+    /**
+     * Rows of the DP matrix used by {@link #boundedDistance(CharSequence, CharSequence, int)}, by thread
+     */
+    private final static ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[][]{new int[64], new int[64]});
 
     public static int distance(String a, String b) {
         a = a.toLowerCase();
@@ -32,6 +37,78 @@ public class LevenshteinDistance {
         return costs[b.length()];
     }
 
+    /**
+     * Computes the edit distance between two strings, giving up as soon as it is known to be greater than maxDistance.
+     * Only the cells of the DP matrix at most maxDistance away from its diagonal are computed, in two rows reused by
+     * the calling thread. Unlike {@link #distance(String, String)}, this is case sensitive : strings are expected to be
+     * normalized already, see {@link GameWatcher#formatNameForComparison(String)}.
+     *
+     * @param a           the first string
+     * @param b           the second string
+     * @param maxDistance the greatest distance we are interested in
+     * @return the distance between a and b if it is at most maxDistance, maxDistance + 1 otherwise
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public static int boundedDistance(CharSequence a, CharSequence b, int maxDistance) {
+        int n = a.length();
+        int m = b.length();
+        int over = maxDistance + 1;
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance cannot be negative : " + maxDistance);
+        }
+        if (Math.abs(n - m) > maxDistance) {
+            return over;
+        }
+        int[][] rows = getRows(m + 1);
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= maxDistance ? j : over;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(m, i + maxDistance);
+            current[0] = i <= maxDistance ? i : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = from == 1 ? current[0] : over;
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int value = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                value = Math.min(value, previous[j] + 1);
+                value = Math.min(value, current[j - 1] + 1);
+                if (value > over) {
+                    value = over;
+                }
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (to < m) {
+                //outside of the band, read by the next row
+                current[to + 1] = over;
+            }
+            if (rowMin > maxDistance) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], over);
+    }
+
+    private static int[][] getRows(int length) {
+        int[][] rows = ROWS.get();
+        if (rows[0].length < length) {
+            rows = new int[][]{new int[length], new int[length]};
+            ROWS.set(rows);
+        }
+        return rows;
+    }
+
     public static int closestName(String searchedName, JSONArray searchResult) throws JSONException {
         int closestId = -1;
         int minDistance = -1;
@@ -53,30 +130,49 @@ public class LevenshteinDistance {
     }
 
     public static GameEntry getClosestEntry(String searchedName, JSONArray searchResults, int maxDistance) throws JSONException, UnirestException {
-        if (searchResults != null) {
-            int minDistance = -1;
-            int jsonIndex = 0;
-            for (int i = 0; i < searchResults.length(); i++) {
-                String name = searchResults.getJSONObject(i).getString("name");
+        return getClosestEntry(searchedName, searchResults, maxDistance, null);
+    }
 
-                String cleanName = GameWatcher.formatNameForComparison(name);
-                String cleanMSName = GameWatcher.formatNameForComparison(searchedName);
-                int distance = LevenshteinDistance.distance(cleanMSName, cleanName);
-                if (minDistance == -1 || distance < minDistance) {
-                    minDistance = distance;
-                    jsonIndex = i;
-                }
-                if (minDistance < maxDistance) {
-                    break;
-                }
-            }
-            if (minDistance >= 0 && minDistance < maxDistance) {
-                return IGDBScraper.getGameEntries(searchResults).get(jsonIndex);
-            }
+    /**
+     * Builds the {@link GameEntry} of the closest search result, see {@link #getClosestIndex(String, JSONArray, int)}.
+     * Other results are not built, so that no request is made for their companies and series.
+     *
+     * @param batcher batcher of the current scrap session used to fetch companies and series, may be null
+     */
+    public static GameEntry getClosestEntry(String searchedName, JSONArray searchResults, int maxDistance, IGDBLookupBatcher batcher) throws JSONException, UnirestException {
+        int jsonIndex = getClosestIndex(searchedName, searchResults, maxDistance);
+        if (jsonIndex != -1) {
+            return IGDBScraper.getGameEntry(searchResults.getJSONObject(jsonIndex), batcher);
         }
         return null;
     }
 
+    /**
+     * Compares the normalized names of the search results to the normalized searched name, which is normalized only
+     * once. Each distance is bounded by the best one found so far, so that most results are discarded after a few
+     * rows, and the search stops at the first exact match.
+     *
+     * @return the index in the search results of the game whose name is the closest to the searched one, the first one
+     * in case of a tie, or -1 if none is closer than maxDistance
+     */
+    public static int getClosestIndex(String searchedName, JSONArray searchResults, int maxDistance) throws JSONException {
+        if (searchResults == null) {
+            return -1;
+        }
+        String cleanSearchedName = GameWatcher.formatNameForComparison(searchedName);
+        int closestIndex = -1;
+        int minDistance = maxDistance;
+        for (int i = 0; i < searchResults.length() && minDistance > 0; i++) {
+            String cleanName = GameWatcher.formatNameForComparison(searchResults.getJSONObject(i).getString("name"));
+            int distance = boundedDistance(cleanSearchedName, cleanName, minDistance - 1);
+            if (distance < minDistance) {
+                minDistance = distance;
+                closestIndex = i;
+            }
+        }
+        return closestIndex;
+    }
+
     /*public static List<Integer> getSortedIds(String searchedName, JSONArray resultArray) throws JSONException{
         ArrayList<SortingItem> items = new ArrayList<>();
         for (Object obj : resultArray) {
@@ -2,30 +2,26 @@ package com.gameroom.data.game;
 
 import com.gameroom.ui.dialog.GameRoomAlert;
 import com.gameroom.ui.dialog.NonScrapedListDialog;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import com.gameroom.data.LevenshteinDistance;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.entry.GameEntryUtils;
 import com.gameroom.data.game.scanner.*;
-import com.gameroom.data.game.scraper.IGDBScraper;
-import com.gameroom.data.http.images.ImageUtils;
+import com.gameroom.data.game.scraper.IGDBResponseCache;
+import com.gameroom.data.game.scraper.ScrapPipeline;
+import com.gameroom.data.http.HTTPClient;
 import com.gameroom.data.io.FileUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import javafx.application.Platform;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
-import org.json.JSONArray;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.ui.GeneralToast;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.control.button.gamebutton.GameButton;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.concurrent.*;
 
@@ -55,7 +51,8 @@ public class GameWatcher {
     private Runnable scanningTask;
     private Future scanningFuture;
 
-    private volatile boolean alreadyDisplayedIGDBError = false;
+    private final CopyOnWriteArrayList<ScrapSession> scrapSessions = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<ScrapPipeline.OnProgressHandler> onScrapProgressListeners = new CopyOnWriteArrayList<>();
 
 
     public static GameWatcher getInstance() {
@@ -130,10 +127,19 @@ public class GameWatcher {
         }
 
 
-        scrapEntries(entriesToAdd);
+        try {
+            scrapEntries(entriesToAdd).get();
+        } catch (InterruptedException e) {
+            LOGGER.error(TAG + "interrupted while scraping");
+            cancelScraping();
+        } catch (ExecutionException e) {
+            LOGGER.error(TAG + "error while scraping");
+            e.printStackTrace();
+        }
 
         LOGGER.info(TAG + "search ended.");
-        LOGGER.info(TAG + IGDBScraper.REQUEST_COUNTER + " IGDB requests made ");
+        LOGGER.info(TAG + "IGDB requests: " + IGDBResponseCache.getInstance());
+        LOGGER.info(TAG + "HTTP requests: " + HTTPClient.getInstance().getMetrics());
         for (Runnable onSeachDone : onSearchDoneListeners) {
             if (onSeachDone != null) {
                 onSeachDone.run();
@@ -206,132 +212,30 @@ public class GameWatcher {
     }
 
 
-    private void scrapEntries(CopyOnWriteArrayList<GameEntry> entriesToScrap) {
-        HashSet<Callable<Object>> tasks = new HashSet<>();
-        CopyOnWriteArrayList<GameEntry> failedScrapedEntries = new CopyOnWriteArrayList<>();
-        CopyOnWriteArrayList<CountDownLatch> latches = new CopyOnWriteArrayList<>();
-
-        if (MAIN_SCENE != null) {
-            GeneralToast.displayToast(Main.getString("fetching_data_igdb"), MAIN_SCENE.getParentStage(), GeneralToast.DURATION_SHORT);
-        }
-        LOGGER.info(TAG + "Now scraping found games");
-
-        alreadyDisplayedIGDBError = false;
+    /**
+     * Scraps the given entries in a new {@link ScrapSession}. Once it ends, the user is warned about entries that could
+     * not be scraped and can choose to scrap them again.
+     *
+     * @param entriesToScrap entries to scrap, those not waiting to be scraped, already being scraped or ignored are skipped
+     * @return a future completed when the session has ended
+     */
+    private CompletableFuture<Void> scrapEntries(Collection<GameEntry> entriesToScrap) {
+        ArrayList<GameEntry> entries = new ArrayList<>();
         for (GameEntry entry : entriesToScrap) {
             if (entry.isWaitingToBeScrapped() && !entry.isBeingScraped() && !GameEntryUtils.isGameIgnored(entry)) {
-                CountDownLatch latch = new CountDownLatch(1);
-                latches.add(latch);
-                Callable task = () -> {
-                    try {
-                        entry.setSavedLocally(true);
-                        entry.setBeingScraped(true);
-                        entry.setSavedLocally(false);
-                        Platform.runLater(() -> MAIN_SCENE.updateGame(entry));
-
-                        int platformId = entry.getPlatform().getIGDBId();
-                        if (platformId == -1 && entry.getPlatform().isPCLauncher()) {
-                            platformId = com.gameroom.data.game.entry.Platform.PC.getIGDBId();
-                        }
-                        JSONArray search_results = IGDBScraper.searchGame(entry.getName(),
-                                false,
-                                platformId
-                        );
-                        GameEntry scrapedEntry = LevenshteinDistance.getClosestEntry(entry.getName(), search_results, 10);
-                        if (scrapedEntry != null) {
-                            scrapedEntry.setIgdb_id(scrapedEntry.getIgdb_id());
-                            LOGGER.debug(TAG + "Added scrapped info to game \"" + scrapedEntry.getName() + "\"");
-                            entry.setSavedLocally(true);
-                            if (entry.getDescription() == null || scrapedEntry.getDescription().equals("")) {
-                                entry.setDescription(scrapedEntry.getDescription());
-                            }
-                            if (entry.getReleaseDate() == null) {
-                                entry.setReleaseDate(scrapedEntry.getReleaseDate());
-                            }
-                            entry.setThemes(scrapedEntry.getThemes());
-                            entry.setGenres(scrapedEntry.getGenres());
-                            entry.setSerie(scrapedEntry.getSerie());
-                            entry.setDevelopers(scrapedEntry.getDevelopers());
-                            entry.setPublishers(scrapedEntry.getPublishers());
-                            entry.setIgdb_id(scrapedEntry.getIgdb_id());
-                            entry.setSavedLocally(false);
-
-                            ImageUtils.downloadIGDBImageToCache(scrapedEntry.getIgdb_id()
-                                    , scrapedEntry.getIgdb_imageHash(0)
-                                    , ImageUtils.IGDB_TYPE_COVER
-                                    , ImageUtils.IGDB_SIZE_BIG_2X
-                                    , outputFile -> {
-                                        try {
-                                            entry.setSavedLocally(true);
-                                            entry.updateImage(0, outputFile);
-                                            entry.setSavedLocally(false);
-                                        } catch (Exception e) {
-                                            Main.LOGGER.error(TAG + "could not move image for game " + entry.getName());
-                                            e.printStackTrace();
-                                        }
-
-                                        ImageUtils.downloadIGDBImageToCache(entry.getIgdb_id()
-                                                , scrapedEntry.getIgdb_imageHash(1)
-                                                , ImageUtils.IGDB_TYPE_SCREENSHOT
-                                                , ImageUtils.IGDB_SIZE_BIG_2X
-                                                , outputfile1 -> {
-                                                    try {
-                                                        entry.setSavedLocally(true);
-                                                        entry.updateImage(1, outputfile1);
-                                                        entry.setSavedLocally(false);
-                                                    } catch (Exception e) {
-                                                        Main.LOGGER.error(TAG + "could not move image for game " + entry.getName());
-                                                        e.printStackTrace();
-                                                    }
-                                                    entry.setSavedLocally(true);
-                                                    entry.setWaitingToBeScrapped(false);
-                                                    entry.setBeingScraped(false);
-                                                    entry.setSavedLocally(false);
-                                                    Platform.runLater(() -> MAIN_SCENE.updateGame(entry));
-                                                });
-                                    });
-                        } else {
-                            LOGGER.warn(TAG + "No match for game \"" + entry.getName() + "\".");
-                            entry.setSavedLocally(true);
-                            entry.setBeingScraped(false);
-                            entry.setWaitingToBeScrapped(false);
-                            entry.setSavedLocally(false);
-                            Platform.runLater(() -> MAIN_SCENE.updateGame(entry));
-                        }
-
-                    } catch (Exception e) {
-                        entry.setSavedLocally(true);
-                        if (e instanceof UnirestException) {
-                            LOGGER.error(TAG + "UnirestError for game \"" + entry.getName() + "\": " + e.getMessage());
-                            entry.setWaitingToBeScrapped(true);
-                        } else {
-                            LOGGER.error(TAG + "Error for game \"" + entry.getName() + "\": " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                        failedScrapedEntries.add(entry);
-                        entry.setBeingScraped(false);
-                        entry.setSavedLocally(false);
-                        Platform.runLater(() -> MAIN_SCENE.updateGame(entry));
-                    }
-                    latch.countDown();
-                    return null;
-                };
-                tasks.add(task);
+                entries.add(entry);
             }
         }
 
-        //adds here the final task that will warn the user that some games could not be scraped
-        //and offers him to rescrap selected entries
-        tasks.add(() -> {
-            int count = latches.size();
-            for (CountDownLatch latch : latches) {
-                try {
-                    latch.await();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                //LOGGER.debug(TAG + (--count) + " scrap latches left");
-            }
+        if (MAIN_SCENE != null) {
+            GeneralToast.displayToast(Main.getString("fetching_data_igdb"), MAIN_SCENE.getParentStage(), GeneralToast.DURATION_SHORT);
+        }
+        LOGGER.info(TAG + "Now scraping " + entries.size() + " found games");
 
+        ScrapSession session = new ScrapSession(entries, this::onScrapProgress);
+        scrapSessions.add(session);
+        return session.start().thenAccept(failedScrapedEntries -> {
+            scrapSessions.remove(session);
             if (!failedScrapedEntries.isEmpty()) {
                 LOGGER.debug(TAG + failedScrapedEntries.size() + " failed scraped entries to display");
                 Platform.runLater(() -> {
@@ -346,7 +250,7 @@ public class GameWatcher {
                                 entry.setSavedLocally(false);
                             });
                             if (!dialog.getSelectedEntries().isEmpty()) {
-                                scrapEntries(new CopyOnWriteArrayList<>(dialog.getSelectedEntries()));
+                                scrapEntries(dialog.getSelectedEntries());
                             }
                         }
                     });
@@ -354,17 +258,24 @@ public class GameWatcher {
             } else {
                 LOGGER.debug(TAG + "No failed scraped entries to display");
             }
-            return null;
         });
+    }
 
-        try {
-            Main.getExecutorService().invokeAll(tasks);
-        } catch (InterruptedException e) {
-            LOGGER.error(TAG + "error starting tasks");
-            e.printStackTrace();
-        }
-
+    private void onScrapProgress(ScrapPipeline.Progress progress) {
+        Platform.runLater(() -> {
+            for (ScrapPipeline.OnProgressHandler listener : onScrapProgressListeners) {
+                listener.onProgress(progress);
+            }
+        });
+    }
 
+    /**
+     * Cancels the running scrap sessions. Entries that were not scraped yet will be scraped during the next scan.
+     */
+    public void cancelScraping() {
+        for (ScrapSession session : scrapSessions) {
+            session.cancel();
+        }
     }
 
     private void scanNewOnlineGamesRoutine() {
@@ -408,35 +319,15 @@ public class GameWatcher {
         return null;
     }
 
+    /**
+     * @return the name cleaned by {@link NameNormalizer}, in lower case and without spaces and punctuation
+     */
     public static String formatNameForComparison(String name) {
-        return cleanName(name).toLowerCase()
-                .replace(":", "")
-                .replace("-", "")
-                .replace("_", "")
-                .replace(".", "")
-                .replace("!", "")
-                .replace("?", "")
-                .replace(" ", "");//remove spaces for a cleaner comparison;
+        return NameNormalizer.getInstance().formatForComparison(name);
     }
 
     public static String cleanName(String name) {
-        return name.replace(".", " ")
-                .replace("\u00AE", "")//registered symbol
-                .replace("\u00A9", "")//copyright symbol
-                .replace("\u2122", "")//TM symbol
-                .replace("32bit", "")
-                .replace("32 bit", "")
-                .replace("64bit", "")
-                .replace("64 bit", "")
-                .replace("x86", "")
-                .replace("x64", "")
-                .replace("()", "")
-                .replaceAll("\\(.*\\)", "")
-                .replaceAll("\\[.*\\]", "")
-                .replaceAll("\\{.*\\}", "")
-                .replaceAll("for Windows 10", "")
-                .replaceAll("for Windows", "")
-                .trim();
+        return NameNormalizer.getInstance().clean(name);
     }
 
     public static String cleanNameForDisplay(String name, String[] possibleExtensions) {
@@ -469,6 +360,15 @@ public class GameWatcher {
         }
     }
 
+    /**
+     * @param onScrapProgress called on the JavaFX thread with the progress of running scrap sessions
+     */
+    public void addOnScrapProgressListener(ScrapPipeline.OnProgressHandler onScrapProgress) {
+        if (onScrapProgress != null) {
+            onScrapProgressListeners.add(onScrapProgress);
+        }
+    }
+
     private static GameEntry getGameWithIGDBId(int id, Collection<GameEntry> collection) {
         if (collection == null || collection.isEmpty()) {
             return null;
@@ -0,0 +1,384 @@
+package com.gameroom.data.game;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Cleans the names of games found by scanners, for display and for comparison with the names of other entries or of
+ * IGDB search results. The rules are compiled once into lookup tables, then applied in a single pass over the name,
+ * writing to a buffer reused by each thread, so that a name needing no change costs no allocation at all.
+ * <p>
+ * Rules are of the following kinds :
+ * - dropped chars, removed wherever they are (trademark symbols...)
+ * - mapped chars, replaced by another char ('.' by ' ')
+ * - removed texts (bitness tags, platform suffixes...). When several start at the same position, the longest wins.
+ * Texts are matched against the name with chars already mapped or dropped.
+ * - removed segments, from the first opening char to the last closing char ("(...)", "[...]", "{...}")
+ * <p>
+ * Users can add their own rules in the file given to {@link #loadUserRules(File)}, one rule per line :
+ * "remove=[text]", "segment=[opening char][closing char]" or "drop=[chars]". Lines starting with '#' are ignored.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class NameNormalizer {
+    private final static String TAG = "NameNormalizer: ";
+    public final static String USER_RULES_FILE = "name_rules.txt";
+
+    private final static char DROP = '\uFFFF';
+    private final static int TABLE_SIZE = 256;
+
+    private final static ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private static volatile NameNormalizer instance = defaultBuilder().build();
+
+    /** mapping of chars under {@link #TABLE_SIZE}, {@link #DROP} for dropped chars */
+    private final char[] charTable = new char[TABLE_SIZE];
+    /** mapping of other chars, sorted by source char */
+    private final char[] otherCharsFrom;
+    private final char[] otherCharsTo;
+    /** removed texts starting with a char under {@link #TABLE_SIZE}, indexed by this char and sorted longest first */
+    private final char[][][] textsByFirstChar = new char[TABLE_SIZE][][];
+    /** removed texts starting with another char, sorted longest first */
+    private final char[][] otherTexts;
+    private final char[] segmentOpenings;
+    private final char[] segmentClosings;
+    private final boolean[] comparisonDropTable = new boolean[TABLE_SIZE];
+    private final String otherComparisonDrops;
+
+    private NameNormalizer(Builder builder) {
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            charTable[c] = c;
+        }
+        TreeMap<Character, Character> otherChars = new TreeMap<>();
+        for (Map.Entry<Character, Character> entry : builder.charMapping.entrySet()) {
+            if (entry.getKey() < TABLE_SIZE) {
+                charTable[entry.getKey()] = entry.getValue();
+            } else {
+                otherChars.put(entry.getKey(), entry.getValue());
+            }
+        }
+        otherCharsFrom = new char[otherChars.size()];
+        otherCharsTo = new char[otherChars.size()];
+        int index = 0;
+        for (Map.Entry<Character, Character> entry : otherChars.entrySet()) {
+            otherCharsFrom[index] = entry.getKey();
+            otherCharsTo[index++] = entry.getValue();
+        }
+
+        HashMap<Character, ArrayList<char[]>> textsByChar = new HashMap<>();
+        ArrayList<char[]> others = new ArrayList<>();
+        for (String text : builder.removedTexts) {
+            char[] mappedText = mapText(text);
+            if (mappedText.length == 0) {
+                continue;
+            }
+            if (mappedText[0] < TABLE_SIZE) {
+                textsByChar.computeIfAbsent(mappedText[0], c -> new ArrayList<>()).add(mappedText);
+            } else {
+                others.add(mappedText);
+            }
+        }
+        Comparator<char[]> longestFirst = (a, b) -> Integer.compare(b.length, a.length);
+        for (Map.Entry<Character, ArrayList<char[]>> entry : textsByChar.entrySet()) {
+            entry.getValue().sort(longestFirst);
+            textsByFirstChar[entry.getKey()] = entry.getValue().toArray(new char[0][]);
+        }
+        others.sort(longestFirst);
+        otherTexts = others.toArray(new char[0][]);
+
+        segmentOpenings = new char[builder.segments.size()];
+        segmentClosings = new char[builder.segments.size()];
+        for (int i = 0; i < builder.segments.size(); i++) {
+            segmentOpenings[i] = builder.segments.get(i)[0];
+            segmentClosings[i] = builder.segments.get(i)[1];
+        }
+
+        StringBuilder otherDrops = new StringBuilder();
+        for (char c : builder.comparisonDrops.toString().toCharArray()) {
+            if (c < TABLE_SIZE) {
+                comparisonDropTable[c] = true;
+            } else {
+                otherDrops.append(c);
+            }
+        }
+        otherComparisonDrops = otherDrops.toString();
+    }
+
+    /**
+     * @return the normalizer with the default rules and, once loaded, the rules of the user
+     */
+    public static NameNormalizer getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return a builder holding the default rules of GameRoom
+     */
+    public static Builder defaultBuilder() {
+        return new Builder()
+                .mapChar('.', ' ')
+                .dropChars("\u00AE\u00A9\u2122") //registered, copyright and TM symbols
+                .remove("32bit", "32 bit", "64bit", "64 bit", "x86", "x64")
+                .remove("for Windows 10", "for Windows")
+                .removeSegment('(', ')')
+                .removeSegment('[', ']')
+                .removeSegment('{', '}')
+                .dropForComparison(":-_.!? ");
+    }
+
+    /**
+     * Adds the rules of the given file, if it exists, to the default ones. Keeps the current rules if the file could
+     * not be read.
+     *
+     * @param file file containing the rules of the user, see {@link Builder#addRules(Reader)}
+     */
+    public static void loadUserRules(File file) {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            instance = defaultBuilder().addRules(reader).build();
+            LOGGER.info(TAG + "Loaded name rules from \"" + file.getAbsolutePath() + "\"");
+        } catch (IOException e) {
+            LOGGER.error(TAG + "Could not read name rules from \"" + file.getAbsolutePath() + "\": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param name name to clean
+     * @return the name without the parts matched by the rules, trimmed. This is the given string if nothing was removed.
+     */
+    public String clean(String name) {
+        Buffer buffer = BUFFERS.get();
+        int length = apply(name, buffer);
+        int start = 0;
+        while (start < length && buffer.chars[start] <= ' ') {
+            start++;
+        }
+        while (length > start && buffer.chars[length - 1] <= ' ') {
+            length--;
+        }
+        if (!buffer.changed && start == 0 && length == name.length()) {
+            return name;
+        }
+        return new String(buffer.chars, start, length - start);
+    }
+
+    /**
+     * @param name name to format
+     * @return the cleaned name, in lower case and without the chars dropped for comparison (spaces, punctuation...)
+     */
+    public String formatForComparison(String name) {
+        Buffer buffer = BUFFERS.get();
+        int length = apply(name, buffer);
+        char[] chars = buffer.chars;
+        int start = 0;
+        while (start < length && chars[start] <= ' ') {
+            start++;
+        }
+        while (length > start && chars[length - 1] <= ' ') {
+            length--;
+        }
+        int written = 0;
+        for (int i = start; i < length; i++) {
+            char c = Character.toLowerCase(chars[i]);
+            if (c < TABLE_SIZE ? !comparisonDropTable[c] : otherComparisonDrops.indexOf(c) == -1) {
+                chars[written++] = c;
+            }
+        }
+        return new String(chars, 0, written);
+    }
+
+    /**
+     * Writes the name to the buffer of the thread, applying all rules but trimming.
+     *
+     * @return the length of the result in the buffer
+     */
+    private int apply(String name, Buffer buffer) {
+        int nameLength = name.length();
+        char[] chars = buffer.ensureCapacity(nameLength, segmentOpenings.length);
+        int[] segmentStarts = buffer.segmentStarts;
+        Arrays.fill(segmentStarts, 0, segmentOpenings.length, -1);
+        boolean changed = false;
+        int length = 0;
+
+        int i = 0;
+        while (i < nameLength) {
+            char original = name.charAt(i);
+            char c = map(original);
+            if (c == DROP) {
+                changed = true;
+                i++;
+                continue;
+            }
+            int textEnd = matchText(name, i, c);
+            if (textEnd != -1) {
+                changed = true;
+                i = textEnd;
+                continue;
+            }
+            changed |= c != original;
+            chars[length++] = c;
+            i++;
+
+            for (int s = 0; s < segmentOpenings.length; s++) {
+                if (c == segmentClosings[s] && segmentStarts[s] != -1) {
+                    //the start is kept, so that a later closing char removes up to it too
+                    length = segmentStarts[s];
+                    changed = true;
+                    for (int other = 0; other < segmentOpenings.length; other++) {
+                        if (other != s && segmentStarts[other] >= length) {
+                            segmentStarts[other] = -1;
+                        }
+                    }
+                    break;
+                } else if (c == segmentOpenings[s] && segmentStarts[s] == -1) {
+                    segmentStarts[s] = length - 1;
+                }
+            }
+        }
+        buffer.changed = changed;
+        return length;
+    }
+
+    /**
+     * @return the index following the longest removed text starting at the given index of the name, or -1 if there is none
+     */
+    private int matchText(String name, int start, char mappedFirst) {
+        char[][] candidates = mappedFirst < TABLE_SIZE ? textsByFirstChar[mappedFirst] : otherTexts;
+        if (candidates == null) {
+            return -1;
+        }
+        for (char[] text : candidates) {
+            if (text[0] != mappedFirst) {
+                continue;
+            }
+            int i = start + 1;
+            int matched = 1;
+            while (matched < text.length && i < name.length()) {
+                char c = map(name.charAt(i++));
+                if (c == DROP) {
+                    continue;
+                }
+                if (c != text[matched]) {
+                    break;
+                }
+                matched++;
+            }
+            if (matched == text.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private char map(char c) {
+        if (c < TABLE_SIZE) {
+            return charTable[c];
+        }
+        int index = Arrays.binarySearch(otherCharsFrom, c);
+        return index < 0 ? c : otherCharsTo[index];
+    }
+
+    private char[] mapText(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = map(text.charAt(i));
+            if (c != DROP) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toCharArray();
+    }
+
+    private static class Buffer {
+        private char[] chars = new char[128];
+        private int[] segmentStarts = new int[8];
+        private boolean changed;
+
+        private char[] ensureCapacity(int length, int segmentCount) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            if (segmentStarts.length < segmentCount) {
+                segmentStarts = new int[segmentCount];
+            }
+            return chars;
+        }
+    }
+
+    /**
+     * Collects the rules of a {@link NameNormalizer}
+     */
+    public static class Builder {
+        private final LinkedHashMap<Character, Character> charMapping = new LinkedHashMap<>();
+        private final ArrayList<String> removedTexts = new ArrayList<>();
+        private final ArrayList<char[]> segments = new ArrayList<>();
+        private final StringBuilder comparisonDrops = new StringBuilder();
+
+        public Builder mapChar(char from, char to) {
+            charMapping.put(from, to);
+            return this;
+        }
+
+        public Builder dropChars(String chars) {
+            for (char c : chars.toCharArray()) {
+                charMapping.put(c, DROP);
+            }
+            return this;
+        }
+
+        public Builder remove(String... texts) {
+            removedTexts.addAll(Arrays.asList(texts));
+            return this;
+        }
+
+        public Builder removeSegment(char opening, char closing) {
+            segments.add(new char[]{opening, closing});
+            return this;
+        }
+
+        /**
+         * @param chars chars removed from names formatted with {@link #formatForComparison(String)}, in lower case
+         */
+        public Builder dropForComparison(String chars) {
+            comparisonDrops.append(chars);
+            return this;
+        }
+
+        /**
+         * Reads rules written one per line, as "remove=[text]", "segment=[opening char][closing char]" or
+         * "drop=[chars]". Empty lines and lines starting with '#' are ignored, invalid ones are logged and ignored.
+         */
+        public Builder addRules(Reader reader) throws IOException {
+            BufferedReader bufferedReader = new BufferedReader(reader);
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                String kind = separator == -1 ? "" : line.substring(0, separator).trim();
+                String value = separator == -1 ? "" : line.substring(separator + 1);
+                if (kind.equals("remove") && !value.isEmpty()) {
+                    remove(value);
+                } else if (kind.equals("segment") && value.length() == 2) {
+                    removeSegment(value.charAt(0), value.charAt(1));
+                } else if (kind.equals("drop") && !value.isEmpty()) {
+                    dropChars(value);
+                } else {
+                    LOGGER.warn(TAG + "Ignored invalid name rule \"" + line + "\"");
+                }
+            }
+            return this;
+        }
+
+        public NameNormalizer build() {
+            return new NameNormalizer(this);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.gameroom.data.game;
+
+import com.gameroom.data.LevenshteinDistance;
+import com.gameroom.data.game.entry.GameEntry;
+import com.gameroom.data.game.scraper.IGDBLookupBatcher;
+import com.gameroom.data.game.scraper.IGDBScraper;
+import com.gameroom.data.game.scraper.IGDBTitleIndex;
+import com.gameroom.data.game.scraper.ScrapPipeline;
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.images.ImageUtils;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import javafx.application.Platform;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gameroom.ui.Main.LOGGER;
+import static com.gameroom.ui.Main.MAIN_SCENE;
+
+/**
+ * Scraps IGDB data for a collection of {@link GameEntry}s, through a {@link ScrapPipeline} made of the following stages :
+ * - search : resolves the name of the entry with the {@link IGDBTitleIndex} of titles already known, else searches it on IGDB
+ * - match : picks the closest search result, entries without one leave the pipeline here
+ * - enrich : builds the matched game only, with companies and series fetched together for all entries (see
+ * {@link IGDBLookupBatcher}), and copies its metadata to the entry. Every entry is a participant of the batcher from
+ * the start of the session, and leaves it once enriched or once it left the pipeline at an earlier stage. A batch is
+ * sent as soon as all the enrich workers wait for it, so that entries still being searched do not hold it back.
+ * - cover and screenshot : download the matched game's images and set them to the entry
+ * <p>
+ * Searches run at most {@link #SEARCH_WORKERS} at a time, which is what {@link HTTPClient} allows on the API server
+ * anyway, and are retried when the server could not be reached. Entries whose search or enrichment failed are returned
+ * once the session ends, so that the user can choose to scrap them again.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ScrapSession {
+    private final static String TAG = "ScrapSession: ";
+    private final static int MAX_LEVENSHTEIN_DISTANCE = 10;
+    private final static int MAX_RETRIES = 2;
+    private final static int QUEUE_CAPACITY = 32;
+
+    private final static int SEARCH_WORKERS = HTTPClient.DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    private final static int MATCH_WORKERS = 1;
+    private final static int ENRICH_WORKERS = 8;
+    private final static int COVER_WORKERS = 4;
+    private final static int SCREENSHOT_WORKERS = 4;
+
+    public final static String STAGE_SEARCH = "search";
+    public final static String STAGE_MATCH = "match";
+    public final static String STAGE_ENRICH = "enrich";
+    public final static String STAGE_COVER = "cover";
+    public final static String STAGE_SCREENSHOT = "screenshot";
+
+    private final ArrayList<GameEntry> entries;
+    private final ScrapPipeline<ScrapJob> pipeline;
+    private final IGDBLookupBatcher lookupBatcher;
+    private final CopyOnWriteArrayList<GameEntry> failedEntries = new CopyOnWriteArrayList<>();
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+    private CompletableFuture<IGDBTitleIndex> titleIndex;
+
+    /**
+     * @param entries    the entries to scrap
+     * @param onProgress called periodically from a background thread with the progress of the session, may be null
+     */
+    public ScrapSession(Collection<GameEntry> entries, ScrapPipeline.OnProgressHandler onProgress) {
+        this.entries = new ArrayList<>(entries);
+        lookupBatcher = new IGDBLookupBatcher(this.entries.size()).setWorkers(ENRICH_WORKERS);
+        //cover and screenshot stages download from the same host
+        HTTPClient.getInstance().setMaxConnections(ImageUtils.IGDB_IMAGE_HOST, COVER_WORKERS + SCREENSHOT_WORKERS);
+
+        pipeline = new ScrapPipeline<ScrapJob>("Scrap")
+                .addStage(new ScrapPipeline.Stage<ScrapJob>(STAGE_SEARCH, SEARCH_WORKERS, QUEUE_CAPACITY, this::search)
+                        .retryOn(UnirestException.class, MAX_RETRIES))
+                .addStage(new ScrapPipeline.Stage<>(STAGE_MATCH, MATCH_WORKERS, QUEUE_CAPACITY, this::match))
+                .addStage(new ScrapPipeline.Stage<>(STAGE_ENRICH, ENRICH_WORKERS, QUEUE_CAPACITY, this::enrich))
+                .addStage(new ScrapPipeline.Stage<>(STAGE_COVER, COVER_WORKERS, QUEUE_CAPACITY, this::downloadCover))
+                .addStage(new ScrapPipeline.Stage<>(STAGE_SCREENSHOT, SCREENSHOT_WORKERS, QUEUE_CAPACITY, this::downloadScreenshot))
+                .setOnItemDone(this::onJobDone);
+        if (onProgress != null) {
+            pipeline.setOnProgress(onProgress, ScrapPipeline.DEFAULT_REPORT_PERIOD);
+        }
+    }
+
+    /**
+     * Marks the entries as being scraped and starts the pipeline.
+     *
+     * @return a future completed with the entries that could not be scraped, once all entries have been processed
+     */
+    public CompletableFuture<List<GameEntry>> start() {
+        ArrayList<ScrapJob> jobs = new ArrayList<>();
+        for (GameEntry entry : entries) {
+            entry.setSavedLocally(true);
+            entry.setBeingScraped(true);
+            entry.setSavedLocally(false);
+            updateGame(entry);
+            jobs.add(new ScrapJob(entry));
+        }
+        titleIndex = CompletableFuture.supplyAsync(IGDBTitleIndex::load);
+        return pipeline.start(jobs).thenApply(aVoid -> {
+            LOGGER.info(TAG + resolvedCount.get() + " games resolved with known titles, IGDB lookups: " + lookupBatcher);
+            return new ArrayList<>(failedEntries);
+        });
+    }
+
+    /**
+     * Stops the session. Entries not scraped yet stay waiting to be scraped, for the next scan.
+     */
+    public void cancel() {
+        pipeline.cancel();
+    }
+
+    public ScrapPipeline.Progress getProgress() {
+        return pipeline.getProgress();
+    }
+
+    private boolean search(ScrapJob job) throws UnirestException {
+        IGDBTitleIndex.Match knownTitle = titleIndex.join().resolve(job.entry.getName());
+        if (knownTitle != null) {
+            JSONObject gameData = knownTitle.getGameData();
+            if (gameData == null) {
+                //title only known from the DB, fetching the game by id is cheaper than a search
+                gameData = IGDBScraper.getGameData(knownTitle.getIgdbId());
+            }
+            if (gameData != null) {
+                LOGGER.debug(TAG + "Resolved game \"" + job.entry.getName() + "\" as \"" + knownTitle.getTitle()
+                        + "\" (confidence " + knownTitle.getConfidence() + ")");
+                job.searchResults = new JSONArray().put(gameData);
+                job.resolved = true;
+                resolvedCount.incrementAndGet();
+                return true;
+            }
+        }
+
+        int platformId = job.entry.getPlatform().getIGDBId();
+        if (platformId == -1 && job.entry.getPlatform().isPCLauncher()) {
+            platformId = com.gameroom.data.game.entry.Platform.PC.getIGDBId();
+        }
+        job.searchResults = IGDBScraper.searchGame(job.entry.getName(), false, platformId);
+        return true;
+    }
+
+    private boolean match(ScrapJob job) {
+        if (job.resolved) {
+            //may have been resolved with an alternative name, not close to the one of the game
+            job.matchIndex = 0;
+            return true;
+        }
+        job.matchIndex = LevenshteinDistance.getClosestIndex(job.entry.getName(), job.searchResults, MAX_LEVENSHTEIN_DISTANCE);
+        if (job.matchIndex == -1) {
+            LOGGER.warn(TAG + "No match for game \"" + job.entry.getName() + "\".");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean enrich(ScrapJob job) {
+        GameEntry scrapedEntry;
+        try {
+            scrapedEntry = IGDBScraper.getGameEntry(job.searchResults.getJSONObject(job.matchIndex), lookupBatcher);
+        } finally {
+            leaveLookupBatcher(job);
+        }
+        job.scrapedEntry = scrapedEntry;
+
+        GameEntry entry = job.entry;
+        LOGGER.debug(TAG + "Added scrapped info to game \"" + scrapedEntry.getName() + "\"");
+        entry.setSavedLocally(true);
+        if (entry.getDescription() == null || scrapedEntry.getDescription().equals("")) {
+            entry.setDescription(scrapedEntry.getDescription());
+        }
+        if (entry.getReleaseDate() == null) {
+            entry.setReleaseDate(scrapedEntry.getReleaseDate());
+        }
+        entry.setThemes(scrapedEntry.getThemes());
+        entry.setGenres(scrapedEntry.getGenres());
+        entry.setSerie(scrapedEntry.getSerie());
+        entry.setDevelopers(scrapedEntry.getDevelopers());
+        entry.setPublishers(scrapedEntry.getPublishers());
+        entry.setIgdb_id(scrapedEntry.getIgdb_id());
+        entry.setSavedLocally(false);
+        return true;
+    }
+
+    private boolean downloadCover(ScrapJob job) {
+        downloadImage(job, 0, ImageUtils.IGDB_TYPE_COVER);
+        return true;
+    }
+
+    private boolean downloadScreenshot(ScrapJob job) {
+        downloadImage(job, 1, ImageUtils.IGDB_TYPE_SCREENSHOT);
+        return true;
+    }
+
+    /**
+     * Downloads an image of the matched game and sets it to the entry. A missing image does not make the entry fail.
+     */
+    private static void downloadImage(ScrapJob job, int index, String type) {
+        String imageHash = job.scrapedEntry.getIgdb_imageHash(index);
+        if (imageHash == null) {
+            return;
+        }
+        File outputFile = ImageUtils.downloadIGDBImage(job.scrapedEntry.getIgdb_id(), imageHash, type, ImageUtils.IGDB_SIZE_BIG_2X);
+        if (outputFile == null) {
+            return;
+        }
+        try {
+            job.entry.setSavedLocally(true);
+            job.entry.updateImage(index, outputFile);
+            job.entry.setSavedLocally(false);
+        } catch (IOException e) {
+            LOGGER.error(TAG + "could not move image for game " + job.entry.getName());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Makes the job leave the {@link IGDBLookupBatcher}, once, so that the other entries do not wait for its lookup
+     */
+    private void leaveLookupBatcher(ScrapJob job) {
+        if (!job.leftLookupBatcher) {
+            job.leftLookupBatcher = true;
+            lookupBatcher.leave();
+        }
+    }
+
+    private void onJobDone(ScrapJob job, Exception error) {
+        //entries dropped or failed before being enriched
+        leaveLookupBatcher(job);
+        GameEntry entry = job.entry;
+        entry.setSavedLocally(true);
+        if (error == null) {
+            entry.setWaitingToBeScrapped(false);
+        } else if (error instanceof CancellationException) {
+            LOGGER.debug(TAG + "Scrap of game \"" + entry.getName() + "\" cancelled");
+        } else {
+            if (error instanceof UnirestException) {
+                LOGGER.error(TAG + "UnirestError for game \"" + entry.getName() + "\": " + error.getMessage());
+                entry.setWaitingToBeScrapped(true);
+            } else {
+                LOGGER.error(TAG + "Error for game \"" + entry.getName() + "\": " + error.getMessage());
+                error.printStackTrace();
+            }
+            failedEntries.add(entry);
+        }
+        entry.setBeingScraped(false);
+        entry.setSavedLocally(false);
+        updateGame(entry);
+    }
+
+    private static void updateGame(GameEntry entry) {
+        if (MAIN_SCENE != null) {
+            Platform.runLater(() -> MAIN_SCENE.updateGame(entry));
+        }
+    }
+
+    /**
+     * State of the scrap of one entry, filled as it goes through the stages
+     */
+    private static class ScrapJob {
+        private final GameEntry entry;
+        private JSONArray searchResults;
+        private boolean resolved = false;
+        private int matchIndex = -1;
+        private GameEntry scrapedEntry;
+        private boolean leftLookupBatcher = false;
+
+        private ScrapJob(GameEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
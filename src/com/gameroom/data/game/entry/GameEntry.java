@@ -1,5 +1,9 @@
 package com.gameroom.data.game.entry;
 
+import com.gameroom.data.http.images.CoverThumbnails;
+import com.gameroom.data.http.images.ImageCache;
+import com.gameroom.data.http.images.ImageDimensions;
+import com.gameroom.data.http.images.ImageStore;
 import com.gameroom.data.io.DataBase;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.image.Image;
@@ -9,8 +13,6 @@ import org.apache.commons.lang.StringEscapeUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -324,13 +326,24 @@ public class GameEntry {
         File currFile = getImagePath(index);
         if (currFile == null) {
             return null;
-        } else if (currFile.exists()) {
-            return new Image("file:" + File.separator + File.separator + File.separator + currFile.getAbsolutePath(), width, height, preserveRatio, smooth, backGroundloading);
+        } else if (backGroundloading) {
+            //images loading in background can not be weighed yet, so are not cached
+            return new Image("file:" + File.separator + File.separator + File.separator + resolveImageFile(currFile).getAbsolutePath(), width, height, preserveRatio, smooth, true);
         } else {
-            return new Image("file:" + File.separator + File.separator + File.separator + Main.FILES_MAP.get("working_dir") + File.separator + currFile.getPath(), width, height, preserveRatio, smooth, backGroundloading);
+            return ImageCache.getInstance().get(resolveImageFile(currFile), width, height, preserveRatio, smooth);
         }
     }
 
+    /**
+     * @return the given file if it exists, else the file with the same path relative to GameRoom's folder
+     */
+    private static File resolveImageFile(File file) {
+        if (file.exists()) {
+            return file;
+        }
+        return new File(Main.FILES_MAP.get("working_dir") + File.separator + file.getPath());
+    }
+
     /**
      * Should not be used to create a new imageView, use getImage instead
      *
@@ -488,18 +501,35 @@ public class GameEntry {
 
                 File localFile = new File(path);
 
-                Files.copy(newImageFile.getAbsoluteFile().toPath()
-                        , localFile.getAbsoluteFile().toPath()
-                        , StandardCopyOption.REPLACE_EXISTING);
+                ImageStore.getInstance().store(newImageFile.getAbsoluteFile(), localFile.getAbsoluteFile());
+                ImageCache.getInstance().invalidate(localFile);
+                ImageDimensions.getInstance().record(localFile);
+                File previousFile = imagesFiles[index];
+                if (previousFile != null && !previousFile.getAbsoluteFile().equals(localFile.getAbsoluteFile())) {
+                    //an image with another extension would be found first when loading the entry
+                    releaseImage(index, previousFile);
+                }
 
                 imagesFiles[index] = localFile;
+                if (index == 0) {
+                    CoverThumbnails.getInstance().regenerate(localFile);
+                }
             }else if(imagesFiles[index] != null & newImageFile == null){
-                imagesFiles[index].delete();
+                releaseImage(index, imagesFiles[index]);
                 imagesFiles[index] = null;
             }
         }
     }
 
+    private static void releaseImage(int index, File imageFile) {
+        ImageStore.getInstance().release(imageFile);
+        ImageCache.getInstance().invalidate(imageFile);
+        ImageDimensions.getInstance().invalidate(imageFile);
+        if (index == 0) {
+            CoverThumbnails.getInstance().delete(imageFile);
+        }
+    }
+
     public int getPlatformGameID() {
         return platformGameId;
     }
@@ -3,6 +3,10 @@ package com.gameroom.data.game.entry;
 import com.gameroom.data.game.GameFolderManager;
 import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.scanner.FolderGameScanner;
+import com.gameroom.data.http.images.CoverThumbnails;
+import com.gameroom.data.http.images.BackgroundRenderer;
+import com.gameroom.data.http.images.ImageStore;
+import com.gameroom.data.http.images.ImageUtils;
 import com.gameroom.data.io.DataBase;
 import com.gameroom.ui.Main;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -12,6 +16,8 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import static com.gameroom.ui.Main.FILES_MAP;
@@ -133,6 +139,67 @@ public class GameEntryUtils {
         Main.LOGGER.info("Removed game : " + entry.getName());
     }
 
+    /**
+     * Deletes the images of the games which are not in the database anymore, then the images of the
+     * {@link ImageStore} that no game references, and trims the cache of downloaded images. This lists every folder of
+     * images, so it should be run in background.
+     */
+    public static void collectImageGarbage() {
+        HashSet<Integer> ids = new HashSet<>();
+        int maxId = -1;
+        try {
+            Statement statement = DataBase.getUserConnection().createStatement();
+            ResultSet set = statement.executeQuery("select id from GameEntry");
+            while (set.next()) {
+                ids.add(set.getInt(1));
+                maxId = Math.max(maxId, set.getInt(1));
+            }
+            statement.close();
+        } catch (SQLException e) {
+            //better keep orphans than delete images of existing games
+            LOGGER.error("Could not list games to delete orphan images: " + e.getMessage());
+            return;
+        }
+        deleteOrphanImages(FILES_MAP.get("cover"), ids, maxId, true);
+        deleteOrphanImages(FILES_MAP.get("screenshot"), ids, maxId, false);
+        ImageStore.getInstance().collectGarbage();
+        ImageUtils.trimImageCache();
+        BackgroundRenderer.getInstance().trim();
+    }
+
+    /**
+     * Deletes the images named after the id of a game which is not in the given ones. Ids greater than the max one are
+     * kept, as they may belong to games added since.
+     */
+    private static void deleteOrphanImages(File folder, Set<Integer> ids, int maxId, boolean covers) {
+        File[] files = folder.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        int deletedCount = 0;
+        for (File file : files) {
+            String name = file.getName();
+            int dotIndex = name.indexOf('.');
+            int id;
+            try {
+                id = Integer.parseInt(dotIndex == -1 ? name : name.substring(0, dotIndex));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (id > maxId || ids.contains(id)) {
+                continue;
+            }
+            ImageStore.getInstance().release(file);
+            if (covers) {
+                CoverThumbnails.getInstance().delete(file);
+            }
+            deletedCount++;
+        }
+        if (deletedCount > 0) {
+            LOGGER.info("Deleted " + deletedCount + " images of removed games in " + folder.getAbsolutePath());
+        }
+    }
+
     public static String coverPath(GameEntry entry) {
         File coverFolder = FILES_MAP.get("cover");
         return coverFolder.getAbsolutePath() + File.separator + entry.getId();
@@ -0,0 +1,127 @@
+package com.gameroom.data.game.scraper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+
+/**
+ * Data read from the AppxManifest.xml file located in the install folder of each Microsoft Store app. Only the few
+ * values GameRoom needs are read, see {@link #read(InputStream)}.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class AppxManifest {
+    public final static String FILE_NAME = "AppxManifest.xml";
+    private final static String DEFAULT_APPLICATION_ID = "App";
+
+    private final static XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private String displayName;
+    private String logo;
+    private String applicationId = DEFAULT_APPLICATION_ID;
+    private String executable;
+
+    private AppxManifest() {
+    }
+
+    /**
+     * Reads the given manifest.
+     *
+     * @param manifestFile an AppxManifest.xml file
+     * @return a {@link AppxManifest} with the values found in the file
+     * @throws IOException if the file could not be read or is not valid XML
+     */
+    public static AppxManifest read(File manifestFile) throws IOException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(manifestFile))) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Pulls the DisplayName and Logo elements of "Properties" and the attributes of the first "Application" element.
+     * As "Properties" comes before "Applications" in a manifest, reading stops once the first application has been
+     * read, and the rest of the file (capabilities, extensions...) is never parsed.
+     *
+     * @param stream the content of an AppxManifest.xml file, not closed by this method
+     * @return a {@link AppxManifest} with the values found in the stream
+     * @throws IOException if the stream could not be read or is not valid XML
+     */
+    public static AppxManifest read(InputStream stream) throws IOException {
+        AppxManifest manifest = new AppxManifest();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+            boolean inProperties = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("Properties")) {
+                        inProperties = true;
+                    } else if (inProperties && name.equals("DisplayName")) {
+                        manifest.displayName = reader.getElementText().trim();
+                    } else if (inProperties && name.equals("Logo")) {
+                        manifest.logo = reader.getElementText().trim();
+                    } else if (name.equals("Application")) {
+                        String id = reader.getAttributeValue(null, "Id");
+                        if (id != null && !id.isEmpty()) {
+                            manifest.applicationId = id;
+                        }
+                        manifest.executable = reader.getAttributeValue(null, "Executable");
+                        break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("Properties")) {
+                    inProperties = false;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed manifest: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * @return the name displayed in the Microsoft Store, which may be a "ms-resource:" reference
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return the path of the app logo, relative to the install folder and with Windows separators
+     */
+    public String getLogo() {
+        return logo;
+    }
+
+    /**
+     * @return the id of the first application of the package, "App" if none is given
+     */
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    /**
+     * @return the path of the executable of the first application, relative to the install folder and with Windows
+     * separators, or null if none is given
+     */
+    public String getExecutable() {
+        return executable;
+    }
+}
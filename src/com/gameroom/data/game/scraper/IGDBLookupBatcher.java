@@ -0,0 +1,277 @@
+package com.gameroom.data.game.scraper;
+
+import com.gameroom.data.game.entry.Company;
+import com.gameroom.data.game.entry.Serie;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Collects the ids of the {@link Company}s and {@link Serie}s unknown to the DB that the entries of a scrap session
+ * need, and fetches them from the API server in as few requests as possible.
+ * <p>
+ * The session is made of a number of participants (typically one per scraped entry), given at creation. Each of them
+ * calls {@link #lookup(Collection, Collection)} at most once, which blocks until its ids have been fetched, then
+ * {@link #leave()} when done. Ids are deduplicated across participants and sent by batches of at most
+ * {@link #MAX_BATCH_SIZE} once every remaining participant is waiting, once every thread that can look up is waiting
+ * (see {@link #setWorkers(int)}), or as soon as a full batch is pending. A participant never waits more than
+ * {@link #MAX_WAIT} ms for slower ones before the pending ids are sent.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class IGDBLookupBatcher {
+    private final static String TAG = "IGDBLookupBatcher: ";
+    public final static int MAX_BATCH_SIZE = 50;
+    public final static long MAX_WAIT = 2000;
+
+    private final static ScheduledExecutorService FLUSH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "IGDBLookupBatcher-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Fetcher companiesFetcher;
+    private final Fetcher seriesFetcher;
+    private final HashMap<Integer, CompletableFuture<JSONObject>> companies = new HashMap<>();
+    private final HashMap<Integer, CompletableFuture<JSONObject>> series = new HashMap<>();
+    private final LinkedHashSet<Integer> pendingCompanies = new LinkedHashSet<>();
+    private final LinkedHashSet<Integer> pendingSeries = new LinkedHashSet<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private int activeParticipants;
+    private int workers = Integer.MAX_VALUE;
+    private int waitingParticipants = 0;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param participants number of participants of the session, each of which must call {@link #leave()} once
+     */
+    public IGDBLookupBatcher(int participants) {
+        this(participants, IGDBScraper::getCompaniesData, IGDBScraper::getSeriesData);
+    }
+
+    public IGDBLookupBatcher(int participants, Fetcher companiesFetcher, Fetcher seriesFetcher) {
+        this.activeParticipants = participants;
+        this.companiesFetcher = companiesFetcher;
+        this.seriesFetcher = seriesFetcher;
+    }
+
+    /**
+     * Registers the given ids, and waits until all of them have been fetched, by this participant or another one.
+     *
+     * @param companyIds IGDB ids of the {@link Company}s needed
+     * @param serieIds   IGDB ids of the {@link Serie}s needed
+     * @return the data of the ids, in the format returned by the API server. Ids that could not be fetched are missing.
+     */
+    public Lookup lookup(Collection<Integer> companyIds, Collection<Integer> serieIds) {
+        LinkedHashMap<Integer, CompletableFuture<JSONObject>> companyFutures = new LinkedHashMap<>();
+        LinkedHashMap<Integer, CompletableFuture<JSONObject>> serieFutures = new LinkedHashMap<>();
+        Batch batch;
+        synchronized (this) {
+            register(companyIds, companies, pendingCompanies, companyFutures);
+            register(serieIds, series, pendingSeries, serieFutures);
+            waitingParticipants++;
+            batch = takeBatchIfReady();
+        }
+        fetch(batch);
+
+        ArrayList<CompletableFuture<JSONObject>> futures = new ArrayList<>(companyFutures.values());
+        futures.addAll(serieFutures.values());
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            //futures are never completed exceptionally
+            e.printStackTrace();
+        }
+        synchronized (this) {
+            waitingParticipants--;
+        }
+        return new Lookup(toJSONArray(companyFutures), toJSONArray(serieFutures));
+    }
+
+    /**
+     * Sets the number of threads that call {@link #lookup(Collection, Collection)}, e.g. the workers of a stage of a
+     * pipeline. Once they are all waiting, no other participant can add ids until the batch is sent, so it is sent
+     * right away instead of after {@link #MAX_WAIT} ms.
+     *
+     * @param workers the number of threads looking up, unbounded by default
+     * @return this batcher
+     */
+    public synchronized IGDBLookupBatcher setWorkers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Signals that a participant will not call {@link #lookup(Collection, Collection)} anymore, so that the others do
+     * not wait for it.
+     */
+    public void leave() {
+        Batch batch;
+        synchronized (this) {
+            activeParticipants--;
+            batch = takeBatchIfReady();
+        }
+        fetch(batch);
+    }
+
+    /**
+     * @return the number of requests sent to the API server so far
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return companies.size() + " companies and " + series.size() + " series fetched in " + requestCount.get() + " requests";
+    }
+
+    private static void register(Collection<Integer> ids, HashMap<Integer, CompletableFuture<JSONObject>> futures,
+                                 LinkedHashSet<Integer> pending, Map<Integer, CompletableFuture<JSONObject>> result) {
+        if (ids == null) {
+            return;
+        }
+        for (Integer id : ids) {
+            result.put(id, futures.computeIfAbsent(id, key -> {
+                pending.add(key);
+                return new CompletableFuture<>();
+            }));
+        }
+    }
+
+    /**
+     * Must be called while holding the lock. Takes the pending ids if they should be sent now, else makes sure they
+     * will be sent at the latest in {@link #MAX_WAIT} ms.
+     *
+     * @return the ids to send, or null if there is nothing to send yet
+     */
+    private Batch takeBatchIfReady() {
+        if (pendingCompanies.isEmpty() && pendingSeries.isEmpty()) {
+            return null;
+        }
+        boolean everyoneWaiting = waitingParticipants >= Math.min(activeParticipants, workers);
+        boolean fullBatch = pendingCompanies.size() >= MAX_BATCH_SIZE || pendingSeries.size() >= MAX_BATCH_SIZE;
+        if (!everyoneWaiting && !fullBatch) {
+            if (scheduledFlush == null) {
+                scheduledFlush = FLUSH_SCHEDULER.schedule(this::flush, MAX_WAIT, TimeUnit.MILLISECONDS);
+            }
+            return null;
+        }
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Batch batch = new Batch(new ArrayList<>(pendingCompanies), new ArrayList<>(pendingSeries));
+        pendingCompanies.clear();
+        pendingSeries.clear();
+        return batch;
+    }
+
+    private void flush() {
+        Batch batch;
+        synchronized (this) {
+            scheduledFlush = null;
+            batch = new Batch(new ArrayList<>(pendingCompanies), new ArrayList<>(pendingSeries));
+            pendingCompanies.clear();
+            pendingSeries.clear();
+        }
+        fetch(batch);
+    }
+
+    private void fetch(Batch batch) {
+        if (batch == null) {
+            return;
+        }
+        fetch(batch.companyIds, companiesFetcher, companies);
+        fetch(batch.serieIds, seriesFetcher, series);
+    }
+
+    private void fetch(List<Integer> ids, Fetcher fetcher, HashMap<Integer, CompletableFuture<JSONObject>> futures) {
+        for (int start = 0; start < ids.size(); start += MAX_BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + MAX_BATCH_SIZE));
+            HashMap<Integer, JSONObject> fetched = new HashMap<>();
+            try {
+                requestCount.incrementAndGet();
+                JSONArray data = fetcher.fetch(chunk);
+                if (data != null) {
+                    for (int i = 0; i < data.length(); i++) {
+                        JSONObject object = data.optJSONObject(i);
+                        if (object != null && object.has("id")) {
+                            fetched.put(object.optInt("id"), object);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error(TAG + "Could not fetch ids " + chunk + ": " + e.getMessage());
+            } finally {
+                for (Integer id : chunk) {
+                    CompletableFuture<JSONObject> future;
+                    synchronized (this) {
+                        future = futures.get(id);
+                    }
+                    future.complete(fetched.get(id));
+                }
+            }
+        }
+    }
+
+    private static JSONArray toJSONArray(Map<Integer, CompletableFuture<JSONObject>> futures) {
+        JSONArray array = new JSONArray();
+        for (CompletableFuture<JSONObject> future : futures.values()) {
+            JSONObject object = future.getNow(null);
+            if (object != null) {
+                array.put(object);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Fetches the data of a collection of ids from the API server, see {@link IGDBScraper#getCompaniesData(Collection)}
+     */
+    public interface Fetcher {
+        /**
+         * @return the data of the ids, or null if the request failed
+         */
+        JSONArray fetch(Collection<Integer> ids);
+    }
+
+    /**
+     * Result of a {@link #lookup(Collection, Collection)}
+     */
+    public static class Lookup {
+        private final JSONArray companiesData;
+        private final JSONArray seriesData;
+
+        private Lookup(JSONArray companiesData, JSONArray seriesData) {
+            this.companiesData = companiesData;
+            this.seriesData = seriesData;
+        }
+
+        public JSONArray getCompaniesData() {
+            return companiesData;
+        }
+
+        public JSONArray getSeriesData() {
+            return seriesData;
+        }
+    }
+
+    private static class Batch {
+        private final List<Integer> companyIds;
+        private final List<Integer> serieIds;
+
+        private Batch(List<Integer> companyIds, List<Integer> serieIds) {
+            this.companyIds = companyIds;
+            this.serieIds = serieIds;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.gameroom.data.game.scraper;
+
+import com.gameroom.data.io.DataBase;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Two-level cache of the data returned by GameRoom's IGDB API server, used by {@link IGDBScraper}.
+ * <p>
+ * Responses are kept in memory in a LRU map of {@link #MAX_MEMORY_ENTRIES} entries, backed by the IGDBCache table so
+ * that they survive restarts. Entries are keyed by a normalized form of the request (see {@link #searchKey(String, boolean, int)}
+ * and {@link #idsKey(Collection)}) and expire after a delay depending on the {@link Endpoint}.
+ * <p>
+ * Identical requests made at the same time by different threads (e.g. parallel scrap tasks asking for the same
+ * companies) are coalesced : only the first one queries the server, the others wait for its result.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class IGDBResponseCache {
+    private final static String TAG = "IGDBResponseCache: ";
+    private final static int MAX_MEMORY_ENTRIES = 512;
+
+    private static IGDBResponseCache INSTANCE;
+
+    /**
+     * Endpoints of the API server whose responses are cached, with the delay after which they are queried again
+     */
+    public enum Endpoint {
+        SEARCH_GAME(TimeUnit.DAYS.toMillis(1)),
+        GET_GAMES(TimeUnit.DAYS.toMillis(7)),
+        GET_SERIES(TimeUnit.DAYS.toMillis(30)),
+        GET_COMPANIES(TimeUnit.DAYS.toMillis(30));
+
+        private final long ttl;
+
+        Endpoint(long ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getTTL() {
+            return ttl;
+        }
+    }
+
+    /**
+     * Performs the actual request to the API server on a cache miss
+     */
+    public interface Loader {
+        /**
+         * @return the data extracted from the response, or null if there was none
+         * @throws UnirestException if the server could not be queried
+         */
+        JSONArray load() throws UnirestException;
+    }
+
+    private final LinkedHashMap<String, CachedResponse> memoryCache = new LinkedHashMap<String, CachedResponse>(MAX_MEMORY_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_MEMORY_ENTRIES;
+        }
+    };
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlightRequests = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public static synchronized IGDBResponseCache getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new IGDBResponseCache();
+        }
+        return INSTANCE;
+    }
+
+    public IGDBResponseCache() {
+    }
+
+    /**
+     * Gets the data for the given request, from the cache if it is there and not expired, else from the given loader.
+     *
+     * @param endpoint   the endpoint queried, defining how long the data is kept
+     * @param requestKey normalized key of the request, see {@link #searchKey(String, boolean, int)} and {@link #idsKey(Collection)}
+     * @param loader     queries the server if needed
+     * @return a copy of the data, that callers may modify, or null if the server returned none
+     * @throws UnirestException if the server had to be queried and could not be
+     */
+    public JSONArray get(Endpoint endpoint, String requestKey, Loader loader) throws UnirestException {
+        String key = endpoint.name() + "|" + requestKey;
+        CachedResponse cached = getCached(key, endpoint);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return toJSONArray(cached.response);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = inFlightRequests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            coalescedCount.incrementAndGet();
+            return toJSONArray(await(inFlight));
+        }
+
+        missCount.incrementAndGet();
+        try {
+            JSONArray data = loader.load();
+            String response = data == null ? null : data.toString();
+            if (response != null) {
+                put(key, endpoint, new CachedResponse(response, System.currentTimeMillis()));
+            }
+            future.complete(response);
+            return data;
+        } catch (UnirestException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, future);
+        }
+    }
+
+    private CachedResponse getCached(String key, Endpoint endpoint) {
+        CachedResponse cached;
+        synchronized (memoryCache) {
+            cached = memoryCache.get(key);
+        }
+        if (cached == null) {
+            cached = loadFromDB(key);
+            if (cached != null) {
+                synchronized (memoryCache) {
+                    memoryCache.put(key, cached);
+                }
+            }
+        }
+        if (cached == null || System.currentTimeMillis() - cached.fetchDate > endpoint.getTTL()) {
+            return null;
+        }
+        return cached;
+    }
+
+    private void put(String key, Endpoint endpoint, CachedResponse response) {
+        synchronized (memoryCache) {
+            memoryCache.put(key, response);
+        }
+        saveInDB(key, endpoint, response);
+    }
+
+    private static String await(CompletableFuture<String> future) throws UnirestException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnirestException("Interrupted while waiting for an identical request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnirestException) {
+                throw (UnirestException) e.getCause();
+            }
+            throw new UnirestException(String.valueOf(e.getCause()));
+        }
+    }
+
+    private static JSONArray toJSONArray(String response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            return new JSONArray(response);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes all cached responses, in memory and in the database.
+     */
+    public void clear() {
+        synchronized (memoryCache) {
+            memoryCache.clear();
+        }
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("DELETE FROM IGDBCache")) {
+            statement.execute();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not clear cached responses");
+            e.printStackTrace();
+        }
+    }
+
+    private static CachedResponse loadFromDB(String key) {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("SELECT response, fetch_date FROM IGDBCache WHERE request_key = ?")) {
+            statement.setString(1, key);
+            try (ResultSet set = statement.executeQuery()) {
+                if (set.next()) {
+                    return new CachedResponse(set.getString("response"), set.getLong("fetch_date"));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not load cached response for " + key);
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static void saveInDB(String key, Endpoint endpoint, CachedResponse response) {
+        String sql = "INSERT OR REPLACE INTO IGDBCache(request_key,endpoint,response,fetch_date) VALUES (?,?,?,?)";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setString(1, key);
+            statement.setString(2, endpoint.name());
+            statement.setString(3, response.response);
+            statement.setLong(4, response.fetchDate);
+            statement.execute();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not save response for " + key);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return the normalized key of a game search : the name is lower-cased and its blanks collapsed, so that
+     * "Battlefield  1" and "battlefield 1" share an entry
+     */
+    public static String searchKey(String gameName, boolean allowDLCs, int platformId) {
+        String name = gameName == null ? "" : gameName.trim().toLowerCase().replaceAll("[\\s+]+", " ");
+        return "dlc=" + (allowDLCs ? 1 : 0) + "|platform=" + platformId + "|" + name;
+    }
+
+    /**
+     * @return the normalized key of a request on ids : ids are sorted and deduplicated
+     */
+    public static String idsKey(Collection<Integer> ids) {
+        return new TreeSet<>(ids).stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @return number of requests answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of requests that had to query the server
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of requests that waited for an identical request already being made
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return hitCount.get() + " hits, " + missCount.get() + " misses, " + coalescedCount.get() + " coalesced";
+    }
+
+    private static class CachedResponse {
+        private final String response;
+        private final long fetchDate;
+
+        private CachedResponse(String response, long fetchDate) {
+            this.response = response;
+            this.fetchDate = fetchDate;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.gameroom.data.game.scraper;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.entry.*;
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPResponse;
 import com.gameroom.data.io.DataBase;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
@@ -21,7 +20,6 @@ import java.util.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 import static com.gameroom.ui.Main.LOGGER;
 
@@ -42,8 +40,6 @@ public class IGDBScraper {
     private static final boolean DEV_MODE = false;//Main.DEV_MODE;
     public static final String API_URL = "http://62.210.219.110/api/v1" + (DEV_MODE ? "/dev" : "");
 
-    public static int REQUEST_COUNTER = 0;
-
     public static void main(String[] args) throws IOException, UnirestException, InterruptedException {
         String appdataFolder = System.getenv("APPDATA");
         String dataPath = appdataFolder + File.separator + "GameRoom_dev";
@@ -92,13 +88,6 @@ public class IGDBScraper {
 
     }
 
-    /**
-     * Inits all whats needed for the IGDBScraper
-     */
-    public static void init() {
-        Unirest.setTimeouts(10000, 40000);
-    }
-
     /**
      * Helper method which finds the index of the object with th given id inside the given {@link JSONArray}
      *
@@ -227,6 +216,25 @@ public class IGDBScraper {
         return entries;
     }
 
+    /**
+     * Builds a single {@link GameEntry}, typically the one matching a search amongst its results, fetching its unknown
+     * {@link Company}s and {@link Serie} if needed.
+     *
+     * @param gameData data about the game, as returned in a search
+     * @param batcher  the batcher of the scrap session, or null to query the API server directly
+     * @return a ready to use {@link GameEntry}
+     */
+    public static GameEntry getGameEntry(JSONObject gameData, IGDBLookupBatcher batcher) {
+        if (batcher == null) {
+            return getEntry(gameData, true);
+        }
+        IGDBLookupBatcher.Lookup lookup = batcher.lookup(extractUnknownCompaniesIDs(gameData), extractUnknownSeriesIDs(gameData));
+        GameEntry entry = getEntry(gameData, false);
+        setGameCompanies(entry, gameData, lookup.getCompaniesData());
+        setGameSerie(entry, gameData, lookup.getSeriesData());
+        return entry;
+    }
+
     /**
      * See {@link IGDBScraper#getEntry(JSONObject, boolean)}
      */
@@ -328,17 +336,15 @@ public class IGDBScraper {
      * @throws UnirestException in case an error occurred while querying the API server
      */
     public static JSONArray searchGame(String gameName, boolean allowDLCs, int platformId) throws UnirestException {
-        gameName = gameName.replace(' ', '+');
+        String urlName = gameName.replace(' ', '+');
         String args = "?dlc=" + (allowDLCs ? "1" : "0");
         if (platformId != -1) {
             args += ",platform_id=" + platformId;
         }
-        incrementRequestCounter();
-        HttpResponse<JsonNode> response = Unirest.get(API_URL + "/Games/SearchGame/" + gameName + args)
-                .header("Accept", "application/json")
-                .asJson();
-
-        return extractData(response, "games");
+        String finalArgs = args;
+        return IGDBResponseCache.getInstance().get(IGDBResponseCache.Endpoint.SEARCH_GAME,
+                IGDBResponseCache.searchKey(gameName, allowDLCs, platformId),
+                () -> requestData("/Games/SearchGame/" + urlName + finalArgs, "games"));
     }
 
     /**
@@ -366,13 +372,10 @@ public class IGDBScraper {
      * @throws UnirestException if there was an error while querying the API server
      */
     public static JSONArray getGamesData(Collection<Integer> ids) throws UnirestException {
-        String idsString = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String idsString = IGDBResponseCache.idsKey(ids);
 
-        incrementRequestCounter();
-        HttpResponse<JsonNode> response = Unirest.get(API_URL + "/Games/GetGames/" + idsString)
-                .header("Accept", "application/json")
-                .asJson();
-        return extractData(response, "games");
+        return IGDBResponseCache.getInstance().get(IGDBResponseCache.Endpoint.GET_GAMES, idsString,
+                () -> requestData("/Games/GetGames/" + idsString, "games"));
     }
 
     /**
@@ -467,18 +470,15 @@ public class IGDBScraper {
      * @param ids a {@link Collection} of IGDB ids of the series we're interested in
      * @return a {@link JSONArray} containing data about our series, null if no data was found
      */
-    private static JSONArray getSeriesData(Collection<Integer> ids) {
+    static JSONArray getSeriesData(Collection<Integer> ids) {
         if (ids.isEmpty()) {
             return null;
         }
-        String idsString = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String idsString = IGDBResponseCache.idsKey(ids);
 
         try {
-            incrementRequestCounter();
-            HttpResponse<JsonNode> response = Unirest.get(API_URL + "/Series/GetSeries/" + idsString)
-                    .header("Accept", "application/json")
-                    .asJson();
-            return extractData(response, "series");
+            return IGDBResponseCache.getInstance().get(IGDBResponseCache.Endpoint.GET_SERIES, idsString,
+                    () -> requestData("/Series/GetSeries/" + idsString, "series"));
         } catch (UnirestException e) {
             //there was no serie ?
         }
@@ -514,20 +514,15 @@ public class IGDBScraper {
      * @param ids a {@link Collection} of IGDB ids of the companies we're interested in
      * @return a {@link JSONArray} containing data about our companies, null if no data was found
      */
-    private static JSONArray getCompaniesData(Collection<Integer> ids) {
+    static JSONArray getCompaniesData(Collection<Integer> ids) {
         if (ids.isEmpty()) {
             return null;
         }
-        String idsString = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String idsString = IGDBResponseCache.idsKey(ids);
 
         try {
-            incrementRequestCounter();
-            HttpResponse<JsonNode> response = Unirest.get(API_URL + "/Companies/GetCompanies/" + idsString)
-                    .header("Accept", "application/json")
-                    .asJson();
-
-            return extractData(response, "companies");
-
+            return IGDBResponseCache.getInstance().get(IGDBResponseCache.Endpoint.GET_COMPANIES, idsString,
+                    () -> requestData("/Companies/GetCompanies/" + idsString, "companies"));
         } catch (UnirestException e) {
             //there was no company ?
         }
@@ -727,14 +722,21 @@ public class IGDBScraper {
     }
 
     /**
-     * Basically increments the request counter for this GameRoom's execution.
+     * Queries the API server through the {@link HTTPClient} and extracts the data of the response.
+     *
+     * @param path path of the request, appended to {@link #API_URL}
+     * @param key  the key at which the wanted data is located in the response, see {@link #extractData(HTTPResponse, String)}
+     * @return the extracted data, or null if there is none
+     * @throws UnirestException in case an error occurred while querying the API server
      */
-    private static void incrementRequestCounter() {
-        REQUEST_COUNTER++;
-        if (LOGGER != null) {
-            LOGGER.debug("IGDBScraper : added req, total=" + REQUEST_COUNTER);
-        } else {
-            System.out.println("IGDBScraper : added req, total=" + REQUEST_COUNTER);
+    private static JSONArray requestData(String path, String key) throws UnirestException {
+        try {
+            HTTPResponse response = HTTPClient.await(HTTPClient.getInstance().get(API_URL + path)
+                    .header("Accept", "application/json")
+                    .send());
+            return extractData(response, key);
+        } catch (IOException e) {
+            throw new UnirestException(e);
         }
     }
 
@@ -756,13 +758,15 @@ public class IGDBScraper {
      * @param key      the key at which the wanted data is located in the response
      * @return a JSONArray if the response follows the convention and if there is data, null otherwise
      */
-    private static JSONArray extractData(HttpResponse<JsonNode> response, String key) {
-        if (response != null
-                && response.getBody() != null
-                && response.getBody().getObject() != null
-                && response.getBody().getObject().optJSONObject("data") != null) {
-            return response.getBody().getObject().optJSONObject("data").optJSONArray(key);
+    private static JSONArray extractData(HTTPResponse response, String key) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            JSONObject data = response.getBodyAsJSONObject().optJSONObject("data");
+            return data != null ? data.optJSONArray(key) : null;
+        } catch (JSONException e) {
+            return null;
         }
-        return null;
     }
 }
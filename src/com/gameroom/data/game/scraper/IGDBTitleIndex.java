@@ -0,0 +1,311 @@
+package com.gameroom.data.game.scraper;
+
+import com.gameroom.data.LevenshteinDistance;
+import com.gameroom.data.game.NameNormalizer;
+import com.gameroom.data.io.DataBase;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Local index of the game titles GameRoom already knows the IGDB id of, so that found games can be identified without
+ * querying the API server. Titles come from the entries of the DB (including ignored ones and ones waiting to be added)
+ * and from the games contained in the responses stored by {@link IGDBResponseCache}, with their alternative names.
+ * <p>
+ * Titles are compared in the form given by {@link NameNormalizer#formatForComparison(String)}. A name is resolved
+ * when it is equal to a known title, or when it shares enough trigrams with one and is within a small edit distance of
+ * it, without any difference in their numbers (so that sequels are never mistaken for each other). Numbers are read
+ * from the cleaned names, whose words are still separated, and roman numerals written as words of their own count as
+ * numbers, so that "Civilization VI" is not mistaken for "Civilization V". A name close to titles of different games
+ * is not resolved.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class IGDBTitleIndex {
+    private final static String TAG = "IGDBTitleIndex: ";
+    /** minimal ratio of shared trigrams for a title to be compared with the searched name */
+    private final static double MIN_SIMILARITY = 0.6;
+    /** minimal confidence, i.e. 1 minus the edit distance divided by the length of the longest name */
+    public final static double MIN_CONFIDENCE = 0.9;
+    private final static int MAX_CANDIDATES = 10;
+    /** roman numerals read as numbers when they are words of their own, the one of n being at index n - 1 */
+    private final static List<String> ROMAN_NUMERALS = Arrays.asList("i", "ii", "iii", "iv", "v", "vi", "vii", "viii",
+            "ix", "x", "xi", "xii", "xiii", "xiv", "xv", "xvi", "xvii", "xviii", "xix", "xx");
+
+    private final ArrayList<Title> titles = new ArrayList<>();
+    private final HashMap<String, Title> titlesByName = new HashMap<>();
+    private final HashMap<Long, ArrayList<Title>> titlesByTrigram = new HashMap<>();
+    private final HashMap<Integer, JSONObject> gamesData = new HashMap<>();
+
+    /**
+     * Builds the index from the DB and the cached responses of the API server. May take some time with a large cache,
+     * so should not be called on the JavaFX thread.
+     */
+    public static IGDBTitleIndex load() {
+        IGDBTitleIndex index = new IGDBTitleIndex();
+        long start = System.currentTimeMillis();
+        String responsesSQL = "SELECT response FROM IGDBCache WHERE endpoint IN ('"
+                + IGDBResponseCache.Endpoint.SEARCH_GAME.name() + "','" + IGDBResponseCache.Endpoint.GET_GAMES.name() + "')";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(responsesSQL);
+             ResultSet set = statement.executeQuery()) {
+            while (set.next()) {
+                try {
+                    JSONArray games = new JSONArray(set.getString("response"));
+                    for (int i = 0; i < games.length(); i++) {
+                        JSONObject game = games.optJSONObject(i);
+                        if (game != null) {
+                            index.addGame(game);
+                        }
+                    }
+                } catch (JSONException e) {
+                    LOGGER.warn(TAG + "Ignored invalid cached response: " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read cached responses");
+            e.printStackTrace();
+        }
+
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("SELECT name, igdb_id FROM GameEntry WHERE igdb_id > 0");
+             ResultSet set = statement.executeQuery()) {
+            while (set.next()) {
+                index.addTitle(set.getString("name"), set.getInt("igdb_id"));
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read entries");
+            e.printStackTrace();
+        }
+        LOGGER.info(TAG + "Indexed " + index.size() + " titles in " + (System.currentTimeMillis() - start) + "ms");
+        return index;
+    }
+
+    /**
+     * Adds the name and alternative names of a game, as returned by the API server, and keeps its data so that it can
+     * be used instead of a search result.
+     */
+    public void addGame(JSONObject gameData) {
+        int igdbId = gameData.optInt("id", -1);
+        String name = gameData.optString("name", null);
+        if (igdbId <= 0 || name == null) {
+            return;
+        }
+        gamesData.put(igdbId, gameData);
+        addTitle(name, igdbId);
+        JSONArray alternativeNames = gameData.optJSONArray("alternative_names");
+        if (alternativeNames != null) {
+            for (int i = 0; i < alternativeNames.length(); i++) {
+                JSONObject alternativeName = alternativeNames.optJSONObject(i);
+                addTitle(alternativeName != null ? alternativeName.optString("name", null) : alternativeNames.optString(i, null), igdbId);
+            }
+        }
+    }
+
+    /**
+     * Adds a title known to be the one of the game with the given IGDB id
+     */
+    public void addTitle(String name, int igdbId) {
+        if (name == null || igdbId <= 0) {
+            return;
+        }
+        String formattedName = NameNormalizer.getInstance().formatForComparison(name);
+        if (formattedName.isEmpty()) {
+            return;
+        }
+        Title existing = titlesByName.get(formattedName);
+        if (existing != null) {
+            if (existing.igdbId != igdbId) {
+                //two games with the same title, it can not be resolved
+                existing.ambiguous = true;
+            }
+            return;
+        }
+        Title title = new Title(name, formattedName, igdbId);
+        titles.add(title);
+        titlesByName.put(formattedName, title);
+        for (long trigram : trigrams(formattedName)) {
+            titlesByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>()).add(title);
+        }
+    }
+
+    /**
+     * @param name name of a found game
+     * @return the game the name is confidently the title of, or null if it should be searched with the API server
+     */
+    public Match resolve(String name) {
+        String formattedName = NameNormalizer.getInstance().formatForComparison(name);
+        if (formattedName.isEmpty()) {
+            return null;
+        }
+        Title exactTitle = titlesByName.get(formattedName);
+        if (exactTitle != null) {
+            return exactTitle.ambiguous ? null : new Match(exactTitle, 1.0, gamesData.get(exactTitle.igdbId));
+        }
+
+        String numbers = numbers(NameNormalizer.getInstance().clean(name));
+        HashSet<Long> nameTrigrams = trigrams(formattedName);
+        HashMap<Title, Integer> sharedTrigrams = new HashMap<>();
+        for (long trigram : nameTrigrams) {
+            ArrayList<Title> trigramTitles = titlesByTrigram.get(trigram);
+            if (trigramTitles != null) {
+                for (Title title : trigramTitles) {
+                    sharedTrigrams.merge(title, 1, Integer::sum);
+                }
+            }
+        }
+        ArrayList<Title> candidates = new ArrayList<>();
+        HashMap<Title, Double> similarities = new HashMap<>();
+        for (Map.Entry<Title, Integer> entry : sharedTrigrams.entrySet()) {
+            double similarity = 2.0 * entry.getValue() / (nameTrigrams.size() + entry.getKey().trigramCount);
+            if (similarity >= MIN_SIMILARITY) {
+                candidates.add(entry.getKey());
+                similarities.put(entry.getKey(), similarity);
+            }
+        }
+        candidates.sort((a, b) -> Double.compare(similarities.get(b), similarities.get(a)));
+
+        Title best = null;
+        double bestConfidence = 0;
+        boolean ambiguous = false;
+        for (int i = 0; i < candidates.size() && i < MAX_CANDIDATES; i++) {
+            Title title = candidates.get(i);
+            int length = Math.max(formattedName.length(), title.formattedName.length());
+            int maxDistance = (int) Math.floor(length * (1 - MIN_CONFIDENCE));
+            int distance = LevenshteinDistance.boundedDistance(formattedName, title.formattedName, maxDistance);
+            if (distance > maxDistance || !numbers.equals(title.numbers)) {
+                continue;
+            }
+            double confidence = 1 - (double) distance / length;
+            if (best == null || confidence > bestConfidence) {
+                ambiguous = false;
+                best = title;
+                bestConfidence = confidence;
+            } else if (confidence == bestConfidence && best.igdbId != title.igdbId) {
+                ambiguous = true;
+            }
+        }
+        if (best == null || best.ambiguous || ambiguous) {
+            return null;
+        }
+        return new Match(best, bestConfidence, gamesData.get(best.igdbId));
+    }
+
+    /**
+     * @return the number of distinct titles indexed
+     */
+    public int size() {
+        return titles.size();
+    }
+
+    /**
+     * @return the distinct trigrams of the name, padded so that its first and last chars make trigrams of their own
+     */
+    private static HashSet<Long> trigrams(String formattedName) {
+        HashSet<Long> trigrams = new HashSet<>();
+        char previous2 = 0;
+        char previous1 = 0;
+        for (int i = 0; i <= formattedName.length(); i++) {
+            char c = i < formattedName.length() ? formattedName.charAt(i) : 0;
+            trigrams.add(((long) previous2 << 32) | ((long) previous1 << 16) | c);
+            previous2 = previous1;
+            previous1 = c;
+        }
+        return trigrams;
+    }
+
+    /**
+     * @return the sequence of numbers in the name, each followed by a space, with roman numerals written in digits
+     */
+    private static String numbers(String name) {
+        StringBuilder builder = new StringBuilder();
+        int i = 0;
+        while (i < name.length()) {
+            char c = name.charAt(i);
+            int end = i + 1;
+            if (Character.isDigit(c)) {
+                while (end < name.length() && Character.isDigit(name.charAt(end))) {
+                    end++;
+                }
+                builder.append(name, i, end).append(' ');
+            } else if (Character.isLetter(c)) {
+                while (end < name.length() && Character.isLetter(name.charAt(end))) {
+                    end++;
+                }
+                boolean standalone = (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))
+                        && (end == name.length() || !Character.isDigit(name.charAt(end)));
+                int romanIndex = standalone && end - i <= 5 ? ROMAN_NUMERALS.indexOf(name.substring(i, end).toLowerCase()) : -1;
+                if (romanIndex != -1) {
+                    builder.append(romanIndex + 1).append(' ');
+                }
+            }
+            i = end;
+        }
+        return builder.toString();
+    }
+
+    private static class Title {
+        private final String name;
+        private final String formattedName;
+        private final String numbers;
+        private final int igdbId;
+        private final int trigramCount;
+        private boolean ambiguous = false;
+
+        private Title(String name, String formattedName, int igdbId) {
+            this.name = name;
+            this.formattedName = formattedName;
+            this.numbers = numbers(NameNormalizer.getInstance().clean(name));
+            this.igdbId = igdbId;
+            this.trigramCount = trigrams(formattedName).size();
+        }
+    }
+
+    /**
+     * Game a name was resolved to
+     */
+    public static class Match {
+        private final String title;
+        private final int igdbId;
+        private final double confidence;
+        private final JSONObject gameData;
+
+        private Match(Title title, double confidence, JSONObject gameData) {
+            this.title = title.name;
+            this.igdbId = title.igdbId;
+            this.confidence = confidence;
+            this.gameData = gameData;
+        }
+
+        /**
+         * @return the known title the name was resolved to
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        public int getIgdbId() {
+            return igdbId;
+        }
+
+        /**
+         * @return 1 for a name equal to the title, at least {@link #MIN_CONFIDENCE} otherwise
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * @return the data of the game as returned by the API server, or null if the title only comes from the DB
+         */
+        public JSONObject getGameData() {
+            return gameData;
+        }
+    }
+}
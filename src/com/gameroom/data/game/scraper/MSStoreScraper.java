@@ -16,6 +16,7 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,9 +31,18 @@ public class MSStoreScraper {
     private final static String TAG = "MSStoreScraper: ";
 
     private final static Pattern PATH_PATTERN = Pattern.compile("(.*)([a-z|A-Z]\\:\\\\.*)");
-    private final static Pattern DISPLAY_NAME_PATTERN = Pattern.compile("<DisplayName>(.*)<\\/DisplayName>");
-    private final static Pattern LOGO_PATTERN = Pattern.compile("<Logo>(.*)<\\/Logo>");
-    private final static Pattern APPLICATION_ID_PATTERN = Pattern.compile("<Application Id=\\\"([a-z|A-Z|0-9]*)\\\"");
+    /**
+     * Matches lower-cased icon file names, capturing the name of the icon without its qualifiers (".scale-200",
+     * ".targetsize-24_altform-unplated"...) nor its extension
+     */
+    private final static Pattern ICON_VARIANT_PATTERN = Pattern.compile("(.+?)(?:\\.(?:[a-z]+-[a-z0-9_\\-]+|scale[0-9]*))*\\.[a-z0-9]{3}");
+
+    private final static int PARSING_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Entries already read, by package and manifest path, see {@link #readPackage(String, String)}
+     */
+    private final static ConcurrentHashMap<String, CachedEntry> ENTRY_CACHE = new ConcurrentHashMap<>();
 
     private final static int MAX_LEVENSHTEIN_DISTANCE = 2;
 
@@ -64,36 +74,84 @@ public class MSStoreScraper {
     /**
      * Scans for a list of installed {@link MSStoreEntry} on the computer, excluding well known ones that are not games.
      * Executes a callback function once an entry is found.
+     * <p>
+     * Manifests are read by {@link #PARSING_THREADS} threads, but the callback is always called from the calling thread,
+     * in the order packages were listed.
      *
      * @param appFoundHandler callback function/interface to be called when an entry is found
      */
     public static void getApps(@NonNull OnMSAppFoundHandler appFoundHandler) {
         Terminal terminal = new Terminal(false);
+        String[] result;
         try {
-            String[] result = terminal.executePowerShell("Get-AppxPackage | Select PackageFamilyName, InstallLocation");
+            result = terminal.executePowerShell("Get-AppxPackage | Select PackageFamilyName, InstallLocation");
+        } catch (IOException e) {
+            LOGGER.error(TAG + e);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARSING_THREADS);
+        try {
+            List<Future<MSStoreEntry>> futures = new ArrayList<>();
             for (String s : result) {
                 Matcher matcher = PATH_PATTERN.matcher(s);
                 if (matcher.find()) {
-                    MSStoreEntry entry = new MSStoreEntry(matcher.group(1).trim(), matcher.group(2).trim());
-
-                    try {
-                        entry.readAppManifest();
-
-                        if (!isPackageFamilyNameExcluded(entry.packageFamilyName)
-                                && !isDisplayNameExcluded(entry.displayName)) {
-                            entry.findRealIconPath();
-                            entry.findExecutableFilePath();
-                            appFoundHandler.handle(entry);
-                        }
-                    } catch (IOException e) {
-                        LOGGER.error(TAG + e);
+                    String packageFamilyName = matcher.group(1).trim();
+                    String path = matcher.group(2).trim();
+                    futures.add(executor.submit(() -> readPackage(packageFamilyName, path)));
+                }
+            }
+            for (Future<MSStoreEntry> future : futures) {
+                try {
+                    MSStoreEntry entry = future.get();
+                    if (entry != null) {
+                        appFoundHandler.handle(entry);
                     }
+                } catch (ExecutionException e) {
+                    LOGGER.error(TAG + e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        } catch (IOException e) {
-            LOGGER.error(TAG + e);
+    /**
+     * Reads the manifest of an installed package into a {@link MSStoreEntry}. Entries are cached by manifest path and
+     * last modification date, so that a manifest is only read again after the app has been updated.
+     *
+     * @param packageFamilyName the PackageFamilyName of the app
+     * @param path              the folder the app is installed in
+     * @return the entry, or null if the app is amongst the excluded ones or has no manifest
+     * @throws IOException if the manifest could not be read
+     */
+    public static MSStoreEntry readPackage(String packageFamilyName, String path) throws IOException {
+        if (isPackageFamilyNameExcluded(packageFamilyName)) {
+            return null;
+        }
+        File manifestFile = new File(path + File.separator + AppxManifest.FILE_NAME);
+        if (!manifestFile.exists()) {
+            LOGGER.warn(TAG + ": File \"" + manifestFile + "\" does not exist");
+            return null;
+        }
+        long lastModified = manifestFile.lastModified();
+        String key = packageFamilyName + "|" + manifestFile.getAbsolutePath();
+        CachedEntry cached = ENTRY_CACHE.get(key);
+        MSStoreEntry entry;
+        if (cached != null && cached.lastModified == lastModified) {
+            entry = cached.entry;
+        } else {
+            entry = new MSStoreEntry(packageFamilyName, path);
+            AppxManifest manifest = entry.readAppManifest(manifestFile);
+            if (!isDisplayNameExcluded(entry.displayName)) {
+                entry.findRealIconPath();
+                entry.findExecutableFilePath(manifest.getExecutable());
+            }
+            ENTRY_CACHE.put(key, new CachedEntry(lastModified, entry));
         }
+        return isDisplayNameExcluded(entry.displayName) ? null : entry;
     }
 
     /**
@@ -155,7 +213,6 @@ public class MSStoreScraper {
      * to fill itself reading the app's manifest.
      */
     public static class MSStoreEntry {
-        private final static String MANIFEST_FILE_NAME = "AppxManifest.xml";
         //path to the folder of the app
         private String path;
         //package family name, defining the application
@@ -184,31 +241,53 @@ public class MSStoreScraper {
 
         /**
          * Attempts to find a matching icon in the folder indicated by {@link #virtualIconPath}, as it does not always point
-         * to a true image file.
+         * to a true image file but to scaled variants of it. The file itself is preferred if it exists, else the largest
+         * variant is taken.
          */
         private void findRealIconPath() {
+            if (virtualIconPath == null) {
+                return;
+            }
+            File virtualIcon = new File(virtualIconPath);
+            if (virtualIcon.isFile()) {
+                realIconPath = virtualIcon.getPath();
+                return;
+            }
+            String iconName = virtualIcon.getName();
+            String noExtName = (iconName.contains(".") ? iconName.substring(0, iconName.lastIndexOf('.')) : iconName).toLowerCase();
 
-            String noExtName = virtualIconPath.substring(virtualIconPath.lastIndexOf(File.separator) + 1, virtualIconPath.length() - 4);
-
-            String iconsPath = virtualIconPath.substring(0, virtualIconPath.lastIndexOf(File.separator));
-            File[] iconFiles = new File(iconsPath).listFiles();
+            File[] iconFiles = virtualIcon.getParentFile() != null ? virtualIcon.getParentFile().listFiles() : null;
             if (iconFiles == null) {
                 LOGGER.warn(TAG + "Empty icons folder for " + displayName);
                 return;
             }
 
-            Pattern p = Pattern.compile(noExtName.toLowerCase() + "(?:.scale[0-9]*)?\\.[a-z|A-Z|0-9]{3}");
-
+            File bestIcon = null;
             for (File f : iconFiles) {
-                Matcher m = p.matcher(f.getName().toLowerCase().trim());
-                if (m.find()) {
-                    realIconPath = iconsPath + File.separator + f.getName();
+                Matcher m = ICON_VARIANT_PATTERN.matcher(f.getName().toLowerCase().trim());
+                if (m.matches() && m.group(1).equals(noExtName) && (bestIcon == null || f.length() > bestIcon.length())) {
+                    bestIcon = f;
                 }
-
+            }
+            if (bestIcon != null) {
+                realIconPath = bestIcon.getPath();
             }
         }
 
-        private void findExecutableFilePath() {
+        /**
+         * Uses the executable declared in the manifest if it exists, else the first .exe file of the app's folder.
+         *
+         * @param manifestExecutable path of the executable read in the manifest, may be null
+         */
+        private void findExecutableFilePath(String manifestExecutable) {
+            if (manifestExecutable != null && !manifestExecutable.isEmpty()) {
+                File executable = new File(path + File.separator + toLocalPath(manifestExecutable));
+                if (executable.isFile()) {
+                    executableFilePath = executable.getAbsolutePath();
+                    LOGGER.debug(TAG + "Found .exe for " + displayName + ", " + executableFilePath);
+                    return;
+                }
+            }
             File[] subFiles = new File(path).listFiles();
             if (subFiles == null) {
                 LOGGER.warn(TAG + "Empty folder for " + displayName);
@@ -226,42 +305,27 @@ public class MSStoreScraper {
         }
 
         /**
-         * Reads the app manifest file and fill {@link #displayName} and {@link #virtualIconPath} from it.
+         * Reads the app manifest file and fill {@link #displayName}, {@link #virtualIconPath} and {@link #startCommand}
+         * from it.
          *
+         * @param manifestFile the AppxManifest.xml file of the app
+         * @return the manifest read
          * @throws IOException in case there was an error reading the file
          */
-        private void readAppManifest() throws IOException {
-            File f = new File(path + File.separator + MSStoreEntry.MANIFEST_FILE_NAME);
-            if (!f.exists()) {
-                LOGGER.warn(TAG + ": File \"" + f + "\" does not exist");
-                return;
+        private AppxManifest readAppManifest(File manifestFile) throws IOException {
+            AppxManifest manifest = AppxManifest.read(manifestFile);
+            displayName = manifest.getDisplayName();
+            if (manifest.getLogo() != null) {
+                virtualIconPath = path + File.separator + toLocalPath(manifest.getLogo());
             }
-            InputStream stream = new FileInputStream(f);
-
-            BufferedReader r = new BufferedReader(new InputStreamReader(stream));
-
-            String line;
-            while ((line = r.readLine()) != null) {
-                Matcher nameMatcher = DISPLAY_NAME_PATTERN.matcher(line);
-                if (nameMatcher.find()) {
-                    displayName = nameMatcher.group(1);
-                }
-
-                Matcher logoMatcher = LOGO_PATTERN.matcher(line);
-                if (logoMatcher.find()) {
-                    virtualIconPath = path + File.separator + logoMatcher.group(1);
-                }
-
-                Matcher appIdMatcher = APPLICATION_ID_PATTERN.matcher(line);
-                if (appIdMatcher.find()) {
-                    applicationId = appIdMatcher.group(1);
-                }
-
-            }
-            r.close();
-            stream.close();
+            applicationId = manifest.getApplicationId();
 
             startCommand = "shell:AppsFolder\\" + packageFamilyName + "!" + applicationId;
+            return manifest;
+        }
+
+        private static String toLocalPath(String manifestPath) {
+            return manifestPath.replace('\\', File.separatorChar);
         }
 
         /**
@@ -329,6 +393,19 @@ public class MSStoreScraper {
         }
     }
 
+    /**
+     * An entry read by {@link #readPackage(String, String)}, with the last modification date of the manifest it was read from
+     */
+    private static class CachedEntry {
+        private final long lastModified;
+        private final MSStoreEntry entry;
+
+        private CachedEntry(long lastModified, MSStoreEntry entry) {
+            this.lastModified = lastModified;
+            this.entry = entry;
+        }
+    }
+
     /**
      * Callback interface used for scanning {@link MSStoreEntry}.
      */
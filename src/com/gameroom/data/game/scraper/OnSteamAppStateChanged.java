@@ -0,0 +1,17 @@
+package com.gameroom.data.game.scraper;
+
+/**
+ * Listener subscribed to a given Steam app id through {@link SteamAppStateService#subscribe(int, OnSteamAppStateChanged)}
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public interface OnSteamAppStateChanged {
+    /**
+     * Called from the thread that refreshed the states, whenever the state of the app differs from the previous read.
+     *
+     * @param oldState the previous state of the app, {@link SteamAppState#UNKNOWN} if it was not known by Steam
+     * @param newState the new state of the app, {@link SteamAppState#UNKNOWN} if it is not known anymore by Steam
+     */
+    void onStateChanged(SteamAppState oldState, SteamAppState newState);
+}
@@ -0,0 +1,472 @@
+package com.gameroom.data.game.scraper;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Runs items through a sequence of {@link Stage}s, each of them having its own bounded queue and number of workers.
+ * <p>
+ * When the queue of a stage is full, the workers of the previous stage wait before handing it more items, so that a
+ * slow stage (e.g. one limited by an API server) holds back the ones before it instead of piling up work. Failures of
+ * a stage matching its retry policy are retried after a backoff, others make the item leave the pipeline. The progress
+ * of every stage is reported periodically to an {@link OnProgressHandler}, and the whole pipeline can be
+ * {@link #cancel()}ed.
+ * <p>
+ * Every item leaves the pipeline exactly once, by going through all stages, by being dropped by a stage (see
+ * {@link Work#process(Object)}), by failing or by being cancelled, at which point the {@link OnItemDoneHandler} is
+ * called.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ScrapPipeline<T> {
+    private final static String TAG = "ScrapPipeline: ";
+    public final static long DEFAULT_REPORT_PERIOD = 500;
+    private final static long POLL_TIMEOUT = 100;
+    private final static long BASE_RETRY_DELAY = 1000;
+
+    private final String name;
+    private final ArrayList<Stage<T>> stages = new ArrayList<>();
+    private final Set<T> pendingItems = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile boolean cancelled = false;
+    private volatile long startTime;
+    private int total;
+    private ExecutorService executor;
+
+    private OnItemDoneHandler<T> onItemDone;
+    private OnProgressHandler onProgress;
+    private long reportPeriod = DEFAULT_REPORT_PERIOD;
+
+    public ScrapPipeline(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Appends a stage to the pipeline. Must be called before {@link #start(Collection)}.
+     */
+    public ScrapPipeline<T> addStage(Stage<T> stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    public ScrapPipeline<T> setOnItemDone(OnItemDoneHandler<T> onItemDone) {
+        this.onItemDone = onItemDone;
+        return this;
+    }
+
+    /**
+     * @param onProgress handler called every {@code reportPeriod} ms from a worker thread, and once when the pipeline ends
+     */
+    public ScrapPipeline<T> setOnProgress(OnProgressHandler onProgress, long reportPeriod) {
+        this.onProgress = onProgress;
+        this.reportPeriod = reportPeriod;
+        return this;
+    }
+
+    /**
+     * Starts feeding the given items to the first stage.
+     *
+     * @return a future completed once every item has left the pipeline
+     */
+    public synchronized CompletableFuture<Void> start(Collection<T> items) {
+        if (executor != null) {
+            throw new IllegalStateException("Pipeline " + name + " was already started");
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("Pipeline " + name + " has no stage");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        startTime = System.currentTimeMillis();
+        ArrayList<T> toFeed = new ArrayList<>(items);
+        total = toFeed.size();
+        remaining.set(total);
+        pendingItems.addAll(toFeed);
+        if (total == 0) {
+            end();
+            return completion;
+        }
+
+        for (int i = 0; i < stages.size(); i++) {
+            Stage<T> stage = stages.get(i);
+            Stage<T> next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+            for (int j = 0; j < stage.workers; j++) {
+                executor.execute(() -> runWorker(stage, next));
+            }
+        }
+        executor.execute(() -> {
+            for (T item : toFeed) {
+                if (!handOver(item, stages.get(0))) {
+                    break;
+                }
+            }
+        });
+        if (onProgress != null) {
+            executor.execute(this::runReporter);
+        }
+        return completion;
+    }
+
+    /**
+     * Stops all stages. Items that have not left the pipeline yet leave it with a {@link CancellationException}.
+     */
+    public void cancel() {
+        if (cancelled || completion.isDone()) {
+            return;
+        }
+        LOGGER.info(TAG + name + " cancelled");
+        cancelled = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        ArrayList<T> leftItems;
+        synchronized (pendingItems) {
+            leftItems = new ArrayList<>(pendingItems);
+        }
+        for (T item : leftItems) {
+            finish(item, new CancellationException(name + " was cancelled"));
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return a snapshot of the progress of every stage
+     */
+    public Progress getProgress() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        ArrayList<StageProgress> stagesProgress = new ArrayList<>();
+        for (Stage<T> stage : stages) {
+            stagesProgress.add(new StageProgress(stage.name,
+                    stage.queue.size(),
+                    stage.active.get(),
+                    stage.processed.get(),
+                    stage.failed.get(),
+                    stage.retried.get(),
+                    stage.processed.get() * 1000.0 / elapsed));
+        }
+        return new Progress(total, total - remaining.get(), cancelled, stagesProgress);
+    }
+
+    private void runWorker(Stage<T> stage, Stage<T> next) {
+        while (!cancelled && !completion.isDone()) {
+            T item;
+            try {
+                item = stage.queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (item == null) {
+                continue;
+            }
+            stage.active.incrementAndGet();
+            boolean goesOn = false;
+            Exception error = null;
+            try {
+                goesOn = processWithRetries(stage, item);
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                stage.active.decrementAndGet();
+            }
+            if (error != null) {
+                stage.failed.incrementAndGet();
+                finish(item, cancelled ? new CancellationException(name + " was cancelled") : error);
+            } else {
+                stage.processed.incrementAndGet();
+                if (goesOn && next != null) {
+                    handOver(item, next);
+                } else {
+                    finish(item, null);
+                }
+            }
+        }
+    }
+
+    private boolean processWithRetries(Stage<T> stage, T item) throws Exception {
+        int attempt = 0;
+        while (true) {
+            try {
+                return stage.work.process(item);
+            } catch (Exception e) {
+                if (cancelled || attempt >= stage.maxRetries || !stage.isRetryable(e)) {
+                    throw e;
+                }
+                attempt++;
+                stage.retried.incrementAndGet();
+                long delay = getRetryDelay(attempt);
+                LOGGER.debug(TAG + name + ": retrying " + stage.name + " in " + delay + "ms after " + e);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * @return a delay doubling with every attempt, picked between half and all of it so that items that failed together
+     * are not retried at the same time
+     */
+    static long getRetryDelay(int attempt) {
+        long delay = BASE_RETRY_DELAY << Math.min(attempt - 1, 5);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Puts the item in the queue of the given stage, waiting for room if needed.
+     *
+     * @return false if the pipeline was cancelled while waiting
+     */
+    private boolean handOver(T item, Stage<T> stage) {
+        try {
+            while (!cancelled) {
+                if (stage.queue.offer(item, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException ignored) {
+        }
+        finish(item, new CancellationException(name + " was cancelled"));
+        return false;
+    }
+
+    private void finish(T item, Exception error) {
+        if (!pendingItems.remove(item)) {
+            return;
+        }
+        if (onItemDone != null) {
+            try {
+                onItemDone.onItemDone(item, error);
+            } catch (RuntimeException e) {
+                LOGGER.error(TAG + name + ": error while handling end of item: " + e);
+                e.printStackTrace();
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            end();
+        }
+    }
+
+    private void end() {
+        if (onProgress != null) {
+            onProgress.onProgress(getProgress());
+        }
+        LOGGER.info(TAG + name + " ended: " + getProgress());
+        completion.complete(null);
+        executor.shutdown();
+    }
+
+    private void runReporter() {
+        while (!cancelled && !completion.isDone()) {
+            try {
+                Thread.sleep(reportPeriod);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!completion.isDone()) {
+                onProgress.onProgress(getProgress());
+            }
+        }
+    }
+
+    /**
+     * Processing done by a {@link Stage} on an item
+     */
+    public interface Work<T> {
+        /**
+         * @param item the item to process
+         * @return true if the item should go on to the next stage, false if it should leave the pipeline now
+         * @throws Exception if the processing failed, which is retried if the stage's policy allows it
+         */
+        boolean process(T item) throws Exception;
+    }
+
+    public interface OnItemDoneHandler<T> {
+        /**
+         * @param item  the item leaving the pipeline
+         * @param error null if the item went through all stages or was dropped by one, the exception that made it fail
+         *              otherwise (a {@link CancellationException} if the pipeline was cancelled)
+         */
+        void onItemDone(T item, Exception error);
+    }
+
+    public interface OnProgressHandler {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * A step of a {@link ScrapPipeline}, processing items with a fixed number of workers and a bounded input queue.
+     */
+    public static class Stage<T> {
+        private final String name;
+        private final int workers;
+        private final BlockingQueue<T> queue;
+        private final Work<T> work;
+        private final ArrayList<Class<? extends Exception>> retryableExceptions = new ArrayList<>();
+        private int maxRetries = 0;
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+
+        /**
+         * @param name          name of the stage, used in logs and progress reports
+         * @param workers       number of items processed at the same time
+         * @param queueCapacity maximum number of items waiting to be processed
+         * @param work          the processing to apply to every item
+         */
+        public Stage(String name, int workers, int queueCapacity, Work<T> work) {
+            this.name = name;
+            this.workers = Math.max(1, workers);
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            this.work = work;
+        }
+
+        /**
+         * Retries the processing of an item, at most {@code maxRetries} times, when it fails with the given type of
+         * exception.
+         */
+        public Stage<T> retryOn(Class<? extends Exception> exceptionClass, int maxRetries) {
+            retryableExceptions.add(exceptionClass);
+            this.maxRetries = Math.max(this.maxRetries, maxRetries);
+            return this;
+        }
+
+        private boolean isRetryable(Exception e) {
+            for (Class<? extends Exception> retryable : retryableExceptions) {
+                if (retryable.isInstance(e)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Snapshot of the progress of a {@link ScrapPipeline}
+     */
+    public static class Progress {
+        private final int total;
+        private final int done;
+        private final boolean cancelled;
+        private final List<StageProgress> stages;
+
+        private Progress(int total, int done, boolean cancelled, List<StageProgress> stages) {
+            this.total = total;
+            this.done = done;
+            this.cancelled = cancelled;
+            this.stages = Collections.unmodifiableList(stages);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return number of items that left the pipeline
+         */
+        public int getDone() {
+            return done;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isFinished() {
+            return done >= total;
+        }
+
+        public List<StageProgress> getStages() {
+            return stages;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(done + "/" + total + " done");
+            for (StageProgress stage : stages) {
+                builder.append(", ").append(stage);
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Snapshot of the progress of a {@link Stage}
+     */
+    public static class StageProgress {
+        private final String name;
+        private final int queued;
+        private final int active;
+        private final long processed;
+        private final long failed;
+        private final long retried;
+        private final double throughput;
+
+        private StageProgress(String name, int queued, int active, long processed, long failed, long retried, double throughput) {
+            this.name = name;
+            this.queued = queued;
+            this.active = active;
+            this.processed = processed;
+            this.failed = failed;
+            this.retried = retried;
+            this.throughput = throughput;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getRetried() {
+            return retried;
+        }
+
+        /**
+         * @return average number of items processed per second since the pipeline started
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: %d processed (%.1f/s), %d active, %d queued, %d failed, %d retried",
+                    name, processed, throughput, active, queued, failed, retried);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.gameroom.data.game.scraper;
+
+/**
+ * Parsed result of a Steam store "appdetails" request, as stored by {@link SteamAppDetailsCache}. Only the values
+ * GameRoom uses are kept, with the HTTP validators of the response they come from.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SteamAppDetails {
+    private final int appId;
+    private final boolean found;
+    private final String type;
+    private final String name;
+    private final String description;
+    private final String releaseDate;
+    private final String etag;
+    private final String lastModified;
+    private final long fetchDate;
+
+    /**
+     * @param appId        Steam id of the app
+     * @param found        false if the store answered it has no data about this app
+     * @param type         type of the app, e.g. "game", "demo" or "dlc"
+     * @param name         name of the app
+     * @param description  plain text "about the game" description
+     * @param releaseDate  release date as written by the store, e.g. "10 Oct, 2007"
+     * @param etag         ETag header of the response, may be null
+     * @param lastModified Last-Modified header of the response, may be null
+     * @param fetchDate    time at which the response was received or revalidated, in ms since epoch
+     */
+    SteamAppDetails(int appId, boolean found, String type, String name, String description, String releaseDate,
+                    String etag, String lastModified, long fetchDate) {
+        this.appId = appId;
+        this.found = found;
+        this.type = type;
+        this.name = name;
+        this.description = description;
+        this.releaseDate = releaseDate;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.fetchDate = fetchDate;
+    }
+
+    static SteamAppDetails notFound(int appId, String etag, String lastModified, long fetchDate) {
+        return new SteamAppDetails(appId, false, null, null, null, null, etag, lastModified, fetchDate);
+    }
+
+    /**
+     * @param fetchDate new time of validation
+     * @return a copy of these details, validated again at the given time (i.e. after a 304 response)
+     */
+    SteamAppDetails revalidated(long fetchDate) {
+        return new SteamAppDetails(appId, found, type, name, description, releaseDate, etag, lastModified, fetchDate);
+    }
+
+    public int getAppId() {
+        return appId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return true if the app is a game or a demo, i.e. something GameRoom should add
+     */
+    public boolean isGame() {
+        return found && ("game".equals(type) || "demo".equals(type));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getReleaseDate() {
+        return releaseDate;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getFetchDate() {
+        return fetchDate;
+    }
+}
@@ -0,0 +1,268 @@
+package com.gameroom.data.game.scraper;
+
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPException;
+import com.gameroom.data.http.HTTPRequest;
+import com.gameroom.data.http.HTTPResponse;
+import com.gameroom.data.io.DataBase;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Persistent cache of Steam store "appdetails" responses, stored in the SteamAppCache table.
+ * <p>
+ * Each app is stored with its parsed result, the validators of the response (ETag, Last-Modified) and the time it was
+ * fetched. Apps are only requested again once their entry is older than a week (or a day for apps the store knows
+ * nothing about), and then with a conditional request so that an unchanged app costs a 304.
+ * <p>
+ * Requests are sent through the {@link HTTPClient}, with at most {@link #MAX_CONCURRENT_REQUESTS} of them running on
+ * the store at the same time, so that scanning an account with thousands of apps does not flood the store, which
+ * answers with errors when called too often.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SteamAppDetailsCache {
+    private final static String TAG = "SteamAppDetailsCache: ";
+    public final static String STORE_API_URL = "http://store.steampowered.com/api/appdetails";
+
+    private final static long TTL_FOUND = TimeUnit.DAYS.toMillis(7);
+    private final static long TTL_NOT_FOUND = TimeUnit.DAYS.toMillis(1);
+    private final static int MAX_CONCURRENT_REQUESTS = 4;
+
+    private static SteamAppDetailsCache INSTANCE;
+
+    private final String apiUrl;
+    private final long ttlFound;
+    private final long ttlNotFound;
+    private final ConcurrentHashMap<Integer, SteamAppDetails> detailsMap = new ConcurrentHashMap<>();
+    private volatile boolean loadedFromDB = false;
+
+    public static synchronized SteamAppDetailsCache getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new SteamAppDetailsCache(STORE_API_URL);
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param apiUrl url of the appdetails endpoint, ids are passed with the "appids" parameter
+     */
+    public SteamAppDetailsCache(String apiUrl) {
+        this(apiUrl, TTL_FOUND, TTL_NOT_FOUND);
+    }
+
+    /**
+     * @param apiUrl      url of the appdetails endpoint, ids are passed with the "appids" parameter
+     * @param ttlFound    time in ms after which details of an app are fetched again
+     * @param ttlNotFound time in ms after which an app unknown to the store is fetched again
+     */
+    public SteamAppDetailsCache(String apiUrl, long ttlFound, long ttlNotFound) {
+        this.apiUrl = apiUrl;
+        this.ttlFound = ttlFound;
+        this.ttlNotFound = ttlNotFound;
+        try {
+            HTTPClient.getInstance().setMaxConnections(new URL(apiUrl).getHost(), MAX_CONCURRENT_REQUESTS);
+        } catch (MalformedURLException e) {
+            LOGGER.error(TAG + "invalid api url " + apiUrl);
+        }
+    }
+
+    /**
+     * Gets details about an app, fetching them only if they are not cached or expired.
+     *
+     * @param appId Steam id of the app
+     * @return details about the app, which may be not found. If the store can not be joined, expired details are
+     * returned if there are some.
+     * @throws UnirestException if the store could not be joined and nothing was cached about this app
+     */
+    public SteamAppDetails get(int appId) throws UnirestException {
+        loadFromDB();
+        SteamAppDetails cached = detailsMap.get(appId);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        try {
+            return HTTPClient.await(fetch(appId, cached));
+        } catch (IOException e) {
+            if (cached != null) {
+                return cached;
+            }
+            throw new UnirestException(e);
+        }
+    }
+
+    /**
+     * Gets details about many apps at once. Apps that are not cached or expired are fetched concurrently.
+     *
+     * @param appIds Steam ids of the apps
+     * @return details by app id. Apps that could not be fetched and were never cached are missing from the map.
+     */
+    public Map<Integer, SteamAppDetails> getAll(Collection<Integer> appIds) {
+        loadFromDB();
+        HashMap<Integer, SteamAppDetails> result = new HashMap<>();
+        HashMap<Integer, CompletableFuture<SteamAppDetails>> futures = new HashMap<>();
+        for (Integer appId : appIds) {
+            SteamAppDetails cached = detailsMap.get(appId);
+            if (cached != null && !isExpired(cached)) {
+                result.put(appId, cached);
+            } else if (!futures.containsKey(appId)) {
+                futures.put(appId, fetch(appId, cached));
+            }
+        }
+        if (!futures.isEmpty()) {
+            LOGGER.debug(TAG + result.size() + " apps cached, fetching " + futures.size() + " apps");
+        }
+        for (Map.Entry<Integer, CompletableFuture<SteamAppDetails>> future : futures.entrySet()) {
+            try {
+                result.put(future.getKey(), HTTPClient.await(future.getValue()));
+            } catch (InterruptedIOException e) {
+                break;
+            } catch (IOException e) {
+                SteamAppDetails cached = detailsMap.get(future.getKey());
+                if (cached != null) {
+                    result.put(future.getKey(), cached);
+                }
+                LOGGER.error(TAG + "could not fetch app " + future.getKey() + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private boolean isExpired(SteamAppDetails details) {
+        long ttl = details.isFound() ? ttlFound : ttlNotFound;
+        return System.currentTimeMillis() - details.getFetchDate() > ttl;
+    }
+
+    /**
+     * Requests the store about the given app, conditionally if it is already cached, then stores the result.
+     */
+    private CompletableFuture<SteamAppDetails> fetch(int appId, SteamAppDetails cached) {
+        HTTPRequest request = HTTPClient.getInstance().get(apiUrl + "?appids=" + appId)
+                .header("Accept", "application/json");
+        if (cached != null && cached.getEtag() != null) {
+            request.header("If-None-Match", cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            request.header("If-Modified-Since", cached.getLastModified());
+        }
+        return request.send().thenApply(response -> {
+            try {
+                return onResponse(appId, cached, response);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private SteamAppDetails onResponse(int appId, SteamAppDetails cached, HTTPResponse response) throws IOException {
+        long now = System.currentTimeMillis();
+        SteamAppDetails details;
+        if (response.getStatus() == 304 && cached != null) {
+            details = cached.revalidated(now);
+        } else if (response.getStatus() == 200) {
+            details = parse(appId, response.getBodyAsString(), response.getHeader("ETag"), response.getHeader("Last-Modified"), now);
+        } else {
+            throw new HTTPException(response.getUrl(), response.getStatus());
+        }
+        detailsMap.put(appId, details);
+        saveInDB(details);
+        return details;
+    }
+
+    /**
+     * Parses the body of an appdetails response, which looks like {"440":{"success":true,"data":{...}}}
+     */
+    private static SteamAppDetails parse(int appId, String body, String etag, String lastModified, long fetchDate) throws IOException {
+        if (body == null || body.trim().isEmpty() || body.trim().equals("null")) {
+            return SteamAppDetails.notFound(appId, etag, lastModified, fetchDate);
+        }
+        try {
+            JSONObject idObject = new JSONObject(body).optJSONObject(Integer.toString(appId));
+            if (idObject == null || !idObject.optBoolean("success", false) || idObject.optJSONObject("data") == null) {
+                return SteamAppDetails.notFound(appId, etag, lastModified, fetchDate);
+            }
+            JSONObject data = idObject.getJSONObject("data");
+            JSONObject releaseDate = data.optJSONObject("release_date");
+            return new SteamAppDetails(appId,
+                    true,
+                    data.optString("type", null),
+                    data.optString("name", null),
+                    Jsoup.parse(data.optString("about_the_game", "")).text(),
+                    releaseDate == null ? null : releaseDate.optString("date", null),
+                    etag,
+                    lastModified,
+                    fetchDate);
+        } catch (JSONException e) {
+            throw new IOException("Received invalid json from steam for app " + appId + ": " + e.getMessage());
+        }
+    }
+
+    private void loadFromDB() {
+        if (loadedFromDB) {
+            return;
+        }
+        synchronized (detailsMap) {
+            if (loadedFromDB) {
+                return;
+            }
+            try (Statement statement = DataBase.getUserConnection().createStatement();
+                 ResultSet set = statement.executeQuery("SELECT * FROM SteamAppCache")) {
+                while (set.next()) {
+                    int appId = set.getInt("app_id");
+                    detailsMap.putIfAbsent(appId, new SteamAppDetails(appId,
+                            set.getInt("found") != 0,
+                            set.getString("type"),
+                            set.getString("name"),
+                            set.getString("description"),
+                            set.getString("release_date"),
+                            set.getString("etag"),
+                            set.getString("last_modified"),
+                            set.getLong("fetch_date")));
+                }
+                LOGGER.debug(TAG + "loaded " + detailsMap.size() + " cached apps");
+            } catch (SQLException e) {
+                LOGGER.error(TAG + "could not load cached apps");
+                e.printStackTrace();
+            }
+            loadedFromDB = true;
+        }
+    }
+
+    private static void saveInDB(SteamAppDetails details) {
+        String sql = "INSERT OR REPLACE INTO SteamAppCache(app_id,found,type,name,description,release_date,etag,last_modified,fetch_date) VALUES (?,?,?,?,?,?,?,?,?)";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setInt(1, details.getAppId());
+            statement.setInt(2, details.isFound() ? 1 : 0);
+            statement.setString(3, details.getType());
+            statement.setString(4, details.getName());
+            statement.setString(5, details.getDescription());
+            statement.setString(6, details.getReleaseDate());
+            statement.setString(7, details.getEtag());
+            statement.setString(8, details.getLastModified());
+            statement.setLong(9, details.getFetchDate());
+            statement.execute();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not save app " + details.getAppId());
+            e.printStackTrace();
+        }
+    }
+}
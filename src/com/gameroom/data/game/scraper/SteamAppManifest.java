@@ -0,0 +1,170 @@
+package com.gameroom.data.game.scraper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Data read from a Steam appmanifest_*.acf file, located in each steamapps folder of a Steam library. Only the few keys
+ * GameRoom needs are read, see {@link #read(VDFParser)}.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SteamAppManifest {
+    public final static String FILE_PREFIX = "appmanifest_";
+    public final static String FILE_SUFFIX = ".acf";
+
+    /**
+     * Bit of the "StateFlags" value set by Steam once all the app's content has been downloaded
+     */
+    private final static long STATE_FULLY_INSTALLED = 4;
+
+    private int appId = -1;
+    private String name;
+    private String installDir;
+    private long sizeOnDisk = -1;
+    private long stateFlags = -1;
+
+    private SteamAppManifest() {
+    }
+
+    /**
+     * Reads the given manifest.
+     *
+     * @param manifestFile an appmanifest_*.acf file
+     * @return a {@link SteamAppManifest} with the values found in the file
+     * @throws IOException if the file could not be read or is not valid KeyValues
+     */
+    public static SteamAppManifest read(File manifestFile) throws IOException {
+        try (VDFParser parser = new VDFParser(manifestFile)) {
+            SteamAppManifest manifest = read(parser);
+            if (manifest.appId == -1) {
+                manifest.appId = parseAppId(manifestFile.getName());
+            }
+            return manifest;
+        }
+    }
+
+    /**
+     * See {@link #read(File)}
+     */
+    public static SteamAppManifest read(Reader reader) throws IOException {
+        try (VDFParser parser = new VDFParser(reader)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Pulls values directly located under the "AppState" object, and stops as soon as all needed values are found or
+     * this object is closed. Nested objects (depots, user config...) are skipped without being stored.
+     */
+    private static SteamAppManifest read(VDFParser parser) throws IOException {
+        SteamAppManifest manifest = new SteamAppManifest();
+        VDFParser.Event event;
+        while ((event = parser.next()) != VDFParser.Event.END_DOCUMENT) {
+            if (event == VDFParser.Event.START_OBJECT && parser.getDepth() > 1) {
+                parser.skipObject();
+            } else if (event == VDFParser.Event.END_OBJECT && parser.getDepth() == 0) {
+                break;
+            } else if (event == VDFParser.Event.VALUE && parser.getDepth() == 1) {
+                manifest.setValue(parser.getKey(), parser.getValue());
+                if (manifest.isComplete()) {
+                    break;
+                }
+            }
+        }
+        return manifest;
+    }
+
+    private void setValue(String key, String value) {
+        switch (key.toLowerCase()) {
+            case "appid":
+                appId = (int) parseLong(value, -1);
+                break;
+            case "name":
+                name = value.trim();
+                break;
+            case "installdir":
+                installDir = value;
+                break;
+            case "sizeondisk":
+                sizeOnDisk = parseLong(value, -1);
+                break;
+            case "stateflags":
+                stateFlags = parseLong(value, -1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean isComplete() {
+        return appId != -1 && name != null && installDir != null && sizeOnDisk != -1 && stateFlags != -1;
+    }
+
+    /**
+     * @param fileName the name of a manifest file, e.g. appmanifest_440.acf
+     * @return the Steam id contained in this name, -1 if the name does not follow the manifest naming convention
+     */
+    public static int parseAppId(String fileName) {
+        if (fileName == null || !fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        return (int) parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()), -1);
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public int getAppId() {
+        return appId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getInstallDir() {
+        return installDir;
+    }
+
+    /**
+     * @param steamAppsFolder the steamapps folder containing this manifest
+     * @return the folder the app is installed into, null if the manifest does not declare any
+     */
+    public File getInstallFolder(File steamAppsFolder) {
+        if (installDir == null || steamAppsFolder == null) {
+            return null;
+        }
+        return new File(steamAppsFolder, "common" + File.separator + installDir);
+    }
+
+    /**
+     * @return the size of the app on disk in bytes, -1 if unknown
+     */
+    public long getSizeOnDisk() {
+        return sizeOnDisk;
+    }
+
+    public long getStateFlags() {
+        return stateFlags;
+    }
+
+    /**
+     * @return false if Steam states this app is not fully downloaded yet (or being uninstalled), true otherwise. Manifests
+     * without state are considered installed, as was done before states were read.
+     */
+    public boolean isFullyInstalled() {
+        return stateFlags == -1 || (stateFlags & STATE_FULLY_INSTALLED) != 0;
+    }
+
+    public SteamPreEntry toPreEntry() {
+        return new SteamPreEntry(name == null ? "" : name, appId);
+    }
+}
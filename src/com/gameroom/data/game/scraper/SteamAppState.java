@@ -0,0 +1,81 @@
+package com.gameroom.data.game.scraper;
+
+/**
+ * State of a Steam app as stored by Steam in the registry (or registry.vdf on Linux), see {@link SteamAppStateService}.
+ * Instances are immutable.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SteamAppState {
+    /**
+     * State of apps that Steam knows nothing about
+     */
+    public final static SteamAppState UNKNOWN = new SteamAppState(-1, false, false, false, false);
+
+    private final int appId;
+    private final boolean installed;
+    private final boolean running;
+    private final boolean launching;
+    private final boolean updating;
+
+    SteamAppState(int appId, boolean installed, boolean running, boolean launching, boolean updating) {
+        this.appId = appId;
+        this.installed = installed;
+        this.running = running;
+        this.launching = launching;
+        this.updating = updating;
+    }
+
+    public int getAppId() {
+        return appId;
+    }
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isLaunching() {
+        return launching;
+    }
+
+    public boolean isUpdating() {
+        return updating;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof SteamAppState)) {
+            return false;
+        }
+        SteamAppState other = (SteamAppState) object;
+        return appId == other.appId
+                && installed == other.installed
+                && running == other.running
+                && launching == other.launching
+                && updating == other.updating;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = appId;
+        result = 31 * result + (installed ? 1 : 0);
+        result = 31 * result + (running ? 1 : 0);
+        result = 31 * result + (launching ? 1 : 0);
+        result = 31 * result + (updating ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SteamAppState{appId=" + appId
+                + ", installed=" + installed
+                + ", running=" + running
+                + ", launching=" + launching
+                + ", updating=" + updating + "}";
+    }
+}
@@ -0,0 +1,340 @@
+package com.gameroom.data.game.scraper;
+
+import com.gameroom.system.os.WindowsRegistry;
+import com.gameroom.ui.Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Keeps the state (installed, running...) of all Steam apps in memory, so that scrapers and {@link com.gameroom.system.application.Monitor}s
+ * do not have to query Steam for every single app.
+ * <p>
+ * All states are loaded in one read : the subkeys of Steam's Apps key, read in process with {@link WindowsRegistry} on
+ * Windows, or Steam's registry.vdf file on Linux. Once someone has subscribed with
+ * {@link #subscribe(int, OnSteamAppStateChanged)}, a single reader thread refreshes them whenever Steam changes them,
+ * whatever the number of subscribers, without polling :
+ * - on Linux, registry.vdf is watched with a {@link WatchService}
+ * - on Windows, the Apps key is watched with {@link WindowsRegistry#watchUserKey(String)}
+ * Until then, or if they can not be watched, cached states are reloaded on access once older than {@link #CACHE_TTL} ms.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SteamAppStateService {
+    private final static String TAG = "SteamAppStateService: ";
+    private final static String REG_APPS_KEY = "SOFTWARE\\Valve\\Steam\\Apps";
+
+    private final static long CACHE_TTL = TimeUnit.SECONDS.toMillis(30);
+
+    private static SteamAppStateService INSTANCE;
+
+    private final boolean windows;
+    private final File registryVDF;
+
+    private volatile Map<Integer, SteamAppState> states = new HashMap<>();
+    private volatile long lastLoadTime = 0;
+    private volatile boolean watching = false;
+
+    private final ConcurrentHashMap<Integer, CopyOnWriteArrayList<OnSteamAppStateChanged>> listeners = new ConcurrentHashMap<>();
+
+    public static synchronized SteamAppStateService getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new SteamAppStateService();
+        }
+        return INSTANCE;
+    }
+
+    private SteamAppStateService() {
+        windows = System.getProperty("os.name", "").toLowerCase().contains("win");
+        registryVDF = new File(System.getProperty("user.home"), ".steam" + File.separator + "registry.vdf");
+    }
+
+    /**
+     * @param appId the Steam id of the app
+     * @return the current state of the app, {@link SteamAppState#UNKNOWN} if Steam does not know this app
+     */
+    public SteamAppState getState(int appId) {
+        ensureLoaded();
+        SteamAppState state = states.get(appId);
+        return state == null ? SteamAppState.UNKNOWN : state;
+    }
+
+    /**
+     * @return a snapshot of the states of all apps known by Steam, by app id
+     */
+    public Map<Integer, SteamAppState> getStates() {
+        ensureLoaded();
+        return new HashMap<>(states);
+    }
+
+    public boolean isInstalled(int appId) {
+        return getState(appId).isInstalled();
+    }
+
+    public boolean isRunning(int appId) {
+        return getState(appId).isRunning();
+    }
+
+    public boolean isLaunching(int appId) {
+        return getState(appId).isLaunching();
+    }
+
+    /**
+     * Registers a listener called each time the state of the given app changes. While there is at least one listener,
+     * states are kept up to date by the reader (see class doc).
+     *
+     * @param appId    the Steam id of the app to watch
+     * @param listener the listener to call
+     */
+    public void subscribe(int appId, OnSteamAppStateChanged listener) {
+        if (listener == null) {
+            return;
+        }
+        listeners.computeIfAbsent(appId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        ensureLoaded();
+        startReader();
+    }
+
+    /**
+     * Removes a listener previously added with {@link #subscribe(int, OnSteamAppStateChanged)}
+     *
+     * @param appId    the Steam id of the app that was watched
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(int appId, OnSteamAppStateChanged listener) {
+        CopyOnWriteArrayList<OnSteamAppStateChanged> appListeners = listeners.get(appId);
+        if (appListeners != null) {
+            appListeners.remove(listener);
+            if (appListeners.isEmpty()) {
+                listeners.remove(appId, appListeners);
+            }
+        }
+    }
+
+    /**
+     * Reads the states of all apps again, and notifies listeners of the apps whose state changed.
+     */
+    public synchronized void refresh() {
+        Map<Integer, SteamAppState> newStates;
+        try {
+            newStates = windows ? readFromRegistry() : readFromRegistryVDF();
+        } catch (IOException e) {
+            LOGGER.error(TAG + "could not read Steam apps states: " + e.getMessage());
+            return;
+        }
+        Map<Integer, SteamAppState> oldStates = states;
+        states = newStates;
+        lastLoadTime = System.currentTimeMillis();
+
+        HashSet<Integer> appIds = new HashSet<>(listeners.keySet());
+        for (Integer appId : appIds) {
+            SteamAppState oldState = oldStates.getOrDefault(appId, SteamAppState.UNKNOWN);
+            SteamAppState newState = newStates.getOrDefault(appId, SteamAppState.UNKNOWN);
+            if (!oldState.equals(newState)) {
+                notifyListeners(appId, oldState, newState);
+            }
+        }
+    }
+
+    private void notifyListeners(int appId, SteamAppState oldState, SteamAppState newState) {
+        CopyOnWriteArrayList<OnSteamAppStateChanged> appListeners = listeners.get(appId);
+        if (appListeners == null) {
+            return;
+        }
+        for (OnSteamAppStateChanged listener : appListeners) {
+            try {
+                listener.onStateChanged(oldState, newState);
+            } catch (Exception e) {
+                LOGGER.error(TAG + "listener of app " + appId + " failed");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        boolean upToDate = lastLoadTime > 0 && watching;
+        if (!upToDate && System.currentTimeMillis() - lastLoadTime > CACHE_TTL) {
+            refresh();
+        }
+    }
+
+    private synchronized void startReader() {
+        if (windows) {
+            startRegistryWatcher();
+        } else {
+            startFileWatcher();
+        }
+    }
+
+    /**
+     * Starts, if not done yet, a daemon thread reloading states each time Steam changes its Apps key. This thread lives
+     * as long as GameRoom does, as it only waits for registry notifications.
+     */
+    private void startRegistryWatcher() {
+        if (watching) {
+            return;
+        }
+        WindowsRegistry.KeyWatcher keyWatcher = WindowsRegistry.watchUserKey(REG_APPS_KEY);
+        if (keyWatcher == null) {
+            LOGGER.error(TAG + "could not watch registry key \"" + REG_APPS_KEY + "\"");
+            return;
+        }
+        watching = true;
+
+        Thread watcherThread = new Thread(() -> {
+            //armed before reading, so that changes made while states are read are not missed
+            while (Main.KEEP_THREADS_RUNNING && keyWatcher.arm()) {
+                refresh();
+                keyWatcher.await();
+            }
+            watching = false;
+            keyWatcher.close();
+        }, "SteamAppStateWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Starts, if not done yet, a daemon thread reloading states each time Steam writes its registry.vdf file. This
+     * thread lives as long as GameRoom does, as it only blocks on the {@link WatchService}.
+     */
+    private void startFileWatcher() {
+        if (watching || !registryVDF.exists()) {
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registryVDF.getParentFile().toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            LOGGER.error(TAG + "could not watch \"" + registryVDF.getAbsolutePath() + "\": " + e.getMessage());
+            return;
+        }
+        watching = true;
+
+        Thread watcherThread = new Thread(() -> {
+            Path fileName = registryVDF.toPath().getFileName();
+            while (Main.KEEP_THREADS_RUNNING) {
+                WatchKey key;
+                try {
+                    key = watchService.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                boolean registryChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    registryChanged = registryChanged || fileName.equals(event.context());
+                }
+                if (registryChanged) {
+                    refresh();
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+            watching = false;
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }, "SteamAppStateWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Reads all apps states from the subkeys of Steam's Apps key.
+     */
+    private static Map<Integer, SteamAppState> readFromRegistry() throws IOException {
+        try {
+            return parseRegistryApps(WindowsRegistry.readUserSubKeysValues(REG_APPS_KEY));
+        } catch (RuntimeException | LinkageError e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the values of the subkeys of Steam's Apps key, which are named by app id and hold a DWORD per flag, e.g.
+     * "Running" = 1
+     *
+     * @param apps values by name, by subkey name, as read by {@link WindowsRegistry#readUserSubKeysValues(String)}
+     * @return states by app id
+     */
+    public static Map<Integer, SteamAppState> parseRegistryApps(Map<String, Map<String, Object>> apps) {
+        HashMap<Integer, SteamAppState> result = new HashMap<>();
+        for (Map.Entry<String, Map<String, Object>> app : apps.entrySet()) {
+            int appId;
+            try {
+                appId = Integer.parseInt(app.getKey().trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            HashMap<String, String> values = new HashMap<>();
+            for (Map.Entry<String, Object> value : app.getValue().entrySet()) {
+                if (value.getValue() instanceof Integer) {
+                    values.put(value.getKey().toLowerCase(), Integer.toHexString((Integer) value.getValue()));
+                }
+            }
+            putState(result, appId, values);
+        }
+        return result;
+    }
+
+    /**
+     * Reads all apps states from registry.vdf, the file Steam uses on Linux to emulate the Windows registry.
+     */
+    private Map<Integer, SteamAppState> readFromRegistryVDF() throws IOException {
+        HashMap<Integer, SteamAppState> result = new HashMap<>();
+        if (!registryVDF.exists()) {
+            return result;
+        }
+        VDFNode apps = VDFParser.parseTree(registryVDF).getNode("Registry", "HKCU", "Software", "Valve", "Steam", "apps");
+        if (apps == null) {
+            return result;
+        }
+        for (VDFNode app : apps.getChildren()) {
+            try {
+                putState(result, Integer.parseInt(app.getName()), app.getValues());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param values values of the app by lower-cased name, as hexadecimal or decimal strings
+     */
+    private static void putState(Map<Integer, SteamAppState> states, int appId, Map<String, String> values) {
+        if (appId == -1) {
+            return;
+        }
+        states.put(appId, new SteamAppState(appId,
+                isSet(values.get("installed")),
+                isSet(values.get("running")),
+                isSet(values.get("launching")),
+                isSet(values.get("updating"))));
+    }
+
+    private static boolean isSet(String value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(value.trim(), 16) != 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
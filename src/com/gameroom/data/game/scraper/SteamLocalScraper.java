@@ -4,17 +4,13 @@ import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.scanner.GameScanner;
-import org.apache.http.conn.ConnectTimeoutException;
+import com.gameroom.data.game.scanner.ScanTask;
 import com.gameroom.system.os.Terminal;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.Callable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.gameroom.ui.Main.LOGGER;
 
@@ -29,47 +25,18 @@ public class SteamLocalScraper {
     private static boolean STEAM_PATH_ALREADY_DISPLAYED = false;
     private static boolean STEAM_DRIVE_LETTER_ALREADY_DISPLAYED = false;
 
-    private final static Pattern STEAM_ACCOUNT_PATTERN = Pattern.compile("(?:\\s*\\\"(.*)\\\"\\s*\\{\\s*\\\"SteamID\\\"\\s*\\\"(\\d*)\\\"\\s*\\})");
-
     static List<SteamProfile> getSteamProfiles(){
         ArrayList<SteamProfile> profiles = new ArrayList<>();
         try {
             File vdfFile = new File(getSteamPath() + "\\config\\config.vdf");
-
-            String fileString = new String(Files.readAllBytes(vdfFile.toPath()));
-            String accountsLines = "";
-
-            int bracketCount = 1;
-            boolean firstBracketEncountered = false;
-            boolean capturingAccounts = false;
-
-            for (String line : fileString.split("\n")) {
-                if (line.contains("\"Accounts\"")) {
-                    capturingAccounts = true;
-                }
-                if(capturingAccounts){
-                    if(line.contains("{")){
-                        if(firstBracketEncountered) {
-                            bracketCount++;
-                        }else{
-                            firstBracketEncountered = true; //we start bracketCount at 1, thus including the first bracket
-                        }
-                    }
-                    if(line.contains("}")){
-                        bracketCount--;
+            VDFNode accounts = VDFParser.parseTree(vdfFile).findNode("Accounts");
+            if (accounts != null) {
+                for (VDFNode account : accounts.getChildren()) {
+                    String steamId = account.getString("SteamID");
+                    if (steamId != null) {
+                        profiles.add(new SteamProfile(account.getName(), steamId));
                     }
-                    accountsLines += line +"\n";
                 }
-
-                if(bracketCount == 0 && capturingAccounts){
-                    break;
-                }
-            }
-
-            Matcher matcher = STEAM_ACCOUNT_PATTERN.matcher(accountsLines);
-            while (matcher.find()){
-                SteamProfile profile = new SteamProfile(matcher.group(1),matcher.group(2));
-                profiles.add(profile);
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -86,80 +53,46 @@ public class SteamLocalScraper {
         scanSteamAppsByReg(scanner);
     }
 
+    /**
+     * Reads the manifests of every Steam library folder, one {@link ScanTask} per folder so that libraries located on
+     * different drives are read in parallel.
+     *
+     * @param scanner the scanner to add found games to
+     * @throws IOException if Steam's path could not be read
+     */
     private static void scanSteamApps(GameScanner scanner) throws IOException {
-        String[] steamAppsPaths = getSteamAppsPath();
-
-        boolean allNull = true;
-        for (String s : steamAppsPaths) {
-            allNull = allNull && (s == null);
-        }
-        if (allNull) {
-            return;
-        }
-
-        for (String path : steamAppsPaths) {
-            if (path != null) {
-                Callable task = new Callable() {
-                    @Override
-                    public Object call() throws Exception {
-                        File steamAppsFolder = new File(path);
-                        String idPrefix = "appmanifest_";
-                        String idSuffix = ".acf";
-                        String namePrefix = "\"name\"";
-                        for (File file : steamAppsFolder.listFiles()) {
-                            String fileName = file.getName();
-                            if (fileName.contains(idPrefix)) {
-                                int id = Integer.parseInt(fileName.substring(idPrefix.length(), fileName.indexOf(idSuffix)));
-
-                                String fileString = new String(Files.readAllBytes(file.toPath()));
-                                String name = "";
-                                for (String line : fileString.split("\n")) {
-                                    if (line.contains(namePrefix)) {
-                                        int indexNamePrefix = line.indexOf(namePrefix);
-                                        name = line.substring(indexNamePrefix + namePrefix.length());
-                                        name = name.replace("\"", "").trim();
-                                    }
-                                }
-                                scanner.checkAndAdd(new SteamPreEntry(name, id).toGameEntry());
-                            }
+        for (String path : getSteamAppsPaths()) {
+            ScanTask task = new ScanTask(scanner, () -> {
+                File steamAppsFolder = new File(path);
+                File[] manifestFiles = steamAppsFolder.listFiles((dir, name) ->
+                        name.startsWith(SteamAppManifest.FILE_PREFIX) && name.endsWith(SteamAppManifest.FILE_SUFFIX));
+                if (manifestFiles == null) {
+                    return null;
+                }
+                for (File file : manifestFiles) {
+                    try {
+                        SteamAppManifest manifest = SteamAppManifest.read(file);
+                        if (manifest.getAppId() != -1 && manifest.isFullyInstalled()) {
+                            scanner.checkAndAdd(manifest.toPreEntry().toGameEntry());
                         }
-                        return null;
+                    } catch (IOException e) {
+                        LOGGER.error("SteamLocalScraper : could not read manifest \"" + file.getAbsolutePath() + "\"");
+                        LOGGER.error(e.getMessage());
                     }
-                };
-
-                GameWatcher.getInstance().submitTask(task);
-            }
+                }
+                return null;
+            });
+            GameWatcher.getInstance().submitTask(task);
         }
     }
 
     private static void scanSteamAppsByReg(GameScanner scanner) {
-        String installedPrefix = "Installed    REG_DWORD";
-        String regFolder = "HKEY_CURRENT_USER\\SOFTWARE\\Valve\\Steam\\Apps\\";
         ArrayList<String> steamIds = new ArrayList<>();
-        Terminal terminal = new Terminal(false);
-        String[] output = null;
-        try {
-            output = terminal.execute("reg", "query", regFolder, "/s");
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        if (output == null || output.length == 0) {
-            return;
-        }
-
-        String id = null;
-        for (String line : output) {
-            if (line.contains(regFolder)) {
-                id = LauncherGameScraper.getValue(regFolder, line);
+        SteamAppStateService.getInstance().getStates().forEach((appId, state) -> {
+            if (state.isInstalled()) {
+                steamIds.add(Integer.toString(appId));
             }
-            if (id != null && line.contains(installedPrefix)) {
-                String installed = LauncherGameScraper.getValue(installedPrefix, line);
-                if (installed.equals("0x1")) {
-                    steamIds.add(id);
-                }
-                id = null;
-            }
-        }
+        });
         for (String steamId : steamIds) {
             Callable task = new Callable() {
                 @Override
@@ -170,7 +103,7 @@ public class SteamLocalScraper {
                             entry.setInstalled(true);
                             scanner.checkAndAdd(entry);
                         }
-                    } catch (ConnectTimeoutException | UnirestException e) {
+                    } catch (UnirestException e) {
                         e.printStackTrace();
                     }
                     return null;
@@ -180,9 +113,12 @@ public class SteamLocalScraper {
         }
     }
 
-    private static String[] getSteamAppsPath() throws IOException {
-        int dirCounter = 0;
-        String[] pathsToReturn = new String[5];
+    /**
+     * @return the distinct steamapps folders of all of the user's Steam libraries
+     * @throws IOException if Steam's path could not be read
+     */
+    private static Collection<String> getSteamAppsPaths() throws IOException {
+        LinkedHashSet<String> pathsToReturn = new LinkedHashSet<>();
 
         String steamPath = getSteamPath();
         char driveLetter = 'C';
@@ -202,7 +138,7 @@ public class SteamLocalScraper {
                 LOGGER.info("Using default Steam's common path at : " + defaultSteamAppsPath);
                 STEAMAPPS_DEFAULTPATH1_ALREADY_DISPLAYED = true;
             }
-            pathsToReturn[dirCounter++] = defaultSteamAppsPath;
+            pathsToReturn.add(defaultSteamAppsPath);
         }
 
         defaultSteamAppsPath = defaultSteamAppsPath.replaceFirst("C", driveLetter + "");
@@ -212,7 +148,7 @@ public class SteamLocalScraper {
                 LOGGER.info("Using default Steam's common path at : " + defaultSteamAppsPath);
                 STEAMAPPS_DEFAULTPATH2_ALREADY_DISPLAYED = true;
             }
-            pathsToReturn[dirCounter++] = defaultSteamAppsPath;
+            pathsToReturn.add(defaultSteamAppsPath);
         }
         defaultSteamAppsPath = steamPath + "\\steamapps";
         defaultCommonPath = steamPath + "\\steamapps\\common";
@@ -221,35 +157,52 @@ public class SteamLocalScraper {
                 LOGGER.info("Using default Steam's common path at : " + defaultSteamAppsPath);
                 STEAMAPPS_DEFAULTPATH3_ALREADY_DISPLAYED = true;
             }
-            pathsToReturn[dirCounter++] = defaultSteamAppsPath;
+            pathsToReturn.add(defaultSteamAppsPath);
         }
 
         File vdfFile = new File(getSteamPath() + "\\steamapps\\libraryfolders.vdf");
-        String returnValue = null;
-        String fileString = new String(Files.readAllBytes(vdfFile.toPath()));
-
-        String prefix = "\"1\"";
-        for (String line : fileString.split("\n")) {
-            if (line.contains(prefix)) {
-                int index = line.indexOf(prefix) + prefix.length();
-                returnValue = line.substring(index)
-                        .replace("\"", "")
-                        .replace("\n", "")
-                        .replace("}", "")
-                        .replace("\\\\", "\\")
-                        .trim()
-                        + "\\steamapps";
+        VDFNode libraryFolders = null;
+        try {
+            libraryFolders = VDFParser.parseTree(vdfFile).getNode("libraryfolders");
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+        }
+        int libraryCount = 0;
+        if (libraryFolders != null) {
+            //older versions of Steam store paths directly as numbered values, newer ones store a numbered object per
+            //library with a "path" value
+            for (Map.Entry<String, String> folder : libraryFolders.getValues().entrySet()) {
+                if (isLibraryIndex(folder.getKey())) {
+                    pathsToReturn.add(folder.getValue() + "\\steamapps");
+                    libraryCount++;
+                }
+            }
+            for (VDFNode folder : libraryFolders.getChildren()) {
+                if (isLibraryIndex(folder.getName()) && folder.getString("path") != null) {
+                    pathsToReturn.add(folder.getString("path") + "\\steamapps");
+                    libraryCount++;
+                }
             }
         }
-        if (returnValue == null) {
+        if (libraryCount == 0) {
             LOGGER.error("Steam's path is : " + getSteamPath());
-            LOGGER.error("Could not retrieve user's steam apps path, here is libraryfolders.vdf : ");
-            LOGGER.error(fileString);
+            LOGGER.error("Could not retrieve user's steam apps path from libraryfolders.vdf");
         }
-        pathsToReturn[dirCounter++] = returnValue;
         return pathsToReturn;
     }
 
+    private static boolean isLibraryIndex(String key) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static String getSteamPath() throws IOException {
         Terminal terminal = new Terminal();
         String[] output = terminal.execute("reg", "query", "\"HKEY_CURRENT_USER\\SOFTWARE\\Valve\\Steam\"", "/v", "SteamPath");
@@ -268,35 +221,15 @@ public class SteamLocalScraper {
         return null;
     }
 
-    public static boolean isSteamGameRunning(int steam_id) throws IOException {
-        return getSteamGameStatus(steam_id, "Running");
+    public static boolean isSteamGameRunning(int steam_id) {
+        return SteamAppStateService.getInstance().isRunning(steam_id);
     }
 
     public static boolean isSteamGameInstalled(int steam_id) {
-        try {
-            return getSteamGameStatus(steam_id, "Installed");
-        } catch (IOException ignored) {
-
-        }
-        return false;
+        return SteamAppStateService.getInstance().isInstalled(steam_id);
     }
 
-    public static boolean isSteamGameLaunching(int steam_id) throws IOException {
-        return getSteamGameStatus(steam_id, "Launching");
-    }
-
-    private static boolean getSteamGameStatus(int steam_id, String status) throws IOException {
-        Terminal terminal = new Terminal(false);
-        String[] output = terminal.execute("reg", "query", "\"HKEY_CURRENT_USER\\SOFTWARE\\Valve\\Steam\\Apps\\" + steam_id + "\"", "/v", status);
-        String result = null;
-        for (String s : output) {
-            if (s.contains(status)) {
-                String prefix = status + "    REG_DWORD    0x";
-                int index = s.indexOf(prefix) + prefix.length();
-                result = s.substring(index, index + 1);
-                break;
-            }
-        }
-        return (result != null) && (result.equals("1"));
+    public static boolean isSteamGameLaunching(int steam_id) {
+        return SteamAppStateService.getInstance().isLaunching(steam_id);
     }
 }
@@ -1,7 +1,5 @@
 package com.gameroom.data.game.scraper;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.entry.GameEntry;
@@ -10,23 +8,21 @@ import com.gameroom.data.game.entry.Platform;
 import com.gameroom.data.game.scanner.GameScanner;
 import com.gameroom.data.game.scanner.OnGameFound;
 import com.gameroom.data.game.scanner.ScanTask;
-import org.apache.http.conn.ConnectTimeoutException;
+import com.gameroom.data.http.HTTPClient;
 import org.json.*;
-import org.jsoup.Jsoup;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.dialog.GameRoomAlert;
 import com.gameroom.ui.dialog.SteamProfileSelector;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 
 import static com.gameroom.system.application.settings.GeneralSettings.settings;
@@ -55,12 +51,20 @@ public class SteamOnlineScraper {
             SteamProfile profile = settings().getSteamProfileToScan();
             if (profile != null) {
                 JSONArray ownedArray = askGamesOwned(profile.getAccountId());
+                if (ownedArray == null) {
+                    return;
+                }
+                ArrayList<Integer> ownedIds = new ArrayList<>();
+                for (int i = 0; i < ownedArray.length(); i++) {
+                    ownedIds.add(ownedArray.getJSONObject(i).getInt("appID"));
+                }
+                //fetches all new or expired apps at once, so that the loop below only reads the cache
+                Map<Integer, SteamAppDetails> detailsMap = SteamAppDetailsCache.getInstance().getAll(ownedIds);
+
                 for (int i = 0; i < ownedArray.length(); i++) {
-                    SteamPreEntry preEntry = new SteamPreEntry(ownedArray.getJSONObject(i).getString("name"), ownedArray.getJSONObject(i).getInt("appID"));
-                    GameEntry entry = preEntry.toGameEntry();
-                    GameEntry scrapedEntry = SteamOnlineScraper.getEntryForSteamId(entry.getPlatformGameID());
-                    if (scrapedEntry != null) {
-                        entry = scrapedEntry;
+                    int steamId = ownedArray.getJSONObject(i).getInt("appID");
+                    GameEntry entry = toGameEntry(detailsMap.get(steamId));
+                    if (entry != null) {
                         try {
                             double playTimeHours = ownedArray.getJSONObject(i).getDouble("hoursOnRecord");
                             entry.setPlayTimeSeconds((long) (playTimeHours * 3600));
@@ -119,98 +123,56 @@ public class SteamOnlineScraper {
                     LOGGER.debug("Play time of " + entry.getName() + " : " + entry.getPlayTimeFormatted(GameEntry.TIME_FORMAT_FULL_DOUBLEDOTS));
                     entries.add(entry);
                 }
-            } catch (ConnectTimeoutException | UnirestException ignored) {
+            } catch (UnirestException ignored) {
                 LOGGER.error("scanSteamGames, Error connecting to steam");
             }
         });
         return entries;
     }
 
-    public static GameEntry getEntryForSteamId(int steamId) throws ConnectTimeoutException, UnirestException {
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException ignored) {
-        }
-        JSONObject gameInfoJson = askGameInfos(steamId);
-        if (gameInfoJson != null && (gameInfoJson.getString("type").equals("game") || gameInfoJson.getString("type").equals("demo"))) {
+    public static GameEntry getEntryForSteamId(int steamId) throws UnirestException {
+        return toGameEntry(SteamAppDetailsCache.getInstance().get(steamId));
+    }
 
-            GameEntry entry = new GameEntry(gameInfoJson.getString("name"));
-            entry.setDescription(Jsoup.parse(gameInfoJson.getString("about_the_game")).text());
+    /**
+     * Builds a {@link GameEntry} out of details about a Steam app
+     *
+     * @param details details about the app, may be null
+     * @return a {@link GameEntry} if the app is a game or a demo, null otherwise
+     */
+    private static GameEntry toGameEntry(SteamAppDetails details) {
+        if (details == null || !details.isGame() || details.getName() == null || details.getName().isEmpty()) {
+            return null;
+        }
+        int steamId = details.getAppId();
+        GameEntry entry = new GameEntry(details.getName());
+        entry.setDescription(details.getDescription());
+        if (details.getReleaseDate() != null) {
             try {
-                Date input = STEAM_DATE_FORMAT.parse(gameInfoJson.getJSONObject("release_date").getString("date"));
+                Date input;
+                synchronized (STEAM_DATE_FORMAT) {
+                    input = STEAM_DATE_FORMAT.parse(details.getReleaseDate());
+                }
                 entry.setReleaseDate(input.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime());
             } catch (ParseException | NumberFormatException e) {
                 Main.LOGGER.error("Invalid release date format");
             }
-            boolean installed = SteamLocalScraper.isSteamGameInstalled(steamId);
-            entry.setPlatformGameId(steamId);
-            entry.setPlatform(Platform.getFromId(installed ? Platform.STEAM_ID : Platform.STEAM_ONLINE_ID));
-            entry.setInstalled(installed);
-
-            if (entry.getName() == null || entry.getName().isEmpty()) {
-                return null;
-            }
-            return entry;
         }
-        return null;
+        boolean installed = SteamLocalScraper.isSteamGameInstalled(steamId);
+        entry.setPlatformGameId(steamId);
+        entry.setPlatform(Platform.getFromId(installed ? Platform.STEAM_ID : Platform.STEAM_ONLINE_ID));
+        entry.setInstalled(installed);
+        return entry;
     }
 
-    private static JSONArray askGamesOwned(String steam_profile_id) throws ConnectTimeoutException, UnirestException {
+    private static JSONArray askGamesOwned(String steam_profile_id) throws UnirestException {
         try {
-            HttpResponse<String> response = Unirest.get("http://steamcommunity.com/profiles/" + steam_profile_id + "/games/?tab=all&xml=1")
+            String xmlString = HTTPClient.await(HTTPClient.getInstance().get("http://steamcommunity.com/profiles/" + steam_profile_id + "/games/?tab=all&xml=1")
                     .header("Accept", "application/json")
-                    .asString();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(response.getRawBody(), "UTF-8"));
-            String xmlString = "";
-            String line = null;
-            while ((line = reader.readLine()) != null) {
-                xmlString += line + "\n";
-            }
-            reader.close();
+                    .asString());
             return XML.toJSONObject(xmlString).getJSONObject("gamesList").getJSONObject("games").getJSONArray("game");
         } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private static JSONObject askGameInfos(long steam_id) throws ConnectTimeoutException {
-        String json = null;
-        try {
-            HttpResponse<String> response = Unirest.get("http://store.steampowered.com/api/appdetails?appids=" + steam_id)
-                    .header("Accept", "application/json")
-                    .asString();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(response.getRawBody(), "UTF-8"));
-            json = reader.readLine();
-            reader.close();
-            //Main.LOGGER.debug("Recevied : "+json);
-
-            if (json == null || json.equals("null")) {
-                return null;
-            }
-            JSONTokener tokener = new JSONTokener(json);
-
-            JSONObject idObject = new JSONObject(tokener).getJSONObject("" + steam_id);
-            boolean success = idObject.getBoolean("success");
-
-            return success ? idObject.getJSONObject("data") : null;
-        } catch (JSONException e) {
-            if (e.toString().contains("not found")) {
-                System.err.println("Data not found");
-            } else if (e.toString().contains("Connect to store.steampowered.com:80")) {
-                Main.LOGGER.info("Could not join store.steampowered, timeout. (SteamOnlineScraper.askGameInfos)");
-            } else if (e.toString().contains("A JSONObject text must begin with '{' at ")) {
-                Main.LOGGER.error("Receveid invalid json from steam : " + json);
-            } else {
-                e.printStackTrace();
-            }
-        } catch (UnirestException e) {
-            if (e.toString().contains("java.net.UnknownHostException:")) {
-                Main.LOGGER.info("Could not join store.steampowered, returning no entry");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+            throw new UnirestException(e);
         }
-        return null;
     }
 }
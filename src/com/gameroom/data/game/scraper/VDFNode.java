@@ -0,0 +1,119 @@
+package com.gameroom.data.game.scraper;
+
+import java.util.*;
+
+/**
+ * Object of a Valve KeyValues tree, as built by {@link VDFParser#parseTree(java.io.File)}. Keys are looked up
+ * case-insensitively, as Steam itself does not keep a consistent casing across versions (e.g. "Valve" and "valve" in
+ * config.vdf).
+ * <p>
+ * If a key is declared twice in the same object, the last declaration wins.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class VDFNode {
+    private final String name;
+    private final LinkedHashMap<String, String> values = new LinkedHashMap<>();
+    private final LinkedHashMap<String, VDFNode> children = new LinkedHashMap<>();
+
+    VDFNode(String name) {
+        this.name = name;
+    }
+
+    void putValue(String key, String value) {
+        values.put(normalize(key), value);
+    }
+
+    void putChild(VDFNode child) {
+        children.put(normalize(child.getName()), child);
+    }
+
+    /**
+     * @return the key under which this object was declared, null for the root of a file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param key key of the value to get
+     * @return the value declared with the given key in this object, null if there is no such value
+     */
+    public String getString(String key) {
+        return values.get(normalize(key));
+    }
+
+    /**
+     * @param key          key of the value to get
+     * @param defaultValue value to return if there is no such key or if its value is not a number
+     * @return the value declared with the given key in this object parsed as a long
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Follows the given path of keys from this object.
+     *
+     * @param path keys of the successive objects to go through
+     * @return the object found at the end of the path, null if one of the keys was not found
+     */
+    public VDFNode getNode(String... path) {
+        VDFNode node = this;
+        for (String key : path) {
+            node = node.children.get(normalize(key));
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Looks for an object with the given key in this object and all its descendants, depth first.
+     *
+     * @param key the key of the object to find
+     * @return the first object with that key, null if there is none
+     */
+    public VDFNode findNode(String key) {
+        String normalizedKey = normalize(key);
+        VDFNode node = children.get(normalizedKey);
+        if (node != null) {
+            return node;
+        }
+        for (VDFNode child : children.values()) {
+            node = child.findNode(key);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an unmodifiable view of the values declared in this object, with lower-cased keys
+     */
+    public Map<String, String> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return an unmodifiable view of the objects declared in this object
+     */
+    public Collection<VDFNode> getChildren() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
+    private static String normalize(String key) {
+        return key == null ? null : key.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,336 @@
+package com.gameroom.data.game.scraper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming parser for Valve's KeyValues format, used by Steam in files like config.vdf, libraryfolders.vdf or
+ * appmanifest_*.acf.
+ * <p>
+ * This is a pull parser : each call to {@link #next()} reads just enough characters to return the next {@link Event},
+ * so that callers interested in a few keys (see {@link SteamAppManifest#read(File)}) can stop reading as soon as they
+ * have what they need. When the whole tree is wanted, {@link #parseTree(File)} builds a {@link VDFNode} out of those
+ * events.
+ * <p>
+ * Supported syntax : quoted and unquoted tokens, escape sequences inside quoted tokens, "//" comments and conditional
+ * tags (e.g. [$WIN32]), which are ignored.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class VDFParser implements Closeable {
+    private final static int BUFFER_SIZE = 8192;
+    private final static int EOF = -1;
+
+    public enum Event {
+        /**
+         * A key followed by an opening bracket, see {@link #getKey()}
+         */
+        START_OBJECT,
+        /**
+         * A closing bracket
+         */
+        END_OBJECT,
+        /**
+         * A key followed by a value, see {@link #getKey()} and {@link #getValue()}
+         */
+        VALUE,
+        /**
+         * End of the stream has been reached
+         */
+        END_DOCUMENT
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos = 0;
+    private int bufferLength = 0;
+    private int line = 1;
+
+    /**
+     * Reused for every token, so that reading a file does not allocate more than the returned keys and values
+     */
+    private final StringBuilder tokenBuilder = new StringBuilder(64);
+
+    private String key;
+    private String value;
+    private int depth = 0;
+
+    public VDFParser(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Given reader is null");
+        }
+        this.reader = reader;
+    }
+
+    public VDFParser(File file) throws IOException {
+        this(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next {@link Event} of the stream.
+     *
+     * @return the next {@link Event}, {@link Event#END_DOCUMENT} once the stream has been fully read
+     * @throws IOException if the stream could not be read or is not valid KeyValues
+     */
+    public Event next() throws IOException {
+        key = null;
+        value = null;
+
+        int type = readToken();
+        while (type == '[') {
+            //conditional tag placed after a value, ignored
+            type = readToken();
+        }
+        if (type == EOF) {
+            if (depth > 0) {
+                throw malformed("unexpected end of file, " + depth + " unclosed bracket(s)");
+            }
+            return Event.END_DOCUMENT;
+        }
+        if (type == '}') {
+            if (depth == 0) {
+                throw malformed("unexpected '}'");
+            }
+            depth--;
+            return Event.END_OBJECT;
+        }
+        if (type == '{') {
+            throw malformed("unexpected '{', expected a key");
+        }
+        key = tokenBuilder.toString();
+
+        type = readToken();
+        while (type == '[') {
+            //conditional tag placed between a key and its value, ignored
+            type = readToken();
+        }
+        switch (type) {
+            case EOF:
+                throw malformed("unexpected end of file after key \"" + key + "\"");
+            case '{':
+                depth++;
+                return Event.START_OBJECT;
+            case '}':
+                throw malformed("unexpected '}' after key \"" + key + "\"");
+            default:
+                value = tokenBuilder.toString();
+                return Event.VALUE;
+        }
+    }
+
+    /**
+     * Skips all events until the end of the current object, i.e. the one whose {@link Event#START_OBJECT} has just been
+     * returned by {@link #next()}
+     *
+     * @throws IOException if the stream could not be read or is not valid KeyValues
+     */
+    public void skipObject() throws IOException {
+        int targetDepth = depth - 1;
+        while (depth > targetDepth) {
+            if (next() == Event.END_DOCUMENT) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the key of the last {@link Event#START_OBJECT} or {@link Event#VALUE}, null otherwise
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the value of the last {@link Event#VALUE}, null otherwise
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the number of objects currently opened, e.g. 1 for keys directly under the root object
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the whole given file into a tree.
+     *
+     * @param file the file to parse
+     * @return a {@link VDFNode} containing the top level keys of the file
+     * @throws IOException if the file could not be read or is not valid KeyValues
+     */
+    public static VDFNode parseTree(File file) throws IOException {
+        try (VDFParser parser = new VDFParser(file)) {
+            return parser.readTree();
+        }
+    }
+
+    /**
+     * See {@link #parseTree(File)}
+     */
+    public static VDFNode parseTree(Reader reader) throws IOException {
+        try (VDFParser parser = new VDFParser(reader)) {
+            return parser.readTree();
+        }
+    }
+
+    private VDFNode readTree() throws IOException {
+        VDFNode root = new VDFNode(null);
+        readInto(root);
+        return root;
+    }
+
+    private void readInto(VDFNode node) throws IOException {
+        Event event;
+        while ((event = next()) != Event.END_DOCUMENT) {
+            switch (event) {
+                case START_OBJECT:
+                    VDFNode child = new VDFNode(key);
+                    node.putChild(child);
+                    readInto(child);
+                    break;
+                case VALUE:
+                    node.putValue(key, value);
+                    break;
+                case END_OBJECT:
+                    return;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Reads the next token into {@link #tokenBuilder}.
+     *
+     * @return '{', '}' or '[' for brackets and conditional tags, EOF at the end of the stream, or '"' for any other
+     * (quoted or not) token
+     */
+    private int readToken() throws IOException {
+        int c = skipBlanksAndComments();
+        if (c == EOF) {
+            return EOF;
+        }
+        tokenBuilder.setLength(0);
+        switch (c) {
+            case '{':
+            case '}':
+                return c;
+            case '[':
+                readConditional();
+                return '[';
+            case '"':
+                readQuoted();
+                return '"';
+            default:
+                tokenBuilder.append((char) c);
+                readUnquoted();
+                return '"';
+        }
+    }
+
+    private int skipBlanksAndComments() throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '\n') {
+                line++;
+            } else if (c == '/' && peek() == '/') {
+                while ((c = read()) != EOF && c != '\n') ;
+                if (c == EOF) {
+                    return EOF;
+                }
+                line++;
+            } else if (!Character.isWhitespace(c) && c != '\uFEFF') {
+                //byte order mark is skipped like any blank
+                return c;
+            }
+        }
+        return EOF;
+    }
+
+    private void readQuoted() throws IOException {
+        int c;
+        while ((c = read()) != '"') {
+            switch (c) {
+                case EOF:
+                    throw malformed("unterminated quoted string");
+                case '\n':
+                    line++;
+                    tokenBuilder.append('\n');
+                    break;
+                case '\\':
+                    int escaped = read();
+                    switch (escaped) {
+                        case 'n':
+                            tokenBuilder.append('\n');
+                            break;
+                        case 't':
+                            tokenBuilder.append('\t');
+                            break;
+                        case '\\':
+                        case '"':
+                            tokenBuilder.append((char) escaped);
+                            break;
+                        case EOF:
+                            throw malformed("unterminated quoted string");
+                        default:
+                            //not an escape sequence, e.g. a single backslash in a path
+                            tokenBuilder.append('\\').append((char) escaped);
+                            break;
+                    }
+                    break;
+                default:
+                    tokenBuilder.append((char) c);
+                    break;
+            }
+        }
+    }
+
+    private void readUnquoted() throws IOException {
+        int c;
+        while ((c = peek()) != EOF && !Character.isWhitespace(c) && c != '{' && c != '}' && c != '"') {
+            tokenBuilder.append((char) read());
+        }
+    }
+
+    private void readConditional() throws IOException {
+        int c;
+        while ((c = read()) != ']') {
+            if (c == EOF || c == '\n') {
+                throw malformed("unterminated conditional tag");
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (bufferPos >= bufferLength && !fill()) {
+            return EOF;
+        }
+        return buffer[bufferPos++];
+    }
+
+    private int peek() throws IOException {
+        if (bufferPos >= bufferLength && !fill()) {
+            return EOF;
+        }
+        return buffer[bufferPos];
+    }
+
+    private boolean fill() throws IOException {
+        bufferLength = reader.read(buffer, 0, BUFFER_SIZE);
+        bufferPos = 0;
+        return bufferLength > 0;
+    }
+
+    private IOException malformed(String reason) {
+        return new IOException("Malformed VDF at line " + line + ": " + reason);
+    }
+}
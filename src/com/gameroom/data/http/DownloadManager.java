@@ -0,0 +1,160 @@
+package com.gameroom.data.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Downloads files through the {@link HTTPClient}, sharing the downloads in progress: a file asked for again while it
+ * is still being downloaded, e.g. a cover requested at the same time by the scraper, the edit scene and an image
+ * selector, is only downloaded once. Callers that asked for another target file get a copy of the downloaded one.
+ * <p>
+ * Downloads get the guarantees of {@link HTTPRequest#download(File, HTTPRequest.ProgressListener)}: at most
+ * {@link HTTPClient#getMaxConnections(String)} of them run at once on a host, the body is streamed to a temporary file
+ * which is renamed once complete, and its length and type are checked. A file that exists in the cache is thus always
+ * complete and never needs to be decoded to be checked.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class DownloadManager {
+    private final static String TAG = "DownloadManager: ";
+
+    private static DownloadManager INSTANCE;
+
+    private final HTTPClient client;
+    /** downloads in progress, by URL */
+    private final ConcurrentHashMap<String, Download> downloads = new ConcurrentHashMap<>();
+
+    /**
+     * A download in progress and the file it writes to
+     */
+    private static class Download {
+        private final File file;
+        private final CompletableFuture<File> future = new CompletableFuture<>();
+
+        private Download(File file) {
+            this.file = file.getAbsoluteFile();
+        }
+    }
+
+    public static synchronized DownloadManager getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new DownloadManager(HTTPClient.getInstance());
+        }
+        return INSTANCE;
+    }
+
+    public DownloadManager(HTTPClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Downloads the given URL to the given file, or joins the download of this URL if one is in progress. In the
+     * latter case, if the download in progress writes to another file, that file is copied to the given one once
+     * downloaded.
+     *
+     * @param url         the URL to download
+     * @param file        the file to write to
+     * @param contentType prefix of the expected content type, e.g. "image/", or null to accept any
+     * @return a future completed with the downloaded file, or exceptionally with an {@link IOException}
+     */
+    public CompletableFuture<File> download(String url, File file, String contentType) {
+        Download download = new Download(file);
+        Download inProgress = downloads.putIfAbsent(url, download);
+        if (inProgress != null) {
+            LOGGER.debug(TAG + "Joining download of " + url);
+            if (inProgress.file.equals(download.file)) {
+                return inProgress.future;
+            }
+            CompletableFuture<File> joined = new CompletableFuture<>();
+            inProgress.future.whenComplete((downloaded, throwable) -> {
+                if (throwable != null) {
+                    joined.completeExceptionally(throwable);
+                    return;
+                }
+                try {
+                    joined.complete(copy(downloaded, file));
+                } catch (IOException e) {
+                    joined.completeExceptionally(e);
+                }
+            });
+            return joined;
+        }
+        client.get(url)
+                .expectContentType(contentType)
+                .download(file, null)
+                .whenComplete((result, throwable) -> {
+                    downloads.remove(url, download);
+                    if (throwable != null) {
+                        download.future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable);
+                    } else {
+                        download.future.complete(result);
+                    }
+                });
+        return download.future;
+    }
+
+    /**
+     * Copies a downloaded file to the target of a joined download, through a temporary file so that the target is
+     * always complete, see {@link HTTPClient#moveAtomically(File, File)}.
+     *
+     * @return the target file
+     */
+    private static File copy(File downloaded, File target) throws IOException {
+        File tempFile = Files.createTempFile(target.getAbsoluteFile().getParentFile().toPath(), target.getName() + ".", HTTPClient.TEMP_FILE_SUFFIX).toFile();
+        try {
+            Files.copy(downloaded.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            HTTPClient.moveAtomically(tempFile, target);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        return target;
+    }
+
+    /**
+     * Downloads the first of the given URLs that can be downloaded, trying them in order, see
+     * {@link #download(String, File, String)}.
+     *
+     * @param file        the file to write to
+     * @param contentType prefix of the expected content type, e.g. "image/", or null to accept any
+     * @param urls        the URLs to try, ordered by preference
+     * @return a future completed with the downloaded file, or exceptionally with the error of the last URL tried
+     */
+    public CompletableFuture<File> downloadFirst(File file, String contentType, String... urls) {
+        CompletableFuture<File> result = new CompletableFuture<>();
+        downloadFrom(0, file, contentType, urls, result);
+        return result;
+    }
+
+    private void downloadFrom(int index, File file, String contentType, String[] urls, CompletableFuture<File> result) {
+        if (index >= urls.length) {
+            result.completeExceptionally(new IOException("No URL to download " + file.getName() + " from"));
+            return;
+        }
+        download(urls[index], file, contentType).whenComplete((downloaded, throwable) -> {
+            if (throwable == null) {
+                result.complete(downloaded);
+            } else if (index + 1 < urls.length) {
+                LOGGER.debug(TAG + "Could not download " + urls[index] + ", trying " + urls[index + 1] + " : " + throwable.getMessage());
+                downloadFrom(index + 1, file, contentType, urls, result);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+    }
+
+    /**
+     * @return the number of URLs being downloaded
+     */
+    public int getDownloadsInProgress() {
+        return downloads.size();
+    }
+}
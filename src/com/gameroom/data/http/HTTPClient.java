@@ -0,0 +1,357 @@
+package com.gameroom.data.http;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared asynchronous HTTP client, through which all of GameRoom's network access goes. Requests are built with
+ * {@link #get(String)} or {@link #post(String)} and return {@link CompletableFuture}s.
+ * <p>
+ * - at most {@link #DEFAULT_MAX_CONNECTIONS_PER_HOST} requests (see {@link #setMaxConnections(String, int)}) run at the
+ * same time on a given host, the others wait in a queue without holding a thread
+ * - bodies are always read entirely and connections are not disconnected, so that the JVM's keep-alive cache reuses
+ * them (it keeps up to 5 idle connections per host by default, more than what we open)
+ * - timeouts are set per request, see {@link HTTPRequest#connectTimeout(int)} and {@link HTTPRequest#readTimeout(int)}
+ * - failed attempts are retried after an exponential backoff with jitter, see {@link HTTPRequest#retries(int)}
+ * - downloads are streamed to a temporary file through NIO channels, checked against the announced length and renamed
+ * atomically, see {@link HTTPRequest#download(File, HTTPRequest.ProgressListener)}
+ * - latency and errors are counted by host in {@link #getMetrics()}
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class HTTPClient {
+    public final static int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+    private final static long BASE_RETRY_DELAY = 500;
+    private final static long MAX_RETRY_DELAY = TimeUnit.SECONDS.toMillis(8);
+    private final static int BUFFER_SIZE = 8192;
+    /** maximal number of bytes transferred from the network to a file at once, between two progress notifications */
+    private final static long TRANSFER_SIZE = 64 * 1024;
+    /** suffix of the file a download is written to before being renamed */
+    public final static String TEMP_FILE_SUFFIX = ".part";
+    private final static String USER_AGENT = "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11";
+
+    private static HTTPClient INSTANCE;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final HashMap<String, HostQueue> hostQueues = new HashMap<>();
+    private final ConcurrentHashMap<String, Integer> maxConnections = new ConcurrentHashMap<>();
+    private final HTTPMetrics metrics = new HTTPMetrics();
+
+    public static synchronized HTTPClient getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new HTTPClient();
+        }
+        return INSTANCE;
+    }
+
+    public HTTPClient() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "HTTPClient-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HTTPClient-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public HTTPRequest get(String url) {
+        return new HTTPRequest(this, "GET", url);
+    }
+
+    public HTTPRequest post(String url) {
+        return new HTTPRequest(this, "POST", url);
+    }
+
+    /**
+     * @param host the host, as in {@link URL#getHost()}
+     * @param max  maximum number of requests running at the same time on this host
+     */
+    public void setMaxConnections(String host, int max) {
+        maxConnections.put(host, Math.max(1, max));
+    }
+
+    public int getMaxConnections(String host) {
+        return maxConnections.getOrDefault(host, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+    }
+
+    public HTTPMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Waits for a request to complete, for callers that need the result synchronously.
+     *
+     * @param future a future returned by a {@link HTTPRequest}
+     * @return the result of the request
+     * @throws IOException the error the request failed with, or an {@link InterruptedIOException} if the calling
+     *                     thread was interrupted
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    CompletableFuture<HTTPResponse> send(HTTPRequest request) {
+        return execute(request, (connection, status) -> {
+            try (InputStream stream = getBodyStream(connection, status)) {
+                return new HTTPResponse(request.getUrl(), status, connection.getHeaderFields(), readAll(stream));
+            }
+        });
+    }
+
+    CompletableFuture<File> download(HTTPRequest request, File file, HTTPRequest.ProgressListener listener) {
+        return execute(request, (connection, status) -> {
+            if (status < 200 || status >= 300) {
+                try (InputStream ignored = getBodyStream(connection, status)) {
+                    throw new HTTPException(request.getUrl(), status);
+                }
+            }
+            String expectedType = request.getExpectedContentType();
+            String contentType = connection.getContentType();
+            if (expectedType != null && contentType != null && !contentType.toLowerCase().startsWith(expectedType)) {
+                try (InputStream ignored = getBodyStream(connection, status)) {
+                    throw new HTTPException(request.getUrl(), status, "Unexpected content type " + contentType);
+                }
+            }
+            long total = connection.getContentLengthLong();
+            //unique, in case the same file is downloaded from several URLs at once
+            File tempFile = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(), file.getName() + ".", TEMP_FILE_SUFFIX).toFile();
+            try {
+                long downloaded = 0;
+                try (ReadableByteChannel input = Channels.newChannel(connection.getInputStream());
+                     FileChannel output = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE,
+                             StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long transferred;
+                    while ((transferred = output.transferFrom(input, downloaded, TRANSFER_SIZE)) > 0) {
+                        downloaded += transferred;
+                        if (listener != null) {
+                            listener.onProgress(downloaded, total);
+                        }
+                    }
+                }
+                if (total >= 0 && downloaded != total) {
+                    throw new IOException("Received " + downloaded + " bytes out of " + total + " for " + request.getUrl());
+                }
+                moveAtomically(tempFile, file);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+            return file;
+        });
+    }
+
+    /**
+     * Renames the source file to the target one, replacing it, so that readers of the target never see a partially
+     * written file
+     */
+    static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private <T> CompletableFuture<T> execute(HTTPRequest request, Exchange<T> exchange) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        String host;
+        try {
+            host = new URL(request.getUrl()).getHost();
+        } catch (MalformedURLException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        attempt(request, host, exchange, future, 0);
+        return future;
+    }
+
+    private <T> void attempt(HTTPRequest request, String host, Exchange<T> exchange, CompletableFuture<T> future, int attemptNumber) {
+        dispatch(host, () -> {
+            if (future.isDone()) {
+                //cancelled while waiting
+                return;
+            }
+            long start = System.currentTimeMillis();
+            HttpURLConnection connection = null;
+            try {
+                connection = open(request);
+                int status = connection.getResponseCode();
+                if (isRetryable(status) && attemptNumber < request.getMaxRetries()) {
+                    try (InputStream ignored = getBodyStream(connection, status)) {
+                        //only closing the stream so that the connection can be reused
+                    }
+                    metrics.recordAttempt(host, System.currentTimeMillis() - start, true, true);
+                    retry(request, host, exchange, future, attemptNumber);
+                    return;
+                }
+                T result = exchange.exchange(connection, status);
+                metrics.recordAttempt(host, System.currentTimeMillis() - start, status >= 400, false);
+                future.complete(result);
+            } catch (IOException e) {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+                boolean retryable = !(e instanceof HTTPException) || isRetryable(((HTTPException) e).getStatus());
+                boolean retry = retryable && attemptNumber < request.getMaxRetries();
+                metrics.recordAttempt(host, System.currentTimeMillis() - start, true, retry);
+                if (retry) {
+                    retry(request, host, exchange, future, attemptNumber);
+                } else {
+                    future.completeExceptionally(e);
+                }
+            } catch (RuntimeException e) {
+                metrics.recordAttempt(host, System.currentTimeMillis() - start, true, false);
+                future.completeExceptionally(e);
+            }
+        });
+    }
+
+    private <T> void retry(HTTPRequest request, String host, Exchange<T> exchange, CompletableFuture<T> future, int attemptNumber) {
+        retryScheduler.schedule(() -> attempt(request, host, exchange, future, attemptNumber + 1),
+                getRetryDelay(attemptNumber), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a delay picked between half and all of an exponentially growing delay, so that requests that failed
+     * together are not all retried at the same time
+     */
+    static long getRetryDelay(int attemptNumber) {
+        long delay = Math.min(MAX_RETRY_DELAY, BASE_RETRY_DELAY << Math.min(attemptNumber, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static boolean isRetryable(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    /**
+     * Runs the given task now if less than the maximum number of requests run on the host, else queues it until one of
+     * them ends.
+     */
+    private void dispatch(String host, Runnable task) {
+        synchronized (hostQueues) {
+            HostQueue queue = hostQueues.computeIfAbsent(host, h -> new HostQueue());
+            if (queue.running >= getMaxConnections(host)) {
+                queue.pending.add(task);
+                return;
+            }
+            queue.running++;
+        }
+        executor.execute(() -> runAndRelease(host, task));
+    }
+
+    private void runAndRelease(String host, Runnable task) {
+        try {
+            task.run();
+        } finally {
+            Runnable next;
+            synchronized (hostQueues) {
+                HostQueue queue = hostQueues.get(host);
+                next = queue.pending.poll();
+                if (next == null) {
+                    queue.running--;
+                }
+            }
+            if (next != null) {
+                executor.execute(() -> runAndRelease(host, next));
+            }
+        }
+    }
+
+    private static HttpURLConnection open(HTTPRequest request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(request.getUrl()).openConnection();
+        connection.setRequestMethod(request.getMethod());
+        connection.setConnectTimeout(request.getConnectTimeout());
+        connection.setReadTimeout(request.getReadTimeout());
+        connection.setRequestProperty("User-Agent", USER_AGENT);
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            connection.setRequestProperty(header.getKey(), header.getValue());
+        }
+        if (!request.getFields().isEmpty()) {
+            byte[] body = encodeFields(request.getFields());
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+            connection.setFixedLengthStreamingMode(body.length);
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(body);
+            }
+        }
+        return connection;
+    }
+
+    private static byte[] encodeFields(Map<String, String> fields) throws UnsupportedEncodingException {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append('&');
+            }
+            builder.append(URLEncoder.encode(field.getKey(), "UTF-8"))
+                    .append('=')
+                    .append(URLEncoder.encode(field.getValue() != null ? field.getValue() : "", "UTF-8"));
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream getBodyStream(HttpURLConnection connection, int status) throws IOException {
+        InputStream stream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        return stream != null ? stream : new ByteArrayInputStream(new byte[0]);
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = stream.read(buffer)) != -1) {
+            output.write(buffer, 0, bytesRead);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads the response of an open connection into the result of a request
+     */
+    private interface Exchange<T> {
+        T exchange(HttpURLConnection connection, int status) throws IOException;
+    }
+
+    private static class HostQueue {
+        private int running = 0;
+        private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+    }
+}
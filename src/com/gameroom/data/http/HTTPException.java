@@ -0,0 +1,30 @@
+package com.gameroom.data.http;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a server answered a request made through {@link HTTPClient} with an unexpected status code.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class HTTPException extends IOException {
+    private final int status;
+
+    public HTTPException(String url, int status) {
+        super("Server replied HTTP code " + status + " for " + url);
+        this.status = status;
+    }
+
+    /**
+     * @param message why the response was rejected although its status code was expected
+     */
+    public HTTPException(String url, int status, String message) {
+        super(message + " for " + url);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gameroom.data.http;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and error counters of the requests made through {@link HTTPClient}, by host. Every attempt of a request is
+ * counted, so a request retried twice counts as three attempts and two retries.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class HTTPMetrics {
+    private final ConcurrentHashMap<String, HostMetrics> hostsMetrics = new ConcurrentHashMap<>();
+
+    void recordAttempt(String host, long latencyMs, boolean failed, boolean retried) {
+        HostMetrics metrics = hostsMetrics.computeIfAbsent(host, h -> new HostMetrics());
+        metrics.attempts.incrementAndGet();
+        metrics.totalLatency.addAndGet(latencyMs);
+        metrics.maxLatency.accumulateAndGet(latencyMs, Math::max);
+        if (failed) {
+            metrics.failures.incrementAndGet();
+        }
+        if (retried) {
+            metrics.retries.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param host the host, as in {@link java.net.URL#getHost()}
+     * @return the metrics of this host, or null if no request was made to it
+     */
+    public HostMetrics get(String host) {
+        return hostsMetrics.get(host);
+    }
+
+    /**
+     * @return a copy of the metrics of all hosts, sorted by host
+     */
+    public Map<String, HostMetrics> getAll() {
+        return new TreeMap<>(hostsMetrics);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, HostMetrics> entry : getAll().entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return builder.length() == 0 ? "no requests" : builder.toString();
+    }
+
+    public static class HostMetrics {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        public long getAttempts() {
+            return attempts.get();
+        }
+
+        /**
+         * @return number of attempts that ended with an I/O error or a 4xx/5xx status
+         */
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        public long getAverageLatency() {
+            long count = attempts.get();
+            return count == 0 ? 0 : totalLatency.get() / count;
+        }
+
+        public long getMaxLatency() {
+            return maxLatency.get();
+        }
+
+        @Override
+        public String toString() {
+            return getAttempts() + " attempts, " + getFailures() + " failed, " + getRetries() + " retried, avg "
+                    + getAverageLatency() + "ms, max " + getMaxLatency() + "ms";
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.gameroom.data.http;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A request to be sent through {@link HTTPClient}, built with chained calls, for example :
+ * <pre>
+ * HTTPClient.getInstance().get(url)
+ *         .header("Accept", "application/json")
+ *         .readTimeout(5000)
+ *         .asJSONObject()
+ *         .thenAccept(json -> ...);
+ * </pre>
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class HTTPRequest {
+    public final static int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public final static int DEFAULT_READ_TIMEOUT = 40000;
+    /**
+     * Number of times a GET request is tried again after an I/O error, a 5xx or a 429 status. POST requests are not
+     * retried unless asked, as they may not be idempotent.
+     */
+    public final static int DEFAULT_MAX_RETRIES = 2;
+
+    private final HTTPClient client;
+    private final String method;
+    private final String url;
+    private final LinkedHashMap<String, String> headers = new LinkedHashMap<>();
+    private final LinkedHashMap<String, String> fields = new LinkedHashMap<>();
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+    private int maxRetries;
+    private String expectedContentType;
+
+    HTTPRequest(HTTPClient client, String method, String url) {
+        this.client = client;
+        this.method = method;
+        this.url = url;
+        this.maxRetries = method.equals("GET") ? DEFAULT_MAX_RETRIES : 0;
+    }
+
+    public HTTPRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds a field to the body of the request, which is then sent as application/x-www-form-urlencoded
+     */
+    public HTTPRequest field(String name, String value) {
+        fields.put(name, value);
+        return this;
+    }
+
+    /**
+     * @param connectTimeout time in ms to wait for the connection to be established
+     */
+    public HTTPRequest connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * @param readTimeout time in ms to wait for data once connected
+     */
+    public HTTPRequest readTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    /**
+     * @param maxRetries number of times the request may be tried again, see {@link #DEFAULT_MAX_RETRIES}
+     */
+    public HTTPRequest retries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+        return this;
+    }
+
+    /**
+     * @param contentType prefix of the Content-Type that a downloaded body must have, e.g. "image/". Responses announcing
+     *                    another type are rejected with a {@link HTTPException}, see {@link #download(File, ProgressListener)}
+     */
+    public HTTPRequest expectContentType(String contentType) {
+        this.expectedContentType = contentType;
+        return this;
+    }
+
+    /**
+     * Sends the request. The returned future completes with the response whatever its status code, or exceptionally
+     * with an {@link java.io.IOException} if no response could be received.
+     */
+    public CompletableFuture<HTTPResponse> send() {
+        return client.send(this);
+    }
+
+    /**
+     * Sends the request, see {@link #send()}. Responses with a status code other than 2xx complete the future
+     * exceptionally with a {@link HTTPException}.
+     */
+    public CompletableFuture<String> asString() {
+        return send().thenApply(response -> checkStatus(response).getBodyAsString());
+    }
+
+    /**
+     * See {@link #asString()}
+     */
+    public CompletableFuture<JSONObject> asJSONObject() {
+        return send().thenApply(response -> {
+            try {
+                return checkStatus(response).getBodyAsJSONObject();
+            } catch (JSONException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Sends the request and writes the body of the response to the given file. Responses with a status code other than
+     * 2xx, or with another content type than the one expected (see {@link #expectContentType(String)}) complete the
+     * future exceptionally with a {@link HTTPException}.
+     * <p>
+     * The body is first written to a temporary file next to the given one, which is only renamed to it once as many
+     * bytes as announced by the server have been received. The given file is thus never left incomplete, and is left
+     * untouched if the download fails.
+     *
+     * @param file     the file to write to
+     * @param listener notified as bytes are written, may be null
+     */
+    public CompletableFuture<File> download(File file, ProgressListener listener) {
+        return client.download(this, file, listener);
+    }
+
+    private static HTTPResponse checkStatus(HTTPResponse response) {
+        if (!response.isSuccessful()) {
+            throw new CompletionException(new HTTPException(response.getUrl(), response.getStatus()));
+        }
+        return response;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public Map<String, String> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public String getExpectedContentType() {
+        return expectedContentType;
+    }
+
+    /**
+     * Callback interface used to follow a {@link #download(File, ProgressListener)}
+     */
+    public interface ProgressListener {
+        /**
+         * @param downloaded number of bytes written so far
+         * @param total      size of the file as announced by the server, -1 if unknown
+         */
+        void onProgress(long downloaded, long total);
+    }
+}
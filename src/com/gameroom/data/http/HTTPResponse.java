@@ -0,0 +1,107 @@
+package com.gameroom.data.http;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response to a request made through {@link HTTPClient}, whose body has been entirely read.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class HTTPResponse {
+    private final String url;
+    private final int status;
+    private final TreeMap<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final byte[] body;
+
+    HTTPResponse(String url, int status, Map<String, List<String>> headers, byte[] body) {
+        this.url = url;
+        this.status = status;
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                //the status line is stored with a null key by HttpURLConnection
+                if (header.getKey() != null) {
+                    this.headers.put(header.getKey(), header.getValue());
+                }
+            }
+        }
+        this.body = body != null ? body : new byte[0];
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true if the status code is 2xx
+     */
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * @param name name of the header, case insensitive
+     * @return the first value of the header, or null if there is none
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public InputStream getBodyAsStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * @return the body decoded with the charset given in the Content-Type header, UTF-8 if none is given
+     */
+    public String getBodyAsString() {
+        return new String(body, getCharset());
+    }
+
+    /**
+     * @return the body parsed as a JSON object
+     * @throws JSONException if the body is not a JSON object
+     */
+    public JSONObject getBodyAsJSONObject() throws JSONException {
+        return new JSONObject(getBodyAsString());
+    }
+
+    private Charset getCharset() {
+        String contentType = getHeader("Content-Type");
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.toLowerCase().startsWith("charset=")) {
+                    try {
+                        return Charset.forName(trimmed.substring("charset=".length()).replace("\"", "").trim());
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -1,8 +1,5 @@
 package com.gameroom.data.http;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.GeneralToast;
@@ -10,7 +7,6 @@ import com.gameroom.ui.scene.BaseScene;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.CharacterCodingException;
 import java.util.ArrayList;
@@ -39,11 +35,11 @@ public class YoutubeSoundtrackScrapper {
     private final static String VIDEO_AUTHOR_SUFFIX = "</a></div><div class=\"yt-lockup-meta \"><ul class=\"yt-lockup-meta-info\"><li>";
     private final static String VIDEO_AUTHOR_VALIDATED_SUFFIX = "</a>&nbsp;<span class=\"yt-uix-tooltip yt-channel-title-icon-verified yt-sprite\"";
 
-    public static String getThemeYoutubeHash(GameEntry entry) throws IOException, UnirestException {
+    public static String getThemeYoutubeHash(GameEntry entry) throws IOException {
         return getThemeYoutubeHash(entry,null);
     }
 
-    public static String getThemeYoutubeHash(GameEntry entry, BaseScene scene) throws IOException, UnirestException {
+    public static String getThemeYoutubeHash(GameEntry entry, BaseScene scene) throws IOException {
         ArrayList<VideoMetadata> videoMetadatas = new ArrayList<>();
         for(String keywords : SOUNDTRACK_KEY_WORDS){
             ArrayList<VideoMetadata> searchResults = getVideosTitlesAndLinksFor(entry.getName(),keywords);
@@ -177,13 +173,13 @@ public class YoutubeSoundtrackScrapper {
                 .replace("  "," ")
                 .replace("  "," ");
     }
-    private static ArrayList<VideoMetadata> getVideosTitlesAndLinksFor(String gameName,String otherKeyWords) throws UnirestException, IOException {
-        HttpResponse<InputStream> response = Unirest.get("https://www.youtube.com/results?search_query="+(gameName+" "+otherKeyWords).replace(' ','+'))
+    private static ArrayList<VideoMetadata> getVideosTitlesAndLinksFor(String gameName,String otherKeyWords) throws IOException {
+        HTTPResponse response = HTTPClient.await(HTTPClient.getInstance().get("https://www.youtube.com/results?search_query="+(gameName+" "+otherKeyWords).replace(' ','+'))
                 .header("Content-Type", "text/html; charset=utf-8")
                 .header("Accept", "text/html; charset=utf-8")
                 .header("Accept-Charset","utf-8")
-                .asBinary();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(response.getRawBody(), "UTF-8"));
+                .send());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBodyAsStream(), "UTF-8"));
 
         boolean waitFor2ndLine = false;
         int lineAfterSeparator = 0;
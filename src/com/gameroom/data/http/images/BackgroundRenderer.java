@@ -0,0 +1,249 @@
+package com.gameroom.data.http.images;
+
+import com.gameroom.ui.Main;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Renders the blurred backgrounds of windows from screenshots, so that they are displayed as plain images instead of
+ * having JavaFX compute a live blur effect during every fade and redraw. A background is downscaled to
+ * {@link #LOAD_RATIO} of the window's size, stretched as backgrounds are, blurred as much as the former effect did
+ * once displayed, and written to a folder of the image cache, which unlike the cache folder is kept between runs.
+ * <p>
+ * Backgrounds are rendered in background, once per screenshot and window size. Window sizes are rounded up to
+ * {@link #SIZE_BUCKET} pixels so that resizing the window does not render them again at every pixel. Rendered
+ * backgrounds carry the modification date of their screenshot, so that outdated ones are rendered again.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class BackgroundRenderer {
+    private final static String TAG = "BackgroundRenderer: ";
+    private final static String FOLDER_NAME = "backgrounds";
+    private final static String FORMAT = "jpg";
+    /** ratio of the window's size at which backgrounds are rendered, they are blurred anyway */
+    public final static double LOAD_RATIO = 2 / 3.0;
+    /** radius of the blur, in pixels of the window */
+    public final static double BLUR_RADIUS = 7;
+    /** step in pixels to which the size of rendered backgrounds is rounded up */
+    private final static int SIZE_BUCKET = 64;
+    /** size in bytes over which the least recently rendered backgrounds are deleted */
+    private final static long MAX_SIZE = 64 * 1024 * 1024;
+
+    private static BackgroundRenderer INSTANCE;
+
+    private final File folder;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BackgroundRenderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentHashMap<File, CompletableFuture<File>> pendingBackgrounds = new ConcurrentHashMap<>();
+
+    public static synchronized BackgroundRenderer getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new BackgroundRenderer(getDefaultFolder());
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return the folder in which backgrounds are rendered, in the image cache so that they are not cleared on exit
+     */
+    public static File getDefaultFolder() {
+        return new File(Main.FILES_MAP.get("image_cache"), FOLDER_NAME);
+    }
+
+    /**
+     * @param folder the folder in which rendered backgrounds are cached
+     */
+    public BackgroundRenderer(File folder) {
+        this.folder = folder.getAbsoluteFile();
+    }
+
+    /**
+     * Gets the rendered background of a screenshot for the given window size, rendering it in background if it is not
+     * rendered yet or outdated.
+     *
+     * @param screenshot   the screenshot to render the background from
+     * @param windowWidth  the width of the window
+     * @param windowHeight the height of the window
+     * @return a future completed with the rendered background, immediately if it is cached, or with null if it could
+     * not be rendered
+     */
+    public CompletableFuture<File> render(File screenshot, double windowWidth, double windowHeight) {
+        File background = getBackgroundFile(screenshot, windowWidth, windowHeight);
+        if (isUpToDate(background, screenshot)) {
+            return CompletableFuture.completedFuture(background);
+        }
+        CompletableFuture<File> future = new CompletableFuture<>();
+        CompletableFuture<File> pending = pendingBackgrounds.putIfAbsent(background, future);
+        if (pending != null) {
+            return pending;
+        }
+        executor.submit(() -> {
+            File result = null;
+            try {
+                render(screenshot.getAbsoluteFile(), background, windowWidth);
+                result = background;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error(TAG + "Could not render background of \"" + screenshot.getAbsolutePath() + "\": " + e.getMessage());
+            } finally {
+                pendingBackgrounds.remove(background, future);
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    private void render(File screenshot, File background, double windowWidth) throws IOException {
+        long screenshotLastModified = screenshot.lastModified();
+        BufferedImage source = ImageIO.read(screenshot);
+        if (source == null) {
+            throw new IOException("unsupported image format");
+        }
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("could not create folder " + folder.getAbsolutePath());
+        }
+        int[] size = getRenderedSize(background);
+        BufferedImage image = CoverThumbnails.scale(source, size[0], size[1]);
+        image = blur(image, BLUR_RADIUS * size[0] / windowWidth);
+
+        File tempFile = new File(folder, background.getName() + ".tmp");
+        Files.deleteIfExists(tempFile.toPath());
+        CoverThumbnails.write(image, tempFile);
+        Files.move(tempFile.toPath(), background.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        background.setLastModified(screenshotLastModified);
+        ImageDimensions.getInstance().record(background, image.getWidth(), image.getHeight(), "image/jpeg");
+    }
+
+    /**
+     * @return the file of the background of the screenshot for the given window size, whether it exists or not
+     */
+    public File getBackgroundFile(File screenshot, double windowWidth, double windowHeight) {
+        String id = UUID.nameUUIDFromBytes(screenshot.getAbsolutePath().getBytes(StandardCharsets.UTF_8)).toString();
+        return new File(folder, id + "_" + bucket(windowWidth * LOAD_RATIO) + "x" + bucket(windowHeight * LOAD_RATIO) + "." + FORMAT);
+    }
+
+    /**
+     * @return the width and height at which the given background is rendered, read from its name
+     */
+    private static int[] getRenderedSize(File background) {
+        String name = background.getName();
+        String size = name.substring(name.lastIndexOf('_') + 1, name.lastIndexOf('.'));
+        int xIndex = size.indexOf('x');
+        return new int[]{Integer.parseInt(size.substring(0, xIndex)), Integer.parseInt(size.substring(xIndex + 1))};
+    }
+
+    private static int bucket(double length) {
+        return Math.max(SIZE_BUCKET, (int) Math.ceil(length / SIZE_BUCKET) * SIZE_BUCKET);
+    }
+
+    private static boolean isUpToDate(File background, File screenshot) {
+        return background.exists() && background.lastModified() == screenshot.lastModified();
+    }
+
+    /**
+     * Blurs the image as a JavaFX {@link javafx.scene.effect.GaussianBlur} of the given radius would, with two passes
+     * of a one-dimensional gaussian kernel. Edges are extended, so that the borders of the background do not darken.
+     *
+     * @param image  the image to blur
+     * @param radius the radius of the blur, in pixels
+     * @return a blurred copy of the image
+     */
+    public static BufferedImage blur(BufferedImage image, double radius) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        float[] kernel = gaussianKernel(radius);
+        int[] transposed = new int[pixels.length];
+        //each pass blurs rows and transposes, so that the second one blurs the columns
+        blurRows(pixels, transposed, width, height, kernel);
+        blurRows(transposed, pixels, height, width, kernel);
+
+        BufferedImage blurred = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        blurred.setRGB(0, 0, width, height, pixels, 0, width);
+        return blurred;
+    }
+
+    private static float[] gaussianKernel(double radius) {
+        int size = Math.max(0, (int) Math.ceil(radius));
+        float[] kernel = new float[2 * size + 1];
+        //JavaFX uses a sigma of a third of the radius
+        double sigma = Math.max(radius / 3, 0.1);
+        float sum = 0;
+        for (int i = -size; i <= size; i++) {
+            kernel[i + size] = (float) Math.exp(-(i * i) / (2 * sigma * sigma));
+            sum += kernel[i + size];
+        }
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] /= sum;
+        }
+        return kernel;
+    }
+
+    private static void blurRows(int[] input, int[] output, int width, int height, float[] kernel) {
+        int size = kernel.length / 2;
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * width;
+            for (int x = 0; x < width; x++) {
+                float red = 0, green = 0, blue = 0;
+                for (int k = -size; k <= size; k++) {
+                    int pixel = input[rowStart + Math.min(width - 1, Math.max(0, x + k))];
+                    float weight = kernel[k + size];
+                    red += ((pixel >> 16) & 0xFF) * weight;
+                    green += ((pixel >> 8) & 0xFF) * weight;
+                    blue += (pixel & 0xFF) * weight;
+                }
+                output[x * height + y] = 0xFF000000 | Math.round(red) << 16 | Math.round(green) << 8 | Math.round(blue);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently rendered backgrounds until the cache weighs less than {@link #MAX_SIZE}, e.g. those
+     * of former window sizes or of deleted screenshots. This lists the whole cache, so it should be run in background.
+     */
+    public void trim() {
+        File[] files = folder.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= MAX_SIZE) {
+            return;
+        }
+        //rendered backgrounds carry the modification date of their screenshot, so they are sorted by creation date
+        Arrays.sort(files, Comparator.comparingLong(BackgroundRenderer::getCreationTime));
+        for (int i = 0; i < files.length && size > MAX_SIZE; i++) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private static long getCreationTime(File file) {
+        try {
+            return Files.readAttributes(file.toPath(), BasicFileAttributes.class).creationTime().toMillis();
+        } catch (IOException e) {
+            return file.lastModified();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.gameroom.data.http.images;
+
+import com.gameroom.ui.control.button.gamebutton.GameButton;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.*;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Pre-scaled versions of the covers of games, stored on disk so that tiles never need to decode and downscale a full
+ * size cover. For each cover, thumbnails are generated at every level of {@link #LEVELS}, in a "thumbnails" folder next
+ * to the cover. A thumbnail of level L is at least L pixels wide and L * {@link GameButton#COVER_HEIGHT_WIDTH_RATIO}
+ * pixels high (covers are never upscaled), so that it can be displayed at this size without loss.
+ * <p>
+ * Thumbnails are generated in background, from a single decoding of the cover, the first time they are asked for or
+ * when the cover changes. They carry the modification date of their cover, so that outdated ones are detected and
+ * generated again.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class CoverThumbnails {
+    private final static String TAG = "CoverThumbnails: ";
+    /** widths of the thumbnails, covering 1x and 2x of the sizes at which tiles display covers */
+    public final static int[] LEVELS = {128, 256, 512};
+    private final static String FOLDER_NAME = "thumbnails";
+    private final static String FORMAT = "jpg";
+    private final static String MIME_TYPE = "image/jpeg";
+    private final static float JPEG_QUALITY = 0.9f;
+
+    private static CoverThumbnails INSTANCE;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CoverThumbnails");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final ConcurrentHashMap<File, CompletableFuture<Void>> pendingCovers = new ConcurrentHashMap<>();
+
+    public static synchronized CoverThumbnails getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new CoverThumbnails();
+        }
+        return INSTANCE;
+    }
+
+    public CoverThumbnails() {
+    }
+
+    /**
+     * Gets the smallest thumbnail of the cover that can be displayed at the given size. If it is not generated or
+     * outdated, its generation is started and the cover itself is returned this time.
+     *
+     * @param cover  the cover file, may be null
+     * @param width  the width at which the cover is displayed
+     * @param height the height at which the cover is displayed
+     * @return the file to load the cover from, null if the cover is null
+     */
+    public File getThumbnail(File cover, double width, double height) {
+        if (cover == null || !cover.exists()) {
+            return cover;
+        }
+        int level = getLevel(width, height);
+        if (level == -1) {
+            return cover;
+        }
+        File thumbnail = getThumbnailFile(cover, level);
+        if (isUpToDate(thumbnail, cover)) {
+            return thumbnail;
+        }
+        generateAsync(cover);
+        return cover;
+    }
+
+    /**
+     * Generates again the thumbnails of a cover that changed, or deletes them if the cover does not exist anymore.
+     *
+     * @return a future completed once done
+     */
+    public CompletableFuture<Void> regenerate(File cover) {
+        if (cover == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!cover.exists()) {
+            delete(cover);
+            return CompletableFuture.completedFuture(null);
+        }
+        return generateAsync(cover);
+    }
+
+    /**
+     * Deletes the thumbnails of a cover
+     */
+    public void delete(File cover) {
+        for (int level : LEVELS) {
+            File thumbnail = getThumbnailFile(cover, level);
+            if (thumbnail.exists() && !thumbnail.delete()) {
+                LOGGER.warn(TAG + "Could not delete thumbnail \"" + thumbnail.getAbsolutePath() + "\"");
+            }
+        }
+    }
+
+    /**
+     * @return the smallest level whose thumbnails can be displayed at the given size, or -1 if the cover itself should
+     * be used
+     */
+    public static int getLevel(double width, double height) {
+        for (int level : LEVELS) {
+            if (level >= width && level * GameButton.COVER_HEIGHT_WIDTH_RATIO >= height) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the file of the thumbnail of the given level, whether it exists or not
+     */
+    public static File getThumbnailFile(File cover, int level) {
+        String name = cover.getName();
+        int dotIndex = name.lastIndexOf('.');
+        String baseName = dotIndex == -1 ? name : name.substring(0, dotIndex);
+        return new File(cover.getAbsoluteFile().getParentFile(), FOLDER_NAME + File.separator + baseName + "_" + level + "." + FORMAT);
+    }
+
+    private static boolean isUpToDate(File thumbnail, File cover) {
+        return thumbnail.exists() && thumbnail.lastModified() == cover.lastModified();
+    }
+
+    private CompletableFuture<Void> generateAsync(File cover) {
+        File key = cover.getAbsoluteFile();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> pending = pendingCovers.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+        executor.submit(() -> {
+            try {
+                generate(key);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error(TAG + "Could not generate thumbnails of \"" + key.getAbsolutePath() + "\": " + e.getMessage());
+            } finally {
+                pendingCovers.remove(key, future);
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Generates all the thumbnails of a cover, from the biggest to the smallest, each one being scaled from the
+     * previous one.
+     *
+     * @throws IOException if the cover could not be read or a thumbnail could not be written
+     */
+    public void generate(File cover) throws IOException {
+        long coverLastModified = cover.lastModified();
+        BufferedImage source = ImageIO.read(cover);
+        if (source == null) {
+            throw new IOException("unsupported image format");
+        }
+        File folder = getThumbnailFile(cover, LEVELS[0]).getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("could not create folder " + folder.getAbsolutePath());
+        }
+
+        BufferedImage image = source;
+        for (int i = LEVELS.length - 1; i >= 0; i--) {
+            double scale = Math.max((double) LEVELS[i] / source.getWidth(),
+                    LEVELS[i] * GameButton.COVER_HEIGHT_WIDTH_RATIO / source.getHeight());
+            if (scale < 1) {
+                image = scale(image, (int) Math.ceil(source.getWidth() * scale), (int) Math.ceil(source.getHeight() * scale));
+            }
+            File thumbnail = getThumbnailFile(cover, LEVELS[i]);
+            File tempFile = new File(folder, thumbnail.getName() + ".tmp");
+            Files.deleteIfExists(tempFile.toPath());
+            write(image, tempFile);
+            Files.move(tempFile.toPath(), thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            thumbnail.setLastModified(coverLastModified);
+            //tiles decide whether to keep the ratio of a cover from its thumbnail
+            ImageDimensions.getInstance().record(thumbnail, image.getWidth(), image.getHeight(), MIME_TYPE);
+        }
+    }
+
+    /**
+     * Scales the image down, halving its size at most at each step so that the bilinear filter keeps the quality
+     */
+    static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = image;
+        do {
+            int stepWidth = Math.max(width, scaled.getWidth() / 2);
+            int stepHeight = Math.max(height, scaled.getHeight() / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+            graphics.dispose();
+            scaled = step;
+        } while (scaled.getWidth() > width || scaled.getHeight() > height);
+        return scaled;
+    }
+
+    static void write(BufferedImage image, File file) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            //JPEG has no alpha channel
+            BufferedImage rgbImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgbImage.createGraphics();
+            graphics.drawImage(image, 0, 0, Color.BLACK, null);
+            graphics.dispose();
+            image = rgbImage;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
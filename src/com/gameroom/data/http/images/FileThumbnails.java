@@ -0,0 +1,162 @@
+package com.gameroom.data.http.images;
+
+import com.gameroom.system.os.IconExtractor;
+import com.gameroom.ui.Main;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static com.gameroom.Launcher.DATA_PATH;
+import static com.gameroom.ui.Main.DEV_MODE;
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Thumbnails of files as shown by Windows Explorer, e.g. the icons of executables, cached as PNG files so that they
+ * are only generated once. The icons of executables and icon files are read in-process by the {@link IconExtractor},
+ * those of other files, e.g. folders or shortcuts, and of executables without icon, for which Windows shows a default
+ * one, are still generated by ThumbnailerCLI.exe.
+ * <p>
+ * Thumbnails are generated by a small pool of workers, so that opening a dialog listing many files does not generate
+ * all of their icons at once, and a thumbnail asked for again while being generated is only generated once. They
+ * carry the modification date of their file, so that outdated ones are generated again.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class FileThumbnails {
+    private final static String TAG = "FileThumbnails: ";
+    private final static String EXTENSION = ".png";
+    private final static String THUMBNAILER_EXE_NAME = "ThumbnailerCLI.exe";
+    public final static List<Integer> VALID_SIZES = Arrays.asList(32, 64, 128, 256, 512);
+    private final static int WORKER_COUNT = 2;
+
+    private static FileThumbnails INSTANCE;
+
+    private final File folder;
+    private final ExecutorService executor = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+        Thread thread = new Thread(runnable, "FileThumbnails");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final ConcurrentHashMap<File, CompletableFuture<File>> pendingThumbnails = new ConcurrentHashMap<>();
+
+    public static synchronized FileThumbnails getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new FileThumbnails(Main.FILES_MAP.get("cache"));
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param folder the folder in which thumbnails are cached
+     */
+    public FileThumbnails(File folder) {
+        this.folder = folder.getAbsoluteFile();
+    }
+
+    /**
+     * Gets the thumbnail of a file, generating it by one of the workers if it is not cached or outdated.
+     *
+     * @param file the file we want the thumbnail from
+     * @param size size of the thumbnail, must be in {@link #VALID_SIZES}
+     * @return a future completed with the thumbnail, immediately if it is cached, or with null if it could not be
+     * generated
+     */
+    public CompletableFuture<File> getThumbnail(File file, int size) {
+        if (file == null || !file.exists() || !VALID_SIZES.contains(size)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        File thumbnail = getThumbnailFile(file, size);
+        if (isUpToDate(thumbnail, file)) {
+            return CompletableFuture.completedFuture(thumbnail);
+        }
+        CompletableFuture<File> future = new CompletableFuture<>();
+        CompletableFuture<File> pending = pendingThumbnails.putIfAbsent(thumbnail, future);
+        if (pending != null) {
+            return pending;
+        }
+        executor.submit(() -> {
+            File result = null;
+            try {
+                result = generate(file.getAbsoluteFile(), size, thumbnail) ? thumbnail : null;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error(TAG + "Could not generate thumbnail of \"" + file.getAbsolutePath() + "\": " + e.getMessage());
+            } finally {
+                pendingThumbnails.remove(thumbnail, future);
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return true if the thumbnail was generated, false if the file has none
+     */
+    private boolean generate(File file, int size, File thumbnail) throws IOException {
+        long lastModified = file.lastModified();
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("could not create folder " + folder.getAbsolutePath());
+        }
+        File tempFile = new File(folder, thumbnail.getName() + ".tmp");
+        Files.deleteIfExists(tempFile.toPath());
+        BufferedImage icon = IconExtractor.isSupported(file) ? IconExtractor.extract(file, size) : null;
+        if (icon != null) {
+            ImageIO.write(icon, "png", tempFile);
+        } else if (!runThumbnailer(file, tempFile, size)) {
+            return false;
+        }
+        Files.move(tempFile.toPath(), thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        thumbnail.setLastModified(lastModified);
+        return true;
+    }
+
+    /**
+     * Generates the thumbnail with ThumbnailerCLI.exe, which asks Windows for it
+     *
+     * @return true if the thumbnail was generated
+     */
+    private static boolean runThumbnailer(File file, File output, int size) throws IOException {
+        String exePath = DEV_MODE ? DATA_PATH + File.separator + THUMBNAILER_EXE_NAME : THUMBNAILER_EXE_NAME;
+        Process process = new ProcessBuilder()
+                .command(Arrays.asList(
+                        exePath,
+                        file.getAbsolutePath(),
+                        output.getAbsolutePath(),
+                        Integer.toString(size)
+                ))
+                .inheritIO()
+                .start();
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            process.destroy();
+        }
+        return output.exists();
+    }
+
+    /**
+     * Returns the current or future thumbnail of the given file, named after a UUID of its absolute path and the size.
+     *
+     * @param file the file we want the thumbnail from
+     * @param size size of the thumbnail
+     * @return the thumbnail file, whether it exists or not
+     */
+    public File getThumbnailFile(File file, int size) {
+        return new File(folder, UUID.nameUUIDFromBytes(file.getAbsolutePath().getBytes()).toString() + "_" + size + EXTENSION);
+    }
+
+    private static boolean isUpToDate(File thumbnail, File file) {
+        return thumbnail.exists() && thumbnail.lastModified() == file.lastModified();
+    }
+}
@@ -0,0 +1,151 @@
+package com.gameroom.data.http.images;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache of the decoded images of the files displayed by GameRoom, shared by all scenes and tile panes, so that a cover
+ * shown by several buttons (e.g. when games are grouped by genre, or in the last played and recently added rows) is
+ * decoded and held in memory only once.
+ * <p>
+ * Images are keyed by their {@link ImageFingerprint}: file, last modification date, requested size and ratio mode, so
+ * that an updated file is decoded again. The memory used by decoded images is kept under {@link #DEFAULT_BUDGET_RATIO}
+ * of the max heap, evicting the least recently used ones, except the ones pinned by the tiles displaying them (see
+ * {@link #pin(Image)}).
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ImageCache {
+    /** part of the max heap that decoded images can use */
+    public final static double DEFAULT_BUDGET_RATIO = 0.25;
+    /** bytes used by a decoded pixel */
+    private final static int BYTES_PER_PIXEL = 4;
+
+    private static ImageCache INSTANCE;
+
+    private final MemoryBudgetCache<ImageFingerprint, Image> cache;
+    /** fingerprints of the images returned, to pin, unpin or compare them. Weak so that images no longer used can be collected */
+    private final WeakHashMap<Image, ImageFingerprint> fingerprints = new WeakHashMap<>();
+
+    public static synchronized ImageCache getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new ImageCache((long) (Runtime.getRuntime().maxMemory() * DEFAULT_BUDGET_RATIO));
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param budget maximal memory used by decoded images, in bytes
+     */
+    public ImageCache(long budget) {
+        cache = new MemoryBudgetCache<>(budget, image -> (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL);
+    }
+
+    /**
+     * Gets the image of the given file, decoded to the given size, loading it synchronously if it is not cached.
+     *
+     * @param file           the image file
+     * @param requestedWidth the width to decode the image to, or 0 for the width of the file
+     * @param requestedHeight the height to decode the image to, or 0 for the height of the file
+     * @param preserveRatio  whether the image should keep its ratio within the requested size
+     * @param smooth         whether to use a better quality filter when scaling
+     * @return the image, or null if the file is null or could not be decoded
+     */
+    public Image get(File file, double requestedWidth, double requestedHeight, boolean preserveRatio, boolean smooth) {
+        if (file == null) {
+            return null;
+        }
+        ImageFingerprint key = new ImageFingerprint(file.getAbsolutePath(), file.lastModified(), requestedWidth, requestedHeight, preserveRatio, smooth);
+        return cache.get(key, () -> {
+            Image loaded = new Image("file:" + File.separator + File.separator + File.separator + key.path,
+                    requestedWidth, requestedHeight, preserveRatio, smooth);
+            if (loaded.isError()) {
+                return null;
+            }
+            synchronized (fingerprints) {
+                fingerprints.put(loaded, key);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Prevents the image from being evicted while it is displayed. Must be released with {@link #unpin(Image)}.
+     *
+     * @param image an image returned by this cache, other images are ignored
+     */
+    public void pin(Image image) {
+        ImageFingerprint key = getFingerprint(image);
+        if (key != null) {
+            cache.pin(key);
+        }
+    }
+
+    /**
+     * Releases a pin taken with {@link #pin(Image)}
+     */
+    public void unpin(Image image) {
+        ImageFingerprint key = getFingerprint(image);
+        if (key != null) {
+            cache.unpin(key);
+        }
+    }
+
+    /**
+     * Removes all the images decoded from the given file, e.g. when it has been deleted
+     */
+    public void invalidate(File file) {
+        if (file == null) {
+            return;
+        }
+        String path = file.getAbsolutePath();
+        synchronized (fingerprints) {
+            for (Map.Entry<Image, ImageFingerprint> entry : fingerprints.entrySet()) {
+                if (entry.getValue().path.equals(path)) {
+                    cache.invalidate(entry.getValue());
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return the memory used by the decoded images, in bytes
+     */
+    public long getWeight() {
+        return cache.getWeight();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    @Override
+    public String toString() {
+        return cache.toString();
+    }
+
+    /**
+     * @param image any image, may be null
+     * @return the fingerprint of the image if it was decoded by this cache, null otherwise
+     */
+    public ImageFingerprint getFingerprint(Image image) {
+        if (image == null) {
+            return null;
+        }
+        synchronized (fingerprints) {
+            return fingerprints.get(image);
+        }
+    }
+}
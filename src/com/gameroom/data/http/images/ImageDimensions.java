@@ -0,0 +1,150 @@
+package com.gameroom.data.http.images;
+
+import com.gameroom.data.http.SimpleImageInfo;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of the dimensions and format of image files, so that deciding how to display an image, e.g. whether
+ * a cover should keep its ratio, does not need to read its header again every time it is shown. Dimensions are
+ * recorded when an image is written or downloaded, and read with a {@link SimpleImageInfo} for files that were not.
+ * <p>
+ * Dimensions are stored along with the modification date of their file, so that those of a file that changed are read
+ * again.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ImageDimensions {
+    private static ImageDimensions INSTANCE;
+
+    /** dimensions of images, by absolute path */
+    private final ConcurrentHashMap<String, Dimensions> dimensions = new ConcurrentHashMap<>();
+
+    public static synchronized ImageDimensions getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new ImageDimensions();
+        }
+        return INSTANCE;
+    }
+
+    public ImageDimensions() {
+    }
+
+    /**
+     * Gets the dimensions of an image, reading its header only if they were not recorded or if it was modified since.
+     *
+     * @param file the image
+     * @return the dimensions of the image, or null if the file does not exist
+     */
+    public Dimensions get(File file) {
+        if (file == null) {
+            return null;
+        }
+        long lastModified = file.lastModified();
+        if (lastModified == 0) {
+            //the file does not exist
+            return null;
+        }
+        Dimensions cached = dimensions.get(file.getAbsolutePath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached;
+        }
+        return record(file);
+    }
+
+    /**
+     * Reads the header of a freshly written image and records its dimensions.
+     *
+     * @param file the image
+     * @return the dimensions of the image, or null if the file does not exist
+     */
+    public Dimensions record(File file) {
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        long lastModified = file.lastModified();
+        SimpleImageInfo info = new SimpleImageInfo(file.getAbsoluteFile());
+        return record(file, lastModified, info.getWidth(), info.getHeight(), info.getMimeType());
+    }
+
+    /**
+     * Records the dimensions of a freshly written image, when they are already known, e.g. because it was just decoded.
+     *
+     * @param file     the image
+     * @param width    the width of the image, in pixels
+     * @param height   the height of the image, in pixels
+     * @param mimeType the format of the image, e.g. "image/jpeg", or null if unknown
+     * @return the dimensions of the image
+     */
+    public Dimensions record(File file, int width, int height, String mimeType) {
+        return record(file, file.lastModified(), width, height, mimeType);
+    }
+
+    private Dimensions record(File file, long lastModified, int width, int height, String mimeType) {
+        Dimensions recorded = new Dimensions(lastModified, width, height, mimeType);
+        dimensions.put(file.getAbsolutePath(), recorded);
+        return recorded;
+    }
+
+    /**
+     * Forgets the dimensions of a deleted image
+     *
+     * @param file the image
+     */
+    public void invalidate(File file) {
+        if (file != null) {
+            dimensions.remove(file.getAbsolutePath());
+        }
+    }
+
+    public int size() {
+        return dimensions.size();
+    }
+
+    /**
+     * Dimensions and format of an image file, as read or recorded at a given modification date of the file
+     */
+    public final static class Dimensions {
+        private final long lastModified;
+        private final int width;
+        private final int height;
+        private final String mimeType;
+
+        private Dimensions(long lastModified, int width, int height, String mimeType) {
+            this.lastModified = lastModified;
+            this.width = width;
+            this.height = height;
+            this.mimeType = mimeType;
+        }
+
+        /**
+         * @return the width of the image in pixels, or -1 if its header could not be read
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return the height of the image in pixels, or -1 if its header could not be read
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return the format of the image, e.g. "image/jpeg", or null if unknown
+         */
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        /**
+         * @return the ratio between the height and the width of the image
+         */
+        public double getHeightWidthRatio() {
+            return (double) height / width;
+        }
+    }
+}
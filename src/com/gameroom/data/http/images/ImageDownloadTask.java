@@ -1,9 +1,9 @@
 package com.gameroom.data.http.images;
 
 import com.gameroom.data.game.scraper.OnDLDoneHandler;
-import com.gameroom.data.http.HTTPDownloader;
+import com.gameroom.data.http.DownloadManager;
+import com.gameroom.data.http.HTTPClient;
 import javafx.concurrent.Task;
-import javafx.scene.image.Image;
 import com.gameroom.ui.Main;
 
 import java.io.File;
@@ -18,12 +18,12 @@ import java.io.IOException;
  * @date 08/01/2017.
  */
 public class ImageDownloadTask extends Task {
-    private final static int ORIGINAL_URL_INDEX = -1;
+    /** prefix of the content type that downloaded images must have */
+    private final static String IMAGE_CONTENT_TYPE = "image/";
     private String url;
     private File outputFile;
     private OnDLDoneHandler handler;
     private String[] alternativeURLs = new String[0];
-    private int urlIndex = ORIGINAL_URL_INDEX;
 
     public ImageDownloadTask(String url, File outputFile, OnDLDoneHandler handler) {
         this.url = url;
@@ -39,63 +39,35 @@ public class ImageDownloadTask extends Task {
 
     @Override
     protected Object call() throws Exception {
-        if (outputFile.exists()) {
-            //this ensures that if the cached image is corrupted, we re-dl it
-            Image img = new Image("file:///" + outputFile.getAbsolutePath());
-            if (img.getException() != null) {
-                handler.run(outputFile);
-            }
-        }
-
-        try {
-            while (!tryDownloadImage(urlIndex++)) ;
-            //we try to download our image or alternatives if it fails
-        } catch (IllegalStateException ignored) {
-            //we have no more alternatives :(
-        }
-
+        download();
         return null;
     }
 
     /**
-     * Attempts to download the image pointed by the index. Basically, when index is {@link #ORIGINAL_URL_INDEX}, we try
-     * to download the original url, and others are for possible {@link #alternativeURLs}.
-     * Returns true if the image was downloaded, false otherwise
+     * Downloads the image in the calling thread, trying the alternative URLs if needed, unless it is already in the
+     * cache. Downloads are written atomically by the {@link DownloadManager}, so a cached image is always complete. Does
+     * not call the handler.
      *
-     * @param urlIndex the index of the image url to use
-     * @return true if the image was downloaded, false otherwise (an exception occurred)
-     * @throws IllegalStateException if the urlIndex is out of bound of {@link #alternativeURLs}
+     * @return true if the image is cached or was downloaded from one of the URLs, false otherwise
      */
-    private boolean tryDownloadImage(int urlIndex) throws IllegalStateException {
-        if (urlIndex == ORIGINAL_URL_INDEX) {
-            try {
-                Main.LOGGER.debug("Downloading " + url + " to " + outputFile);
-                boolean downloaded = HTTPDownloader.downloadFile(url, Main.FILES_MAP.get("cache").getAbsolutePath(), outputFile.getName());
-                if (downloaded) {
-                    Main.LOGGER.debug(outputFile + " downloaded");
-                }
-                return downloaded;
-            } catch (IOException e) {
-                Main.LOGGER.error("Error downloading image " + url);
-                Main.LOGGER.error(e.toString());
-                return false;
-            }
-        } else {
-            if (urlIndex >= alternativeURLs.length) {
-                throw new IllegalStateException("No alternatives anymore!");
-            }
-            try {
-                Main.LOGGER.debug("Downloading alternative " + alternativeURLs[urlIndex] + " to " + outputFile);
-                boolean downloaded = HTTPDownloader.downloadFile(alternativeURLs[urlIndex], Main.FILES_MAP.get("cache").getAbsolutePath(), outputFile.getName());
-                if (downloaded) {
-                    Main.LOGGER.debug(outputFile + " alternative downloaded");
-                }
-                return downloaded;
-            } catch (Exception e2) {
-                Main.LOGGER.error("Error downloading alternative image " + alternativeURLs[urlIndex]);
-                Main.LOGGER.error(e2.toString());
-                return false;
-            }
+    public boolean download() {
+        if (outputFile.exists()) {
+            return true;
+        }
+        String[] urls = new String[alternativeURLs.length + 1];
+        urls[0] = url;
+        System.arraycopy(alternativeURLs, 0, urls, 1, alternativeURLs.length);
+        try {
+            Main.LOGGER.debug("Downloading " + url + " to " + outputFile);
+            HTTPClient.await(DownloadManager.getInstance().downloadFirst(outputFile, IMAGE_CONTENT_TYPE, urls));
+            Main.LOGGER.debug(outputFile + " downloaded");
+            ImageDimensions.getInstance().record(outputFile);
+            return true;
+        } catch (IOException e) {
+            //we have no more alternatives :(
+            Main.LOGGER.error("Error downloading image " + url);
+            Main.LOGGER.error(e.toString());
+            return false;
         }
     }
 
@@ -0,0 +1,68 @@
+package com.gameroom.data.http.images;
+
+import javafx.scene.image.Image;
+
+import java.util.Objects;
+
+/**
+ * Cheap identity of an image decoded by the {@link ImageCache}, made of its source file, the last modification date of
+ * this file and the size and ratio mode it was decoded with. Two images with equal fingerprints are the same, so that
+ * {@link ImageUtils#imagesEquals(Image, Image)} does not need to compare them pixel per pixel, and images with
+ * different fingerprints are considered different. Fingerprints only depend on the source, so that they can be used as
+ * keys before the image is decoded.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public final class ImageFingerprint {
+    final String path;
+    private final long lastModified;
+    private final double width;
+    private final double height;
+    private final boolean preserveRatio;
+    private final boolean smooth;
+
+    /**
+     * @param path          absolute path of the source file
+     * @param lastModified  last modification date of the source file
+     * @param width         width the image was requested to be decoded to, 0 for the width of the file
+     * @param height        height the image was requested to be decoded to, 0 for the height of the file
+     * @param preserveRatio whether the image keeps its ratio within the requested size
+     * @param smooth        whether a better quality filter was used when scaling
+     */
+    public ImageFingerprint(String path, long lastModified, double width, double height, boolean preserveRatio, boolean smooth) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.width = width;
+        this.height = height;
+        this.preserveRatio = preserveRatio;
+        this.smooth = smooth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ImageFingerprint that = (ImageFingerprint) o;
+        return lastModified == that.lastModified
+                && Double.compare(that.width, width) == 0
+                && Double.compare(that.height, height) == 0
+                && preserveRatio == that.preserveRatio
+                && smooth == that.smooth
+                && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, lastModified, width, height, preserveRatio, smooth);
+    }
+
+    @Override
+    public String toString() {
+        return path + "@" + lastModified + "[" + width + "x" + height + (preserveRatio ? ", ratio" : "") + "]";
+    }
+}
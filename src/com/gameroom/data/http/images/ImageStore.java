@@ -0,0 +1,295 @@
+package com.gameroom.data.http.images;
+
+import com.gameroom.ui.Main;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Content-addressed store of the images of games, so that identical covers or screenshots are only stored once on
+ * disk. Each image is kept once in a "store" folder, as a blob named after the SHA-256 hash of its content, and the
+ * files of games (e.g. "cover/12.jpg") are hard links to these blobs, or copies where the file system does not support
+ * hard links. Blobs are never modified once written: storing another image for a game replaces its link.
+ * <p>
+ * An index of the files referencing each blob is kept in the store folder. Blobs that are not referenced anymore are
+ * deleted by {@link #collectGarbage()}, a mark-and-sweep meant to run in background. As the files of games are links
+ * or copies, deleting a blob never loses an image, so the index is only saved a few seconds after a change and losing
+ * it at worst makes an image be stored twice.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ImageStore {
+    private final static String TAG = "ImageStore: ";
+    private final static String FOLDER_NAME = "store";
+    private final static String INDEX_FILE_NAME = "index.properties";
+    private final static String TEMP_SUFFIX = ".tmp";
+    private final static String HASH_ALGORITHM = "SHA-256";
+    private final static int BUFFER_SIZE = 64 * 1024;
+    /** delay in seconds after which changes of the index are saved */
+    private final static long SAVE_DELAY = 5;
+
+    private static ImageStore INSTANCE;
+
+    private final File root;
+    private final File folder;
+    private final File indexFile;
+    /** hashes of the blobs referenced by each file, keyed by the path of the file relative to {@link #root} */
+    private final Properties index = new Properties();
+    private boolean linksSupported = true;
+
+    private final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ImageStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> pendingSave;
+
+    public static synchronized ImageStore getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new ImageStore(Main.FILES_MAP.get("pictures"));
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param root the folder containing the files referencing the images, in which the store folder is created
+     */
+    public ImageStore(File root) {
+        this.root = root.getAbsoluteFile();
+        this.folder = new File(this.root, FOLDER_NAME);
+        this.indexFile = new File(folder, INDEX_FILE_NAME);
+        if (indexFile.exists()) {
+            try (InputStream input = new FileInputStream(indexFile)) {
+                index.load(input);
+            } catch (IOException e) {
+                LOGGER.error(TAG + "Could not read index, it will be rebuilt as images are stored: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores the content of the source image, if not already stored, and makes the target file reference it, replacing
+     * the target if it exists.
+     *
+     * @param source the image to store
+     * @param target the file of the game that should reference the image, e.g. its cover file
+     * @return the target file
+     * @throws IOException if the source could not be read or the target could not be written
+     */
+    public synchronized File store(File source, File target) throws IOException {
+        String hash = hash(source);
+        File blob = getBlobFile(hash, getExtension(source));
+        if (!blob.exists()) {
+            File blobFolder = blob.getParentFile();
+            if (!blobFolder.exists() && !blobFolder.mkdirs()) {
+                throw new IOException("could not create folder " + blobFolder.getAbsolutePath());
+            }
+            File tempBlob = new File(blobFolder, blob.getName() + TEMP_SUFFIX);
+            Files.copy(source.toPath(), tempBlob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            moveAtomically(tempBlob, blob);
+        }
+
+        //the link is created next to the target, then renamed over it so that the target is never missing
+        File tempLink = new File(target.getAbsoluteFile().getParentFile(), target.getName() + TEMP_SUFFIX);
+        Files.deleteIfExists(tempLink.toPath());
+        if (!link(tempLink, blob)) {
+            Files.copy(blob.toPath(), tempLink.toPath());
+        }
+        moveAtomically(tempLink, target);
+
+        index.setProperty(getKey(target), hash);
+        scheduleSave();
+        return target;
+    }
+
+    /**
+     * Deletes a file referencing an image, e.g. when a game's cover is removed. Its blob is deleted by the next
+     * {@link #collectGarbage()} if no other file references it.
+     *
+     * @param target the file of the game to delete
+     */
+    public synchronized void release(File target) {
+        if (target == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(target.toPath());
+        } catch (IOException e) {
+            LOGGER.warn(TAG + "Could not delete \"" + target.getAbsolutePath() + "\": " + e.getMessage());
+        }
+        if (index.remove(getKey(target)) != null) {
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Marks the blobs referenced by files that still exist, then deletes the others along with leftover temporary
+     * files, and saves the index.
+     *
+     * @return the number of blobs deleted
+     */
+    public synchronized int collectGarbage() {
+        HashSet<String> referencedHashes = new HashSet<>();
+        Iterator<Map.Entry<Object, Object>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Object> reference = iterator.next();
+            if (getFile((String) reference.getKey()).exists()) {
+                referencedHashes.add((String) reference.getValue());
+            } else {
+                iterator.remove();
+            }
+        }
+
+        int deletedCount = 0;
+        long deletedBytes = 0;
+        File[] blobFolders = folder.listFiles(File::isDirectory);
+        if (blobFolders != null) {
+            for (File blobFolder : blobFolders) {
+                File[] blobs = blobFolder.listFiles();
+                if (blobs == null) {
+                    continue;
+                }
+                for (File blob : blobs) {
+                    String name = blob.getName();
+                    int dotIndex = name.indexOf('.');
+                    String hash = dotIndex == -1 ? name : name.substring(0, dotIndex);
+                    if (name.endsWith(TEMP_SUFFIX) || !referencedHashes.contains(hash)) {
+                        long length = blob.length();
+                        if (blob.delete()) {
+                            deletedCount++;
+                            deletedBytes += length;
+                        }
+                    }
+                }
+                String[] remaining = blobFolder.list();
+                if (remaining != null && remaining.length == 0) {
+                    blobFolder.delete();
+                }
+            }
+        }
+        saveIndex();
+        LOGGER.info(TAG + "Deleted " + deletedCount + " unreferenced images (" + deletedBytes / 1024 + "kB), "
+                + referencedHashes.size() + " images referenced " + index.size() + " times");
+        return deletedCount;
+    }
+
+    /**
+     * @return the hash of the blob referenced by the given file, or null if it does not reference one
+     */
+    public synchronized String getHash(File target) {
+        return index.getProperty(getKey(target));
+    }
+
+    /**
+     * @return the blob of the given hash and extension, whether it exists or not
+     */
+    private File getBlobFile(String hash, String extension) {
+        return new File(folder, hash.substring(0, 2) + File.separator + hash + "." + extension);
+    }
+
+    private boolean link(File link, File blob) {
+        if (!linksSupported) {
+            return false;
+        }
+        try {
+            Files.createLink(link.toPath(), blob.toPath());
+            return true;
+        } catch (UnsupportedOperationException e) {
+            LOGGER.info(TAG + "Hard links are not supported, images will be copied");
+            linksSupported = false;
+        } catch (IOException e) {
+            //e.g. a file system without hard links, or a different volume
+            LOGGER.debug(TAG + "Could not link \"" + link.getAbsolutePath() + "\", copying it: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private String getKey(File target) {
+        Path path = target.getAbsoluteFile().toPath();
+        if (path.startsWith(root.toPath())) {
+            return root.toPath().relativize(path).toString().replace(File.separatorChar, '/');
+        }
+        return path.toString();
+    }
+
+    private File getFile(String key) {
+        File file = new File(key);
+        return file.isAbsolute() ? file : new File(root, key);
+    }
+
+    private void scheduleSave() {
+        if (pendingSave == null || pendingSave.isDone()) {
+            pendingSave = saveExecutor.schedule(this::saveIndex, SAVE_DELAY, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file, then renames it over the previous one
+     */
+    public synchronized void saveIndex() {
+        if (!folder.exists() && !folder.mkdirs()) {
+            LOGGER.error(TAG + "Could not create folder " + folder.getAbsolutePath());
+            return;
+        }
+        File tempFile = new File(folder, INDEX_FILE_NAME + TEMP_SUFFIX);
+        try {
+            try (OutputStream output = new FileOutputStream(tempFile)) {
+                index.store(output, "Hashes of the images referenced by each file");
+            }
+            moveAtomically(tempFile, indexFile);
+        } catch (IOException e) {
+            LOGGER.error(TAG + "Could not save index: " + e.getMessage());
+        }
+    }
+
+    private static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String getExtension(File file) {
+        String name = file.getName();
+        int dotIndex = name.lastIndexOf('.');
+        return dotIndex == -1 || dotIndex == name.length() - 1 ? "img" : name.substring(dotIndex + 1).toLowerCase();
+    }
+
+    /**
+     * @return the hexadecimal SHA-256 hash of the content of the file
+     */
+    private static String hash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
@@ -1,7 +1,7 @@
 package com.gameroom.data.http.images;
 
 import com.gameroom.data.game.scraper.OnDLDoneHandler;
-import com.gameroom.data.http.SimpleImageInfo;
+import com.gameroom.data.http.HTTPClient;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
@@ -20,15 +20,15 @@ import com.gameroom.ui.scene.BaseScene;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 import java.util.Arrays;
-import java.util.List;
-import java.util.UUID;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
-import static com.gameroom.Launcher.DATA_PATH;
 import static com.gameroom.system.application.settings.GeneralSettings.settings;
-import static com.gameroom.ui.Main.DEV_MODE;
 import static com.gameroom.ui.scene.BaseScene.FADE_IN_OUT_TIME;
 
 /**
@@ -60,7 +60,8 @@ public class ImageUtils {
     public final static String IGDB_SIZE_BIG = "_big";
     public final static String IGDB_SIZE_SMALL = "_small";
     public final static String IGDB_SIZE_MED = "_med";
-    private final static String IGDB_IMAGE_URL_PREFIX = "https://images.igdb.com/igdb/image/upload/t_";
+    public final static String IGDB_IMAGE_HOST = "images.igdb.com";
+    private final static String IGDB_IMAGE_URL_PREFIX = "https://" + IGDB_IMAGE_HOST + "/igdb/image/upload/t_";
 
     /*******************
      * STEAM
@@ -73,12 +74,8 @@ public class ImageUtils {
     public final static String STEAM_SIZE_MEDIUM = "_616x353";
 
 
-    private final static double BACKGROUND_IMAGE_BLUR = 7;
-    private final static double BACKGROUND_IMAGE_LOAD_RATIO = 2 / 3.0;
-
-    private final static String THUMBNAIL_EXTENSION = ".png";
-    private final static String THUMBNAILER_EXE_NAME = "ThumbnailerCLI.exe";
-    private final static List<Integer> VALID_THUMBNAIL_SIZES = Arrays.asList(32, 64, 128, 256, 512);
+    /** size in bytes over which the oldest downloaded images are deleted */
+    private final static long IMAGE_CACHE_MAX_SIZE = 256 * 1024 * 1024;
 
     public static Task downloadSteamImageToCache(int steam_id, String type, String size, OnDLDoneHandler dlDoneHandler) {
         String imageURL = STEAM_IMAGE_URL_PREFIX + steam_id + "/" + type + (type.equals(STEAM_TYPE_HEADER) ? "" : size) + ".jpg";
@@ -100,13 +97,46 @@ public class ImageUtils {
     }
 
     /**
-     * Simply returns a cached filename
+     * Simply returns a cached filename. Downloaded images are kept between runs, see {@link #trimImageCache()}
      *
      * @param fileName the filename to use
      * @return a file pointing to our cached file if we want to create it
      */
     private static File getOutputImageCacheFile(String fileName) {
-        return new File(Main.FILES_MAP.get("cache") + File.separator + fileName);
+        return new File(Main.FILES_MAP.get("image_cache") + File.separator + fileName);
+    }
+
+    /**
+     * Deletes the images downloaded the longest time ago until the cache of downloaded images weighs less than
+     * {@link #IMAGE_CACHE_MAX_SIZE}. This lists the whole cache, so it should be run in background.
+     */
+    public static void trimImageCache() {
+        File[] files = Main.FILES_MAP.get("image_cache").listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        long staleDate = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        for (File file : files) {
+            //downloads interrupted by a crash
+            if (file.getName().endsWith(HTTPClient.TEMP_FILE_SUFFIX) && file.lastModified() < staleDate && file.delete()) {
+                continue;
+            }
+            size += file.length();
+        }
+        if (size <= IMAGE_CACHE_MAX_SIZE) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int deletedCount = 0;
+        for (int i = 0; i < files.length && size > IMAGE_CACHE_MAX_SIZE; i++) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                size -= length;
+                deletedCount++;
+            }
+        }
+        Main.LOGGER.info("Deleted " + deletedCount + " images from the download cache, " + size / 1024 + "kB left");
     }
 
     /**
@@ -121,6 +151,29 @@ public class ImageUtils {
      * @return the task used to download the image
      */
     public static Task downloadIGDBImageToCache(int igdb_id, String imageHash, String type, String size, OnDLDoneHandler dlDoneHandler) {
+        String[] urls = getIGDBImageURLs(imageHash, type, size);
+        return downloadImgToCache(urls[0], getIGDBImageCacheFileOutput(igdb_id, imageHash, type, size), dlDoneHandler,
+                Arrays.copyOfRange(urls, 1, urls.length));
+    }
+
+    /**
+     * Same as {@link #downloadIGDBImageToCache(int, String, String, String, OnDLDoneHandler)}, but downloads the image
+     * in the calling thread.
+     *
+     * @return the downloaded file, or null if the image could not be downloaded in any size
+     */
+    public static File downloadIGDBImage(int igdb_id, String imageHash, String type, String size) {
+        String[] urls = getIGDBImageURLs(imageHash, type, size);
+        File fileOutput = getIGDBImageCacheFileOutput(igdb_id, imageHash, type, size);
+        ImageDownloadTask task = new ImageDownloadTask(urls[0], fileOutput, null);
+        task.setAlternativeURLs(Arrays.copyOfRange(urls, 1, urls.length));
+        return task.download() && fileOutput.exists() ? fileOutput : null;
+    }
+
+    /**
+     * @return the URL of the IGDB image in the given size, followed by the URLs of its smaller sizes
+     */
+    private static String[] getIGDBImageURLs(String imageHash, String type, String size) {
         String imageURL = IGDB_IMAGE_URL_PREFIX + type + size + "/" + imageHash + ".jpg";
         String[] alternativeURLs;
         switch (size) {
@@ -146,14 +199,16 @@ public class ImageUtils {
                 alternativeURLs = new String[0];
                 break;
         }
-        return downloadImgToCache(imageURL, getIGDBImageCacheFileOutput(igdb_id, imageHash, type, size), dlDoneHandler, alternativeURLs);
+        String[] urls = new String[alternativeURLs.length + 1];
+        urls[0] = imageURL;
+        System.arraycopy(alternativeURLs, 0, urls, 1, alternativeURLs.length);
+        return urls;
     }
 
     /**
      * See {@link ImageUtils#downloadIGDBImageToCache(int, String, String, String, OnDLDoneHandler)} )}
      */
     private static Task downloadImgToCache(String url, File fileOutput, OnDLDoneHandler dlDoneHandler, String... alternativeURLs) {
-        fileOutput.deleteOnExit();
         ImageDownloadTask task = new ImageDownloadTask(url, fileOutput, dlDoneHandler);
         task.setAlternativeURLs(alternativeURLs);
         getExecutorService().submit(task);
@@ -169,34 +224,24 @@ public class ImageUtils {
 
     /**
      * Basically does the same as {@link #transitionToImage(Image, ImageView, double)}, but with the predefined opacity
-     * of {@link BaseScene#BACKGROUND_IMAGE_MAX_OPACITY}.
+     * of {@link BaseScene#BACKGROUND_IMAGE_MAX_OPACITY}. The image is shown as is, it should already be blurred.
      *
      * @param img       the background image to load
      * @param imageView and where to place it
      */
     public static void transitionToWindowBackground(Image img, ImageView imageView) {
-        GaussianBlur blur = new GaussianBlur(BACKGROUND_IMAGE_BLUR);
-        imageView.setEffect(blur);
-        ImageUtils.transitionToImage(img, imageView, BaseScene.BACKGROUND_IMAGE_MAX_OPACITY);
+        transitionToWindowBackground(img, true, imageView);
     }
 
-    /**
-     * Basically does the same as {@link #transitionToImage(Image, ImageView, double)}, but with the predefined opacity
-     * of {@link BaseScene#BACKGROUND_IMAGE_MAX_OPACITY}.
-     *
-     * @param imgRef    {@link WeakReference<Image>} to the the background image to load
-     * @param imageView and where to place it
-     */
-    public static void transitionToWindowBackground(WeakReference<Image> imgRef, ImageView imageView) {
-        GaussianBlur blur = new GaussianBlur(BACKGROUND_IMAGE_BLUR);
-        imageView.setEffect(blur);
-        ImageUtils.transitionToImage(imgRef.get(), imageView, BaseScene.BACKGROUND_IMAGE_MAX_OPACITY);
-        imgRef.clear();
+    private static void transitionToWindowBackground(Image img, boolean blurred, ImageView imageView) {
+        Platform.runLater(() -> imageView.setEffect(blurred ? null : new GaussianBlur(BackgroundRenderer.BLUR_RADIUS)));
+        ImageUtils.transitionToImage(img, imageView, BaseScene.BACKGROUND_IMAGE_MAX_OPACITY);
     }
 
     /**
-     * Basically does the same as {@link #transitionToWindowBackground(Image, ImageView)}, but creates the new Image
-     * with the Window's size and stretched ratio.
+     * Basically does the same as {@link #transitionToWindowBackground(Image, ImageView)}, but shows the background
+     * rendered from the image by the {@link BackgroundRenderer} for the Window's size. If it is not rendered yet and
+     * this is called on the JavaFX thread, the transition starts once it is.
      *
      * @param imgFile   the file to load the background image from
      * @param imageView and where to place it
@@ -205,15 +250,38 @@ public class ImageUtils {
         if (imgFile == null) {
             ImageUtils.transitionToWindowBackground((Image) null, imageView);
         } else {
-            ImageUtils.transitionToWindowBackground(new WeakReference<>(new Image("file:" + File.separator + File.separator + File.separator + imgFile.getAbsolutePath(),
-                            settings().getWindowWidth() * BACKGROUND_IMAGE_LOAD_RATIO,
-                            settings().getWindowHeight() * BACKGROUND_IMAGE_LOAD_RATIO,
-                            false,
-                            true)),
-                    imageView);
+            withWindowBackground(imgFile, (image, blurred) -> transitionToWindowBackground(image, blurred, imageView));
         }
     }
 
+    /**
+     * Gets the background rendered from the given image for the Window's size and gives it to the action, along with
+     * whether it is blurred. Backgrounds that could not be rendered are given as the image itself, not blurred. The
+     * action is called in the calling thread, unless this is the JavaFX thread and the background is not rendered yet:
+     * it is then called in background once it is.
+     */
+    private static void withWindowBackground(File imgFile, BiConsumer<Image, Boolean> action) {
+        double windowWidth = settings().getWindowWidth();
+        double windowHeight = settings().getWindowHeight();
+        CompletableFuture<File> rendering = BackgroundRenderer.getInstance().render(imgFile, windowWidth, windowHeight);
+        Consumer<File> show = background -> {
+            //the background may have been deleted since it was rendered, e.g. by a trim of the cache
+            ImageDimensions.Dimensions dimensions = ImageDimensions.getInstance().get(background);
+            if (dimensions != null) {
+                action.accept(loadImage(background, dimensions.getWidth(), dimensions.getHeight(), false), true);
+            } else {
+                action.accept(loadImage(imgFile,
+                        windowWidth * BackgroundRenderer.LOAD_RATIO,
+                        windowHeight * BackgroundRenderer.LOAD_RATIO,
+                        false), false);
+            }
+        };
+        if (Platform.isFxApplicationThread() && !rendering.isDone()) {
+            rendering.thenAcceptAsync(show, getExecutorService());
+        } else {
+            show.accept(rendering.join());
+        }
+    }
 
     /**
      * Makes a smooth transition between the given image and the current image of the imageView. It does a simple
@@ -263,24 +331,28 @@ public class ImageUtils {
         if (imgFile == null) {
             ImageUtils.setWindowBackground((Image) null, imageView);
         } else {
-            ImageUtils.setWindowBackground(new Image("file:" + File.separator + File.separator + File.separator + imgFile.getAbsolutePath(),
-                            settings().getWindowWidth() * BACKGROUND_IMAGE_LOAD_RATIO,
-                            settings().getWindowHeight() * BACKGROUND_IMAGE_LOAD_RATIO,
-                            false,
-                            true),
-                    imageView);
+            withWindowBackground(imgFile, (image, blurred) -> {
+                if (Platform.isFxApplicationThread()) {
+                    setWindowBackground(image, blurred, imageView);
+                } else {
+                    Platform.runLater(() -> setWindowBackground(image, blurred, imageView));
+                }
+            });
         }
     }
 
     /**
-     * See {@link #setWindowBackground(File, ImageView)}
+     * See {@link #setWindowBackground(File, ImageView)}. The image is shown as is, it should already be blurred.
      *
      * @param img       the image to use
      * @param imageView where to load the image
      */
     public static void setWindowBackground(Image img, ImageView imageView) {
-        GaussianBlur blur = new GaussianBlur(BACKGROUND_IMAGE_BLUR);
-        imageView.setEffect(blur);
+        setWindowBackground(img, true, imageView);
+    }
+
+    private static void setWindowBackground(Image img, boolean blurred, ImageView imageView) {
+        imageView.setEffect(blurred ? null : new GaussianBlur(BackgroundRenderer.BLUR_RADIUS));
         imageView.setOpacity(BaseScene.BACKGROUND_IMAGE_MAX_OPACITY);
         imageView.setImage(img);
     }
@@ -303,24 +375,35 @@ public class ImageUtils {
      * @param requestedWidth  the wanted width for our image
      * @param requestedHeight the wanted height for our image
      * @param imageView       the imageView to change the image from
+     * @return the image set to the imageView, taken from the {@link ImageCache}
      */
-    public static void transitionToCover(File imgFile, double requestedWidth, double requestedHeight, ImageView imageView) {
+    public static Image transitionToCover(File imgFile, double requestedWidth, double requestedHeight, ImageView imageView) {
         boolean preserveRatio = shouldKeepImageRatio(imgFile);
         imageView.setPreserveRatio(preserveRatio);
-        transitionToImage(imgFile == null ? null : new Image("file:" + File.separator + File.separator + File.separator + imgFile.getAbsolutePath(),
-                        requestedWidth,
-                        requestedHeight,
-                        preserveRatio,
-                        true),
-                imageView,
-                1);
+        Image image = loadImage(imgFile, requestedWidth, requestedHeight, preserveRatio);
+        transitionToImage(image, imageView, 1);
+        return image;
+    }
+
+    /**
+     * Gets the image of a file from the {@link ImageCache}, decoding it if it is not cached yet. This should not be
+     * called on the JavaFX thread.
+     *
+     * @param imgFile         the image file, may be null
+     * @param requestedWidth  the wanted width for our image
+     * @param requestedHeight the wanted height for our image
+     * @param preserveRatio   whether the image should keep its ratio within the requested size
+     * @return the image, or null if the file is null or could not be decoded
+     */
+    public static Image loadImage(File imgFile, double requestedWidth, double requestedHeight, boolean preserveRatio) {
+        return ImageCache.getInstance().get(imgFile, requestedWidth, requestedHeight, preserveRatio, true);
     }
 
     /**
      * See {@link ImageUtils#transitionToCover(File, double, double, ImageView)} )}
      */
-    public static void transitionToCover(String imgPath, double requestedWidth, double requestedHeight, ImageView imageView) {
-        transitionToCover(new File(imgPath), requestedWidth, requestedHeight, imageView);
+    public static Image transitionToCover(String imgPath, double requestedWidth, double requestedHeight, ImageView imageView) {
+        return transitionToCover(new File(imgPath), requestedWidth, requestedHeight, imageView);
     }
 
     /**
@@ -335,7 +418,10 @@ public class ImageUtils {
     }
 
     /**
-     * Compares two images and returns whether they are considered equals, not in memory term but rather pixel per pixel.
+     * Compares two images and returns whether they are considered equals, not in memory term but rather by their
+     * {@link ImageFingerprint} given by the {@link ImageCache}, so that this is cheap enough to be called on the JavaFX
+     * thread. Images decoded from different sources, or which were not decoded by the {@link ImageCache}, are never
+     * compared pixel per pixel: they are considered different, which at worst replays a transition to the same image.
      *
      * @param img1 the first image to compare
      * @param img2 the second image to compare
@@ -345,32 +431,31 @@ public class ImageUtils {
         if (img1 == null || img2 == null) {
             return false; //even if they are both null, we prefer to set them as not equal
         }
+        if (img1 == img2) {
+            return true;
+        }
         if (img1.getWidth() != img2.getWidth() || img1.getHeight() != img2.getHeight()) {
             return false; //different sizes is considered not equal
         }
-        for (int i = 0; i < img1.getWidth(); i++) {
-            for (int j = 0; j < img1.getHeight(); j++) {
-                //per pixel comparison
-                if (img1.getPixelReader().getArgb(i, j) != img2.getPixelReader().getArgb(i, j)) return false;
-            }
-        }
-        return true;
+        ImageFingerprint fingerprint1 = ImageCache.getInstance().getFingerprint(img1);
+        return fingerprint1 != null && fingerprint1.equals(ImageCache.getInstance().getFingerprint(img2));
     }
 
     /**
      * Given an image File, checks whether it should keep its ratio, only if the option keep ratio is checked and
-     * if its cover ratio is too far from the standard cover ratio
+     * if its cover ratio is too far from the standard cover ratio. Its dimensions are taken from the
+     * {@link ImageDimensions} cache, so that its header is only read once.
      *
      * @param imgFile the file to check
      * @return true if it should keep its cover ratio, false otherwise
      */
     public static boolean shouldKeepImageRatio(File imgFile) {
-        if (imgFile == null || !imgFile.exists()) {
+        if (imgFile == null || !settings().getBoolean(PredefinedSetting.KEEP_COVER_RATIO)) {
             return false;
         }
-        SimpleImageInfo imageInfo = new SimpleImageInfo(new File(imgFile.getAbsolutePath()));
-        return Math.abs(((double) imageInfo.getHeight() / imageInfo.getWidth()) - GameButton.COVER_HEIGHT_WIDTH_RATIO) > 0.2
-                && settings().getBoolean(PredefinedSetting.KEEP_COVER_RATIO);
+        ImageDimensions.Dimensions dimensions = ImageDimensions.getInstance().get(imgFile);
+        return dimensions != null
+                && Math.abs(dimensions.getHeightWidthRatio() - GameButton.COVER_HEIGHT_WIDTH_RATIO) > 0.2;
     }
 
     /**
@@ -389,111 +474,16 @@ public class ImageUtils {
     }
 
     /**
-     * Gets from cache or generates the thumbnail used by Windows Explorer to display a file
-     * @param file file we want the thumbnail from
-     * @param size size of the icon, must be in {@link #VALID_THUMBNAIL_SIZES}
-     * @return null if the thumbnail could not be generated, the thumbnail otherwise
-     */
-    private static Image getFileThumbnail(File file, int size) {
-        if (file == null || !file.exists()) {
-            return null;
-        }
-        if (!VALID_THUMBNAIL_SIZES.contains(size)) {
-            return null;
-        }
-        File cachedThumbnail = getCachedThumbnail(file, size);
-        if (cachedThumbnail == null || !cachedThumbnail.exists()) {
-            File thumbnail = generateThumbnail(file, size);
-            if (thumbnail == null || !thumbnail.exists()) {
-                return null;
-            }
-            return new Image("file:///" + thumbnail.getAbsolutePath());
-        } else {
-            return new Image("file:///" + cachedThumbnail.getAbsolutePath());
-        }
-    }
-
-    /**
-     * Creates the thumbnail file in the cache folder for the given file
-     * @param file the file we want the thumbnail from
-     * @param size size of the thumbnail, should be in {@link #VALID_THUMBNAIL_SIZES}
-     * @return the thumbnail file, null if it could not be created
-     */
-    @Nullable
-    private static File generateThumbnail(@Nullable File file, int size) {
-        if (file == null || !file.exists()) {
-            return null;
-        }
-        File outputFile = getCachedThumbnail(file, size);
-        try {
-            if (outputFile == null) {
-                return null;
-            }
-            String exePath = DEV_MODE ? DATA_PATH + File.separator + THUMBNAILER_EXE_NAME : THUMBNAILER_EXE_NAME;
-            Process process = new ProcessBuilder()
-                    .command(Arrays.asList(
-                            exePath,
-                            file.getAbsolutePath(),
-                            outputFile.getAbsolutePath(),
-                            Integer.toString(size)
-                    ))
-                    .inheritIO()
-                    .start();
-            process.waitFor();
-            process.destroy();
-
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
-        }
-        return outputFile;
-    }
-
-    /**
-     * Returns the {@link File} pointing to the current or future cached thumbnail image for the given {@link File}. Hence
-     * it may not exist and can be used to determine the output for the cached thumbnail
-     * @param file the file we want the thumbnail from
-     * @param size size of the thumbnail, should be in {@link #VALID_THUMBNAIL_SIZES}
-     * @return null if the input file is invalid, the file otherwise
-     */
-    @Nullable
-    private static File getCachedThumbnail(@Nullable File file, int size) {
-        if (file == null || !file.exists()) {
-            return null;
-        }
-        String cachedFilename = generateThumbnailFilename(file, size);
-        if (cachedFilename == null) {
-            return null;
-        }
-        return getOutputImageCacheFile(cachedFilename);
-    }
-
-    /**
-     * Generates a file name with extension that can be used to uniquely identify a cached thumbnail in GameRoom's cache folder.
-     * It is created by generating a UUID on the input's file absolute path and the size specified.
-     * @param file the file we want the thumbnail from
-     * @param size size of the thumbnail, should be in {@link #VALID_THUMBNAIL_SIZES}
-     * @return a filename used to identify cached version of the thumbnail, of null if the input file is invalid
-     */
-    @Nullable
-    private static String generateThumbnailFilename(@Nullable File file, int size) {
-        if (file == null || !file.exists()) {
-            return null;
-        }
-        return UUID.nameUUIDFromBytes(file.getAbsolutePath().getBytes()).toString() + "_" + size + THUMBNAIL_EXTENSION;
-    }
-
-    /**
-     * Create a smooth transition to a file thumbnail on the given {@link ImageView}. It loads the file thumbnail in a
-     * background thread and then smoothly transitions it on the main thread.
+     * Create a smooth transition to a file thumbnail on the given {@link ImageView}. The thumbnail is loaded by the
+     * workers of {@link FileThumbnails} and then smoothly transitioned on the main thread.
      * @param file the file to get the thumbnail's from
      * @param view the view to apply the thumbnail's image to
-     * @param size size of the thumbnail, should be in {@link #VALID_THUMBNAIL_SIZES}
+     * @param size size of the thumbnail, should be in {@link FileThumbnails#VALID_SIZES}
      */
     public static void transitionToFileThumbnail(@Nullable File file, @Nullable ImageView view, int size){
-        getExecutorService().submit(() -> {
-            transitionToImage(getFileThumbnail(file,size),view);
-            return null;
-        });
+        FileThumbnails.getInstance().getThumbnail(file, size).thenAcceptAsync(
+                thumbnail -> transitionToImage(ImageCache.getInstance().get(thumbnail, 0, 0, false, false), view),
+                getExecutorService());
     }
 
 }
@@ -0,0 +1,242 @@
+package com.gameroom.data.http.images;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory LRU cache whose values are weighed, in bytes, and whose total weight is kept under a budget by evicting the
+ * least recently used values. Values can be pinned while they are in use (e.g. displayed), so that they are never
+ * evicted until unpinned : pinned values may make the cache go over its budget.
+ * <p>
+ * Concurrent loads of the same key are coalesced : only the first caller loads the value, the others wait for it.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class MemoryBudgetCache<K, V> {
+    private final Weigher<V> weigher;
+    private long budget;
+
+    private final LinkedHashMap<K, CachedValue<V>> values = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+    private long weight = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param budget  maximal total weight of the values, in bytes
+     * @param weigher gives the weight of a value
+     */
+    public MemoryBudgetCache(long budget, Weigher<V> weigher) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget must be positive, was " + budget);
+        }
+        this.budget = budget;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Gets the value for the given key from the cache, or from the loader if it is not there.
+     *
+     * @param key    the key of the value
+     * @param loader loads the value on a miss, may return null in which case nothing is cached
+     * @return the value, or null if the loader returned null or failed
+     */
+    public V get(K key, Loader<V> loader) {
+        synchronized (this) {
+            CachedValue<V> cached = values.get(key);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return cached.value;
+            }
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = inFlightLoads.putIfAbsent(key, future);
+        if (inFlight != null) {
+            hitCount.incrementAndGet();
+            return await(inFlight);
+        }
+
+        missCount.incrementAndGet();
+        V value = null;
+        try {
+            value = loader.load();
+            if (value != null) {
+                put(key, value);
+            }
+        } finally {
+            future.complete(value);
+            inFlightLoads.remove(key, future);
+        }
+        return value;
+    }
+
+    /**
+     * @return the value of the key if it is cached, null otherwise. Does not count as a hit or a miss.
+     */
+    public synchronized V getIfPresent(K key) {
+        CachedValue<V> cached = values.get(key);
+        return cached == null ? null : cached.value;
+    }
+
+    /**
+     * Adds a value to the cache, replacing any value of the same key, and evicts values if over budget.
+     */
+    public void put(K key, V value) {
+        synchronized (this) {
+            CachedValue<V> previous = values.put(key, new CachedValue<>(value, weigher.weigh(value)));
+            if (previous != null) {
+                weight -= previous.weight;
+                values.get(key).pinCount = previous.pinCount;
+            }
+            weight += values.get(key).weight;
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Prevents the value of the key from being evicted, until {@link #unpin(Object)} is called as many times.
+     *
+     * @return true if the value was cached and is now pinned
+     */
+    public synchronized boolean pin(K key) {
+        CachedValue<V> cached = values.get(key);
+        if (cached == null) {
+            return false;
+        }
+        cached.pinCount++;
+        return true;
+    }
+
+    /**
+     * Releases a pin taken with {@link #pin(Object)}. The value may be evicted right away if the cache is over budget.
+     */
+    public synchronized void unpin(K key) {
+        CachedValue<V> cached = values.get(key);
+        if (cached != null && cached.pinCount > 0) {
+            cached.pinCount--;
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Removes the value of the key, pinned or not
+     */
+    public synchronized void invalidate(K key) {
+        CachedValue<V> removed = values.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * Removes all values, pinned or not
+     */
+    public synchronized void clear() {
+        values.clear();
+        weight = 0;
+    }
+
+    public synchronized void setBudget(long budget) {
+        this.budget = budget;
+        evictOverBudget();
+    }
+
+    public synchronized long getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return the total weight of the cached values, in bytes
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return values.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return values.size() + " values, " + (weight / 1024) + "/" + (budget / 1024) + " KB, " + hitCount.get() + " hits, "
+                + missCount.get() + " misses, " + evictionCount.get() + " evictions";
+    }
+
+    /**
+     * Must be called while holding the lock. Evicts the least recently used values that are not pinned until the
+     * weight is under budget, or only pinned values are left.
+     */
+    private void evictOverBudget() {
+        Iterator<CachedValue<V>> iterator = values.values().iterator();
+        while (weight > budget && iterator.hasNext()) {
+            CachedValue<V> cached = iterator.next();
+            if (cached.pinCount == 0) {
+                iterator.remove();
+                weight -= cached.weight;
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            //futures are never completed exceptionally
+            return null;
+        }
+    }
+
+    /**
+     * Gives the memory used by a value
+     */
+    public interface Weigher<V> {
+        /**
+         * @return the weight of the value, in bytes
+         */
+        long weigh(V value);
+    }
+
+    /**
+     * Loads a value missing from the cache
+     */
+    public interface Loader<V> {
+        /**
+         * @return the value, or null if there is none
+         */
+        V load();
+    }
+
+    private static class CachedValue<V> {
+        private final V value;
+        private final long weight;
+        private int pinCount = 0;
+
+        private CachedValue(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.gameroom.data.http.key;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPRequest;
+import com.gameroom.data.http.HTTPResponse;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.system.os.WinReg;
@@ -54,10 +54,9 @@ public class KeyChecker {
      *
      * @param key the key to deactivate
      * @return a {@link JSONObject} containing the return message. Might be null
-     * @throws IOException      in case there was an error parsing the response
-     * @throws UnirestException in case there was an error contacting the API
+     * @throws IOException in case there was an error contacting the API
      */
-    public static JSONObject deactivateKey(String key) throws IOException, UnirestException {
+    public static JSONObject deactivateKey(String key) throws IOException {
         String guid = WinReg.readHWGUID();
         if (guid == null || guid.isEmpty()) {
             LOGGER.debug("KeyChecker : empty guid, will use mac deactivation");
@@ -72,26 +71,15 @@ public class KeyChecker {
      * @param key  the key to deactivate
      * @param uuid the domain to be used
      * @return a {@link JSONObject} containing the return message. Might be null
-     * @throws IOException      in case there was an error parsing the response
-     * @throws UnirestException in case there was an error contacting the API
+     * @throws IOException in case there was an error contacting the API
      */
-    private static JSONObject deactivateKey(String key, String uuid) throws IOException, UnirestException {
-        HttpResponse<JsonNode> response = Unirest.post(API_URL)
+    private static JSONObject deactivateKey(String key, String uuid) throws IOException {
+        HTTPRequest request = HTTPClient.getInstance().post(API_URL)
                 .field("secret_key", VALIDATION_KEY)
                 .field("slm_action", "slm_deactivate")
                 .field("registered_domain", uuid)
-                .field("license_key", key)
-                .asJson();
-
-
-        if (response.getBody() != null && response.getBody().getObject() != null) {
-            JSONObject obj = response.getBody().getObject();
-            if (DEBUGGING) {
-                LOGGER.debug("deactivateKey response : " + obj.toString(4));
-            }
-            return obj;
-        }
-        return null;
+                .field("license_key", key);
+        return readResponse(request, "deactivateKey");
     }
 
     /**
@@ -100,10 +88,9 @@ public class KeyChecker {
      *
      * @param key the key to activate
      * @return a {@link JSONObject} containing the return message. Might be null
-     * @throws IOException      in case there was an error parsing the response
-     * @throws UnirestException in case there was an error contacting the API
+     * @throws IOException in case there was an error contacting the API
      */
-    public static JSONObject activateKey(String key) throws IOException, UnirestException {
+    public static JSONObject activateKey(String key) throws IOException {
         String guid = WinReg.readHWGUID();
         if (guid == null || guid.isEmpty()) {
             LOGGER.debug("KeyChecker : empty guid, will use mac activation");
@@ -119,10 +106,9 @@ public class KeyChecker {
      * @param uuid            the unique identifier to use as domain
      * @param checkValidFirst if we should first check if the key has already been registered for this domain
      * @return a {@link JSONObject} containing the return message. Might be null
-     * @throws IOException      in case there was an error parsing the response
-     * @throws UnirestException in case there was an error contacting the API
+     * @throws IOException in case there was an error contacting the API
      */
-    private static JSONObject activateKey(String key, String uuid, boolean checkValidFirst) throws IOException, UnirestException {
+    private static JSONObject activateKey(String key, String uuid, boolean checkValidFirst) throws IOException {
         if (checkValidFirst && isKeyValid(key, uuid)) {
             LOGGER.debug("KeyChecker : key already activated, validating");
             //this allows the user to reactivate a key on the same device !
@@ -131,21 +117,12 @@ public class KeyChecker {
             obj.put(FIELD_MESSAGE, "License_key_activated");
             return obj;
         }
-        HttpResponse<JsonNode> response = Unirest.post(API_URL)
+        HTTPRequest request = HTTPClient.getInstance().post(API_URL)
                 .field("secret_key", VALIDATION_KEY)
                 .field("slm_action", "slm_activate")
                 .field("registered_domain", uuid)
-                .field("license_key", key)
-                .asJson();
-
-        if (response.getBody() != null && response.getBody().getObject() != null) {
-            JSONObject obj = response.getBody().getObject();
-            if (DEBUGGING) {
-                LOGGER.debug("activateKey response : " + obj.toString(4));
-            }
-            return obj;
-        }
-        return null;
+                .field("license_key", key);
+        return readResponse(request, "activateKey");
     }
 
     /**
@@ -226,7 +203,7 @@ public class KeyChecker {
                 LOGGER.info("KeyChecker : received null");
             }
         } catch (Exception e) {
-            if (e.toString().contains("org.apache.http.conn.ConnectTimeoutException") || e.getMessage().contains("java.net.SocketTimeoutException: Read timed out")) {
+            if (e instanceof SocketTimeoutException || e instanceof ConnectException) {
                 LOGGER.error("[KeyChecker] gameroom.me not reachable");
                 LOGGER.error(e.getMessage());
             } else {
@@ -241,25 +218,35 @@ public class KeyChecker {
      *
      * @param key the key to check
      * @return a JSONObject containing the server's response
-     * @throws IOException      in case of connectivity issues to the server
-     * @throws UnirestException in case of response parsing issues
+     * @throws IOException in case of connectivity issues to the server
      */
-    private static JSONObject askKeyValid(String key) throws IOException, UnirestException {
-        HttpResponse<JsonNode> response = Unirest.post(API_URL)
+    private static JSONObject askKeyValid(String key) throws IOException {
+        HTTPRequest request = HTTPClient.getInstance().post(API_URL)
                 .field("secret_key", VALIDATION_KEY)
                 .field("slm_action", "slm_check")
-                .field("license_key", key)
-                .asJson();
-
+                .field("license_key", key);
+        return readResponse(request, "askKeyValid");
+    }
 
-        if (response.getBody() != null && response.getBody().getObject() != null) {
-            JSONObject obj = response.getBody().getObject();
+    /**
+     * Sends a request to the licensing API and parses its answer
+     *
+     * @param request the request to send
+     * @param name    name of the calling method, for debugging
+     * @return a JSONObject containing the server's response, null if it is not valid JSON
+     * @throws IOException in case of connectivity issues to the server
+     */
+    private static JSONObject readResponse(HTTPRequest request, String name) throws IOException {
+        HTTPResponse response = HTTPClient.await(request.send());
+        try {
+            JSONObject obj = response.getBodyAsJSONObject();
             if (DEBUGGING) {
-                LOGGER.debug("askKeyValid response : " + obj.toString(4));
+                LOGGER.debug(name + " response : " + obj.toString(4));
             }
             return obj;
+        } catch (JSONException e) {
+            return null;
         }
-        return null;
     }
 
     /**
@@ -424,7 +411,7 @@ public class KeyChecker {
                             break;
                     }
                 }
-            } catch (IOException | UnirestException e) {
+            } catch (IOException e) {
                 LOGGER.error("KeyChecker : error updating uuid");
                 e.printStackTrace();
             }
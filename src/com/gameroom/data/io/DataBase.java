@@ -62,6 +62,13 @@ public class DataBase {
                 return report;
             }
 
+            /***** UPDATE 1.1.3.0 *****/
+            UpdateProcedure update1130 = new UpdateProcedure(1130);
+            report = update1130.applyDBUpdate();
+            if (report.failed) {
+                return report;
+            }
+
         } catch (IOException e) {
             LOGGER.error("Error reading SQL File");
             LOGGER.error(e);
@@ -260,21 +260,37 @@ public class FileUtils {
         if (possibleExtensions == null) {
             throw new IllegalArgumentException("PossibleExtensions is null");
         }
-        boolean endsWith = false;
-        for (String ext : possibleExtensions) {
-            if (ext != null) {
-                endsWith = endsWith
-                        || name.toLowerCase().endsWith(ext
-                        .replace("*", "")
-                        .replace(".", "")
-                        .toLowerCase()
-                );
+        int end = name.length();
+        while (true) {
+            boolean endsWith = false;
+            for (int i = 0; i < possibleExtensions.length && !endsWith; i++) {
+                endsWith = possibleExtensions[i] != null && endsWithExtension(name, end, possibleExtensions[i]);
+            }
+            int dotIndex = name.lastIndexOf('.', end - 1);
+            if (dotIndex != -1 && end - dotIndex < 5 && endsWith) { //can have up to 4 letters of ext
+                end = dotIndex;
+            } else {
+                return end == name.length() ? name : name.substring(0, end);
             }
         }
-        int dotIndex = name.lastIndexOf('.');
-        if (name.length() - dotIndex < 5 && endsWith) { //can have up to 4 letters of ext
-            return getNameNoExtension(name.substring(0, dotIndex), possibleExtensions);
+    }
+
+    /**
+     * @return true if the first chars of name up to end finish with the given extension, ignoring the case and the
+     * '*' and '.' chars of the extension
+     */
+    private static boolean endsWithExtension(String name, int end, String extension) {
+        int nameIndex = end - 1;
+        for (int i = extension.length() - 1; i >= 0; i--) {
+            char c = extension.charAt(i);
+            if (c == '*' || c == '.') {
+                continue;
+            }
+            if (nameIndex < 0 || Character.toLowerCase(name.charAt(nameIndex)) != Character.toLowerCase(c)) {
+                return false;
+            }
+            nameIndex--;
         }
-        return name;
+        return true;
     }
 }
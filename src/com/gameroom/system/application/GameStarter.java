@@ -41,6 +41,10 @@ public class GameStarter {
 
     private GameEntry entry;
     private PowerMode originalPowerMode;
+    /**
+     * Process started for the game, when it lives as long as the monitored process, see {@link #getGameProcess()}
+     */
+    private Process gameProcess;
     private static String LOG_FOLDER;
 
 
@@ -119,7 +123,7 @@ public class GameStarter {
             terminal.execute(commandsBefore, preLog);
 
             File gameLog = new File(LOG_FOLDER + entry.getName() + ".log");
-            List<String> commands = getStartGameCMD();
+            List<String> commands = getStartGameCMD(false);
             ProcessBuilder gameProcessBuilder = new ProcessBuilder(commands).inheritIO();
 
             gameProcessBuilder.redirectOutput(gameLog);
@@ -133,13 +137,15 @@ public class GameStarter {
                 GeneralToast.displayToast(entry.getName() + Main.getString("launched"), MAIN_SCENE.getParentStage());
             }
 
-            Process gameProcess = gameProcessBuilder.start();
+            gameProcessBuilder.start();
         } else {
             File parentFile = getGameParentFolder();
             terminal.execute(commandsBefore, preLog, parentFile);
 
             File gameLog = new File(LOG_FOLDER + entry.getProcessName() + ".log");
-            List<String> commands = getStartGameCMD();
+            //the launched executable is the monitored one, so it is running as long as the game is
+            boolean waitForExit = isMonitoredExecutable();
+            List<String> commands = getStartGameCMD(waitForExit);
             ProcessBuilder gameProcessBuilder = new ProcessBuilder(commands).inheritIO();
 
             gameProcessBuilder.redirectOutput(gameLog);
@@ -156,23 +162,29 @@ public class GameStarter {
                 GeneralToast.displayToast(entry.getName() + Main.getString("launched"), MAIN_SCENE.getParentStage());
             }
 
-            Process gameProcess = gameProcessBuilder.start();
+            Process process = gameProcessBuilder.start();
+            if (waitForExit) {
+                gameProcess = process;
+            }
         }
     }
 
-    private java.util.List<String> getStartGameCMD() throws IllegalStateException {
+    /**
+     * @param waitForExit whether the command should only return once the started process has exited
+     */
+    private java.util.List<String> getStartGameCMD(boolean waitForExit) throws IllegalStateException {
         ArrayList<String> commands = new ArrayList<>();
         commands.add("powershell.exe");
         commands.add("-Command");
         if (entry.getPlatform().isPCLauncher()) {
-            commands.add(getPowerShellAdminCMD(entry.getPath(), Terminal.splitCMDLine(entry.getArgs()), entry.mustRunAsAdmin()));
+            commands.add(getPowerShellAdminCMD(entry.getPath(), Terminal.splitCMDLine(entry.getArgs()), entry.mustRunAsAdmin(), waitForExit));
         } else {
             if (SUPPORTER_MODE) {
                 Emulator e = Emulator.getChosenEmulator(entry.getPlatform());
                 if (e == null) {
                     throw new IllegalStateException(ERR_NO_EMU);
                 } else {
-                    commands.add(getPowerShellAdminCMD(e.getPath().getAbsolutePath(), e.getCommandArguments(entry), entry.mustRunAsAdmin()));
+                    commands.add(getPowerShellAdminCMD(e.getPath().getAbsolutePath(), e.getCommandArguments(entry), entry.mustRunAsAdmin(), waitForExit));
                 }
             } else {
                 throw new IllegalStateException(ERR_NOT_SUPPORTER);
@@ -181,7 +193,7 @@ public class GameStarter {
         return commands;
     }
 
-    private static String getPowerShellAdminCMD(String path, List<String> args, boolean asAdmin) {
+    private static String getPowerShellAdminCMD(String path, List<String> args, boolean asAdmin, boolean waitForExit) {
         StringBuilder powerShellCmd = new StringBuilder("Start-Process -FilePath ");
         powerShellCmd.append("\'\\\""); //PS syntax + blank escaping
         powerShellCmd.append(path.replace("'", "''")
@@ -204,6 +216,9 @@ public class GameStarter {
         if (asAdmin) {
             powerShellCmd.append(" -Verb runAs");
         }
+        if (waitForExit) {
+            powerShellCmd.append(" -Wait");
+        }
         return powerShellCmd.toString();
     }
 
@@ -291,6 +306,19 @@ public class GameStarter {
         }
     }
 
+    /**
+     * @return true if the executable that is launched is the one the {@link Monitor} looks for, i.e. no other monitored
+     * process was set for the game
+     */
+    private boolean isMonitoredExecutable() {
+        com.gameroom.data.game.entry.Platform p = entry.getPlatform();
+        if (p != null && !p.isPCLauncher()) {
+            Emulator e = Emulator.getChosenEmulator(p);
+            return e != null;
+        }
+        return new File(entry.getPath()).getName().equalsIgnoreCase(entry.getProcessName());
+    }
+
     @NonNull
     private File getGameParentFolder() {
         com.gameroom.data.game.entry.Platform p = entry.getPlatform();
@@ -305,4 +333,12 @@ public class GameStarter {
     public GameEntry getGameEntry() {
         return entry;
     }
+
+    /**
+     * @return the process started for the game, which exits when the monitored process exits, or null if the game
+     * was not launched directly by GameRoom
+     */
+    Process getGameProcess() {
+        return gameProcess;
+    }
 }
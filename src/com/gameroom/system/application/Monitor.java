@@ -2,18 +2,20 @@ package com.gameroom.system.application;
 
 import com.gameroom.data.game.entry.Emulator;
 import com.gameroom.data.game.entry.GameEntry;
-import com.gameroom.data.game.scraper.SteamLocalScraper;
-import com.gameroom.data.io.FileUtils;
+import com.gameroom.data.game.scraper.OnSteamAppStateChanged;
+import com.gameroom.data.game.scraper.SteamAppStateService;
 import com.gameroom.system.SchedulableTask;
 import com.gameroom.system.application.settings.PredefinedSetting;
-import com.gameroom.system.os.Terminal;
+import com.gameroom.system.os.ProcessSampler;
+import com.gameroom.system.os.StandbyInterval;
+import com.gameroom.system.os.SuspendDetector;
+import com.gameroom.system.os.WindowsPowerEvents;
 import com.gameroom.ui.GeneralToast;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.dialog.GameRoomAlert;
 
-import java.io.*;
+import java.io.IOException;
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.*;
@@ -25,8 +27,6 @@ import static com.gameroom.ui.Main.*;
  * Created by LM on 24/07/2016.
  */
 public class Monitor {
-    private final static String TIME_TAG = "$$time$$";
-
     private final static String EXCEPTION_NOT_RUNNING = "Process not running";
     private final static long MONITOR_AGAIN = -1;
 
@@ -35,29 +35,46 @@ public class Monitor {
     private final static long MAX_MONITOR_GAP_TIME = TimeUnit.SECONDS.toMillis(15);
     private final static long MIN_MONITOR_TIME = TimeUnit.SECONDS.toMillis(20);
 
-    private static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyyMMddHHmmss", Locale.ENGLISH);
     private static final DateFormat DEBUG_DATE_FORMAT = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss");
 
     private GameStarter gameStarter;
-    private File vbsWatcher;
-    private String timeWatcherCmd;
     private boolean awaitingRestart = false;
 
     private volatile boolean stopMonitor = false;
 
-    private long timer = 0;
-
-    private ArrayList<StandbyInterval> standbyIntervals = new ArrayList<>();
+    /**
+     * Counts the time the game was seen running, from the shared snapshots of the {@link ProcessSampler}
+     */
+    private ProcessWatcher processWatcher;
+    private boolean samplerAcquired = false;
+
+    /**
+     * Finds the standbys of the computer while the game is monitored, whose time is not counted as play time
+     */
+    private SuspendDetector suspendDetector;
+
+    /**
+     * Process launched by the {@link GameStarter}, if it is the monitored one: the game is running while it is alive.
+     * Its exit is only a hint, as games restarted by Steam or a launcher live on in another process, so the
+     * {@link ProcessSampler} then decides whether the game is still running
+     */
+    private Process gameProcess;
+    private SessionJournal.Session session;
 
     private Date creationDate = null;
     private String processName;
     long originalPlayTime;
 
 
+    /**
+     * Running state of a Steam game, kept up to date by {@link #steamStateListener} instead of querying Steam each tick
+     */
+    private volatile boolean steamGameRunning = false;
+    private OnSteamAppStateChanged steamStateListener;
+
     private SchedulableTask<Long> monitorTask;
     private SchedulableTask<Date> waitCreationTask;
     private long creationAwaitedTime;
-    private long monitorGapTime;
 
     Monitor(GameStarter starter) throws IOException {
         this.gameStarter = starter;
@@ -77,28 +94,13 @@ public class Monitor {
                 processName = e.getProcessName();
             }
         }
-        if (!isSteamGame()) {
-            DATE_FORMAT.setTimeZone(Calendar.getInstance().getTimeZone());
-
-            vbsWatcher = FileUtils.newTempFile(processName + "_watcher.vbs");
-            vbsWatcher.deleteOnExit();
-            FileWriter fw = new java.io.FileWriter(vbsWatcher);
-
-            String vbs = "Set WshShell = WScript.CreateObject(\"WScript.Shell\")\n"
-                    + "Set locator = CreateObject(\"WbemScripting.SWbemLocator\")\n"
-                    + "Set service = locator.ConnectServer()\n"
-                    + "Set processes = service.ExecQuery _\n"
-                    + " (\"select * from Win32_Process where name='" + processName + "'\")\n"
-                    + "For Each process in processes\n"
-                    + "wscript.echo process.Name \n"
-                    + "wscript.echo \"" + TIME_TAG + "\" & process.CreationDate \n"
-                    + "Next\n"
-                    + "Set WSHShell = Nothing\n";
-
-            fw.write(vbs);
-            fw.close();
-
-            timeWatcherCmd = "cscript //NoLogo " + vbsWatcher.getPath();
+        processWatcher = new ProcessWatcher(ProcessSampler.getInstance(), processName, MONITOR_REFRESH, MAX_MONITOR_GAP_TIME);
+        gameProcess = starter.getGameProcess();
+        if (isSteamGame()) {
+            steamStateListener = (oldState, newState) -> {
+                steamGameRunning = newState.isRunning();
+                debug("Steam state changed to " + newState);
+            };
         }
 
         monitorTask = new SchedulableTask<Long>(MONITOR_REFRESH,MONITOR_REFRESH) {
@@ -108,8 +110,19 @@ public class Monitor {
                     cancel();
                     return 0L;
                 }
-                if (isProcessRunning()) {
-                    timer += MONITOR_REFRESH;
+                boolean running;
+                if (isSteamGame()) {
+                    running = processWatcher.tick(steamGameRunning);
+                } else if (gameProcess != null && gameProcess.isAlive()) {
+                    running = processWatcher.tick(true);
+                } else {
+                    if (gameProcess != null) {
+                        debug("Launched process exited, looking for " + processName + " from now on");
+                        gameProcess = null;
+                    }
+                    running = processWatcher.tick();
+                }
+                if (running) {
                     return computeTrueRunningTime();
                 } else {
                     throw new IllegalStateException(EXCEPTION_NOT_RUNNING);
@@ -119,46 +132,37 @@ public class Monitor {
 
         monitorTask.setOnFailed(() -> {
             if(monitorTask.getException().getMessage().equals(EXCEPTION_NOT_RUNNING)) {
-                monitorGapTime += MONITOR_REFRESH;
-                if (monitorGapTime > MAX_MONITOR_GAP_TIME) {
+                if (processWatcher.isKilled()) {
                     info(processName + " killed");
-                    long result = 0;
-                    try {
-                        result = computeTrueRunningTime() - monitorGapTime;
-                        debug("Computed playtime : " + GameEntry.getPlayTimeFormatted(Math.round(result / 1000), GameEntry.TIME_FORMAT_FULL_DOUBLEDOTS));
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+                    long result = computeTrueRunningTime() - processWatcher.getGapTime();
+                    debug("Computed playtime : " + GameEntry.getPlayTimeFormatted(Math.round(result / 1000), GameEntry.TIME_FORMAT_FULL_DOUBLEDOTS));
                     monitorTask.stop();
-                    gameStarter.onStop(result);
+                    onStop(result);
                 }
             } else{
                 debug("monitorTask error, impossible to monitor games");
                 monitorTask.getException().printStackTrace();
                 monitorTask.stop();
-                gameStarter.onStop(0);
+                onStop(0);
                 GeneralToast.displayToast(Main.getString("error_cannot_monitor") + getGameEntry().getName(),MAIN_SCENE.getParentStage());
             }
         });
 
         monitorTask.setOnSucceeded(() -> {
-            getGameEntry().setSavedLocally(true);
+            //only displayed, the play time is saved when the session is closed
             getGameEntry().setPlayTimeSeconds(originalPlayTime + Math.round(monitorTask.getValue() / 1000.0));
             getGameEntry().setLastPlayTime(Math.round(monitorTask.getValue() / 1000.0));
-            getGameEntry().setSavedLocally(false);
+            if (session != null) {
+                SessionJournal.getInstance().heartbeat(session, System.currentTimeMillis(), monitorTask.getValue());
+            }
         });
 
         monitorTask.setOnCancelled(() -> {
             waitCreationTask.stop();
 
-            long result = 0;
-            try {
-                result = computeTrueRunningTime() - monitorGapTime;
-                debug("Computed playtime : " + GameEntry.getPlayTimeFormatted(Math.round(result / 1000), GameEntry.TIME_FORMAT_FULL_DOUBLEDOTS));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            gameStarter.onStop(result);
+            long result = computeTrueRunningTime() - processWatcher.getGapTime();
+            debug("Computed playtime : " + GameEntry.getPlayTimeFormatted(Math.round(result / 1000), GameEntry.TIME_FORMAT_FULL_DOUBLEDOTS));
+            onStop(result);
         });
 
         waitCreationTask = new SchedulableTask<Date>(0,MONITOR_REFRESH) {
@@ -170,34 +174,16 @@ public class Monitor {
                     return null;
                 }
                 if (isSteamGame()) {
-                    if (SteamLocalScraper.isSteamGameRunning(getGameEntry().getPlatformGameID())) {
+                    if (steamGameRunning) {
                         return new Date();
                     }
                     throw new IllegalStateException(EXCEPTION_NOT_RUNNING);
                 }
-                Date resultDate = null;
-
-                Process p = Runtime.getRuntime().exec(timeWatcherCmd);
-                BufferedReader input =
-                        new BufferedReader
-                                (new InputStreamReader(p.getInputStream()));
-                String line;
-                while ((line = input.readLine()) != null) {
-                    if (line.contains(TIME_TAG)) {
-                        String dateString = line.substring(TIME_TAG.length(), line.indexOf('.'));
-                        try {
-                            resultDate = DATE_FORMAT.parse(dateString);
-                        } catch (ParseException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-                input.close();
-
-                if (resultDate == null) {
+                long creationTime = processWatcher.findCreationTime();
+                if (creationTime == -1) {
                     throw new IllegalStateException(EXCEPTION_NOT_RUNNING);
                 }
-                return resultDate;
+                return new Date(creationTime);
 
             }
         };
@@ -208,6 +194,9 @@ public class Monitor {
 
             debug("Found creation date of process : " + DEBUG_DATE_FORMAT.format(creationDate));
             info("Monitoring " + processName);
+            session = SessionJournal.getInstance().open(getGameEntry().getId(), creationDate.getTime(), originalPlayTime);
+            suspendDetector = SuspendDetector.forCurrentOS();
+            WindowsPowerEvents.addListener(suspendDetector);
 
             monitorTask.scheduleAtFixedRateOn(Main.getScheduledExecutor());
         });
@@ -215,7 +204,7 @@ public class Monitor {
         waitCreationTask.setOnCancelled(() -> {
             monitorTask.stop();
             debug("waitCreationTask cancelled.");
-            gameStarter.onStop(0);
+            onStop(0);
         });
 
         waitCreationTask.setOnFailed(() -> {
@@ -223,14 +212,14 @@ public class Monitor {
                 creationAwaitedTime += MONITOR_REFRESH;
                 if (creationAwaitedTime > MAX_AWAIT_CREATION_TIME ) {
                     debug("waitCreationTask error finding creation date of process " + processName);
-                    gameStarter.onStop(0);
+                    onStop(0);
                     GeneralToast.displayToast(Main.getString("error_app_did_not_start",processName),MAIN_SCENE.getParentStage());
                 }
             }else{
                 debug("waitCreationTask error, impossible to monitor games");
                 waitCreationTask.getException().printStackTrace();
                 waitCreationTask.stop();
-                gameStarter.onStop(0);
+                onStop(0);
                 GeneralToast.displayToast(Main.getString("error_cannot_monitor") + getGameEntry().getName(),MAIN_SCENE.getParentStage());
             }
         });
@@ -244,10 +233,48 @@ public class Monitor {
         }else{
             getGameEntry().setMonitored(true);
         }
+        if (isSteamGame()) {
+            int steamId = getGameEntry().getPlatformGameID();
+            SteamAppStateService.getInstance().subscribe(steamId, steamStateListener);
+            steamGameRunning = SteamAppStateService.getInstance().isRunning(steamId);
+        } else {
+            ProcessSampler.getInstance().acquire();
+            samplerAcquired = true;
+        }
         waitCreationTask.scheduleAtFixedRateOn(Main.getScheduledExecutor());
     }
 
-    private long computeTrueRunningTime() throws IOException {
+    /**
+     * Stops listening to the Steam app state or releases the {@link ProcessSampler}, closes the session in the
+     * {@link SessionJournal} and saves the play time of the game, then notifies the {@link GameStarter} that the game
+     * has stopped
+     *
+     * @param playTime the computed play time of the session, in ms
+     */
+    private void onStop(long playTime) {
+        if (steamStateListener != null) {
+            SteamAppStateService.getInstance().unsubscribe(getGameEntry().getPlatformGameID(), steamStateListener);
+        } else if (samplerAcquired) {
+            samplerAcquired = false;
+            ProcessSampler.getInstance().release();
+        }
+        if (suspendDetector != null) {
+            WindowsPowerEvents.removeListener(suspendDetector);
+        }
+        if (session != null) {
+            //if the play time could not be computed, the one of the last tick is kept
+            long sessionPlayTime = playTime > 0 ? playTime : session.getPlayTime();
+            SessionJournal.getInstance().close(session, System.currentTimeMillis(), sessionPlayTime);
+            session = null;
+
+            getGameEntry().setSavedLocally(true);
+            getGameEntry().setPlayTimeSeconds(originalPlayTime + Math.round(sessionPlayTime / 1000.0));
+            getGameEntry().setSavedLocally(false);
+        }
+        gameStarter.onStop(playTime);
+    }
+
+    private long computeTrueRunningTime() {
         long currentTime = System.currentTimeMillis();
 
         while (creationDate == null && KEEP_THREADS_RUNNING && !stopMonitor) {
@@ -260,157 +287,52 @@ public class Monitor {
         }
         long result = currentTime - creationDate.getTime();
 
-        String request = "strComputer = \".\"\n" +
-                "Set objWMIService = GetObject(\"winmgmts:\" _\n" +
-                "    & \"{impersonationLevel=impersonate}!\\\\\" _\n" +
-                "    & strComputer & \"\\root\\cimv2\")\n" +
-                "Set colLoggedEvents = objWMIService.ExecQuery _\n" +
-                "    (\"Select * from Win32_NTLogEvent \" _\n" +
-                "        & \"Where Logfile = 'System' AND (EventCode='42' OR EventCode='1') AND TimeWritten >= \'" + DATE_FORMAT.format(creationDate.getTime() - 3600000 * 2) + ".000000-000\'\")\n" +
-                "For Each objEvent in colLoggedEvents\n" +
-                "    Wscript.Echo objEvent.EventCode & \"" + TIME_TAG + "\" & objEvent.TimeWritten\n" +
-                "Next";
-        //TODO fix incorrect timezone in uppper script
-        //Main.LOGGER.debug("\tOriginal date : "+ DATE_FORMAT.format(creationDate.getTime()));
-        //Main.LOGGER.debug("\tCorrected date : "+ DATE_FORMAT.format(creationDate.getTime()-3600000*2));
-        String tempFileName = processName+"_counter.vbs";
-        File standbyWatcher = FileUtils.newTempFile(tempFileName);
-        standbyWatcher.deleteOnExit();
-        FileWriter fw = new java.io.FileWriter(standbyWatcher);
-        fw.write(request);
-        fw.close();
-
-        Process p = Runtime.getRuntime().exec("cscript //NoLogo " + standbyWatcher.getPath());
-        BufferedReader input =
-                new BufferedReader
-                        (new InputStreamReader(p.getInputStream()));
-        String line;
-
-        Date event1Date = null;
-        while ((line = input.readLine()) != null) {
-            if (line.startsWith("1")) {
-                try {
-                    event1Date = DATE_FORMAT.parse(line.substring(line.indexOf(TIME_TAG) + TIME_TAG.length(), line.indexOf('.')));
-                } catch (ParseException e) {
-                    e.printStackTrace();
-                }
-            } else if (line.startsWith("42")) {
-                String dateString = line.substring(line.indexOf(TIME_TAG) + TIME_TAG.length(), line.indexOf('.'));
-                try {
-                    Date standbyDate = DATE_FORMAT.parse(dateString);
-                    StandbyInterval si = new StandbyInterval(standbyDate, event1Date);
-
-                    boolean alreadyExists = false;
-                    for (StandbyInterval standbyInterval : standbyIntervals) {
-                        if (standbyInterval.startDate.compareTo(standbyDate) == 0) {
-                            alreadyExists = true;
-                        }
-                    }
-                    if (!alreadyExists) {
-                        standbyIntervals.add(si);
-                        result -= si.getStandbyTime();
-                    }
-                } catch (ParseException e) {
-                    e.printStackTrace();
+        if (suspendDetector != null) {
+            for (StandbyInterval interval : suspendDetector.check()) {
+                debug("Computer was in standby from " + DEBUG_DATE_FORMAT.format(interval.getStartDate())
+                        + " to " + DEBUG_DATE_FORMAT.format(interval.getEndDate()));
+                if (session != null) {
+                    SessionJournal.getInstance().addStandby(session, interval.getStartDate().getTime(), interval.getEndDate().getTime());
                 }
-
             }
+            result -= suspendDetector.getStandbyTime();
         }
-        input.close();
-
-        BufferedReader errors =
-                new BufferedReader
-                        (new InputStreamReader(p.getErrorStream()));
-        while ((line = errors.readLine()) != null) {
-            Main.LOGGER.error(line);
-        }
-        errors.close();
-
 
         if (isSteamGame() || !KEEP_THREADS_RUNNING) {
-            result = timer;
+            result = processWatcher.getRunningTime();
         }
 
         return result;
     }
 
-    private Date computeCreationDate() throws IOException {
+    private Date computeCreationDate() {
         if (isSteamGame()) {
-            if (SteamLocalScraper.isSteamGameRunning(getGameEntry().getPlatformGameID())) {
+            if (steamGameRunning) {
                 return new Date();
             }
             return null;
         }
-        Date resultDate = null;
-
-        Process p = Runtime.getRuntime().exec(timeWatcherCmd);
-        BufferedReader input =
-                new BufferedReader
-                        (new InputStreamReader(p.getInputStream()));
-        String line;
-        while ((line = input.readLine()) != null) {
-            if (line.contains(TIME_TAG)) {
-                String dateString = line.substring(TIME_TAG.length(), line.indexOf('.'));
-                try {
-                    resultDate = DATE_FORMAT.parse(dateString);
-                    if (settings().getBoolean(PredefinedSetting.DEBUG_MODE)) {
-                        Main.LOGGER.debug("Found creation date of process : " + DEBUG_DATE_FORMAT.format(resultDate));
-                    }
-                } catch (ParseException e) {
-                    e.printStackTrace();
-                }
-            }
+        long creationTime = processWatcher.findCreationTime();
+        if (creationTime == -1) {
+            return null;
         }
-        input.close();
+        Date resultDate = new Date(creationTime);
+        debug("Found creation date of process : " + DEBUG_DATE_FORMAT.format(resultDate));
         return resultDate;
     }
 
-    private boolean isProcessRunning() throws IOException {
-        if (isSteamGame()) {
-            return SteamLocalScraper.isSteamGameRunning(getGameEntry().getPlatformGameID());
-        } else {
-            return isProcessRunning(processName);
-        }
-    }
-
+    /**
+     * @param processName the name of the executable of the process, e.g. "Game.exe"
+     * @return true if a process with this name is running, see {@link ProcessSampler}
+     */
     public static boolean isProcessRunning(String processName) {
-        Terminal terminal = new Terminal();
-
-        String[] output = null;
-        try {
-            output = terminal.execute("tasklist", "/FI", "\"IMAGENAME eq " + processName + "\"");
-        } catch (IOException e) {
-            LOGGER.error(e.getMessage());
-            return false;
-        }
-        if (output != null) {
-            for (String outputLine : output) {
-                if (outputLine.toLowerCase().contains(processName.toLowerCase())) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ProcessSampler.getInstance().isRunning(processName);
     }
 
     private boolean isSteamGame() {
         return getGameEntry().isSteamGame();
     }
 
-    public static class StandbyInterval {
-        private Date startDate;
-        private Date endDate;
-
-        StandbyInterval(Date startDate, Date endDate) {
-            this.startDate = startDate;
-            this.endDate = endDate;
-        }
-
-        public long getStandbyTime() {
-            return endDate.getTime() - startDate.getTime();
-        }
-    }
-
     private GameEntry getGameEntry() {
         return gameStarter.getGameEntry();
     }
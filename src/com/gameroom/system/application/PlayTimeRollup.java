@@ -0,0 +1,231 @@
+package com.gameroom.system.application;
+
+import com.gameroom.data.io.DataBase;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Play time of games per day, stored in the PlayTimeDaily table, to build statistics over periods.
+ * <p>
+ * The table is updated incrementally when a session is closed by the {@link SessionJournal}: the play time of the
+ * session is split over the days it spanned and added to the row of each day. Statistics are then read from these rows
+ * only, indexed by day, so that their cost depends on the number of days of the period and not on the number of
+ * sessions ever played.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class PlayTimeRollup {
+    private final static String TAG = "PlayTimeRollup: ";
+
+    private static PlayTimeRollup INSTANCE;
+
+    private final ZoneId zone;
+
+    public static synchronized PlayTimeRollup getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new PlayTimeRollup(ZoneId.systemDefault());
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param zone time zone in which days start
+     */
+    public PlayTimeRollup(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Adds the play time of a closed session to the days it spanned
+     *
+     * @param gameId          the id of the played game
+     * @param startDate       the date at which the session started, in ms since epoch
+     * @param endDate         the date at which the session ended, in ms since epoch
+     * @param playTimeSeconds the play time of the session, in seconds
+     */
+    public void add(int gameId, long startDate, long endDate, long playTimeSeconds) {
+        Map<LocalDate, Long> days = splitByDay(startDate, endDate, playTimeSeconds, zone);
+        if (days.isEmpty()) {
+            return;
+        }
+        String insertSQL = "INSERT OR IGNORE INTO PlayTimeDaily(game_id,day) VALUES (?,?)";
+        String updateSQL = "UPDATE PlayTimeDaily SET time_played_seconds = time_played_seconds + ?, session_count = session_count + 1 WHERE game_id = ? AND day = ?";
+        try (PreparedStatement insertStatement = DataBase.getUserConnection().prepareStatement(insertSQL);
+             PreparedStatement updateStatement = DataBase.getUserConnection().prepareStatement(updateSQL)) {
+            for (Map.Entry<LocalDate, Long> day : days.entrySet()) {
+                insertStatement.setInt(1, gameId);
+                insertStatement.setLong(2, day.getKey().toEpochDay());
+                insertStatement.addBatch();
+
+                updateStatement.setLong(1, day.getValue());
+                updateStatement.setInt(2, gameId);
+                updateStatement.setLong(3, day.getKey().toEpochDay());
+                updateStatement.addBatch();
+            }
+            insertStatement.executeBatch();
+            updateStatement.executeBatch();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not add play time of game " + gameId);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Splits a play time over the days between two dates, in proportion to the time spent in each day. Days that get
+     * no play time are left out.
+     *
+     * @param startDate start of the period, in ms since epoch
+     * @param endDate   end of the period, in ms since epoch
+     * @param playTime  the play time to split, in any unit
+     * @param zone      time zone in which days start
+     * @return the play time of each day, ordered by day, whose sum is the given play time
+     */
+    public static Map<LocalDate, Long> splitByDay(long startDate, long endDate, long playTime, ZoneId zone) {
+        LinkedHashMap<LocalDate, Long> days = new LinkedHashMap<>();
+        if (playTime <= 0) {
+            return days;
+        }
+        LocalDate day = Instant.ofEpochMilli(startDate).atZone(zone).toLocalDate();
+        LocalDate lastDay = Instant.ofEpochMilli(Math.max(startDate, endDate)).atZone(zone).toLocalDate();
+        long duration = endDate - startDate;
+
+        long remainingTime = playTime;
+        long dayStart = startDate;
+        while (day.isBefore(lastDay)) {
+            long nextDayStart = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            long dayTime = playTime * (nextDayStart - dayStart) / duration;
+            if (dayTime > 0) {
+                days.put(day, dayTime);
+                remainingTime -= dayTime;
+            }
+            dayStart = nextDayStart;
+            day = day.plusDays(1);
+        }
+        //rounding leftovers go to the last day
+        if (remainingTime > 0) {
+            days.put(lastDay, remainingTime);
+        }
+        return days;
+    }
+
+    /**
+     * @param from first day of the period
+     * @param to   last day of the period
+     * @return the play time of all games during the period, in seconds
+     */
+    public long getPlayTime(LocalDate from, LocalDate to) {
+        String sql = "SELECT SUM(time_played_seconds) FROM PlayTimeDaily WHERE day BETWEEN ? AND ?";
+        return querySum(sql, from, to, -1);
+    }
+
+    /**
+     * @param gameId the id of a game
+     * @param from   first day of the period
+     * @param to     last day of the period
+     * @return the play time of the game during the period, in seconds
+     */
+    public long getPlayTime(int gameId, LocalDate from, LocalDate to) {
+        String sql = "SELECT SUM(time_played_seconds) FROM PlayTimeDaily WHERE day BETWEEN ? AND ? AND game_id = ?";
+        return querySum(sql, from, to, gameId);
+    }
+
+    /**
+     * @param from first day of the period
+     * @param to   last day of the period
+     * @return the play time in seconds of each game played during the period, by game id, the most played first
+     */
+    public Map<Integer, Long> getPlayTimeByGame(LocalDate from, LocalDate to) {
+        String sql = "SELECT game_id, SUM(time_played_seconds) AS time FROM PlayTimeDaily WHERE day BETWEEN ? AND ? "
+                + "GROUP BY game_id ORDER BY time DESC";
+        return queryMap(sql, from, to);
+    }
+
+    /**
+     * @param from first day of the period
+     * @param to   last day of the period
+     * @return the play time in seconds of each platform played during the period, by platform id, the most played
+     * first
+     */
+    public Map<Integer, Long> getPlayTimeByPlatform(LocalDate from, LocalDate to) {
+        String sql = "SELECT runs_on.platform_id, SUM(PlayTimeDaily.time_played_seconds) AS time FROM PlayTimeDaily "
+                + "JOIN runs_on ON runs_on.game_id = PlayTimeDaily.game_id WHERE PlayTimeDaily.day BETWEEN ? AND ? "
+                + "GROUP BY runs_on.platform_id ORDER BY time DESC";
+        return queryMap(sql, from, to);
+    }
+
+    /**
+     * @param from first day of the period
+     * @param to   last day of the period
+     * @return the play time in seconds of all games for each day of the period that was played, ordered by day
+     */
+    public Map<LocalDate, Long> getPlayTimeByDay(LocalDate from, LocalDate to) {
+        String sql = "SELECT day, SUM(time_played_seconds) FROM PlayTimeDaily WHERE day BETWEEN ? AND ? "
+                + "GROUP BY day ORDER BY day";
+        LinkedHashMap<LocalDate, Long> days = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Long> day : queryMap(sql, from, to).entrySet()) {
+            days.put(LocalDate.ofEpochDay(day.getKey()), day.getValue());
+        }
+        return days;
+    }
+
+    /**
+     * @param from first month of the period
+     * @param to   last month of the period
+     * @return the play time in seconds of all games for each month of the period that was played, ordered by month
+     */
+    public Map<YearMonth, Long> getPlayTimeByMonth(YearMonth from, YearMonth to) {
+        LinkedHashMap<YearMonth, Long> months = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, Long> day : getPlayTimeByDay(from.atDay(1), to.atEndOfMonth()).entrySet()) {
+            months.merge(YearMonth.from(day.getKey()), day.getValue(), Long::sum);
+        }
+        return months;
+    }
+
+    private static long querySum(String sql, LocalDate from, LocalDate to, int gameId) {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setLong(1, from.toEpochDay());
+            statement.setLong(2, to.toEpochDay());
+            if (gameId != -1) {
+                statement.setInt(3, gameId);
+            }
+            try (ResultSet set = statement.executeQuery()) {
+                return set.next() ? set.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read play time");
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * @return the map of the first column of the results to the second one, in the order of the results
+     */
+    private static LinkedHashMap<Integer, Long> queryMap(String sql, LocalDate from, LocalDate to) {
+        LinkedHashMap<Integer, Long> map = new LinkedHashMap<>();
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setLong(1, from.toEpochDay());
+            statement.setLong(2, to.toEpochDay());
+            try (ResultSet set = statement.executeQuery()) {
+                while (set.next()) {
+                    map.put(set.getInt(1), set.getLong(2));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read play time");
+            e.printStackTrace();
+        }
+        return map;
+    }
+}
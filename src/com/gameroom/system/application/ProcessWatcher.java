@@ -0,0 +1,96 @@
+package com.gameroom.system.application;
+
+import com.gameroom.system.os.ProcessInfo;
+import com.gameroom.system.os.ProcessSampler;
+
+/**
+ * Follows the process of a game through the snapshots of a {@link ProcessSampler}, for a {@link Monitor}. Each tick
+ * counts the time the process was seen running, and the time it was not: it is only considered killed once it has not
+ * been seen for more than a given gap, as it may be restarted, e.g. by a launcher.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ProcessWatcher {
+    private final ProcessSampler sampler;
+    private final String processName;
+    private final long tickTime;
+    private final long maxGapTime;
+
+    private long runningTime = 0;
+    private long gapTime = 0;
+
+    /**
+     * @param sampler     the sampler of the process table
+     * @param processName the name of the executable of the game, e.g. "Game.exe"
+     * @param tickTime    time between two ticks, in ms
+     * @param maxGapTime  time in ms after which a process that is not seen anymore is considered killed
+     */
+    public ProcessWatcher(ProcessSampler sampler, String processName, long tickTime, long maxGapTime) {
+        this.sampler = sampler;
+        this.processName = processName;
+        this.tickTime = tickTime;
+        this.maxGapTime = maxGapTime;
+    }
+
+    /**
+     * @return the creation date of the process in ms since epoch, the current date if it could not be read, or -1 if
+     * the process is not running
+     */
+    public long findCreationTime() {
+        ProcessInfo process = sampler.find(processName);
+        if (process == null) {
+            return -1;
+        }
+        return process.getCreationTime() == ProcessInfo.UNKNOWN_CREATION_TIME ? System.currentTimeMillis() : process.getCreationTime();
+    }
+
+    /**
+     * Counts one more tick, as running or not depending on whether the process is in the last snapshot
+     *
+     * @return true if the process is running
+     */
+    public boolean tick() {
+        return tick(sampler.isRunning(processName));
+    }
+
+    /**
+     * Counts one more tick, when whether the game is running is known otherwise, e.g. from Steam
+     *
+     * @param running whether the game is running
+     * @return running
+     */
+    public boolean tick(boolean running) {
+        if (running) {
+            runningTime += tickTime;
+        } else {
+            gapTime += tickTime;
+        }
+        return running;
+    }
+
+    /**
+     * @return true if the process has not been seen for more than the max gap time
+     */
+    public boolean isKilled() {
+        return gapTime > maxGapTime;
+    }
+
+    /**
+     * @return the time in ms during which the process was seen running
+     */
+    public long getRunningTime() {
+        return runningTime;
+    }
+
+    /**
+     * @return the time in ms during which the process was not seen
+     */
+    public long getGapTime() {
+        return gapTime;
+    }
+
+    public String getProcessName() {
+        return processName;
+    }
+}
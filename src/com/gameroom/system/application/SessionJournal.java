@@ -0,0 +1,307 @@
+package com.gameroom.system.application;
+
+import com.gameroom.data.io.DataBase;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Journal of the play sessions of games, stored in the PlaySession and PlaySessionStandby tables.
+ * <p>
+ * A session is opened once the process of a game is found, then its play time is written at most once every
+ * {@link #HEARTBEAT_PERIOD} ms by {@link #heartbeat(Session, long, long)}, however often it is called, and it is closed
+ * when the game stops. The play time of a game is only saved in the GameEntry table when its session is closed, so
+ * that monitoring a game does not write to the database every second.
+ * <p>
+ * If GameRoom crashes or the computer loses power during a session, it is left open in the journal:
+ * {@link #recover()} then closes it at its last heartbeat and sets the play time of its game to the one it had when the
+ * session was opened plus the one of the session, on the next start. The play time of a game may have been saved
+ * during the session, e.g. when it is edited, so adding the session to it could count it twice.
+ * <p>
+ * Closed sessions are added to the {@link PlayTimeRollup}, from which statistics are read.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SessionJournal {
+    private final static String TAG = "SessionJournal: ";
+    public final static long HEARTBEAT_PERIOD = TimeUnit.SECONDS.toMillis(30);
+
+    private static SessionJournal INSTANCE;
+
+    private final long heartbeatPeriod;
+
+    public static synchronized SessionJournal getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new SessionJournal(HEARTBEAT_PERIOD);
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param heartbeatPeriod minimal time in ms between two writes of the play time of a session
+     */
+    public SessionJournal(long heartbeatPeriod) {
+        this.heartbeatPeriod = heartbeatPeriod;
+    }
+
+    /**
+     * Opens a new session
+     *
+     * @param gameId       the id of the played game
+     * @param startDate    the date at which the game was started, in ms since epoch
+     * @param basePlayTime the play time of the game before the session, in seconds
+     * @return the opened session, which is not stored if it could not be written
+     */
+    public Session open(int gameId, long startDate, long basePlayTime) {
+        Session session = new Session(-1, gameId, startDate, startDate, Session.NOT_ENDED, 0, basePlayTime);
+        String sql = "INSERT INTO PlaySession(game_id,start_date,heartbeat_date,time_played_seconds,base_playtime_seconds) VALUES (?,?,?,0,?)";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setInt(1, gameId);
+            statement.setLong(2, startDate);
+            statement.setLong(3, startDate);
+            statement.setLong(4, basePlayTime);
+            statement.execute();
+            session.id = DataBase.getLastId();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not open session of game " + gameId);
+            e.printStackTrace();
+        }
+        return session;
+    }
+
+    /**
+     * Updates the play time of a running session. It is only written if the last write is older than the heartbeat
+     * period.
+     *
+     * @param session  the running session
+     * @param date     current date, in ms since epoch
+     * @param playTime play time of the session so far, in ms
+     * @return true if the session was written
+     */
+    public boolean heartbeat(Session session, long date, long playTime) {
+        session.heartbeatDate = date;
+        session.playTime = playTime;
+        if (date - session.lastWriteDate < heartbeatPeriod) {
+            return false;
+        }
+        write(session);
+        return true;
+    }
+
+    /**
+     * Records a standby of the computer during a session, see {@link com.gameroom.system.os.SuspendDetector}
+     *
+     * @param session   the running session
+     * @param startDate date at which the computer went to sleep, in ms since epoch
+     * @param endDate   date at which the computer woke up, in ms since epoch
+     */
+    public void addStandby(Session session, long startDate, long endDate) {
+        if (session.id == -1) {
+            return;
+        }
+        String sql = "INSERT OR IGNORE INTO PlaySessionStandby(session_id,start_date,end_date) VALUES (?,?,?)";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setInt(1, session.id);
+            statement.setLong(2, startDate);
+            statement.setLong(3, endDate);
+            statement.execute();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not add standby to session " + session.id);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Closes a session and adds its play time to the {@link PlayTimeRollup}. The play time of its game is to be saved
+     * by the caller.
+     *
+     * @param session  the running session
+     * @param endDate  date at which the game stopped, in ms since epoch
+     * @param playTime total play time of the session, in ms
+     */
+    public void close(Session session, long endDate, long playTime) {
+        session.heartbeatDate = endDate;
+        session.endDate = endDate;
+        session.playTime = playTime;
+        write(session);
+        PlayTimeRollup.getInstance().add(session.gameId, session.startDate, endDate, Math.round(playTime / 1000.0));
+    }
+
+    /**
+     * Closes the sessions that were left open by a previous run of GameRoom at their last heartbeat, and sets the play
+     * time of their game to its play time before the session plus the one of the session. Must be called before games
+     * are loaded.
+     *
+     * @return the recovered sessions
+     */
+    public List<Session> recover() {
+        List<Session> sessions = new ArrayList<>();
+        try (Statement statement = DataBase.getUserConnection().createStatement();
+             ResultSet set = statement.executeQuery("SELECT * FROM PlaySession WHERE end_date IS NULL AND heartbeat_date IS NOT NULL")) {
+            while (set.next()) {
+                sessions.add(readSession(set, set.getInt("game_id")));
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read open sessions");
+            e.printStackTrace();
+            return sessions;
+        }
+
+        //the play time before the session is unknown for sessions opened by older versions, theirs is added
+        String sql = "UPDATE GameEntry SET initial_playtime = COALESCE(?, initial_playtime, 0) + ? WHERE id = ?";
+        for (Session session : sessions) {
+            //the session is closed first, so that its play time can not be added twice
+            close(session, session.heartbeatDate, session.playTime);
+            try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+                if (session.basePlayTime != Session.UNKNOWN_BASE_PLAY_TIME) {
+                    statement.setLong(1, session.basePlayTime);
+                } else {
+                    statement.setNull(1, Types.INTEGER);
+                }
+                statement.setLong(2, Math.round(session.playTime / 1000.0));
+                statement.setInt(3, session.gameId);
+                statement.execute();
+            } catch (SQLException e) {
+                LOGGER.error(TAG + "could not add play time of session " + session.id);
+                e.printStackTrace();
+            }
+            LOGGER.info(TAG + "recovered " + Math.round(session.playTime / 1000.0) + "s of play time of game " + session.gameId);
+        }
+        return sessions;
+    }
+
+    /**
+     * @param gameId id of a game
+     * @return the sessions of this game, ordered by start date
+     */
+    public List<Session> getSessions(int gameId) {
+        List<Session> sessions = new ArrayList<>();
+        String sql = "SELECT * FROM PlaySession WHERE game_id = ? ORDER BY start_date";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setInt(1, gameId);
+            try (ResultSet set = statement.executeQuery()) {
+                while (set.next()) {
+                    sessions.add(readSession(set, gameId));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not read sessions of game " + gameId);
+            e.printStackTrace();
+        }
+        return sessions;
+    }
+
+    private static Session readSession(ResultSet set, int gameId) throws SQLException {
+        long endDate = set.getLong("end_date");
+        if (set.wasNull()) {
+            endDate = Session.NOT_ENDED;
+        }
+        long basePlayTime = set.getLong("base_playtime_seconds");
+        if (set.wasNull()) {
+            basePlayTime = Session.UNKNOWN_BASE_PLAY_TIME;
+        }
+        return new Session(set.getInt("id"),
+                gameId,
+                set.getLong("start_date"),
+                set.getLong("heartbeat_date"),
+                endDate,
+                set.getLong("time_played_seconds") * 1000,
+                basePlayTime);
+    }
+
+    private void write(Session session) {
+        session.lastWriteDate = session.heartbeatDate;
+        if (session.id == -1) {
+            return;
+        }
+        String sql = "UPDATE PlaySession SET heartbeat_date = ?, end_date = ?, time_played_seconds = ? WHERE id = ?";
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement(sql)) {
+            statement.setLong(1, session.heartbeatDate);
+            if (session.endDate != Session.NOT_ENDED) {
+                statement.setLong(2, session.endDate);
+            } else {
+                statement.setNull(2, Types.INTEGER);
+            }
+            statement.setLong(3, Math.round(session.playTime / 1000.0));
+            statement.setInt(4, session.id);
+            statement.execute();
+        } catch (SQLException e) {
+            LOGGER.error(TAG + "could not write session " + session.id);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * A play session of a game. Dates are in ms since epoch.
+     */
+    public static class Session {
+        public final static long NOT_ENDED = -1;
+        public final static long UNKNOWN_BASE_PLAY_TIME = -1;
+
+        private int id;
+        private final int gameId;
+        private final long startDate;
+        private long heartbeatDate;
+        private long endDate;
+        private long playTime;
+        private final long basePlayTime;
+        private long lastWriteDate;
+
+        private Session(int id, int gameId, long startDate, long heartbeatDate, long endDate, long playTime, long basePlayTime) {
+            this.id = id;
+            this.gameId = gameId;
+            this.startDate = startDate;
+            this.heartbeatDate = heartbeatDate;
+            this.endDate = endDate;
+            this.playTime = playTime;
+            this.basePlayTime = basePlayTime;
+            this.lastWriteDate = heartbeatDate;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getGameId() {
+            return gameId;
+        }
+
+        public long getStartDate() {
+            return startDate;
+        }
+
+        public long getHeartbeatDate() {
+            return heartbeatDate;
+        }
+
+        /**
+         * @return the end date of the session, or {@link #NOT_ENDED}
+         */
+        public long getEndDate() {
+            return endDate;
+        }
+
+        /**
+         * @return the play time of the session, in ms
+         */
+        public long getPlayTime() {
+            return playTime;
+        }
+
+        /**
+         * @return the play time of the game before the session, in seconds, or {@link #UNKNOWN_BASE_PLAY_TIME}
+         */
+        public long getBasePlayTime() {
+            return basePlayTime;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.gameroom.system.application;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
 import com.gameroom.data.game.entry.GameEntryUtils;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.scraper.IGDBScraper;
 import com.gameroom.data.game.scraper.SteamOnlineScraper;
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPResponse;
 import com.gameroom.data.http.key.KeyChecker;
 import com.gameroom.data.http.key.CipherUtils;
 import javafx.application.Platform;
@@ -212,7 +211,7 @@ public class SupportService {
             long lastPing = System.currentTimeMillis() - lastPingDate.getTime();
 
             if (sinceInstall >= MIN_INSTALL_PING_TIME  && lastPing >= PING_FREQ) {
-                HttpResponse<JsonNode> response = null;
+                HTTPResponse response = null;
                 try {
                     if (settings().getBoolean(PredefinedSetting.ALLOW_COLLECT_SYSTEM_INFO)) {
 
@@ -230,25 +229,25 @@ public class SupportService {
                                 .put("WinKey", WinReg.readHWGUID())
                                 .put("OSInfo", StatsUtils.getOSInfo());
 
-                        response = Unirest.post(GAMEROOM_API_URL + "/Stats/DailyPing")
+                        response = HTTPClient.await(HTTPClient.getInstance().post(GAMEROOM_API_URL + "/Stats/DailyPing")
                                 .header("Accept", "application/json")
                                 .field("aes",CipherUtils.cipherAESKeyWithRSA(keyAES,keyRSA))
                                 .field("ping_data", CipherUtils.cipherAES(obj, keyAES))
-                                .asJson();
+                                .send());
                     } else {
-                        response = Unirest.post(GAMEROOM_API_URL + "/Stats/DailyPing")
+                        response = HTTPClient.await(HTTPClient.getInstance().post(GAMEROOM_API_URL + "/Stats/DailyPing")
                                 .header("Accept", "application/json")
-                                .asJson();
+                                .send());
                     }
 
-                    if (response != null && response.getBody().getObject().getJSONObject("status").getInt("code") == 200) {
+                    if (response != null && response.getBodyAsJSONObject().getJSONObject("status").getInt("code") == 200) {
                         settings().setSettingValue(PredefinedSetting.LAST_PING_DATE, new Date());
                     }
                 } catch (Exception e) {
                     if (DEV_MODE) {
                         e.printStackTrace();
                         if(response!=null){
-                            LOGGER.error(response.getStatusText());
+                            LOGGER.error("DailyPing: server replied HTTP code " + response.getStatus());
                         }
                     }
                 }
@@ -1,19 +1,16 @@
 package com.gameroom.system.application.settings;
 
 import com.google.gson.JsonSyntaxException;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.scanner.ScanPeriod;
 import com.gameroom.data.game.scanner.ScannerProfile;
 import com.gameroom.data.game.scraper.SteamProfile;
+import com.gameroom.data.http.HTTPClient;
 import com.gameroom.data.io.DataBase;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import org.json.JSONArray;
 import org.json.JSONException;
+import org.json.JSONObject;
 import com.gameroom.system.application.OnLaunchAction;
 import com.gameroom.system.os.PowerMode;
 import com.gameroom.ui.Main;
@@ -22,6 +19,7 @@ import com.gameroom.ui.theme.Theme;
 import com.gameroom.ui.theme.ThemeUtils;
 import com.gameroom.ui.theme.UIScale;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -278,12 +276,11 @@ public class GeneralSettings {
     public String getSupporterKeyPrice() {
         String price = null;
         try {
-            HttpResponse<JsonNode> response  = Unirest.get("https://gameroom.me/edd-api/products/?product=297")
+            JSONObject response = HTTPClient.await(HTTPClient.getInstance().get("https://gameroom.me/edd-api/products/?product=297")
                     .header("Accept", "application/json")
-                    .asJson();
+                    .asJSONObject());
                 try {
-                    JSONArray array = response.getBody().getArray();
-                    price= response.getBody().getObject().getJSONArray("products")
+                    price= response.getJSONArray("products")
                             .getJSONObject(0)
                             .getJSONObject("pricing")
                             .getString("amount");
@@ -292,7 +289,7 @@ public class GeneralSettings {
                         //Main.LOGGER.error("Serie not found");
                     }
                 }
-        } catch (UnirestException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         }
         if(price != null){
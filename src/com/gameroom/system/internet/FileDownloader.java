@@ -4,15 +4,13 @@ package com.gameroom.system.internet;
  * Created by LM on 30/07/2016.
  */
 
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPException;
 import javafx.concurrent.Task;
 import com.gameroom.ui.Main;
 
-import javax.net.ssl.HttpsURLConnection;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
@@ -24,7 +22,6 @@ import static com.gameroom.ui.Main.LOGGER;
 // This class downloads a file from a URL.
 public class FileDownloader extends Task<Path> {
     private final static long SPEED_MEASURE_FREQUENCY = 500;
-    private static final int BUFFER_SIZE = 4096;
     private URL url; // download URL
     private Path downloadPath;
     private boolean deleteOnExit = false;
@@ -62,37 +59,15 @@ public class FileDownloader extends Task<Path> {
         }
 
         try {
-            boolean isHttps = url.toString().startsWith("https");
-            HttpURLConnection httpConn = isHttps ? (HttpsURLConnection) url.openConnection() : (HttpURLConnection) url.openConnection();
-            httpConn.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11");
-            size = httpConn.getContentLength();
-
+            HTTPClient.await(HTTPClient.getInstance().get(url.toString()).download(outputFile, (downloadedBytes, totalBytes) -> {
+                downloaded = (int) downloadedBytes;
+                size = (int) totalBytes;
+                updateProgress(downloadedBytes, totalBytes);
+            }));
             LOGGER.info("Size of download " + size);
-
-            int responseCode = httpConn.getResponseCode();
-
-            // always check HTTP response code first
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                // opens input stream from the HTTP connection
-                InputStream inputStream = httpConn.getInputStream();
-
-                // opens an output stream to save into file
-                FileOutputStream outputStream = new FileOutputStream(outputFile);
-
-                int bytesRead = -1;
-                byte[] buffer = new byte[BUFFER_SIZE];
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    downloaded += bytesRead;
-                    updateProgress(downloaded, size);
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-
-                outputStream.close();
-                inputStream.close();
-            } else {
-                System.out.println("No file to download. Server replied HTTP code: " + responseCode);
-            }
-            httpConn.disconnect();
+            succeeded();
+        } catch (HTTPException e) {
+            System.out.println("No file to download. Server replied HTTP code: " + e.getStatus());
             succeeded();
         } catch (IOException e) {
             LOGGER.error("Error while trying to download the file.");
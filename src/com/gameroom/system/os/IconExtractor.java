@@ -0,0 +1,433 @@
+package com.gameroom.system.os;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the icon of Windows executables and icon files, without any external process, so that it works the same on
+ * every OS. For an executable (.exe, .dll), the icon is the first icon group of its resources, as shown by Windows
+ * Explorer. Among the images of the icon, the smallest one at least as big as the requested size is chosen, with the
+ * most colors.
+ * <p>
+ * Only the headers, the resource directories and the chosen image are read from the file, each into a buffer of its
+ * own, and the file is closed once the icon is read: it is never mapped in memory, which would keep it from being
+ * deleted or replaced on Windows, e.g. while the game is being updated. Images stored as PNG as well as device
+ * independent bitmaps, with or without alpha channel, are supported.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class IconExtractor {
+    private final static int RT_ICON = 3;
+    private final static int RT_GROUP_ICON = 14;
+    private final static int RESOURCE_DIRECTORY_INDEX = 2;
+    private final static int PE32_MAGIC = 0x10b;
+    private final static int PE32_PLUS_MAGIC = 0x20b;
+    /** bounds the entries read from a resource directory, in case the file is malformed */
+    private final static int MAX_ENTRIES = 4096;
+    /** bounds the size of the parts read from the file, in case it is malformed */
+    private final static int MAX_READ_SIZE = 16 * 1024 * 1024;
+    private final static byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    /**
+     * @param file a file
+     * @return true if the icon of this file can be read by {@link #extract(File, int)}
+     */
+    public static boolean isSupported(File file) {
+        if (file == null || !file.isFile()) {
+            return false;
+        }
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".exe") || name.endsWith(".dll") || name.endsWith(".ico");
+    }
+
+    /**
+     * Reads the icon of an executable or an icon file, scaled to the given size.
+     *
+     * @param file the .exe, .dll or .ico file
+     * @param size the size of the icon to get, in pixels
+     * @return the icon, size x size pixels, or null if the file has no icon
+     * @throws IOException if the file could not be read or is malformed
+     */
+    public static BufferedImage extract(File file, int size) throws IOException {
+        BufferedImage icon;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (file.getName().toLowerCase().endsWith(".ico")) {
+                icon = readIconFile(channel, size);
+            } else {
+                icon = readExecutable(channel, size);
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("malformed file " + file.getName() + ": " + e.toString());
+        }
+        return icon == null ? null : scale(icon, size);
+    }
+
+    /**
+     * Reads an .ico file, made of a header followed by the entries of its images and then the images
+     */
+    private static BufferedImage readIconFile(FileChannel channel, int size) throws IOException {
+        ByteBuffer header = read(channel, 0, 6);
+        if (header.getShort(0) != 0 || header.getShort(2) != 1) {
+            throw new IOException("not an icon file");
+        }
+        int count = header.getShort(4) & 0xFFFF;
+        ByteBuffer entriesBuffer = read(channel, 6, 16 * count);
+        List<IconEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int offset = 16 * i;
+            IconEntry entry = readIconEntry(entriesBuffer, offset);
+            entry.dataOffset = entriesBuffer.getInt(offset + 12);
+            entries.add(entry);
+        }
+        IconEntry best = chooseEntry(entries, size);
+        return best == null ? null : decodeImage(read(channel, best.dataOffset, best.dataSize));
+    }
+
+    /**
+     * Reads a PE executable: its resource section is found through the optional header, then the first icon group is
+     * read from it, and the chosen icon of the group is read from the icon resources.
+     */
+    private static BufferedImage readExecutable(FileChannel channel, int size) throws IOException {
+        ByteBuffer dosHeader = read(channel, 0, 64);
+        if (dosHeader.get(0) != 'M' || dosHeader.get(1) != 'Z') {
+            throw new IOException("not an executable");
+        }
+        int peOffset = dosHeader.getInt(0x3C);
+        ByteBuffer coffHeader = read(channel, peOffset, 24);
+        if (coffHeader.getInt(0) != 0x00004550) { //"PE\0\0"
+            throw new IOException("not a PE executable");
+        }
+        int sectionCount = coffHeader.getShort(6) & 0xFFFF;
+        int optionalHeaderSize = coffHeader.getShort(20) & 0xFFFF;
+        //the optional header is followed by the section table
+        ByteBuffer headers = read(channel, peOffset + 24, optionalHeaderSize + 40 * sectionCount);
+
+        int magic = headers.getShort(0) & 0xFFFF;
+        int dataDirectoriesOffset;
+        if (magic == PE32_MAGIC) {
+            dataDirectoriesOffset = 96;
+        } else if (magic == PE32_PLUS_MAGIC) {
+            dataDirectoriesOffset = 112;
+        } else {
+            throw new IOException("unknown optional header");
+        }
+        int directoryCount = headers.getInt(dataDirectoriesOffset - 4);
+        if (directoryCount <= RESOURCE_DIRECTORY_INDEX) {
+            return null;
+        }
+        int resourcesRva = headers.getInt(dataDirectoriesOffset + 8 * RESOURCE_DIRECTORY_INDEX);
+        if (resourcesRva == 0) {
+            return null;
+        }
+
+        Section[] sections = new Section[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            int offset = optionalHeaderSize + 40 * i;
+            sections[i] = new Section(headers.getInt(offset + 12), Math.max(headers.getInt(offset + 8), headers.getInt(offset + 16)), headers.getInt(offset + 20));
+        }
+        int resourcesOffset = toFileOffset(sections, resourcesRva);
+
+        ByteBuffer rootDirectory = readDirectory(channel, resourcesOffset);
+        int groupsDirectory = findSubdirectory(rootDirectory, resourcesOffset, RT_GROUP_ICON);
+        int iconsDirectory = findSubdirectory(rootDirectory, resourcesOffset, RT_ICON);
+        if (groupsDirectory == -1 || iconsDirectory == -1) {
+            return null;
+        }
+        //the first group is the icon of the executable
+        ByteBuffer group = readFirstData(channel, sections, resourcesOffset, groupsDirectory);
+        if (group == null) {
+            return null;
+        }
+        int count = group.getShort(4) & 0xFFFF;
+        List<IconEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int offset = 6 + 14 * i;
+            IconEntry entry = readIconEntry(group, offset);
+            entry.id = group.getShort(offset + 12) & 0xFFFF;
+            entries.add(entry);
+        }
+        IconEntry best = chooseEntry(entries, size);
+        if (best == null) {
+            return null;
+        }
+        int iconDirectory = findSubdirectory(readDirectory(channel, iconsDirectory), resourcesOffset, best.id);
+        if (iconDirectory == -1) {
+            return null;
+        }
+        ByteBuffer icon = readFirstData(channel, sections, resourcesOffset, iconDirectory);
+        return icon == null ? null : decodeImage(icon);
+    }
+
+    /**
+     * Reads a resource directory: its header followed by its entries, at most {@link #MAX_ENTRIES} of them
+     */
+    private static ByteBuffer readDirectory(FileChannel channel, int directoryOffset) throws IOException {
+        ByteBuffer header = read(channel, directoryOffset, 16);
+        int entryCount = (header.getShort(12) & 0xFFFF) + (header.getShort(14) & 0xFFFF);
+        return read(channel, directoryOffset, 16 + 8 * Math.min(entryCount, MAX_ENTRIES));
+    }
+
+    /**
+     * @param directory a resource directory, see {@link #readDirectory(FileChannel, int)}
+     * @return the file offset of the subdirectory of the given id in the resource directory, or -1 if there is none
+     */
+    private static int findSubdirectory(ByteBuffer directory, int resourcesOffset, int id) {
+        int namedCount = directory.getShort(12) & 0xFFFF;
+        int idCount = directory.getShort(14) & 0xFFFF;
+        for (int i = namedCount; i < Math.min(namedCount + idCount, MAX_ENTRIES); i++) {
+            int entryOffset = 16 + 8 * i;
+            int target = directory.getInt(entryOffset + 4);
+            if (directory.getInt(entryOffset) == id && target < 0) {
+                return resourcesOffset + (target & 0x7FFFFFFF);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Follows the first entry of each level of the resource directory, i.e. the first name then the first language,
+     * down to the data it describes.
+     *
+     * @return the data, or null if the directory is empty
+     */
+    private static ByteBuffer readFirstData(FileChannel channel, Section[] sections, int resourcesOffset, int directoryOffset) throws IOException {
+        int offset = directoryOffset;
+        //names and languages, a resource directory has at most 3 levels
+        for (int level = 0; level < 3; level++) {
+            ByteBuffer header = read(channel, offset, 16);
+            int entryCount = (header.getShort(12) & 0xFFFF) + (header.getShort(14) & 0xFFFF);
+            if (entryCount == 0) {
+                return null;
+            }
+            int target = read(channel, offset + 16 + 4, 4).getInt(0);
+            if (target >= 0) {
+                //a data entry
+                ByteBuffer dataEntry = read(channel, resourcesOffset + target, 8);
+                int dataRva = dataEntry.getInt(0);
+                int dataSize = dataEntry.getInt(4);
+                return read(channel, toFileOffset(sections, dataRva), dataSize);
+            }
+            offset = resourcesOffset + (target & 0x7FFFFFFF);
+        }
+        throw new IOException("resource directory too deep");
+    }
+
+    private static int toFileOffset(Section[] sections, int rva) throws IOException {
+        for (Section section : sections) {
+            if (rva >= section.virtualAddress && rva < section.virtualAddress + section.size) {
+                return rva - section.virtualAddress + section.rawDataOffset;
+            }
+        }
+        throw new IOException("address " + Integer.toHexString(rva) + " is in no section");
+    }
+
+    /**
+     * Reads a part of the file into a buffer of its own, so that the file is neither mapped nor read beyond what is
+     * needed
+     *
+     * @param offset offset of the part in the file
+     * @param length length of the part, at most {@link #MAX_READ_SIZE}
+     * @return a little-endian buffer of the given length
+     * @throws IOException if the part is not within the file
+     */
+    private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > MAX_READ_SIZE || offset + length > channel.size()) {
+            throw new IOException("invalid range of " + length + " bytes at " + offset);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("unexpected end of file at " + (offset + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads the part common to the entries of .ico files and icon groups
+     */
+    private static IconEntry readIconEntry(ByteBuffer buffer, int offset) {
+        IconEntry entry = new IconEntry();
+        //0 stands for 256
+        entry.width = buffer.get(offset) == 0 ? 256 : buffer.get(offset) & 0xFF;
+        entry.height = buffer.get(offset + 1) == 0 ? 256 : buffer.get(offset + 1) & 0xFF;
+        entry.bitCount = buffer.getShort(offset + 6) & 0xFFFF;
+        entry.dataSize = buffer.getInt(offset + 8);
+        return entry;
+    }
+
+    /**
+     * @return the smallest entry at least as big as the size with the most colors, or the biggest one if none is, or
+     * null if there are no entries
+     */
+    private static IconEntry chooseEntry(List<IconEntry> entries, int size) {
+        IconEntry best = null;
+        for (IconEntry entry : entries) {
+            if (best == null) {
+                best = entry;
+                continue;
+            }
+            int entrySize = Math.max(entry.width, entry.height);
+            int bestSize = Math.max(best.width, best.height);
+            boolean entryFits = entrySize >= size;
+            boolean bestFits = bestSize >= size;
+            if (entryFits != bestFits) {
+                if (entryFits) {
+                    best = entry;
+                }
+            } else if (entrySize != bestSize) {
+                if (entryFits == (entrySize < bestSize)) {
+                    best = entry;
+                }
+            } else if (entry.bitCount > best.bitCount) {
+                best = entry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Decodes an image of an icon, which is either a PNG or a device independent bitmap
+     */
+    private static BufferedImage decodeImage(ByteBuffer data) throws IOException {
+        boolean png = data.remaining() >= PNG_SIGNATURE.length;
+        for (int i = 0; png && i < PNG_SIGNATURE.length; i++) {
+            png = data.get(i) == PNG_SIGNATURE[i];
+        }
+        if (png) {
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        }
+        return decodeBitmap(data);
+    }
+
+    /**
+     * Decodes a device independent bitmap as stored in icons: a BITMAPINFOHEADER whose height is doubled, a palette
+     * for 8 bits or less per pixel, the bottom-up pixels and then a 1 bit mask telling the transparent pixels. 32 bits
+     * bitmaps have their own alpha channel, unless it is empty.
+     */
+    private static BufferedImage decodeBitmap(ByteBuffer data) throws IOException {
+        int headerSize = data.getInt(0);
+        int width = data.getInt(4);
+        int height = Math.abs(data.getInt(8)) / 2;
+        int bitCount = data.getShort(14) & 0xFFFF;
+        int compression = data.getInt(16);
+        if (compression != 0) {
+            throw new IOException("compressed bitmaps are not supported");
+        }
+        if (width <= 0 || height <= 0 || width > 1024 || height > 1024) {
+            throw new IOException("invalid bitmap size " + width + "x" + height);
+        }
+        int paletteOffset = headerSize;
+        int paletteSize = 0;
+        if (bitCount <= 8) {
+            int usedColors = data.getInt(32);
+            paletteSize = usedColors == 0 ? 1 << bitCount : usedColors;
+        }
+        int pixelsOffset = paletteOffset + 4 * paletteSize;
+        int stride = ((width * bitCount + 31) / 32) * 4;
+        int maskOffset = pixelsOffset + stride * height;
+        int maskStride = ((width + 31) / 32) * 4;
+
+        int[] argb = new int[width * height];
+        boolean hasAlpha = false;
+        for (int y = 0; y < height; y++) {
+            //rows are stored bottom-up
+            int row = pixelsOffset + (height - 1 - y) * stride;
+            for (int x = 0; x < width; x++) {
+                int pixel;
+                switch (bitCount) {
+                    case 32:
+                        pixel = data.getInt(row + 4 * x);
+                        hasAlpha |= (pixel >>> 24) != 0;
+                        break;
+                    case 24:
+                        pixel = 0xFF000000 | (data.get(row + 3 * x + 2) & 0xFF) << 16
+                                | (data.get(row + 3 * x + 1) & 0xFF) << 8 | (data.get(row + 3 * x) & 0xFF);
+                        break;
+                    case 8:
+                    case 4:
+                    case 1:
+                        int bitOffset = x * bitCount;
+                        int index = ((data.get(row + bitOffset / 8) & 0xFF) >> (8 - bitCount - bitOffset % 8)) & ((1 << bitCount) - 1);
+                        pixel = 0xFF000000 | (data.getInt(paletteOffset + 4 * index) & 0xFFFFFF);
+                        break;
+                    default:
+                        throw new IOException("unsupported bitmap depth " + bitCount);
+                }
+                argb[y * width + x] = pixel;
+            }
+        }
+        if (bitCount != 32 || !hasAlpha) {
+            boolean hasMask = data.limit() >= maskOffset + maskStride * height;
+            for (int y = 0; y < height; y++) {
+                int row = maskOffset + (height - 1 - y) * maskStride;
+                for (int x = 0; x < width; x++) {
+                    boolean transparent = hasMask && ((data.get(row + x / 8) >> (7 - x % 8)) & 1) == 1;
+                    argb[y * width + x] = transparent ? 0 : argb[y * width + x] | 0xFF000000;
+                }
+            }
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        return image;
+    }
+
+    /**
+     * Scales the icon to size x size pixels, halving its size at most at each step so that the bilinear filter keeps
+     * the quality
+     */
+    private static BufferedImage scale(BufferedImage image, int size) {
+        BufferedImage scaled = image;
+        while (scaled.getWidth() != size || scaled.getHeight() != size) {
+            int stepWidth = scaled.getWidth() > size ? Math.max(size, scaled.getWidth() / 2) : size;
+            int stepHeight = scaled.getHeight() > size ? Math.max(size, scaled.getHeight() / 2) : size;
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+            graphics.dispose();
+            scaled = step;
+        }
+        return scaled;
+    }
+
+    private final static class Section {
+        private final int virtualAddress;
+        private final int size;
+        private final int rawDataOffset;
+
+        private Section(int virtualAddress, int size, int rawDataOffset) {
+            this.virtualAddress = virtualAddress;
+            this.size = size;
+            this.rawDataOffset = rawDataOffset;
+        }
+    }
+
+    private final static class IconEntry {
+        private int width;
+        private int height;
+        private int bitCount;
+        private int dataSize;
+        /** offset of the image in an .ico file */
+        private int dataOffset;
+        /** id of the icon resource of the image in an executable */
+        private int id;
+    }
+}
@@ -0,0 +1,99 @@
+package com.gameroom.system.os;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists the processes from the /proc file system of Linux. The image name of a process is the file name of the first
+ * argument of its command line, so that games run through Wine or Proton are found by the name of their .exe, and
+ * falls back to the name given by the kernel.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ProcProcessTable implements ProcessTable {
+    /**
+     * clock ticks per second in which /proc gives the start time of processes, which is 100 on all common
+     * architectures
+     */
+    private final static long CLOCK_TICKS = 100;
+
+    private final File procFolder;
+    private long bootTime = -1;
+
+    /**
+     * @param procFolder the /proc folder
+     */
+    public ProcProcessTable(File procFolder) {
+        this.procFolder = procFolder;
+    }
+
+    @Override
+    public List<ProcessInfo> list() throws IOException {
+        File[] folders = procFolder.listFiles((dir, name) -> !name.isEmpty() && Character.isDigit(name.charAt(0)));
+        if (folders == null) {
+            throw new IOException("could not list " + procFolder.getAbsolutePath());
+        }
+        long bootTime = getBootTime();
+        List<ProcessInfo> processes = new ArrayList<>(folders.length);
+        for (File folder : folders) {
+            try {
+                String stat = new String(Files.readAllBytes(new File(folder, "stat").toPath()), StandardCharsets.UTF_8);
+                //the name between parenthesis may contain spaces and parenthesis
+                int nameStart = stat.indexOf('(');
+                int nameEnd = stat.lastIndexOf(')');
+                String kernelName = stat.substring(nameStart + 1, nameEnd);
+                //fields after the name start with the third one, the start time is the 22nd
+                String[] fields = stat.substring(nameEnd + 2).split(" ");
+                long startTicks = Long.parseLong(fields[19]);
+
+                String imageName = readImageName(folder);
+                processes.add(new ProcessInfo(Long.parseLong(folder.getName()),
+                        imageName != null ? imageName : kernelName,
+                        bootTime * 1000 + startTicks * 1000 / CLOCK_TICKS));
+            } catch (IOException | RuntimeException e) {
+                //the process ended while being read
+            }
+        }
+        return processes;
+    }
+
+    /**
+     * @return the file name of the first argument of the command line of the process, or null if it has none
+     */
+    private static String readImageName(File folder) throws IOException {
+        byte[] commandLine = Files.readAllBytes(new File(folder, "cmdline").toPath());
+        int end = 0;
+        while (end < commandLine.length && commandLine[end] != 0) {
+            end++;
+        }
+        if (end == 0) {
+            //kernel threads and zombies
+            return null;
+        }
+        String executable = new String(commandLine, 0, end, StandardCharsets.UTF_8);
+        int separatorIndex = Math.max(executable.lastIndexOf('/'), executable.lastIndexOf('\\'));
+        return executable.substring(separatorIndex + 1);
+    }
+
+    /**
+     * @return the date at which the computer booted, in seconds since epoch
+     */
+    private long getBootTime() throws IOException {
+        if (bootTime == -1) {
+            for (String line : Files.readAllLines(new File(procFolder, "stat").toPath(), StandardCharsets.UTF_8)) {
+                if (line.startsWith("btime ")) {
+                    bootTime = Long.parseLong(line.substring("btime ".length()).trim());
+                }
+            }
+            if (bootTime == -1) {
+                throw new IOException("could not read boot time");
+            }
+        }
+        return bootTime;
+    }
+}
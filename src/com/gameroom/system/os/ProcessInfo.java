@@ -0,0 +1,47 @@
+package com.gameroom.system.os;
+
+/**
+ * A process as found in a snapshot of the process table by a {@link ProcessTable}
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public final class ProcessInfo {
+    public final static long UNKNOWN_CREATION_TIME = -1;
+
+    private final long pid;
+    private final String imageName;
+    private final long creationTime;
+
+    /**
+     * @param pid          the id of the process
+     * @param imageName    the name of the executable of the process, e.g. "Game.exe"
+     * @param creationTime the date at which the process was created, in ms since epoch, or
+     *                     {@link #UNKNOWN_CREATION_TIME} if it could not be read
+     */
+    public ProcessInfo(long pid, String imageName, long creationTime) {
+        this.pid = pid;
+        this.imageName = imageName;
+        this.creationTime = creationTime;
+    }
+
+    public long getPid() {
+        return pid;
+    }
+
+    public String getImageName() {
+        return imageName;
+    }
+
+    /**
+     * @return the date at which the process was created, in ms since epoch, or {@link #UNKNOWN_CREATION_TIME}
+     */
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public String toString() {
+        return imageName + "(" + pid + ")";
+    }
+}
@@ -0,0 +1,140 @@
+package com.gameroom.system.os;
+
+import com.gameroom.ui.Main;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Keeps a snapshot of the process table in memory, so that {@link com.gameroom.system.application.Monitor}s do not
+ * have to launch processes to know whether their game is running.
+ * <p>
+ * The snapshot is taken by a single {@link ProcessTable} call per tick, shared by everyone: as long as someone
+ * acquired the sampler with {@link #acquire()}, it is refreshed every {@link #SAMPLE_PERIOD} ms, whatever the number of
+ * monitored games. Otherwise, it is refreshed on access once older than {@link #SAMPLE_PERIOD} ms.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class ProcessSampler {
+    private final static String TAG = "ProcessSampler: ";
+    public final static long SAMPLE_PERIOD = TimeUnit.SECONDS.toMillis(1);
+
+    private static ProcessSampler INSTANCE;
+
+    private final ProcessTable table;
+    /** processes of the last snapshot, by lower case image name */
+    private volatile Map<String, List<ProcessInfo>> processes = Collections.emptyMap();
+    private volatile long lastSampleTime = 0;
+    private volatile long sampleCount = 0;
+
+    private int users = 0;
+    private ScheduledFuture<?> samplingFuture;
+
+    public static synchronized ProcessSampler getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new ProcessSampler(ProcessTable.forCurrentOS());
+        }
+        return INSTANCE;
+    }
+
+    public ProcessSampler(ProcessTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Starts refreshing the snapshot every {@link #SAMPLE_PERIOD} ms, if not already, until every caller has called
+     * {@link #release()}
+     */
+    public synchronized void acquire() {
+        if (users++ == 0) {
+            samplingFuture = Main.getScheduledExecutor().scheduleAtFixedRate(this::sample, 0, SAMPLE_PERIOD, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * See {@link #acquire()}
+     */
+    public synchronized void release() {
+        if (users > 0 && --users == 0 && samplingFuture != null) {
+            samplingFuture.cancel(false);
+            samplingFuture = null;
+        }
+    }
+
+    /**
+     * Takes a new snapshot of the process table
+     */
+    public void sample() {
+        try {
+            List<ProcessInfo> list = table.list();
+            HashMap<String, List<ProcessInfo>> byName = new HashMap<>();
+            for (ProcessInfo process : list) {
+                byName.computeIfAbsent(process.getImageName().toLowerCase(), name -> new ArrayList<>(1)).add(process);
+            }
+            processes = byName;
+            lastSampleTime = System.currentTimeMillis();
+            sampleCount++;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error(TAG + "Could not list processes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds a running process by the name of its executable, ignoring the case. If several processes have this name, the
+     * one that was created first is returned.
+     *
+     * @param imageName the name of the executable of the process, e.g. "Game.exe"
+     * @return the process, or null if no process has this name
+     */
+    public ProcessInfo find(String imageName) {
+        if (imageName == null) {
+            return null;
+        }
+        ensureFresh();
+        List<ProcessInfo> matches = processes.get(imageName.toLowerCase());
+        if (matches == null) {
+            return null;
+        }
+        ProcessInfo first = null;
+        for (ProcessInfo process : matches) {
+            boolean knownCreationTime = process.getCreationTime() != ProcessInfo.UNKNOWN_CREATION_TIME;
+            if (first == null || (knownCreationTime && (first.getCreationTime() == ProcessInfo.UNKNOWN_CREATION_TIME
+                    || process.getCreationTime() < first.getCreationTime()))) {
+                first = process;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @param imageName the name of the executable of the process, e.g. "Game.exe"
+     * @return true if a process with this name is running, ignoring the case
+     */
+    public boolean isRunning(String imageName) {
+        return find(imageName) != null;
+    }
+
+    /**
+     * @return the number of snapshots taken so far
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    private void ensureFresh() {
+        boolean sampling;
+        synchronized (this) {
+            sampling = samplingFuture != null;
+        }
+        long age = System.currentTimeMillis() - lastSampleTime;
+        //the sampling may not have run yet, or be late
+        if ((!sampling && age > SAMPLE_PERIOD) || age > 2 * SAMPLE_PERIOD) {
+            sample();
+        }
+    }
+}
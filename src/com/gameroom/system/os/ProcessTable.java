@@ -0,0 +1,30 @@
+package com.gameroom.system.os;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Backend of the {@link ProcessSampler}, listing the processes running on this computer in a single call
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public interface ProcessTable {
+
+    /**
+     * @return a snapshot of the running processes
+     * @throws IOException if the process table could not be read
+     */
+    List<ProcessInfo> list() throws IOException;
+
+    /**
+     * @return the native Windows process table on Windows, the one read from /proc elsewhere
+     */
+    static ProcessTable forCurrentOS() {
+        if (System.getProperty("os.name", "").toLowerCase().contains("win")) {
+            return new WindowsProcessTable();
+        }
+        return new ProcProcessTable(new File("/proc"));
+    }
+}
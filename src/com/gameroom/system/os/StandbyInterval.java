@@ -0,0 +1,39 @@
+package com.gameroom.system.os;
+
+import java.util.Date;
+
+/**
+ * A period during which the computer was suspended, found by a {@link SuspendDetector}
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class StandbyInterval {
+    private final Date startDate;
+    private final Date endDate;
+
+    public StandbyInterval(Date startDate, Date endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return the duration of the standby, in ms
+     */
+    public long getStandbyTime() {
+        return endDate.getTime() - startDate.getTime();
+    }
+
+    @Override
+    public String toString() {
+        return "StandbyInterval{" + startDate + " - " + endDate + "}";
+    }
+}
@@ -0,0 +1,155 @@
+package com.gameroom.system.os;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the periods during which the computer was suspended, by comparing the wall clock with a clock that does not
+ * advance while the computer sleeps. Between two calls of {@link #check()}, both clocks advance by the same time unless
+ * the computer slept, in which case the wall clock is ahead by the duration of the standby.
+ * <p>
+ * When the OS notifies suspends and resumes (see {@link WindowsPowerEvents}), it calls {@link #onSuspend()} and
+ * {@link #onResume()}, which give the exact dates of the standby. The clocks then only account for standbys that were
+ * not notified.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class SuspendDetector {
+    /**
+     * Standbys shorter than this are ignored, so that small adjustments of the wall clock are not taken for standbys
+     */
+    public final static long MIN_STANDBY_TIME = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Source of time of a {@link SuspendDetector}, in ms
+     */
+    public interface Clock {
+        /**
+         * @return the current date, in ms since epoch
+         */
+        long wallTime();
+
+        /**
+         * @return a time in ms from an arbitrary origin, which does not advance while the computer is suspended
+         */
+        long awakeTime();
+    }
+
+    /**
+     * Clock of the JVM: on Linux, {@link System#nanoTime()} does not advance during suspend. On Windows, the unbiased
+     * interrupt time of {@link WindowsPowerEvents#CLOCK} is used when available, as the performance counter behind
+     * {@link System#nanoTime()} may advance during suspend.
+     */
+    public final static Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long wallTime() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long awakeTime() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        }
+    };
+
+    private final Clock clock;
+    private final long minStandbyTime;
+
+    private long lastWallTime;
+    private long lastAwakeTime;
+
+    private final List<StandbyInterval> intervals = new ArrayList<>();
+    /** number of intervals already returned by {@link #check()} */
+    private int checkedIntervals = 0;
+    /** time of the standbys notified since the last check */
+    private long notifiedStandbyTime = 0;
+    private long suspendDate = -1;
+
+    /**
+     * @return a detector using the most accurate clock of the current OS
+     */
+    public static SuspendDetector forCurrentOS() {
+        Clock clock = WindowsPowerEvents.isAvailable() ? WindowsPowerEvents.CLOCK : SYSTEM_CLOCK;
+        return new SuspendDetector(clock, MIN_STANDBY_TIME);
+    }
+
+    /**
+     * @param clock          the clock to read the time from
+     * @param minStandbyTime time in ms under which a difference between clocks is not taken as a standby
+     */
+    public SuspendDetector(Clock clock, long minStandbyTime) {
+        this.clock = clock;
+        this.minStandbyTime = minStandbyTime;
+        lastWallTime = clock.wallTime();
+        lastAwakeTime = clock.awakeTime();
+    }
+
+    /**
+     * Compares the clocks with the last check, to be called regularly
+     *
+     * @return the standbys found since the last check, notified or not
+     */
+    public synchronized List<StandbyInterval> check() {
+        long wallTime = clock.wallTime();
+        long awakeTime = clock.awakeTime();
+
+        long standbyTime = (wallTime - lastWallTime) - (awakeTime - lastAwakeTime) - notifiedStandbyTime;
+        if (standbyTime >= minStandbyTime) {
+            //the computer may have been awake for some time before or after the standby, which can not be known
+            intervals.add(new StandbyInterval(new Date(wallTime - standbyTime), new Date(wallTime)));
+            //the resume may be notified after this check, this standby must not be counted again
+            suspendDate = -1;
+        }
+        lastWallTime = wallTime;
+        lastAwakeTime = awakeTime;
+        notifiedStandbyTime = 0;
+        List<StandbyInterval> newIntervals = new ArrayList<>(intervals.subList(checkedIntervals, intervals.size()));
+        checkedIntervals = intervals.size();
+        return newIntervals;
+    }
+
+    /**
+     * Called when the OS notifies that the computer is going to sleep
+     */
+    public synchronized void onSuspend() {
+        suspendDate = clock.wallTime();
+    }
+
+    /**
+     * Called when the OS notifies that the computer has resumed. The standby is recorded only if the suspend was
+     * notified too.
+     */
+    public synchronized void onResume() {
+        if (suspendDate == -1) {
+            return;
+        }
+        long resumeDate = clock.wallTime();
+        if (resumeDate > suspendDate) {
+            intervals.add(new StandbyInterval(new Date(suspendDate), new Date(resumeDate)));
+            notifiedStandbyTime += resumeDate - suspendDate;
+        }
+        suspendDate = -1;
+    }
+
+    /**
+     * @return all the standbys found so far
+     */
+    public synchronized List<StandbyInterval> getIntervals() {
+        return Collections.unmodifiableList(new ArrayList<>(intervals));
+    }
+
+    /**
+     * @return the total time in ms the computer was suspended so far
+     */
+    public synchronized long getStandbyTime() {
+        long standbyTime = 0;
+        for (StandbyInterval interval : intervals) {
+            standbyTime += interval.getStandbyTime();
+        }
+        return standbyTime;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gameroom.system.os;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.PointerByReference;
+import com.sun.jna.win32.StdCallLibrary;
+import com.sun.jna.win32.W32APIOptions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Windows backend of the {@link SuspendDetector}, through JNA: {@link #CLOCK} reads the unbiased interrupt time, which
+ * does not advance while the computer sleeps, and suspends and resumes are notified to the registered detectors by a
+ * callback, without any window or polling.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class WindowsPowerEvents {
+    private final static String TAG = "WindowsPowerEvents: ";
+
+    private final static int DEVICE_NOTIFY_CALLBACK = 2;
+    private final static int PBT_APMSUSPEND = 0x4;
+    private final static int PBT_APMRESUMESUSPEND = 0x7;
+    private final static int PBT_APMRESUMEAUTOMATIC = 0x12;
+
+    /**
+     * Functions that are not mapped by the version of jna-platform we use
+     */
+    private interface Kernel32Ext extends StdCallLibrary {
+        Kernel32Ext INSTANCE = Native.loadLibrary("kernel32", Kernel32Ext.class, W32APIOptions.DEFAULT_OPTIONS);
+
+        boolean QueryUnbiasedInterruptTime(LongByReference unbiasedTime);
+    }
+
+    private interface PowrProf extends StdCallLibrary {
+        PowrProf INSTANCE = Native.loadLibrary("powrprof", PowrProf.class, W32APIOptions.DEFAULT_OPTIONS);
+
+        int PowerRegisterSuspendResumeNotification(int flags, DeviceNotifySubscribeParameters recipient, PointerByReference registrationHandle);
+    }
+
+    private interface DeviceNotifyCallback extends StdCallLibrary.StdCallCallback {
+        int callback(Pointer context, int type, Pointer setting);
+    }
+
+    public static class DeviceNotifySubscribeParameters extends Structure {
+        public DeviceNotifyCallback Callback;
+        public Pointer Context;
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("Callback", "Context");
+        }
+    }
+
+    /**
+     * Clock whose awake time is the unbiased interrupt time
+     */
+    public final static SuspendDetector.Clock CLOCK = new SuspendDetector.Clock() {
+        @Override
+        public long wallTime() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long awakeTime() {
+            LongByReference unbiasedTime = new LongByReference();
+            Kernel32Ext.INSTANCE.QueryUnbiasedInterruptTime(unbiasedTime);
+            //in 100ns units
+            return unbiasedTime.getValue() / 10000;
+        }
+    };
+
+    private static Boolean available;
+    private static final CopyOnWriteArrayList<SuspendDetector> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /** kept so that they are not garbage collected while registered */
+    private static DeviceNotifyCallback callback;
+    private static DeviceNotifySubscribeParameters parameters;
+
+    /**
+     * @return true if running on Windows and the native functions could be loaded
+     */
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            available = false;
+            if (System.getProperty("os.name", "").toLowerCase().contains("win")) {
+                try {
+                    available = Kernel32Ext.INSTANCE.QueryUnbiasedInterruptTime(new LongByReference());
+                } catch (LinkageError e) {
+                    LOGGER.error(TAG + "could not load native functions: " + e.getMessage());
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Notifies the given detector of suspends and resumes, until {@link #removeListener(SuspendDetector)} is called.
+     * Does nothing if not {@link #isAvailable()}.
+     *
+     * @param detector the detector to notify
+     */
+    public static synchronized void addListener(SuspendDetector detector) {
+        if (!isAvailable()) {
+            return;
+        }
+        if (callback == null) {
+            register();
+        }
+        LISTENERS.add(detector);
+    }
+
+    public static void removeListener(SuspendDetector detector) {
+        LISTENERS.remove(detector);
+    }
+
+    private static void register() {
+        callback = (context, type, setting) -> {
+            if (type == PBT_APMSUSPEND) {
+                LISTENERS.forEach(SuspendDetector::onSuspend);
+            } else if (type == PBT_APMRESUMEAUTOMATIC || type == PBT_APMRESUMESUSPEND) {
+                LISTENERS.forEach(SuspendDetector::onResume);
+            }
+            return 0;
+        };
+        parameters = new DeviceNotifySubscribeParameters();
+        parameters.Callback = callback;
+        parameters.write();
+        try {
+            int result = PowrProf.INSTANCE.PowerRegisterSuspendResumeNotification(DEVICE_NOTIFY_CALLBACK, parameters, new PointerByReference());
+            if (result != 0) {
+                LOGGER.error(TAG + "could not register to power notifications, error " + result);
+            }
+        } catch (LinkageError e) {
+            //before Windows 8, standbys are only found from the clock
+            LOGGER.error(TAG + "power notifications are not available: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.gameroom.system.os;
+
+import com.sun.jna.Native;
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.platform.win32.Tlhelp32;
+import com.sun.jna.platform.win32.WinBase;
+import com.sun.jna.platform.win32.WinDef;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.win32.StdCallLibrary;
+import com.sun.jna.win32.W32APIOptions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Lists the processes with the Windows API, through JNA: a single Toolhelp snapshot gives all the processes and their
+ * executable names, and the creation time of each process is read once, when it is first seen.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class WindowsProcessTable implements ProcessTable {
+    private final static int PROCESS_QUERY_LIMITED_INFORMATION = 0x1000;
+
+    /**
+     * GetProcessTimes is not mapped by the version of jna-platform we use
+     */
+    private interface ProcessTimes extends StdCallLibrary {
+        ProcessTimes INSTANCE = Native.loadLibrary("kernel32", ProcessTimes.class, W32APIOptions.DEFAULT_OPTIONS);
+
+        boolean GetProcessTimes(WinNT.HANDLE process, WinBase.FILETIME creationTime, WinBase.FILETIME exitTime,
+                                WinBase.FILETIME kernelTime, WinBase.FILETIME userTime);
+    }
+
+    /** processes of the previous snapshot, by pid, so that their creation time is not read again */
+    private HashMap<Long, ProcessInfo> knownProcesses = new HashMap<>();
+
+    @Override
+    public synchronized List<ProcessInfo> list() throws IOException {
+        Kernel32 kernel32 = Kernel32.INSTANCE;
+        WinNT.HANDLE snapshot = kernel32.CreateToolhelp32Snapshot(Tlhelp32.TH32CS_SNAPPROCESS, new WinDef.DWORD(0));
+        if (snapshot == null || WinBase.INVALID_HANDLE_VALUE.equals(snapshot)) {
+            throw new IOException("could not snapshot processes, error " + kernel32.GetLastError());
+        }
+        List<ProcessInfo> processes = new ArrayList<>();
+        HashMap<Long, ProcessInfo> seenProcesses = new HashMap<>();
+        try {
+            Tlhelp32.PROCESSENTRY32.ByReference entry = new Tlhelp32.PROCESSENTRY32.ByReference();
+            if (kernel32.Process32First(snapshot, entry)) {
+                do {
+                    long pid = entry.th32ProcessID.longValue();
+                    String imageName = Native.toString(entry.szExeFile);
+                    ProcessInfo process = knownProcesses.get(pid);
+                    //a pid may be reused by another process
+                    if (process == null || !process.getImageName().equals(imageName)) {
+                        process = new ProcessInfo(pid, imageName, readCreationTime(pid));
+                    }
+                    processes.add(process);
+                    seenProcesses.put(pid, process);
+                } while (kernel32.Process32Next(snapshot, entry));
+            }
+        } finally {
+            kernel32.CloseHandle(snapshot);
+        }
+        knownProcesses = seenProcesses;
+        return processes;
+    }
+
+    private static long readCreationTime(long pid) {
+        WinNT.HANDLE process = Kernel32.INSTANCE.OpenProcess(PROCESS_QUERY_LIMITED_INFORMATION, false, (int) pid);
+        if (process == null) {
+            //e.g. system processes
+            return ProcessInfo.UNKNOWN_CREATION_TIME;
+        }
+        try {
+            WinBase.FILETIME creationTime = new WinBase.FILETIME();
+            if (ProcessTimes.INSTANCE.GetProcessTimes(process, creationTime, new WinBase.FILETIME(),
+                    new WinBase.FILETIME(), new WinBase.FILETIME())) {
+                return creationTime.toDate().getTime();
+            }
+            return ProcessInfo.UNKNOWN_CREATION_TIME;
+        } finally {
+            Kernel32.INSTANCE.CloseHandle(process);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.gameroom.system.os;
+
+import com.sun.jna.Native;
+import com.sun.jna.platform.win32.Advapi32;
+import com.sun.jna.platform.win32.Advapi32Util;
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.platform.win32.W32Errors;
+import com.sun.jna.platform.win32.Win32Exception;
+import com.sun.jna.platform.win32.WinBase;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.platform.win32.WinReg;
+import com.sun.jna.win32.StdCallLibrary;
+import com.sun.jna.win32.W32APIOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and watches keys of the current user's registry with the Windows API, through JNA, in process rather than with
+ * a "reg query" per read (see {@link com.gameroom.system.os.WinReg}).
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class WindowsRegistry {
+    private final static int REG_NOTIFY_CHANGE_NAME = 0x1;
+    private final static int REG_NOTIFY_CHANGE_LAST_SET = 0x4;
+
+    /**
+     * RegNotifyChangeKeyValue is mapped here so that it does not depend on the version of jna-platform we use
+     */
+    private interface Advapi32Ext extends StdCallLibrary {
+        Advapi32Ext INSTANCE = Native.loadLibrary("advapi32", Advapi32Ext.class, W32APIOptions.DEFAULT_OPTIONS);
+
+        int RegNotifyChangeKeyValue(WinReg.HKEY key, boolean watchSubtree, int notifyFilter, WinNT.HANDLE event, boolean asynchronous);
+    }
+
+    /**
+     * Reads the values of all the subkeys of a key, e.g. of every app in Steam's Apps key. Subkeys deleted while they
+     * are read are skipped.
+     *
+     * @param key path of the key in HKEY_CURRENT_USER
+     * @return the values of each subkey by name, as returned by {@link Advapi32Util#registryGetValues(WinReg.HKEY, String)}
+     * (DWORDs are Integers), by subkey name. Empty if the key does not exist
+     * @throws Win32Exception if the key could not be read
+     */
+    public static Map<String, Map<String, Object>> readUserSubKeysValues(String key) {
+        HashMap<String, Map<String, Object>> result = new HashMap<>();
+        if (!Advapi32Util.registryKeyExists(WinReg.HKEY_CURRENT_USER, key)) {
+            return result;
+        }
+        for (String subKey : Advapi32Util.registryGetKeys(WinReg.HKEY_CURRENT_USER, key)) {
+            try {
+                result.put(subKey, Advapi32Util.registryGetValues(WinReg.HKEY_CURRENT_USER, key + "\\" + subKey));
+            } catch (Win32Exception ignored) {
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key path of the key in HKEY_CURRENT_USER
+     * @return a watcher of the key and its subkeys, or null if the key does not exist or can not be watched
+     */
+    public static KeyWatcher watchUserKey(String key) {
+        WinReg.HKEYByReference keyReference = new WinReg.HKEYByReference();
+        try {
+            if (Advapi32.INSTANCE.RegOpenKeyEx(WinReg.HKEY_CURRENT_USER, key, 0, WinNT.KEY_NOTIFY, keyReference) != W32Errors.ERROR_SUCCESS) {
+                return null;
+            }
+        } catch (LinkageError e) {
+            return null;
+        }
+        WinNT.HANDLE event = Kernel32.INSTANCE.CreateEvent(null, false, false, null);
+        if (event == null) {
+            Advapi32.INSTANCE.RegCloseKey(keyReference.getValue());
+            return null;
+        }
+        return new KeyWatcher(keyReference.getValue(), event);
+    }
+
+    /**
+     * Waits for changes of the values or subkeys of a key. A change is only notified if it happens after
+     * {@link #arm()} was called, so it should be called before the key is read.
+     */
+    public static class KeyWatcher {
+        private final WinReg.HKEY key;
+        private final WinNT.HANDLE event;
+
+        private KeyWatcher(WinReg.HKEY key, WinNT.HANDLE event) {
+            this.key = key;
+            this.event = event;
+        }
+
+        /**
+         * Asks to be notified of the next change of the key or its subkeys
+         *
+         * @return false if the key can no longer be watched, e.g. because it was deleted
+         */
+        public boolean arm() {
+            return Advapi32Ext.INSTANCE.RegNotifyChangeKeyValue(key, true,
+                    REG_NOTIFY_CHANGE_NAME | REG_NOTIFY_CHANGE_LAST_SET, event, true) == W32Errors.ERROR_SUCCESS;
+        }
+
+        /**
+         * Blocks until a change happens after the last call to {@link #arm()}
+         */
+        public void await() {
+            Kernel32.INSTANCE.WaitForSingleObject(event, WinBase.INFINITE);
+        }
+
+        public void close() {
+            Advapi32.INSTANCE.RegCloseKey(key);
+            Kernel32.INSTANCE.CloseHandle(event);
+        }
+    }
+}
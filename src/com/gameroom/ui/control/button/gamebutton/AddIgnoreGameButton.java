@@ -58,6 +58,8 @@ public class AddIgnoreGameButton extends GameButton {
         ignoreButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
+                //this button may have been bound to another entry since its creation
+                GameEntry entry = getEntry();
                 entry.setSavedLocally(true);
                 entry.setIgnored(true);
                 entry.setSavedLocally(false);
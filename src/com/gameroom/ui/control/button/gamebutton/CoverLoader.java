@@ -0,0 +1,231 @@
+package com.gameroom.ui.control.button.gamebutton;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.gameroom.ui.Main.LOGGER;
+
+/**
+ * Loads the covers of the {@link GameButton}s displayed in a {@link ScrollPane} according to their position relatively
+ * to its viewport, instead of decoding every cover of the library as soon as its button is created.
+ * <p>
+ * Each time the viewport scrolls or the tiles are laid out again, buttons are sorted by their distance to the viewport:
+ * <ul>
+ * <li>covers of the buttons intersecting the viewport are loaded first, then the ones within
+ * {@link #PREFETCH_RATIO} viewport heights, closest first. At most {@link #MAX_QUEUED} covers are queued, the queue
+ * being rebuilt on each update so that covers scrolled past are not loaded anymore.</li>
+ * <li>covers of the buttons further than {@link #RELEASE_RATIO} viewport heights, or hidden, are released so that the
+ * {@link com.gameroom.data.http.images.ImageCache} can evict them.</li>
+ * </ul>
+ * Covers are loaded by {@link #LOADING_THREADS} background threads.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class CoverLoader {
+    private final static String TAG = "CoverLoader: ";
+    private final static int LOADING_THREADS = 2;
+    /** maximal number of covers waiting to be loaded */
+    private final static int MAX_QUEUED = 256;
+    /** distance to the viewport, in viewport heights, under which covers are prefetched */
+    private final static double PREFETCH_RATIO = 1.0;
+    /** distance to the viewport, in viewport heights, over which covers are released */
+    private final static double RELEASE_RATIO = 4.0;
+
+    private final ScrollPane scrollPane;
+    /** registered buttons, mapped to whether their cover is loaded or being loaded. Weak so that removed tiles are collected */
+    private final Map<GameButton, Boolean> buttons = new WeakHashMap<>();
+    private final PriorityBlockingQueue<Request> queue = new PriorityBlockingQueue<>();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+    private final InvalidationListener layoutListener = observable -> scheduleUpdate();
+
+    public CoverLoader(ScrollPane scrollPane) {
+        this.scrollPane = scrollPane;
+        scrollPane.vvalueProperty().addListener(layoutListener);
+        scrollPane.viewportBoundsProperty().addListener(layoutListener);
+        scrollPane.contentProperty().addListener((observable, oldValue, newValue) -> {
+            if (oldValue != null) {
+                oldValue.layoutBoundsProperty().removeListener(layoutListener);
+            }
+            if (newValue != null) {
+                newValue.layoutBoundsProperty().addListener(layoutListener);
+            }
+            scheduleUpdate();
+        });
+        if (scrollPane.getContent() != null) {
+            scrollPane.getContent().layoutBoundsProperty().addListener(layoutListener);
+        }
+
+        for (int i = 0; i < LOADING_THREADS; i++) {
+            Thread thread = new Thread(this::load, "CoverLoader-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Asks for the cover of the button to be loaded, again if it already was, once it gets close enough to the
+     * viewport. The button is tracked from now on.
+     */
+    public void request(GameButton button) {
+        boolean added;
+        synchronized (buttons) {
+            added = buttons.put(button, false) == null;
+        }
+        if (added) {
+            button.boundsInParentProperty().addListener(layoutListener);
+        }
+        scheduleUpdate();
+    }
+
+    /**
+     * Asks for the covers of all tracked buttons to be loaded again, e.g. after a change of the cover settings
+     */
+    public void reloadAll() {
+        synchronized (buttons) {
+            buttons.replaceAll((button, loaded) -> false);
+        }
+        scheduleUpdate();
+    }
+
+    /**
+     * Stops tracking the button, e.g. when its tile is removed
+     */
+    public void unregister(GameButton button) {
+        synchronized (buttons) {
+            if (buttons.remove(button) == null) {
+                return;
+            }
+        }
+        button.boundsInParentProperty().removeListener(layoutListener);
+    }
+
+    private void scheduleUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                updateScheduled.set(false);
+                update();
+            });
+        }
+    }
+
+    /**
+     * Must be called on the JavaFX thread. Releases the covers far from the viewport and queues the ones close to it.
+     */
+    private void update() {
+        Node content = scrollPane.getContent();
+        Bounds viewportBounds = scrollPane.getViewportBounds();
+        if (content == null || content.getScene() == null || viewportBounds.getHeight() <= 0) {
+            return;
+        }
+        double viewportHeight = viewportBounds.getHeight();
+        double scrollRange = Math.max(0, content.getLayoutBounds().getHeight() - viewportHeight);
+        double vRange = scrollPane.getVmax() - scrollPane.getVmin();
+        double viewportMinY = vRange <= 0 ? 0 : scrollRange * (scrollPane.getVvalue() - scrollPane.getVmin()) / vRange;
+        double viewportMaxY = viewportMinY + viewportHeight;
+
+        ArrayList<Request> requests = new ArrayList<>();
+        ArrayList<GameButton> released = new ArrayList<>();
+        synchronized (buttons) {
+            for (Map.Entry<GameButton, Boolean> entry : buttons.entrySet()) {
+                GameButton button = entry.getKey();
+                double distance = getDistance(button, content, viewportMinY, viewportMaxY);
+                if (distance < 0 || distance > RELEASE_RATIO * viewportHeight) {
+                    if (entry.getValue()) {
+                        entry.setValue(false);
+                        released.add(button);
+                    }
+                } else if (!entry.getValue() && distance <= PREFETCH_RATIO * viewportHeight) {
+                    requests.add(new Request(button, distance));
+                }
+            }
+        }
+        released.forEach(GameButton::clearCover);
+
+        requests.sort(null);
+        queue.clear();
+        for (int i = 0; i < requests.size() && i < MAX_QUEUED; i++) {
+            queue.add(requests.get(i));
+        }
+    }
+
+    /**
+     * @return the vertical distance between the button and the viewport, 0 if they intersect, -1 if the button is not
+     * displayed or not laid out yet
+     */
+    private static double getDistance(GameButton button, Node content, double viewportMinY, double viewportMaxY) {
+        if (button.getScene() != content.getScene() || button.getWidth() <= 0 || !isTreeVisible(button, content)) {
+            return -1;
+        }
+        Bounds bounds = content.sceneToLocal(button.localToScene(button.getLayoutBounds()));
+        if (bounds == null) {
+            return -1;
+        }
+        if (bounds.getMaxY() < viewportMinY) {
+            return viewportMinY - bounds.getMaxY();
+        }
+        if (bounds.getMinY() > viewportMaxY) {
+            return bounds.getMinY() - viewportMaxY;
+        }
+        return 0;
+    }
+
+    private static boolean isTreeVisible(Node node, Node root) {
+        for (Node n = node; n != null && n != root; n = n.getParent()) {
+            if (!n.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loop of the loading threads, taking the closest covers first
+     */
+    private void load() {
+        while (!Thread.currentThread().isInterrupted()) {
+            GameButton button;
+            try {
+                button = queue.take().button;
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (buttons) {
+                Boolean loaded = buttons.get(button);
+                if (loaded == null || loaded) {
+                    continue;
+                }
+                buttons.put(button, true);
+            }
+            try {
+                button.showCover();
+            } catch (RuntimeException e) {
+                LOGGER.error(TAG + "Could not load cover of \"" + button.getEntry().getName() + "\": " + e.getMessage());
+            }
+        }
+    }
+
+    private static class Request implements Comparable<Request> {
+        private final GameButton button;
+        private final double distance;
+
+        private Request(GameButton button, double distance) {
+            this.button = button;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Request o) {
+            return Double.compare(distance, o.distance);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.gameroom.ui.control.button.gamebutton;
 
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.entry.Platform;
+import com.gameroom.data.http.images.CoverThumbnails;
+import com.gameroom.data.http.images.ImageCache;
 import com.gameroom.data.http.images.ImageUtils;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.ui.GeneralToast;
@@ -96,6 +98,9 @@ public abstract class GameButton extends BorderPane {
 
     private long lastGameStart = 0;
 
+    /** cover pinned in the {@link ImageCache} while this button is displayed */
+    private Image shownCover;
+
     //COVER EFFECTS
     DropShadow dropShadowBG = new DropShadow();
     ColorAdjust colorAdjustBG = new ColorAdjust();
@@ -110,6 +115,7 @@ public abstract class GameButton extends BorderPane {
         this.parentScene = scene;
 
         initAll();
+        sceneProperty().addListener((observable, oldValue, newValue) -> setShownCover(newValue == null ? null : coverView.getImage()));
         if (parent instanceof TilePane) {
             ((TilePane) parent).prefTileWidthProperty().addListener((observable, oldValue, newValue) -> updateAllOnTileWidth(newValue.doubleValue()));
             ((TilePane) parent).prefTileHeightProperty().addListener((observable, oldValue, newValue) -> updateAllOnTileHeight(newValue.doubleValue()));
@@ -134,7 +140,7 @@ public abstract class GameButton extends BorderPane {
 
 
         setLauncherLogo();
-        ImageUtils.getExecutorService().submit(this::showCover);
+        requestCover();
 
         initNotInstalled();
         checkFileExists();
@@ -340,7 +346,7 @@ public abstract class GameButton extends BorderPane {
         }
         defaultCoverView = new ImageView(defaultCoverImage);
 
-        ImageUtils.getExecutorService().submit(this::showCover);
+        requestCover();
 
         playButton.setOnMouseClicked(mc -> {
             if (System.currentTimeMillis() - lastGameStart > SECOND_START_DELAY) {
@@ -751,18 +757,47 @@ public abstract class GameButton extends BorderPane {
         }
     }
 
+    /**
+     * Loads the cover of this button. In the {@link MainScene}, it is loaded once the button gets close to the viewport,
+     * see {@link CoverLoader}.
+     */
+    public void requestCover() {
+        if (parentScene instanceof MainScene && ((MainScene) parentScene).getCoverLoader() != null) {
+            ((MainScene) parentScene).getCoverLoader().request(this);
+        } else {
+            ImageUtils.getExecutorService().submit(this::showCover);
+        }
+    }
+
     public void clearCover() {
         coverView.setImage(null);
+        setShownCover(null);
     }
 
     public void showCover() {
         double width = getCoverWidth();
         double height = getCoverHeight();
 
-        ImageUtils.transitionToCover(entry.getImagePath(0), width, height, coverView);
+        File cover = CoverThumbnails.getInstance().getThumbnail(entry.getImagePath(0), width, height);
+        setShownCover(ImageUtils.transitionToCover(cover, width, height, coverView));
         //ImageUtils.getExecutorService().submit(() -> ImageUtils.transitionToCover(entry.getImagePath(0), width, height, coverView));
     }
 
+    /**
+     * Pins the given cover in the {@link ImageCache} so that it is not evicted while displayed, and releases the one
+     * previously shown
+     *
+     * @param cover the cover now shown, or null if none
+     */
+    private synchronized void setShownCover(Image cover) {
+        if (cover == shownCover) {
+            return;
+        }
+        ImageCache.getInstance().pin(cover);
+        ImageCache.getInstance().unpin(shownCover);
+        shownCover = cover;
+    }
+
     public void checkFileExists() {
         if (settings().getBoolean(PredefinedSetting.REPORT_INVALID_GAMES)) {
             boolean validLauncher = (!entry.isSteamGame()
@@ -338,9 +338,11 @@ public class SearchDialog extends GameRoomDialog<ButtonType> {
                 ImageUtils.downloadIGDBImageToCache(id, coverHash, ImageUtils.IGDB_TYPE_COVER, ImageUtils.IGDB_SIZE_SMALL, new OnDLDoneHandler() {
                     @Override
                     public void run(File outputFile) {
-                        boolean finalKeepRatio = ImageUtils.shouldKeepImageRatio(outputFile);
-                        javafx.application.Platform.runLater(() -> {
-                            ImageUtils.transitionToImage(new Image("file:" + File.separator + File.separator + File.separator + outputFile.getAbsolutePath(), COVER_WIDTH, COVER_WIDTH * GameButton.COVER_HEIGHT_WIDTH_RATIO, finalKeepRatio, true), coverView);
+                        //called on the JavaFX thread once downloaded, the cover is decoded in background
+                        ImageUtils.getExecutorService().submit(() -> {
+                            boolean keepRatio = ImageUtils.shouldKeepImageRatio(outputFile);
+                            Image cover = ImageUtils.loadImage(outputFile, COVER_WIDTH, COVER_WIDTH * GameButton.COVER_HEIGHT_WIDTH_RATIO, keepRatio);
+                            javafx.application.Platform.runLater(() -> ImageUtils.transitionToImage(cover, coverView));
                         });
                     }
                 });
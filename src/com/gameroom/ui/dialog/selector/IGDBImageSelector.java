@@ -121,7 +121,7 @@ public class IGDBImageSelector extends GameRoomDialog<ButtonType> {
                     , new OnDLDoneHandler() {
                         @Override
                         public void run(File outputFile) {
-                            Image img = new Image("file:"+ File.separator + File.separator + File.separator + outputFile.getAbsolutePath(), prefTileWidth, prefTileHeight, false, true);
+                            Image img = ImageUtils.loadImage(outputFile, prefTileWidth, prefTileHeight, false);
                             ImageUtils.transitionToImage(img, imageView);
                         }
                     });
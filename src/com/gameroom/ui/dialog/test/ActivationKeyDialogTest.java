@@ -1,6 +1,5 @@
 package com.gameroom.ui.dialog.test;
 
-import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.http.key.KeyChecker;
 import javafx.application.Application;
 import javafx.scene.Scene;
@@ -97,8 +96,6 @@ public class ActivationKeyDialogTest extends Application {
                                 }
                             } catch (IOException e1) {
                                 e1.printStackTrace();
-                            } catch (UnirestException e1) {
-                                e1.printStackTrace();
                             }
                         }
                     });
@@ -4,7 +4,6 @@ import com.gameroom.data.game.entry.GameEntry;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
-import javafx.scene.Node;
 import javafx.scene.layout.TilePane;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.control.button.gamebutton.GameButton;
@@ -46,74 +45,42 @@ public class CoverTilePane extends GamesTilePane{
 
     @Override
     public void sortByReleaseDate() {
-        ObservableList<Node> nodes = FXCollections.observableArrayList(
-                tilePane.getChildren()
-        );
-        sortByReleaseDate(nodes);
-        replaceChildrensAfterSort(nodes, new Runnable() {
-            @Override
-            public void run() {
-                for(Node button : nodes){
-                    ((GameButton)button).hidePlaytime();
-                    ((GameButton)button).hideRating();
-                    ((GameButton)button).showReleaseDate();
-                }
-            }
+        ObservableList<GameEntry> entries = FXCollections.observableArrayList(entriesList);
+        sortByReleaseDate(entries);
+        replaceEntriesAfterSort(entries, button -> {
+            button.hidePlaytime();
+            button.hideRating();
+            button.showReleaseDate();
         });
     }
 
     @Override
     public void sortByRating() {
         Main.LOGGER.debug("Sorting by rating : "+titleLabel.getText());
-        ObservableList<Node> nodes = FXCollections.observableArrayList(
-                tilePane.getChildren()
-        );
-        sortByRating(nodes);
-        replaceChildrensAfterSort(nodes, new Runnable() {
-            @Override
-            public void run() {
-                for(Node button : nodes){
-                    ((GameButton)button).hidePlaytime();
-                    ((GameButton)button).showRating();
-                    ((GameButton)button).hideReleaseDate();
-                }
-            }
+        ObservableList<GameEntry> entries = FXCollections.observableArrayList(entriesList);
+        sortByRating(entries);
+        replaceEntriesAfterSort(entries, button -> {
+            button.hidePlaytime();
+            button.showRating();
+            button.hideReleaseDate();
         });
     }
 
     @Override
     public void sortByTimePlayed() {
-        ObservableList<Node> nodes = FXCollections.observableArrayList(
-                tilePane.getChildren()
-        );
-        sortByTimePlayed(nodes);
-        replaceChildrensAfterSort(nodes, new Runnable() {
-            @Override
-            public void run() {
-                for(Node button : nodes){
-                    ((GameButton)button).showPlaytime();
-                    ((GameButton)button).hideRating();
-                    ((GameButton)button).hideReleaseDate();
-                }
-            }
+        ObservableList<GameEntry> entries = FXCollections.observableArrayList(entriesList);
+        sortByTimePlayed(entries);
+        replaceEntriesAfterSort(entries, button -> {
+            button.showPlaytime();
+            button.hideRating();
+            button.hideReleaseDate();
         });
     }
 
     @Override
     public void sortByName() {
-        ObservableList<Node> nodes = FXCollections.observableArrayList(
-                tilePane.getChildren()
-        );
-        sortByName(nodes);
-        replaceChildrensAfterSort(nodes, new Runnable() {
-            @Override
-            public void run() {
-                for(Node button : nodes){
-                    ((GameButton)button).hidePlaytime();
-                    ((GameButton)button).hideReleaseDate();
-                    ((GameButton)button).hideRating();
-                }
-            }
-        });
+        ObservableList<GameEntry> entries = FXCollections.observableArrayList(entriesList);
+        sortByName(entries);
+        replaceEntriesAfterSort(entries, GamesTilePane::hideInfos);
     }
 }
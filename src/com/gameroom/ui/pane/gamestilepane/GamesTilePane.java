@@ -10,12 +10,10 @@ import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
@@ -29,8 +27,11 @@ import com.gameroom.ui.control.button.gamebutton.GameButton;
 import com.gameroom.ui.scene.MainScene;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.function.Predicate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,10 +52,16 @@ public abstract class GamesTilePane extends BorderPane {
 
     private final static int QUICKSEARCH_CLEAR_DELAY = 500;
 
-    TilePane tilePane;
+    VirtualTilePane tilePane;
     Label titleLabel;
     ImageButton iconButton;
-    ObservableList<GameButton> tilesList = FXCollections.observableArrayList();
+    /** all the games of this pane, in the order they are displayed */
+    ObservableList<GameEntry> entriesList = FXCollections.observableArrayList();
+    /** ids of the games not displayed, e.g. not matching the search */
+    private final HashSet<Integer> hiddenEntryIds = new HashSet<>();
+    /** shows the infos matching the current sort (play time, rating...) on a button */
+    private Consumer<GameButton> infoDisplay = GamesTilePane::hideInfos;
+    private boolean cacheGameButtons = false;
 
     MainScene parentScene;
     private boolean forcedHidden = false;
@@ -82,7 +89,9 @@ public abstract class GamesTilePane extends BorderPane {
 
     GamesTilePane(MainScene parentScene) {
         super();
-        this.tilePane = new TilePane();
+        this.tilePane = new VirtualTilePane();
+        tilePane.setCellFactory(this::createCell);
+        tilePane.setOnCellBound(button -> infoDisplay.accept(button));
         this.titleLabel = new Label();
         this.iconButton = new ImageButton("", Main.SCREEN_HEIGHT / 42, Main.SCREEN_HEIGHT / 42);
         this.parentScene = parentScene;
@@ -124,9 +133,9 @@ public abstract class GamesTilePane extends BorderPane {
                 }
             }
         });
-        tilePane.getChildren().addListener(new ListChangeListener<Node>() {
+        tilePane.getItems().addListener(new ListChangeListener<GameEntry>() {
             @Override
-            public void onChanged(Change<? extends Node> c) {
+            public void onChanged(Change<? extends GameEntry> c) {
                 boolean hide = checkIfHide();
                 if (hide) {
                     hide(false);
@@ -151,46 +160,26 @@ public abstract class GamesTilePane extends BorderPane {
                             String s = event.getCode().getName();
                             //TODO implement wait for other events to collect letters
                             //LOGGER.debug("Event type : "+event.getEventType()+"Typed : "+s);
-                            tilesList.sort(new Comparator<GameButton>() {
-                                @Override
-                                public int compare(GameButton o1, GameButton o2) {
-                                    return o1.getEntry().getName().toLowerCase()
-                                            .compareTo(o2.getEntry().getName().toLowerCase());
-                                }
-                            });
                             if (previousTypedChar != s.charAt(0)) {
                                 repeatedCharCounter = 0;
                             } else {
                                 repeatedCharCounter++;
                             }
-                            FilteredList<GameButton> matchingButtons = tilesList.filtered(new Predicate<GameButton>() {
-                                @Override
-                                public boolean test(GameButton button) {
-                                    String name = button.getEntry().getName().toLowerCase();
-                                    return name.startsWith(s.toLowerCase());
-                                }
-                            });
-                            boolean selectedAButton = false;
-                            int matchingButtonscounter = 0;
-                            for (GameButton b : matchingButtons) {
-                                if (matchingButtonscounter == repeatedCharCounter) {
-                                    MAIN_SCENE.setInputMode(MainScene.INPUT_MODE_KEYBOARD);
-                                    b.requestFocus();
-                                    MAIN_SCENE.centerGameButtonInScrollPane(b, GamesTilePane.this);
-                                    selectedAButton = true;
-                                    break;
+                            ArrayList<GameEntry> matchingEntries = new ArrayList<>();
+                            for (GameEntry entry : tilePane.getItems()) {
+                                if (entry.getName().toLowerCase().startsWith(s.toLowerCase())) {
+                                    matchingEntries.add(entry);
                                 }
-                                matchingButtonscounter++;
                             }
-                            if (!selectedAButton && matchingButtons.size() > 0) {
-                                //means we got to the end of the matching buttons and need to loop
-
-                                MAIN_SCENE.setInputMode(MainScene.INPUT_MODE_KEYBOARD);
-                                matchingButtons.get(0).requestFocus();
-                                MAIN_SCENE.centerGameButtonInScrollPane(matchingButtons.get(0), GamesTilePane.this);
-                                selectedAButton = true;
+                            matchingEntries.sort((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()));
+                            if (repeatedCharCounter >= matchingEntries.size()) {
+                                //means we got to the end of the matching entries and need to loop
                                 repeatedCharCounter = 0;
                             }
+                            if (matchingEntries.size() > 0) {
+                                MAIN_SCENE.setInputMode(MainScene.INPUT_MODE_KEYBOARD);
+                                focusEntry(matchingEntries.get(repeatedCharCounter));
+                            }
                             previousTypedChar = s.charAt(0);
                         }
                     }
@@ -202,32 +191,40 @@ public abstract class GamesTilePane extends BorderPane {
 
     }
 
-    private boolean checkIfHide() {
-        boolean hide = true;
-        if (tilePane.getChildren().size() > 0) {
-            for (Node n : tilePane.getChildren()) {
-                hide = hide && !n.isVisible();
-            }
+    /**
+     * Scrolls to the tile of the entry, so that it gets a button, and focuses it
+     */
+    private void focusEntry(GameEntry entry) {
+        int index = tilePane.getItems().indexOf(entry);
+        if (index == -1) {
+            return;
+        }
+        MAIN_SCENE.centerInScrollPane(tilePane.getTileCenterY(index), GamesTilePane.this);
+        tilePane.requestLayout();
+        tilePane.layout();
+        GameButton button = tilePane.getCell(entry);
+        if (button != null) {
+            button.requestFocus();
         }
-        return hide;
     }
 
-    public abstract TilePane getTilePane();
-
-    private void addTile(GameButton button) {
-        addTileToTilePane(button);
-        tilesList.add(button);
+    private boolean checkIfHide() {
+        return tilePane.getItems().isEmpty();
     }
 
-    private void removeTile(GameButton button) {
-        removeTileFromTilePane(button);
-        tilesList.remove(button);
+    public abstract TilePane getTilePane();
+
+    private GameButton createCell(GameEntry entry) {
+        GameButton button = createGameButton(entry);
+        button.setCache(cacheGameButtons);
+        return button;
     }
 
     public final void removeGame(GameEntry entry) {
         int index = indexOfTile(entry);
         if (index != -1) {
-            removeTile(tilesList.get(index));
+            hiddenEntryIds.remove(entriesList.remove(index).getId());
+            updateShownEntries();
         }
         if (automaticSort)
             sort();
@@ -238,9 +235,8 @@ public abstract class GamesTilePane extends BorderPane {
 
     public final void addGame(GameEntry newEntry) {
         if (indexOfTile(newEntry) == -1 && isValidToAdd(newEntry)) {
-            GameButton b = createGameButton(newEntry);
-            //setGameButtonVisible(b,true);
-            addTile(b);
+            entriesList.add(newEntry);
+            updateShownEntries();
             if (automaticSort) {
                 sort();
             }
@@ -248,8 +244,19 @@ public abstract class GamesTilePane extends BorderPane {
         updateTitleGameCount();
     }
 
+    /**
+     * @return the buttons currently displaying a game of this pane. Only the games close to the viewport have one, see
+     * {@link VirtualTilePane}
+     */
     public ObservableList<GameButton> getGameButtons() {
-        return tilesList;
+        return tilePane.getBoundCells();
+    }
+
+    /**
+     * @return all the games of this pane, in the order they are displayed
+     */
+    public ObservableList<GameEntry> getEntries() {
+        return entriesList;
     }
 
     public final void updateGame(GameEntry newEntry) {
@@ -259,8 +266,16 @@ public abstract class GamesTilePane extends BorderPane {
                 Main.runAndWait(new Runnable() {
                     @Override
                     public void run() {
-                        tilesList.get(index).reloadWith(newEntry);
-                        tilesList.set(index, tilesList.get(index));//to fire updated/replaced event
+                        GameEntry previousEntry = entriesList.set(index, newEntry);
+                        if (previousEntry == newEntry) {
+                            GameButton button = tilePane.getCell(newEntry);
+                            if (button != null) {
+                                button.reloadWith(newEntry);
+                            }
+                        } else {
+                            //the button of the previous entry is bound to the new one by the tilePane
+                            updateShownEntries();
+                        }
                     }
                 });
             } else {
@@ -281,8 +296,8 @@ public abstract class GamesTilePane extends BorderPane {
 
     public final int indexOfTile(GameEntry entry) {
         int i = 0;
-        for (Node n : tilesList) {
-            if (((GameButton) n).getEntry().getId() == entry.getId()) {
+        for (GameEntry e : entriesList) {
+            if (e.getId() == entry.getId()) {
                 return i;
             }
             i++;
@@ -290,14 +305,6 @@ public abstract class GamesTilePane extends BorderPane {
         return -1;
     }
 
-    private void removeTileFromTilePane(GameButton button) {
-        tilePane.getChildren().remove(button);
-    }
-
-    private void addTileToTilePane(GameButton button) {
-        tilePane.getChildren().add(button);
-    }
-
     protected abstract GameButton createGameButton(GameEntry newEntry);
 
     void sort() {
@@ -320,74 +327,74 @@ public abstract class GamesTilePane extends BorderPane {
         }
     }
 
-    static ObservableList<Node> sortByName(ObservableList<Node> nodes) {
+    static List<GameEntry> sortByName(List<GameEntry> entries) {
         SORT_MODE = SORT_MODE_NAME;
 
-        nodes.sort((o1, o2) -> {
-            String sortingName1 =  ((GameButton) o1).getEntry().getSortingName();
-            String sortingName2 =  ((GameButton) o2).getEntry().getSortingName();
+        entries.sort((o1, o2) -> {
+            String sortingName1 = o1.getSortingName();
+            String sortingName2 = o2.getSortingName();
 
             if (sortingName1 == null || sortingName1.isEmpty()){
-                sortingName1 = ((GameButton) o1).getEntry().getName();
+                sortingName1 = o1.getName();
             }
 
             if (sortingName2 == null || sortingName2.isEmpty()){
-                sortingName2 = ((GameButton) o2).getEntry().getName();
+                sortingName2 = o2.getName();
             }
 
             return sortingName1.compareToIgnoreCase(sortingName2);
         });
-        return nodes;
+        return entries;
     }
 
-    static ObservableList<Node> sortByRating(ObservableList<Node> nodes) {
+    static List<GameEntry> sortByRating(List<GameEntry> entries) {
         SORT_MODE = SORT_MODE_RATING;
-        nodes.sort(new Comparator<Node>() {
+        entries.sort(new Comparator<GameEntry>() {
             @Override
-            public int compare(Node o1, Node o2) {
-                int rating1 = ((GameButton) o1).getEntry().getAggregated_rating();
-                int rating2 = ((GameButton) o2).getEntry().getAggregated_rating();
+            public int compare(GameEntry o1, GameEntry o2) {
+                int rating1 = o1.getAggregated_rating();
+                int rating2 = o2.getAggregated_rating();
                 int result = rating1 > rating2 ? -1 : 1;
                 if (rating1 == rating2) {
-                    String name1 = ((GameButton) o1).getEntry().getName();
-                    String name2 = ((GameButton) o2).getEntry().getName();
+                    String name1 = o1.getName();
+                    String name2 = o2.getName();
                     result = name1.compareToIgnoreCase(name2);
                 }
                 return result;
             }
         });
-        return nodes;
+        return entries;
     }
 
-    static ObservableList<Node> sortByTimePlayed(ObservableList<Node> nodes) {
+    static List<GameEntry> sortByTimePlayed(List<GameEntry> entries) {
         SORT_MODE = SORT_MODE_PLAY_TIME;
 
-        nodes.sort(new Comparator<Node>() {
+        entries.sort(new Comparator<GameEntry>() {
             @Override
-            public int compare(Node o1, Node o2) {
-                long rating1 = ((GameButton) o1).getEntry().getPlayTimeSeconds();
-                long rating2 = ((GameButton) o2).getEntry().getPlayTimeSeconds();
+            public int compare(GameEntry o1, GameEntry o2) {
+                long rating1 = o1.getPlayTimeSeconds();
+                long rating2 = o2.getPlayTimeSeconds();
                 int result = rating1 > rating2 ? -1 : 1;
                 if (rating1 == rating2) {
-                    String name1 = ((GameButton) o1).getEntry().getName();
-                    String name2 = ((GameButton) o2).getEntry().getName();
+                    String name1 = o1.getName();
+                    String name2 = o2.getName();
                     result = name1.compareToIgnoreCase(name2);
                 }
                 return result;
             }
         });
-        return nodes;
+        return entries;
     }
 
-    static ObservableList<Node> sortByReleaseDate(ObservableList<Node> nodes) {
+    static List<GameEntry> sortByReleaseDate(List<GameEntry> entries) {
         SORT_MODE = SORT_MODE_RELEASE_DATE;
 
-        nodes.sort(new Comparator<Node>() {
+        entries.sort(new Comparator<GameEntry>() {
             @Override
-            public int compare(Node o1, Node o2) {
+            public int compare(GameEntry o1, GameEntry o2) {
                 int result = 0;
-                LocalDateTime date1 = ((GameButton) o1).getEntry().getReleaseDate();
-                LocalDateTime date2 = ((GameButton) o2).getEntry().getReleaseDate();
+                LocalDateTime date1 = o1.getReleaseDate();
+                LocalDateTime date2 = o2.getReleaseDate();
 
                 if (date1 == null && date2 != null) {
                     return -1;
@@ -399,19 +406,26 @@ public abstract class GamesTilePane extends BorderPane {
                     result = date2.compareTo(date1);
                 }
                 if (result == 0) {
-                    String name1 = ((GameButton) o1).getEntry().getName();
-                    String name2 = ((GameButton) o2).getEntry().getName();
+                    String name1 = o1.getName();
+                    String name2 = o2.getName();
                     result = name1.compareToIgnoreCase(name2);
                 }
 
                 return result;
             }
         });
-        return nodes;
-    }
-
-    void replaceChildrensAfterSort(ObservableList<Node> nodes, Runnable betweenTransition) {
-        if (!inSameOrder(tilePane.getChildren(), nodes)) {
+        return entries;
+    }
+
+    /**
+     * Displays the entries in the given order, fading the tiles out and in if it changed.
+     *
+     * @param entries     all the entries of this pane, sorted
+     * @param infoDisplay shows on a button the infos matching the sort
+     */
+    void replaceEntriesAfterSort(List<GameEntry> entries, Consumer<GameButton> infoDisplay) {
+        this.infoDisplay = infoDisplay;
+        if (!inSameOrder(entriesList, entries)) {
             Timeline fadeOutTimeline = new Timeline(
                     new KeyFrame(Duration.seconds(0),
                             new KeyValue(tilePane.opacityProperty(), tilePane.opacityProperty().getValue(), Interpolator.EASE_IN)),
@@ -423,10 +437,9 @@ public abstract class GamesTilePane extends BorderPane {
             fadeOutTimeline.setOnFinished(new EventHandler<ActionEvent>() {
                 @Override
                 public void handle(javafx.event.ActionEvent event) {
-                    tilePane.getChildren().setAll(nodes);
-                    if (betweenTransition != null) {
-                        betweenTransition.run();
-                    }
+                    entriesList.setAll(entries);
+                    updateShownEntries();
+                    getGameButtons().forEach(infoDisplay);
                     Timeline fadeInTimeline = new Timeline(
                             new KeyFrame(Duration.seconds(0),
                                     new KeyValue(tilePane.opacityProperty(), 0, Interpolator.EASE_IN)),
@@ -440,10 +453,19 @@ public abstract class GamesTilePane extends BorderPane {
             });
             fadeOutTimeline.play();
         } else {
-            betweenTransition.run();
+            getGameButtons().forEach(infoDisplay);
         }
     }
 
+    /**
+     * Hides the play time, rating and release date of the button, as when sorting by name
+     */
+    static void hideInfos(GameButton button) {
+        button.hidePlaytime();
+        button.hideReleaseDate();
+        button.hideRating();
+    }
+
     public final void setPrefTileWidth(double value) {
         tilePane.setPrefTileWidth(value);
     }
@@ -572,9 +594,9 @@ public abstract class GamesTilePane extends BorderPane {
     public int searchText(String text) {
         searching = true;
         int num = 0;
-        for (GameButton button : tilesList) {
-            boolean show = button.getEntry().getName().toLowerCase().contains(text.toLowerCase());
-            setGameButtonVisible(button, show);
+        for (GameEntry entry : entriesList) {
+            boolean show = entry.getName().toLowerCase().contains(text.toLowerCase());
+            setEntryVisible(entry, show);
             if (show) {
                 if (num == 0) {
                     //TODO implement here so that button is highlighted and if enter pressed this is launched etc for other keys
@@ -582,32 +604,48 @@ public abstract class GamesTilePane extends BorderPane {
                 num++;
             }
         }
+        updateShownEntries();
         return num;
     }
 
     public void cancelSearchText() {
-        for (GameButton button : tilesList) {
-            setGameButtonVisible(button, true);
+        for (GameEntry entry : entriesList) {
+            setEntryVisible(entry, true);
         }
+        updateShownEntries();
         searching = false;
     }
 
-    void setGameButtonVisible(GameButton button, boolean visible) {
-        button.setManaged(visible);
-        button.setVisible(visible);
-        button.setMouseTransparent(!visible);
+    /**
+     * Marks the entry as displayed or not. Takes effect on the next call to {@link #updateShownEntries()}.
+     */
+    void setEntryVisible(GameEntry entry, boolean visible) {
+        if (visible) {
+            hiddenEntryIds.remove(entry.getId());
+        } else {
+            hiddenEntryIds.add(entry.getId());
+        }
+    }
 
+    /**
+     * Displays the entries of this pane which are not hidden, in order
+     */
+    void updateShownEntries() {
+        ArrayList<GameEntry> shownEntries = new ArrayList<>(entriesList.size());
+        for (GameEntry entry : entriesList) {
+            if (!hiddenEntryIds.contains(entry.getId())) {
+                shownEntries.add(entry);
+            }
+        }
+        if (!shownEntries.equals(tilePane.getItems())) {
+            tilePane.getItems().setAll(shownEntries);
+        }
         updateTitleGameCount();
     }
 
     private void updateTitleGameCount() {
         if (displayGamesCount) {
-            int nbVisible = 0;
-            for (GameButton button1 : tilesList) {
-                if (button1.isVisible()) {
-                    nbVisible++;
-                }
-            }
+            int nbVisible = tilePane.getItems().size();
             String title = titleLabel.getText();
             Pattern pattern = Pattern.compile(".*\\(\\d*\\)");
             Matcher matcher = pattern.matcher(title);
@@ -626,13 +664,13 @@ public abstract class GamesTilePane extends BorderPane {
         return searching;
     }
 
-    private static boolean inSameOrder(ObservableList<Node> nodes1, ObservableList<Node> nodes2) {
-        if (nodes1.size() != nodes2.size()) {
+    private static boolean inSameOrder(List<GameEntry> entries1, List<GameEntry> entries2) {
+        if (entries1.size() != entries2.size()) {
             return false;
         }
         boolean sameOrder = true;
-        for (int i = 0; i < nodes1.size() && sameOrder; i++) {
-            sameOrder = ((GameButton) nodes1.get(i)).getEntry().getId() == ((GameButton) nodes2.get(i)).getEntry().getId();
+        for (int i = 0; i < entries1.size() && sameOrder; i++) {
+            sameOrder = entries1.get(i).getId() == entries2.get(i).getId();
         }
         return sameOrder;
     }
@@ -651,6 +689,7 @@ public abstract class GamesTilePane extends BorderPane {
 
 
     public void setCacheGameButtons(boolean cache) {
+        cacheGameButtons = cache;
         for (GameButton b : getGameButtons()) {
             b.setCache(cache);
         }
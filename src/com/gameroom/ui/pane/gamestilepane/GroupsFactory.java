@@ -4,7 +4,6 @@ import com.gameroom.data.game.entry.*;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import com.gameroom.ui.Main;
-import com.gameroom.ui.control.button.gamebutton.GameButton;
 import com.gameroom.ui.scene.MainScene;
 
 import java.util.ArrayList;
@@ -21,7 +20,7 @@ public class GroupsFactory {
             @Override
             public boolean fillsRequirement(GameEntry entry) {
                 boolean alreadyIn = false;
-                for (int i = 0; i < getGameButtons().size() && !alreadyIn; i++) {
+                for (int i = 0; i < getEntries().size() && !alreadyIn; i++) {
                     alreadyIn = indexOfTile(entry) != -1;
                     if (alreadyIn) {
                         return false;
@@ -63,11 +62,11 @@ public class GroupsFactory {
                 }
             };
             tilePane.setTitle(genre.getDisplayName());
-            for (GameButton button : originalTilePane.getGameButtons()) {
-                tilePane.addGame(button.getEntry());
-                othersTilePane.addGame(button.getEntry());
+            for (GameEntry entry : originalTilePane.getEntries()) {
+                tilePane.addGame(entry);
+                othersTilePane.addGame(entry);
             }
-            if (tilePane.getGameButtons().size() > 0) {
+            if (tilePane.getEntries().size() > 0) {
                 originalTilePane.getTilePane().prefTileWidthProperty().addListener(new ChangeListener<Number>() {
                     @Override
                     public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
@@ -91,7 +90,7 @@ public class GroupsFactory {
                 return o1.getTitle().getText().compareTo(o2.getTitle().getText());
             }
         });
-        if (othersTilePane.getGameButtons().size() > 0) {
+        if (othersTilePane.getEntries().size() > 0) {
             allTilePanes.add(othersTilePane);
         }
         return allTilePanes;
@@ -103,7 +102,7 @@ public class GroupsFactory {
             @Override
             public boolean fillsRequirement(GameEntry entry) {
                 boolean alreadyIn = false;
-                for (int i = 0; i < getGameButtons().size() && !alreadyIn; i++) {
+                for (int i = 0; i < getEntries().size() && !alreadyIn; i++) {
                     alreadyIn = indexOfTile(entry) != -1;
                     if (alreadyIn) {
                         return false;
@@ -145,11 +144,11 @@ public class GroupsFactory {
                 }
             };
             tilePane.setTitle(theme.getDisplayName());
-            for (GameButton button : originalTilePane.getGameButtons()) {
-                tilePane.addGame(button.getEntry());
-                othersTilePane.addGame(button.getEntry());
+            for (GameEntry entry : originalTilePane.getEntries()) {
+                tilePane.addGame(entry);
+                othersTilePane.addGame(entry);
             }
-            if (tilePane.getGameButtons().size() > 0) {
+            if (tilePane.getEntries().size() > 0) {
                 originalTilePane.getTilePane().prefTileWidthProperty().addListener(new ChangeListener<Number>() {
                     @Override
                     public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
@@ -173,7 +172,7 @@ public class GroupsFactory {
                 return o1.getTitle().getText().compareTo(o2.getTitle().getText());
             }
         });
-        if (othersTilePane.getGameButtons().size() > 0) {
+        if (othersTilePane.getEntries().size() > 0) {
             allTilePanes.add(othersTilePane);
         }
         return allTilePanes;
@@ -181,9 +180,9 @@ public class GroupsFactory {
 
     public static ArrayList<GroupRowTilePane> createGroupsBySerie(GamesTilePane originalTilePane, MainScene mainScene) {
         ArrayList<Serie> allSeries = new ArrayList<>();
-        for (GameButton button : originalTilePane.getGameButtons()) {
-            if (!button.getEntry().getSerie().equals(Serie.NONE) && !allSeries.contains(button.getEntry().getSerie()) && !button.getEntry().getSerie().equals("")) {
-                allSeries.add(button.getEntry().getSerie());
+        for (GameEntry entry : originalTilePane.getEntries()) {
+            if (!entry.getSerie().equals(Serie.NONE) && !allSeries.contains(entry.getSerie()) && !entry.getSerie().equals("")) {
+                allSeries.add(entry.getSerie());
             }
         }
         ArrayList<GroupRowTilePane> allTilePanes = new ArrayList<>();
@@ -191,7 +190,7 @@ public class GroupsFactory {
             @Override
             public boolean fillsRequirement(GameEntry entry) {
                 boolean alreadyIn = false;
-                for (int i = 0; i < getGameButtons().size() && !alreadyIn; i++) {
+                for (int i = 0; i < getEntries().size() && !alreadyIn; i++) {
                     alreadyIn = indexOfTile(entry) != -1;
                     if (alreadyIn) {
                         return false;
@@ -227,11 +226,11 @@ public class GroupsFactory {
                 }
             };
             tilePane.setTitle(serie.getName());
-            for (GameButton button : originalTilePane.getGameButtons()) {
-                tilePane.addGame(button.getEntry());
-                othersTilePane.addGame(button.getEntry());
+            for (GameEntry entry : originalTilePane.getEntries()) {
+                tilePane.addGame(entry);
+                othersTilePane.addGame(entry);
             }
-            if (tilePane.getGameButtons().size() > 0) {
+            if (tilePane.getEntries().size() > 0) {
                 originalTilePane.getTilePane().prefTileWidthProperty().addListener(new ChangeListener<Number>() {
                     @Override
                     public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
@@ -255,7 +254,7 @@ public class GroupsFactory {
                 return o1.getTitle().getText().compareTo(o2.getTitle().getText());
             }
         });
-        if (othersTilePane.getGameButtons().size() > 0) {
+        if (othersTilePane.getEntries().size() > 0) {
             allTilePanes.add(othersTilePane);
         }
         return allTilePanes;
@@ -267,7 +266,7 @@ public class GroupsFactory {
             @Override
             public boolean fillsRequirement(GameEntry entry) {
                 boolean alreadyIn = false;
-                for (int i = 0; i < getGameButtons().size() && !alreadyIn; i++) {
+                for (int i = 0; i < getEntries().size() && !alreadyIn; i++) {
                     alreadyIn = indexOfTile(entry) != -1;
                     if (alreadyIn) {
                         return false;
@@ -303,11 +302,11 @@ public class GroupsFactory {
                 tilePane.getIconButton().setImageViewStyle(platform.getCSSIconStyle(false));
                 tilePane.getIconButton().setManaged(true);
 
-                for (GameButton button : originalTilePane.getGameButtons()) {
-                    tilePane.addGame(button.getEntry());
-                    othersTilePane.addGame(button.getEntry());
+                for (GameEntry entry : originalTilePane.getEntries()) {
+                    tilePane.addGame(entry);
+                    othersTilePane.addGame(entry);
                 }
-                if (tilePane.getGameButtons().size() > 0) {
+                if (tilePane.getEntries().size() > 0) {
                     originalTilePane.getTilePane().prefTileWidthProperty().addListener(new ChangeListener<Number>() {
                         @Override
                         public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
@@ -332,7 +331,7 @@ public class GroupsFactory {
                 return o1.getTitle().getText().compareTo(o2.getTitle().getText());
             }
         });
-        if (othersTilePane.getGameButtons().size() > 0) {
+        if (othersTilePane.getEntries().size() > 0) {
             allTilePanes.add(othersTilePane);
         }
         return allTilePanes;
@@ -14,7 +14,6 @@ import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Separator;
 import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
@@ -125,56 +124,52 @@ public class RowCoverTilePane extends CoverTilePane {
                 break;
         }
 
-        tilesList.addListener(new ListChangeListener<GameButton>() {
+        entriesList.addListener(new ListChangeListener<GameEntry>() {
             @Override
-            public void onChanged(Change<? extends GameButton> c) {
+            public void onChanged(Change<? extends GameEntry> c) {
                 boolean orderMayChange = false;
                 while (c.next() && !orderMayChange) {
                     orderMayChange = orderMayChange || c.wasAdded() || c.wasRemoved() || c.wasReplaced() || c.wasUpdated();
                 }
                 if (orderMayChange) {
                     ArrayList<Integer> ids = new ArrayList<Integer>();
-                    for (GameButton button : tilesList) {
-                        ids.add(button.getEntry().getId());
+                    for (GameEntry entry : entriesList) {
+                        ids.add(entry.getId());
                     }
-                    tilesList.sort(new Comparator<Node>() {
-                        @Override
-                        public int compare(Node o1, Node o2) {
-                            return entriesComparator.compare(((GameButton) o1).getEntry(), ((GameButton) o2).getEntry());
-                        }
-                    });
+                    entriesList.sort(entriesComparator);
                     boolean hideTilePane = true;
                     int shownCount = 0;
-                    for (int i = 0; i < tilesList.size(); i++) {
+                    for (int i = 0; i < entriesList.size(); i++) {
                         boolean hide = false;
 
                         switch (type) {
                             case TYPE_LAST_PLAYED:
-                                hide = tilesList.get(i).getEntry().getLastPlayedDate() == null;
+                                hide = entriesList.get(i).getLastPlayedDate() == null;
                                 break;
                             case TYPE_RECENTLY_ADDED:
-                                hide = tilesList.get(i).getEntry().getAddedDate() == null;
+                                hide = entriesList.get(i).getAddedDate() == null;
                                 break;
                             case TYPE_NAME:
-                                hide = tilesList.get(i).getEntry().getName() == null;
+                                hide = entriesList.get(i).getName() == null;
                                 break;
                             default:
                                 break;
                         }
                         boolean visible = shownCount < maxColumn && !hide;
-                        setGameButtonVisible(tilesList.get(i), visible);
+                        setEntryVisible(entriesList.get(i), visible);
                         hideTilePane = hideTilePane && !visible;
                         if(visible){
                             shownCount++;
                         }
                     }
+                    updateShownEntries();
                     if(hideTilePane){
                         hide();
                     }
                     if (!hideTilePane) {
                         boolean changedOrder = false;
                         for (int i = 0; i < ids.size() && !changedOrder; i++) {
-                            changedOrder = ids.get(i) == tilesList.get(i).getEntry().getId();
+                            changedOrder = ids.get(i) == entriesList.get(i).getId();
                         }
                         if (changedOrder || hidden) {
                             show();
@@ -274,31 +269,11 @@ public class RowCoverTilePane extends CoverTilePane {
         }
     }
 
-    private void sort(ObservableList<Node> nodes, Comparator<GameEntry> comparator) {
-        nodes.sort(new Comparator<Node>() {
-            @Override
-            public int compare(Node o1, Node o2) {
-                return comparator.compare(((GameButton) o1).getEntry(), ((GameButton) o2).getEntry());
-            }
-        });
-    }
-
     @Override
     public void sort() {
-        ObservableList<Node> nodes = FXCollections.observableArrayList(
-                tilePane.getChildren()
-        );
-        sort(nodes, entriesComparator);
-        replaceChildrensAfterSort(nodes, new Runnable() {
-            @Override
-            public void run() {
-                for (Node button : nodes) {
-                    ((GameButton) button).hidePlaytime();
-                    ((GameButton) button).hideReleaseDate();
-                    ((GameButton) button).hideRating();
-                }
-            }
-        });
+        ObservableList<GameEntry> entries = FXCollections.observableArrayList(entriesList);
+        entries.sort(entriesComparator);
+        replaceEntriesAfterSort(entries, GamesTilePane::hideInfos);
     }
 
     public void addOnFoldedChangeListener(ChangeListener<Boolean> listener) {
@@ -1,10 +1,15 @@
 package com.gameroom.ui.pane.gamestilepane;
 
+import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.entry.GameEntryUtils;
 import com.gameroom.data.game.entry.Platform;
+import com.gameroom.data.game.scraper.ScrapPipeline;
 import com.gameroom.ui.dialog.GameRoomAlert;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
 import javafx.scene.control.Tooltip;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.control.button.ImageButton;
@@ -47,10 +52,8 @@ public abstract class ToAddRowTilePane extends RowCoverTilePane {
             result.ifPresent(letter -> {
                 if (letter.getText().equals(Main.getString("add_all_no_edit"))) {
                     Main.getExecutorService().submit(() -> {
-                        ArrayList<GameEntry> entries = new ArrayList<GameEntry>();
-                        for (GameButton b : tilesList) { //have to do this, as MAIN_SCENE.addGame call deleteGame here -> concurrent modif exception
-                            entries.add(b.getEntry());
-                        }
+                        //have to copy, as MAIN_SCENE.addGame call deleteGame here -> concurrent modif exception
+                        ArrayList<GameEntry> entries = new ArrayList<GameEntry>(entriesList);
 
                         if (GameEntryUtils.updateAsNotToAdd(entries)) {
                             for (GameEntry entry : entries) {
@@ -75,10 +78,7 @@ public abstract class ToAddRowTilePane extends RowCoverTilePane {
                     });
 
                 } else if (letter.getText().equals(Main.getString("add_all_edit"))) {
-                    ArrayList<GameEntry> entries = new ArrayList<GameEntry>();
-                    for (GameButton b : tilesList) {
-                        entries.add(b.getEntry());
-                    }
+                    ArrayList<GameEntry> entries = new ArrayList<GameEntry>(entriesList);
                     batchAddEntries(entries);
                 }
             });
@@ -87,6 +87,54 @@ public abstract class ToAddRowTilePane extends RowCoverTilePane {
         addAllButton.setFocusTraversable(false);
         addAllButton.setTooltip(new Tooltip(Main.getString("add_all_games")));
         topBox.getChildren().add(addAllButton);
+
+        initScrapProgress();
+    }
+
+    /**
+     * Adds to the top box a label following the progress of IGDB scraping, whose tooltip details every stage, and a
+     * button to cancel it. Both are only visible while scraping.
+     */
+    private void initScrapProgress() {
+        Label scrapProgressLabel = new Label();
+        Tooltip scrapProgressTooltip = new Tooltip();
+        scrapProgressLabel.setTooltip(scrapProgressTooltip);
+        Button cancelScrapButton = new Button(Main.getString("cancel"));
+        cancelScrapButton.setFocusTraversable(false);
+        cancelScrapButton.setOnAction(event -> GameWatcher.getInstance().cancelScraping());
+        setScrapProgressVisible(false, scrapProgressLabel, cancelScrapButton);
+        topBox.getChildren().addAll(scrapProgressLabel, cancelScrapButton);
+
+        GameWatcher.getInstance().addOnScrapProgressListener(progress -> {
+            if (progress.isFinished()) {
+                setScrapProgressVisible(false, scrapProgressLabel, cancelScrapButton);
+                return;
+            }
+            scrapProgressLabel.setText(Main.getString("scraping_games",
+                    Integer.toString(progress.getDone()),
+                    Integer.toString(progress.getTotal())));
+            StringBuilder details = new StringBuilder();
+            for (ScrapPipeline.StageProgress stage : progress.getStages()) {
+                if (details.length() > 0) {
+                    details.append('\n');
+                }
+                details.append(Main.getString("scrap_stage_progress",
+                        Main.getString("scrap_stage_" + stage.getName()),
+                        Long.toString(stage.getProcessed()),
+                        Integer.toString(stage.getActive()),
+                        Integer.toString(stage.getQueued()),
+                        String.format("%.1f", stage.getThroughput())));
+            }
+            scrapProgressTooltip.setText(details.toString());
+            setScrapProgressVisible(true, scrapProgressLabel, cancelScrapButton);
+        });
+    }
+
+    private static void setScrapProgressVisible(boolean visible, Node... nodes) {
+        for (Node node : nodes) {
+            node.setVisible(visible);
+            node.setManaged(visible);
+        }
     }
 
     protected abstract void batchAddEntries(ArrayList<GameEntry> entries);
@@ -97,11 +145,11 @@ public abstract class ToAddRowTilePane extends RowCoverTilePane {
 
     }
 
+    /**
+     * @return the button displaying the entry, or null if it is not displayed or not close enough to the viewport
+     */
     public GameButton getGameButton(GameEntry entry) {
-        if (indexOfTile(entry) != -1) {
-            return getGameButtons().get(indexOfTile(entry));
-        }
-        return null;
+        return tilePane.getCell(entry);
     }
 
     @Override
@@ -0,0 +1,250 @@
+package com.gameroom.ui.pane.gamestilepane;
+
+import com.gameroom.data.game.entry.GameEntry;
+import com.gameroom.ui.control.button.gamebutton.GameButton;
+import javafx.beans.InvalidationListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.scene.Parent;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.TilePane;
+import javafx.util.Callback;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * {@link TilePane} of games which only creates {@link GameButton}s for the tiles close to the viewport of its enclosing
+ * {@link ScrollPane}, and rebinds them to other entries (see {@link GameButton#reloadWith(GameEntry)}) as the user
+ * scrolls. The games displayed are its {@link #getItems()}, in order, and tiles are laid out in rows like a
+ * horizontal {@link TilePane} would, with the same tile size, gaps, padding and alignment properties.
+ * <p>
+ * Cells are created for the rows intersecting the viewport, plus {@link #BUFFER_RATIO} viewport heights above and
+ * below it, so that keyboard and controller navigation always has a tile to move focus to : the {@link ScrollPane}
+ * then scrolls to it and more rows are laid out. Cells which are not needed anymore are hidden and kept for reuse, so
+ * that the number of cells never exceeds the most ever displayed at once. Outside of a {@link ScrollPane}, every item
+ * gets a cell.
+ *
+ * @author LM. Garret (admin@gameroom.me)
+ * @date 19/10/2026.
+ */
+public class VirtualTilePane extends TilePane {
+    /** part of the viewport height, above and below it, whose tiles are created in advance */
+    private final static double BUFFER_RATIO = 1.0;
+
+    private final ObservableList<GameEntry> items = FXCollections.observableArrayList();
+    /** all the cells created, bound or spare */
+    private final ArrayList<GameButton> cells = new ArrayList<>();
+    /** cells currently bound to an item, by item */
+    private final IdentityHashMap<GameEntry, GameButton> boundCells = new IdentityHashMap<>();
+    private final ObservableList<GameButton> boundCellsList = FXCollections.observableArrayList();
+
+    private Callback<GameEntry, GameButton> cellFactory;
+    private Consumer<GameButton> onCellBound;
+
+    private ScrollPane scrollPane;
+    private final InvalidationListener viewportListener = observable -> requestLayout();
+
+    public VirtualTilePane() {
+        super();
+        items.addListener((ListChangeListener<GameEntry>) c -> requestLayout());
+        sceneProperty().addListener((observable, oldValue, newValue) -> setScrollPane(newValue == null ? null : findScrollPane()));
+        parentProperty().addListener((observable, oldValue, newValue) -> setScrollPane(getScene() == null ? null : findScrollPane()));
+    }
+
+    /**
+     * @return the games displayed, in order
+     */
+    public ObservableList<GameEntry> getItems() {
+        return items;
+    }
+
+    /**
+     * @param cellFactory creates a new cell, bound to the given entry
+     */
+    public void setCellFactory(Callback<GameEntry, GameButton> cellFactory) {
+        this.cellFactory = cellFactory;
+    }
+
+    /**
+     * @param onCellBound called each time a cell is created or bound to another entry
+     */
+    public void setOnCellBound(Consumer<GameButton> onCellBound) {
+        this.onCellBound = onCellBound;
+    }
+
+    /**
+     * @return the cells currently bound to an item, in no particular order
+     */
+    public ObservableList<GameButton> getBoundCells() {
+        return boundCellsList;
+    }
+
+    /**
+     * @return the cell bound to the given entry, or null if it is not close enough to the viewport to have one
+     */
+    public GameButton getCell(GameEntry entry) {
+        for (Map.Entry<GameEntry, GameButton> bound : boundCells.entrySet()) {
+            if (bound.getKey().getId() == entry.getId()) {
+                return bound.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the vertical center of the tile of the item at the given index, in the coordinates of this pane
+     */
+    public double getTileCenterY(int index) {
+        int columns = computeColumns(getWidth());
+        int row = index / columns;
+        return snappedTopInset() + row * (getTileHeight() + getVgap()) + getTileHeight() / 2;
+    }
+
+    private ScrollPane findScrollPane() {
+        for (Parent parent = getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof ScrollPane) {
+                return (ScrollPane) parent;
+            }
+        }
+        return null;
+    }
+
+    private void setScrollPane(ScrollPane scrollPane) {
+        if (this.scrollPane == scrollPane) {
+            return;
+        }
+        if (this.scrollPane != null) {
+            this.scrollPane.vvalueProperty().removeListener(viewportListener);
+            this.scrollPane.viewportBoundsProperty().removeListener(viewportListener);
+        }
+        this.scrollPane = scrollPane;
+        if (scrollPane != null) {
+            scrollPane.vvalueProperty().addListener(viewportListener);
+            scrollPane.viewportBoundsProperty().addListener(viewportListener);
+        }
+        requestLayout();
+    }
+
+    private int computeColumns(double width) {
+        double contentWidth = width - snappedLeftInset() - snappedRightInset();
+        return Math.max(1, (int) ((contentWidth + getHgap()) / (getTileWidth() + getHgap())));
+    }
+
+    private int computeRows(int columns) {
+        return (items.size() + columns - 1) / columns;
+    }
+
+    private double computeContentHeight(int rows) {
+        return rows == 0 ? 0 : rows * getTileHeight() + (rows - 1) * getVgap();
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        Insets insets = getInsets();
+        int columns = Math.max(1, getPrefColumns());
+        return snapSpace(insets.getLeft()) + columns * getTileWidth() + (columns - 1) * getHgap() + snapSpace(insets.getRight());
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets insets = getInsets();
+        int columns = width == -1 ? Math.max(1, getPrefColumns()) : computeColumns(width);
+        return snapSpace(insets.getTop()) + computeContentHeight(computeRows(columns)) + snapSpace(insets.getBottom());
+    }
+
+    @Override
+    protected void layoutChildren() {
+        int columns = computeColumns(getWidth());
+        double tileWidth = getTileWidth();
+        double tileHeight = getTileHeight();
+        double rowHeight = tileHeight + getVgap();
+        double top = snappedTopInset();
+        double left = snappedLeftInset();
+
+        int firstIndex = 0;
+        int lastIndex = items.size();
+        Bounds viewport = getViewportBounds();
+        if (viewport != null) {
+            double buffer = viewport.getHeight() * BUFFER_RATIO;
+            int firstRow = (int) Math.floor((viewport.getMinY() - buffer - top) / rowHeight);
+            int lastRow = (int) Math.floor((viewport.getMaxY() + buffer - top) / rowHeight);
+            firstIndex = Math.max(0, firstRow * columns);
+            lastIndex = Math.max(0, Math.min(items.size(), (lastRow + 1) * columns));
+        }
+
+        //cells whose item is still displayed keep it, so that focus and covers are not lost
+        Set<GameEntry> displayed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = firstIndex; i < lastIndex; i++) {
+            displayed.add(items.get(i));
+        }
+        ArrayDeque<GameButton> spareCells = new ArrayDeque<>();
+        Iterator<Map.Entry<GameEntry, GameButton>> iterator = boundCells.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<GameEntry, GameButton> bound = iterator.next();
+            if (!displayed.contains(bound.getKey())) {
+                iterator.remove();
+                spareCells.add(bound.getValue());
+            }
+        }
+        for (GameButton cell : cells) {
+            if (!cell.isVisible()) {
+                spareCells.add(cell);
+            }
+        }
+
+        for (int i = firstIndex; i < lastIndex; i++) {
+            GameEntry entry = items.get(i);
+            GameButton cell = boundCells.get(entry);
+            if (cell == null) {
+                cell = spareCells.poll();
+                if (cell == null) {
+                    cell = cellFactory.call(entry);
+                    cells.add(cell);
+                    getChildren().add(cell);
+                    cell.applyCss();
+                } else {
+                    if (cell.getEntry().getId() != entry.getId()) {
+                        cell.clearCover();
+                    }
+                    cell.reloadWith(entry);
+                }
+                setCellShown(cell, true);
+                boundCells.put(entry, cell);
+                if (onCellBound != null) {
+                    onCellBound.accept(cell);
+                }
+            }
+            int row = i / columns;
+            int column = i % columns;
+            layoutInArea(cell, left + column * (tileWidth + getHgap()), top + row * rowHeight, tileWidth, tileHeight,
+                    0, getTileAlignment().getHpos(), getTileAlignment().getVpos());
+        }
+        for (GameButton cell : spareCells) {
+            setCellShown(cell, false);
+        }
+        boundCellsList.setAll(boundCells.values());
+    }
+
+    private static void setCellShown(GameButton cell, boolean shown) {
+        if (cell.isVisible() != shown) {
+            cell.setVisible(shown);
+            cell.setManaged(shown);
+            cell.setMouseTransparent(!shown);
+        }
+    }
+
+    /**
+     * @return the part of this pane visible in the viewport of the enclosing {@link ScrollPane}, in the coordinates of
+     * this pane, or null if there is none
+     */
+    private Bounds getViewportBounds() {
+        if (scrollPane == null || scrollPane.getScene() == null) {
+            return null;
+        }
+        return sceneToLocal(scrollPane.localToScene(scrollPane.getLayoutBounds()));
+    }
+}
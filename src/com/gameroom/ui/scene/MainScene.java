@@ -9,6 +9,7 @@ import com.gameroom.system.application.SupportService;
 import com.gameroom.system.application.settings.PredefinedSetting;
 import com.gameroom.ui.Main;
 import com.gameroom.ui.UIValues;
+import com.gameroom.ui.control.button.gamebutton.CoverLoader;
 import com.gameroom.ui.control.button.gamebutton.GameButton;
 import com.gameroom.ui.control.drawer.DrawerMenu;
 import com.gameroom.ui.control.drawer.GroupType;
@@ -32,7 +33,6 @@ import javafx.concurrent.Task;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
-import javafx.scene.Node;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
@@ -68,6 +68,7 @@ public class MainScene extends BaseScene {
 
     private VBox tilesPaneWrapper = new VBox();
     private ScrollPane scrollPane;
+    private CoverLoader coverLoader;
     private BorderPane wrappingPane;
     private Pane emptyMessagePane;
 
@@ -214,6 +215,7 @@ public class MainScene extends BaseScene {
         scrollPane.setFocusTraversable(false);
         scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
         scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.ALWAYS);
+        coverLoader = new CoverLoader(scrollPane);
 
         tilesPaneWrapper.setSpacing(5 * Main.SCREEN_HEIGHT / 1080);
         tilePane = new CoverTilePane(this, Main.getString("all_games"));
@@ -378,35 +380,6 @@ public class MainScene extends BaseScene {
 
             //will also sort by sortType so no double call here.
             groupBy(groupType);
-
-            /*ObjectBinding<Bounds> visibleBounds = Bindings.createObjectBinding(() -> {
-                Bounds viewportBounds = scrollPane.getViewportBounds();
-                Bounds viewportBoundsInScene = scrollPane.localToScene(viewportBounds);
-                Bounds viewportBoundsInPane = tilesPaneWrapper.sceneToLocal(viewportBoundsInScene);
-                return viewportBoundsInPane ;
-            }, scrollPane.hvalueProperty(), scrollPane.vvalueProperty(), scrollPane.viewportBoundsProperty());
-
-
-            FilteredList<GameButton> visibleNodes = new FilteredList<>(tilePane.getGameButtons());
-            visibleNodes.predicateProperty().bind(Bindings.createObjectBinding(() ->
-                            gameButton -> gameButton.getBoundsInParent().intersects(visibleBounds.get()),
-                    visibleBounds));
-
-
-            visibleNodes.addListener((ListChangeListener.Change<? extends GameButton> c) -> {
-                if(c.next()){
-                    c.getAddedSubList().forEach(o -> {
-                        o.clearCover();
-                        o.setCache(false);
-                        Main.LOGGER.debug("clearedCover: "+o.getEntry().getName());
-                    });
-                    c.getRemoved().forEach(o -> {
-                        o.showCover();
-                        Main.LOGGER.debug("showedCover: "+o.getEntry().getName());
-                    });
-                    System.out.println();
-                }
-            });*/
         });
         loadGamesTask.progressProperty().addListener((observable, oldValue, newValue) -> Platform.runLater(() -> {
             if (newValue.doubleValue() == 1.0) {
@@ -418,11 +391,16 @@ public class MainScene extends BaseScene {
         Main.getExecutorService().submit(loadGamesTask);
     }
 
-    public void centerGameButtonInScrollPane(Node n, GamesTilePane pane) {
+    /**
+     * Scrolls so that the given height of the tilePane of a {@link GamesTilePane} is at the center of the viewport
+     *
+     * @param y    the height to center, in the coordinates of the tilePane of the pane
+     * @param pane the pane
+     */
+    public void centerInScrollPane(double y, GamesTilePane pane) {
         //TODO fix here, input the right calculation to center gameButton
         double h = scrollPane.getContent().getBoundsInLocal().getHeight();
-        double y = pane.getBoundsInParent().getMinY() + (n.getBoundsInParent().getMaxY() +
-                n.getBoundsInParent().getMinY()) / 2.0;
+        y += pane.getBoundsInParent().getMinY() + pane.sceneToLocal(pane.getTilePane().localToScene(0, 0)).getY();
 
         double v = scrollPane.getViewportBounds().getHeight();
         scrollPane.setVvalue(scrollPane.getVmax() * ((y - 0.5 * v) / (h - v)));
@@ -875,6 +853,10 @@ public class MainScene extends BaseScene {
         return scrollPane;
     }
 
+    public CoverLoader getCoverLoader() {
+        return coverLoader;
+    }
+
     private void initKeyShortcuts() {
         addEventFilter(javafx.scene.input.KeyEvent.KEY_PRESSED, event -> {
             if (event.getCode() == KeyCode.ESCAPE) {
@@ -894,12 +876,7 @@ public class MainScene extends BaseScene {
     }
 
     public void reloadCovers() {
-        tilePane.getGameButtons().forEach(GameButton::showCover);
-        toAddTilePane.getGameButtons().forEach(GameButton::showCover);
-        recentlyAddedTilePane.getGameButtons().forEach(GameButton::showCover);
-        lastPlayedTilePane.getGameButtons().forEach(GameButton::showCover);
-        groupRowList.forEach(groupRowTilePane -> groupRowTilePane.getGameButtons().forEach(GameButton::showCover));
-
+        coverLoader.reloadAll();
     }
 
     public void reloadLauncherLogos() {
@@ -912,7 +889,7 @@ public class MainScene extends BaseScene {
     }
 
     private void checkDisplayEmptyMessagePane() {
-        emptyMessagePane.setVisible(tilePane.getGameButtons().isEmpty() && toAddTilePane.getGameButtons().isEmpty());
+        emptyMessagePane.setVisible(tilePane.getEntries().isEmpty() && toAddTilePane.getEntries().isEmpty());
     }
 
     private Pane getEmptyMessagePane() {
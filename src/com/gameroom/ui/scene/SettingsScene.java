@@ -1,6 +1,5 @@
 package com.gameroom.ui.scene;
 
-import com.mashape.unirest.http.exceptions.UnirestException;
 import com.gameroom.data.game.GameWatcher;
 import com.gameroom.data.game.entry.GameEntry;
 import com.gameroom.data.game.scanner.ScanPeriod;
@@ -380,7 +379,7 @@ public class SettingsScene extends BaseScene {
                     } else {
                         Main.LOGGER.error("Error while trying to deactivate key : " + (response!=null ? response.toString(4) : "null"));
                     }
-                } catch (IOException | UnirestException e) {
+                } catch (IOException e) {
                     e.printStackTrace();
                 }
             } else {
@@ -972,7 +971,7 @@ public class SettingsScene extends BaseScene {
                                 break;
                         }
                     }
-                } catch (IOException | UnirestException e1) {
+                } catch (IOException e1) {
                     e1.printStackTrace();
                 }
             }
@@ -152,6 +152,44 @@ CREATE TABLE IF NOT EXISTS GameScanners (
 	enabled integer default 0
 );
 
+CREATE TABLE IF NOT EXISTS SteamAppCache (
+	app_id integer PRIMARY KEY,
+	found integer default 0,
+	type text,
+	name text,
+	description text,
+	release_date text,
+	etag text,
+	last_modified text,
+	fetch_date integer
+);
+
+CREATE TABLE IF NOT EXISTS IGDBCache (
+	request_key text PRIMARY KEY,
+	endpoint text,
+	response text,
+	fetch_date integer
+);
+
+CREATE TABLE IF NOT EXISTS PlaySessionStandby (
+	session_id integer,
+	start_date integer,
+	end_date integer,
+	PRIMARY KEY (session_id, start_date),
+	FOREIGN KEY(session_id) REFERENCES PlaySession(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS PlayTimeDaily (
+	game_id integer,
+	day integer,
+	time_played_seconds integer default 0,
+	session_count integer default 0,
+	PRIMARY KEY (game_id, day),
+	FOREIGN KEY(game_id) REFERENCES GameEntry(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS PlayTimeDaily_day ON PlayTimeDaily(day);
+
 INSERT OR REPLACE INTO GameTheme(igdb_id,name_key) VALUES 
 	(1,"action"),
 	(17,"fantasy"),
@@ -0,0 +1,5 @@
+BEGIN TRANSACTION;
+ALTER TABLE PlaySession ADD COLUMN heartbeat_date datetime;
+ALTER TABLE PlaySession ADD COLUMN end_date datetime;
+ALTER TABLE PlaySession ADD COLUMN base_playtime_seconds integer;
+COMMIT;
@@ -0,0 +1,112 @@
+package tests;
+
+import com.gameroom.data.http.images.BackgroundRenderer;
+import com.gameroom.data.io.FileUtils;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link BackgroundRenderer} renders a blurred background once per screenshot and window size
+ */
+public class BackgroundRendererTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(BackgroundRendererTest.class);
+    }
+
+    /**
+     * @return a screenshot whose left half is black and right half is white
+     */
+    private static File screenshot(File folder) throws IOException {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        for (int x = 200; x < 400; x++) {
+            for (int y = 0; y < 200; y++) {
+                image.setRGB(x, y, 0xFFFFFF);
+            }
+        }
+        File file = new File(folder, "screenshot.png");
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+
+    @Test
+    public final void testBackgroundIsRenderedOnce() throws IOException {
+        File folder = Files.createTempDirectory("backgrounds").toFile();
+        folder.deleteOnExit();
+        BackgroundRenderer renderer = new BackgroundRenderer(folder);
+        File screenshot = screenshot(folder);
+
+        File background = renderer.render(screenshot, 300, 150).join();
+        assertNotNull(background);
+        assertEquals(screenshot.lastModified(), background.lastModified());
+        BufferedImage image = ImageIO.read(background);
+        //window sizes are rounded up
+        assertEquals(256, image.getWidth());
+        assertEquals(128, image.getHeight());
+
+        long renderedAt = background.lastModified();
+        assertEquals(background, renderer.render(screenshot, 310, 160).join());
+        assertEquals(renderedAt, background.lastModified());
+        assertNotEquals(background, renderer.getBackgroundFile(screenshot, 1920, 1080));
+    }
+
+    @Test
+    public final void testBackgroundOutlivesCacheClear() throws IOException {
+        File folder = Files.createTempDirectory("gameroom").toFile();
+        folder.deleteOnExit();
+        File cache = new File(folder, "cache");
+        File imageCache = new File(folder, "pictures" + File.separator + "cache");
+        assertTrue(cache.mkdirs() && imageCache.mkdirs());
+        Main.FILES_MAP.put("cache", cache);
+        Main.FILES_MAP.put("image_cache", imageCache);
+
+        BackgroundRenderer renderer = new BackgroundRenderer(BackgroundRenderer.getDefaultFolder());
+        File screenshot = screenshot(folder);
+        File background = renderer.render(screenshot, 300, 150).join();
+        assertNotNull(background);
+        long renderedAt = background.lastModified();
+
+        //as done on exit
+        FileUtils.clearFolder(Main.FILES_MAP.get("cache"));
+        assertTrue(background.exists());
+        BackgroundRenderer restarted = new BackgroundRenderer(BackgroundRenderer.getDefaultFolder());
+        assertEquals(background, restarted.render(screenshot, 300, 150).join());
+        assertEquals(renderedAt, background.lastModified());
+    }
+
+    @Test
+    public final void testBlurSmoothsEdges() {
+        BufferedImage image = new BufferedImage(20, 4, BufferedImage.TYPE_INT_RGB);
+        for (int x = 10; x < 20; x++) {
+            for (int y = 0; y < 4; y++) {
+                image.setRGB(x, y, 0xFFFFFF);
+            }
+        }
+        BufferedImage blurred = BackgroundRenderer.blur(image, 6);
+        int left = blurred.getRGB(9, 2) & 0xFF;
+        int right = blurred.getRGB(10, 2) & 0xFF;
+        assertTrue(left > 0 && left < 128);
+        assertTrue(right > 128 && right < 255);
+        //edges are extended rather than faded to black
+        assertEquals(255, blurred.getRGB(19, 0) & 0xFF);
+        assertEquals(0, blurred.getRGB(0, 3) & 0xFF);
+    }
+
+    @Test
+    public final void testUnreadableScreenshotIsNotRendered() throws IOException {
+        File folder = Files.createTempDirectory("backgrounds").toFile();
+        folder.deleteOnExit();
+        assertNull(new BackgroundRenderer(folder).render(new File(folder, "missing.png"), 300, 150).join());
+    }
+}
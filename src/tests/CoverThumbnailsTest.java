@@ -0,0 +1,116 @@
+package tests;
+
+import com.gameroom.data.http.images.CoverThumbnails;
+import com.gameroom.ui.Main;
+import com.gameroom.ui.control.button.gamebutton.GameButton;
+import org.apache.logging.log4j.LogManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the sizes of the thumbnails generated by {@link CoverThumbnails}, and that outdated ones are generated again
+ */
+public class CoverThumbnailsTest {
+    private File folder;
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(CoverThumbnailsTest.class);
+    }
+
+    @Before
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("covers").toFile();
+    }
+
+    @After
+    public void deleteFolder() {
+        File thumbnails = new File(folder, "thumbnails");
+        File[] files = thumbnails.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        thumbnails.delete();
+        File[] covers = folder.listFiles();
+        if (covers != null) {
+            for (File file : covers) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private File cover(String name, int width, int height) throws IOException {
+        File cover = new File(folder, name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", cover);
+        return cover;
+    }
+
+    @Test
+    public final void testLevels() {
+        assertEquals(128, CoverThumbnails.getLevel(128, 128 * GameButton.COVER_HEIGHT_WIDTH_RATIO));
+        assertEquals(256, CoverThumbnails.getLevel(129, 100));
+        assertEquals(256, CoverThumbnails.getLevel(100, 200));
+        assertEquals(512, CoverThumbnails.getLevel(400, 566));
+        assertEquals(-1, CoverThumbnails.getLevel(600, 850));
+    }
+
+    @Test
+    public final void testThumbnailsCoverTheirLevel() throws IOException {
+        File cover = cover("1.png", 600, 850);
+        new CoverThumbnails().generate(cover);
+
+        for (int level : CoverThumbnails.LEVELS) {
+            File thumbnail = CoverThumbnails.getThumbnailFile(cover, level);
+            BufferedImage image = ImageIO.read(thumbnail);
+            assertNotNull(image);
+            assertTrue(image.getWidth() >= level);
+            assertTrue(image.getHeight() >= level * GameButton.COVER_HEIGHT_WIDTH_RATIO);
+            assertTrue(image.getWidth() <= level + 1 || image.getHeight() <= level * GameButton.COVER_HEIGHT_WIDTH_RATIO + 1);
+            assertEquals(cover.lastModified(), thumbnail.lastModified());
+        }
+    }
+
+    @Test
+    public final void testSmallCoversAreNotUpscaled() throws IOException {
+        File cover = cover("2.png", 200, 280);
+        new CoverThumbnails().generate(cover);
+
+        BufferedImage image = ImageIO.read(CoverThumbnails.getThumbnailFile(cover, 512));
+        assertEquals(200, image.getWidth());
+        assertEquals(280, image.getHeight());
+    }
+
+    @Test
+    public final void testOutdatedThumbnailsAreGeneratedAgain() throws Exception {
+        CoverThumbnails thumbnails = new CoverThumbnails();
+        File cover = cover("3.png", 600, 850);
+        File thumbnail = CoverThumbnails.getThumbnailFile(cover, 256);
+
+        assertEquals(cover, thumbnails.getThumbnail(cover, 200, 280));
+        thumbnails.regenerate(cover).get(10, TimeUnit.SECONDS);
+        assertEquals(thumbnail, thumbnails.getThumbnail(cover, 200, 280));
+
+        assertTrue(cover.setLastModified(cover.lastModified() + 10000));
+        assertEquals(cover, thumbnails.getThumbnail(cover, 200, 280));
+        thumbnails.regenerate(cover).get(10, TimeUnit.SECONDS);
+        assertEquals(thumbnail, thumbnails.getThumbnail(cover, 200, 280));
+
+        assertTrue(cover.delete());
+        thumbnails.regenerate(cover).get(10, TimeUnit.SECONDS);
+        assertFalse(thumbnail.exists());
+    }
+}
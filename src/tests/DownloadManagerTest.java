@@ -0,0 +1,133 @@
+package tests;
+
+import com.gameroom.data.http.DownloadManager;
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.ui.Main;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link DownloadManager} against a local server
+ */
+public class DownloadManagerTest {
+    private static HttpServer server;
+    private static final AtomicInteger COVER_CALLS = new AtomicInteger();
+    private static final CountDownLatch RELEASE_COVER = new CountDownLatch(1);
+    private static final AtomicInteger SCREENSHOT_CALLS = new AtomicInteger();
+    private static final CountDownLatch RELEASE_SCREENSHOT = new CountDownLatch(1);
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Main.LOGGER = LogManager.getLogger(DownloadManagerTest.class);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/cover.jpg", exchange -> {
+            COVER_CALLS.incrementAndGet();
+            try {
+                RELEASE_COVER.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            respond(exchange, 200, "image/jpeg", "cover");
+        });
+        server.createContext("/screenshot.jpg", exchange -> {
+            SCREENSHOT_CALLS.incrementAndGet();
+            try {
+                RELEASE_SCREENSHOT.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            respond(exchange, 200, "image/jpeg", "screenshot");
+        });
+        server.createContext("/small.jpg", exchange -> respond(exchange, 200, "image/jpeg", "small"));
+        server.createContext("/missing.jpg", exchange -> respond(exchange, 404, "text/plain", "not found"));
+        server.start();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static File tempFile() throws IOException {
+        File file = File.createTempFile("download", ".jpg");
+        file.deleteOnExit();
+        return file;
+    }
+
+    @Test
+    public final void testSameURLIsDownloadedOnce() throws Exception {
+        DownloadManager manager = new DownloadManager(new HTTPClient());
+        File file = tempFile();
+        CompletableFuture<File> first = manager.download(url("/cover.jpg"), file, "image/");
+        CompletableFuture<File> second = manager.download(url("/cover.jpg"), file, "image/");
+        assertSame(first, second);
+        assertEquals(1, manager.getDownloadsInProgress());
+        RELEASE_COVER.countDown();
+
+        assertEquals(file, HTTPClient.await(first));
+        assertEquals("cover", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, COVER_CALLS.get());
+        assertEquals(0, manager.getDownloadsInProgress());
+    }
+
+    @Test
+    public final void testJoinedDownloadIsCopiedToItsFile() throws Exception {
+        DownloadManager manager = new DownloadManager(new HTTPClient());
+        File firstFile = tempFile();
+        File secondFile = tempFile();
+        CompletableFuture<File> first = manager.download(url("/screenshot.jpg"), firstFile, "image/");
+        CompletableFuture<File> second = manager.download(url("/screenshot.jpg"), secondFile, "image/");
+        assertEquals(1, manager.getDownloadsInProgress());
+        RELEASE_SCREENSHOT.countDown();
+
+        assertEquals(firstFile, HTTPClient.await(first));
+        assertEquals(secondFile, HTTPClient.await(second));
+        assertEquals("screenshot", new String(Files.readAllBytes(firstFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals("screenshot", new String(Files.readAllBytes(secondFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, SCREENSHOT_CALLS.get());
+    }
+
+    @Test
+    public final void testAlternativeURLsAreTriedInOrder() throws IOException {
+        DownloadManager manager = new DownloadManager(new HTTPClient());
+        File file = tempFile();
+        HTTPClient.await(manager.downloadFirst(file, "image/", url("/missing.jpg"), url("/small.jpg")));
+        assertEquals("small", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+        try {
+            HTTPClient.await(manager.downloadFirst(tempFile(), "image/", url("/missing.jpg")));
+            fail("Expected an IOException");
+        } catch (IOException ignored) {
+        }
+    }
+}
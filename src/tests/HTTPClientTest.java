@@ -0,0 +1,180 @@
+package tests;
+
+import com.gameroom.data.http.HTTPClient;
+import com.gameroom.data.http.HTTPException;
+import com.gameroom.data.http.HTTPMetrics;
+import com.gameroom.data.http.HTTPResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link HTTPClient} against a local server
+ */
+public class HTTPClientTest {
+    private static HttpServer server;
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+    private static final AtomicInteger FLAKY_CALLS = new AtomicInteger();
+    private static final AtomicInteger MISSING_CALLS = new AtomicInteger();
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            RUNNING.decrementAndGet();
+            respond(exchange, 200, "ok");
+        });
+        server.createContext("/flaky", exchange -> {
+            if (FLAKY_CALLS.incrementAndGet() < 3) {
+                respond(exchange, 503, "busy");
+            } else {
+                respond(exchange, 200, "finally");
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            MISSING_CALLS.incrementAndGet();
+            respond(exchange, 404, "not found");
+        });
+        server.createContext("/echo", exchange -> {
+            String body;
+            try (InputStream input = exchange.getRequestBody()) {
+                body = new String(readAll(input), StandardCharsets.UTF_8);
+            }
+            respond(exchange, 200, exchange.getRequestMethod() + " " + body);
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        java.io.ByteArrayOutputStream output = new java.io.ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    private static String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    public final void testConcurrencyIsCappedPerHost() throws IOException {
+        HTTPClient client = new HTTPClient();
+        client.setMaxConnections("127.0.0.1", 2);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(client.get(url("/slow")).asString());
+        }
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("ok", HTTPClient.await(future));
+        }
+        assertTrue("at most 2 requests should run at once", MAX_RUNNING.get() <= 2);
+        assertEquals(8, client.getMetrics().get("127.0.0.1").getAttempts());
+    }
+
+    @Test
+    public final void testServerErrorsAreRetried() throws IOException {
+        HTTPClient client = new HTTPClient();
+        assertEquals("finally", HTTPClient.await(client.get(url("/flaky")).retries(2).asString()));
+        HTTPMetrics.HostMetrics metrics = client.getMetrics().get("127.0.0.1");
+        assertEquals(3, metrics.getAttempts());
+        assertEquals(2, metrics.getRetries());
+        assertEquals(2, metrics.getFailures());
+    }
+
+    @Test
+    public final void testClientErrorsAreNotRetried() throws IOException {
+        HTTPClient client = new HTTPClient();
+        HTTPResponse response = HTTPClient.await(client.get(url("/missing")).send());
+        assertEquals(404, response.getStatus());
+        assertEquals("not found", response.getBodyAsString());
+        try {
+            HTTPClient.await(client.get(url("/missing")).asString());
+            fail("Expected a HTTPException");
+        } catch (HTTPException e) {
+            assertEquals(404, e.getStatus());
+        }
+        assertEquals(2, MISSING_CALLS.get());
+    }
+
+    @Test
+    public final void testPostFields() throws IOException {
+        HTTPResponse response = HTTPClient.await(new HTTPClient().post(url("/echo"))
+                .field("name", "Half-Life 2")
+                .field("id", "220")
+                .send());
+        assertEquals("POST name=Half-Life+2&id=220", response.getBodyAsString());
+        assertEquals("text/plain; charset=utf-8", response.getHeader("content-type"));
+    }
+
+    @Test
+    public final void testDownload() throws IOException {
+        File file = File.createTempFile("download", ".txt");
+        file.deleteOnExit();
+        long[] progress = new long[2];
+        HTTPClient.await(new HTTPClient().get(url("/slow")).download(file, (downloaded, total) -> {
+            progress[0] = downloaded;
+            progress[1] = total;
+        }));
+        assertEquals("ok", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(2, progress[0]);
+        assertEquals(2, progress[1]);
+    }
+
+    @Test
+    public final void testUnexpectedContentTypeIsNotWritten() throws IOException {
+        File file = File.createTempFile("download", ".jpg");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+        try {
+            HTTPClient.await(new HTTPClient().get(url("/slow")).expectContentType("image/").download(file, null));
+            fail("Expected a HTTPException");
+        } catch (HTTPException e) {
+            assertEquals(200, e.getStatus());
+        }
+        assertEquals("previous", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        File[] tempFiles = file.getParentFile().listFiles((dir, name) -> name.startsWith(file.getName() + ".")
+                && name.endsWith(HTTPClient.TEMP_FILE_SUFFIX));
+        assertEquals(0, tempFiles.length);
+    }
+}
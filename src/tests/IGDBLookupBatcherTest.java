@@ -0,0 +1,115 @@
+package tests;
+
+import com.gameroom.data.game.scraper.IGDBLookupBatcher;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link IGDBLookupBatcher} merges the lookups of concurrent participants, with fetchers standing for the
+ * API server
+ */
+public class IGDBLookupBatcherTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(IGDBLookupBatcherTest.class);
+    }
+
+    /**
+     * Answers with a named object for every id, recording the ids of every call
+     */
+    private static class RecordingFetcher implements IGDBLookupBatcher.Fetcher {
+        private final List<List<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public JSONArray fetch(Collection<Integer> ids) {
+            calls.add(new ArrayList<>(ids));
+            JSONArray array = new JSONArray();
+            for (Integer id : ids) {
+                array.put(new JSONObject().put("id", id).put("name", "name" + id));
+            }
+            return array;
+        }
+    }
+
+    @Test
+    public final void testIdsAreDeduplicatedAcrossParticipants() throws Exception {
+        RecordingFetcher companies = new RecordingFetcher();
+        RecordingFetcher series = new RecordingFetcher();
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(3, companies, series);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        List<Future<IGDBLookupBatcher.Lookup>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> batcher.lookup(Arrays.asList(1, 2), Collections.singletonList(10))));
+        futures.add(executor.submit(() -> batcher.lookup(Arrays.asList(2, 3), Collections.singletonList(10))));
+        futures.add(executor.submit(() -> batcher.lookup(Arrays.asList(1, 3, 4), Collections.emptyList())));
+
+        List<IGDBLookupBatcher.Lookup> lookups = new ArrayList<>();
+        for (Future<IGDBLookupBatcher.Lookup> future : futures) {
+            lookups.add(future.get(1, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, companies.calls.size());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), new HashSet<>(companies.calls.get(0)));
+        assertEquals(1, series.calls.size());
+        assertEquals(Collections.singletonList(10), series.calls.get(0));
+
+        assertEquals(2, lookups.get(0).getCompaniesData().length());
+        assertEquals(1, lookups.get(1).getSeriesData().length());
+        assertEquals("name4", lookups.get(2).getCompaniesData().getJSONObject(2).getString("name"));
+        assertEquals(0, lookups.get(2).getSeriesData().length());
+    }
+
+    @Test
+    public final void testLeavingParticipantsAreNotWaitedFor() throws Exception {
+        RecordingFetcher companies = new RecordingFetcher();
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(2, companies, new RecordingFetcher());
+
+        Future<IGDBLookupBatcher.Lookup> future = Executors.newSingleThreadExecutor()
+                .submit(() -> batcher.lookup(Collections.singletonList(1), Collections.emptyList()));
+        Thread.sleep(100);
+        assertFalse("the other participant should be waited for", future.isDone());
+        assertTrue(companies.calls.isEmpty());
+
+        batcher.leave();
+        assertEquals(1, future.get(IGDBLookupBatcher.MAX_WAIT / 2, TimeUnit.MILLISECONDS).getCompaniesData().length());
+        assertEquals(1, batcher.getRequestCount());
+    }
+
+    @Test
+    public final void testLargeLookupsAreSplit() {
+        RecordingFetcher companies = new RecordingFetcher();
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(1, companies, new RecordingFetcher());
+        ArrayList<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < IGDBLookupBatcher.MAX_BATCH_SIZE * 2 + 1; i++) {
+            ids.add(i);
+        }
+
+        IGDBLookupBatcher.Lookup lookup = batcher.lookup(ids, Collections.emptyList());
+        assertEquals(ids.size(), lookup.getCompaniesData().length());
+        assertEquals(3, companies.calls.size());
+        for (List<Integer> call : companies.calls) {
+            assertTrue(call.size() <= IGDBLookupBatcher.MAX_BATCH_SIZE);
+        }
+    }
+
+    @Test
+    public final void testFailedFetchesDoNotBlock() {
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(1, ids -> null, ids -> {
+            throw new IllegalStateException("server down");
+        });
+        IGDBLookupBatcher.Lookup lookup = batcher.lookup(Collections.singletonList(1), Collections.singletonList(2));
+        assertEquals(0, lookup.getCompaniesData().length());
+        assertEquals(0, lookup.getSeriesData().length());
+    }
+}
@@ -0,0 +1,129 @@
+package tests;
+
+import com.gameroom.data.game.scraper.IGDBResponseCache;
+import com.gameroom.data.io.DataBase;
+import com.gameroom.ui.Main;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import org.apache.logging.log4j.LogManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link IGDBResponseCache} with a temporary database, loaders standing for the API server
+ */
+public class IGDBResponseCacheTest {
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Main.LOGGER = LogManager.getLogger(IGDBResponseCacheTest.class);
+        File dbFile = File.createTempFile("library", ".db");
+        dbFile.deleteOnExit();
+        Main.FILES_MAP.put("db", dbFile);
+        DataBase.initDB();
+    }
+
+    private static JSONArray games(String name) {
+        return new JSONArray().put(new JSONObject().put("id", 1).put("name", name));
+    }
+
+    @Test
+    public final void testKeysAreNormalized() {
+        assertEquals(IGDBResponseCache.searchKey("Battlefield 1", false, 6), IGDBResponseCache.searchKey("  battlefield   1", false, 6));
+        assertNotEquals(IGDBResponseCache.searchKey("Battlefield 1", false, 6), IGDBResponseCache.searchKey("Battlefield 1", true, 6));
+        assertEquals(IGDBResponseCache.idsKey(Arrays.asList(3, 1, 2)), IGDBResponseCache.idsKey(Arrays.asList(1, 2, 3, 3)));
+    }
+
+    @Test
+    public final void testHitsAndPersistence() throws UnirestException {
+        AtomicInteger loads = new AtomicInteger();
+        IGDBResponseCache cache = new IGDBResponseCache();
+        String key = IGDBResponseCache.searchKey("Portal", false, -1);
+
+        JSONArray first = cache.get(IGDBResponseCache.Endpoint.SEARCH_GAME, key, () -> {
+            loads.incrementAndGet();
+            return games("Portal");
+        });
+        JSONArray second = cache.get(IGDBResponseCache.Endpoint.SEARCH_GAME, key, () -> {
+            loads.incrementAndGet();
+            return games("Portal");
+        });
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals("Portal", second.getJSONObject(0).getString("name"));
+        assertNotSame(first, second);
+
+        IGDBResponseCache reloaded = new IGDBResponseCache();
+        JSONArray third = reloaded.get(IGDBResponseCache.Endpoint.SEARCH_GAME, key, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        assertEquals(1, loads.get());
+        assertEquals(1, reloaded.getHitCount());
+        assertEquals("Portal", third.getJSONObject(0).getString("name"));
+    }
+
+    @Test
+    public final void testIdenticalRequestsAreCoalesced() throws Exception {
+        IGDBResponseCache cache = new IGDBResponseCache();
+        String key = IGDBResponseCache.idsKey(Arrays.asList(10, 20));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Future<JSONArray> loader = executor.submit(() -> cache.get(IGDBResponseCache.Endpoint.GET_COMPANIES, key, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return games("Valve");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<JSONArray> waiter1 = executor.submit(() -> cache.get(IGDBResponseCache.Endpoint.GET_COMPANIES, key, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        Future<JSONArray> waiter2 = executor.submit(() -> cache.get(IGDBResponseCache.Endpoint.GET_COMPANIES, key, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        while (cache.getCoalescedCount() < 2) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals("Valve", loader.get(5, TimeUnit.SECONDS).getJSONObject(0).getString("name"));
+        assertEquals("Valve", waiter1.get(5, TimeUnit.SECONDS).getJSONObject(0).getString("name"));
+        assertEquals("Valve", waiter2.get(5, TimeUnit.SECONDS).getJSONObject(0).getString("name"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMissCount());
+        executor.shutdownNow();
+    }
+
+    @Test
+    public final void testFailuresAreNotCached() throws UnirestException {
+        IGDBResponseCache cache = new IGDBResponseCache();
+        String key = IGDBResponseCache.idsKey(Arrays.asList(99));
+        try {
+            cache.get(IGDBResponseCache.Endpoint.GET_GAMES, key, () -> {
+                throw new UnirestException("server down");
+            });
+            fail("Expected the loader exception");
+        } catch (UnirestException ignored) {
+        }
+        JSONArray data = cache.get(IGDBResponseCache.Endpoint.GET_GAMES, key, () -> games("Half-Life"));
+        assertEquals("Half-Life", data.getJSONObject(0).getString("name"));
+        assertEquals(2, cache.getMissCount());
+    }
+}
@@ -0,0 +1,88 @@
+package tests;
+
+import com.gameroom.data.game.scraper.IGDBTitleIndex;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link IGDBTitleIndex} resolves names of found games only when it is confident about the game
+ */
+public class IGDBTitleIndexTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(IGDBTitleIndexTest.class);
+    }
+
+    private static IGDBTitleIndex index() {
+        IGDBTitleIndex index = new IGDBTitleIndex();
+        index.addGame(new JSONObject().put("id", 1942).put("name", "The Witcher 3: Wild Hunt")
+                .put("alternative_names", new JSONArray().put(new JSONObject().put("name", "Wiedzmin 3: Dziki Gon"))));
+        index.addGame(new JSONObject().put("id", 478).put("name", "The Witcher 2: Assassins of Kings"));
+        index.addGame(new JSONObject().put("id", 72).put("name", "Portal 2"));
+        index.addGame(new JSONObject().put("id", 71).put("name", "Portal"));
+        index.addTitle("Hollow Knight", 14593);
+        index.addTitle("Assassin's Creed II", 127);
+        index.addTitle("Sid Meier's Civilization V", 2134);
+        index.addTitle("Doom", 7351);
+        index.addTitle("Doom", 673);
+        return index;
+    }
+
+    @Test
+    public final void testExactTitles() {
+        IGDBTitleIndex index = index();
+        IGDBTitleIndex.Match match = index.resolve("the witcher 3 - wild hunt");
+        assertNotNull(match);
+        assertEquals(1942, match.getIgdbId());
+        assertEquals(1.0, match.getConfidence(), 0);
+        assertEquals("The Witcher 3: Wild Hunt", match.getGameData().getString("name"));
+
+        assertEquals(1942, index.resolve("Wiedzmin 3: Dziki Gon").getIgdbId());
+        assertEquals(71, index.resolve("Portal").getIgdbId());
+        assertEquals(72, index.resolve("Portal 2 (x64)").getIgdbId());
+    }
+
+    @Test
+    public final void testTitlesOnlyKnownFromDB() {
+        IGDBTitleIndex.Match match = index().resolve("Hollow Knight");
+        assertNotNull(match);
+        assertEquals(14593, match.getIgdbId());
+        assertNull(match.getGameData());
+    }
+
+    @Test
+    public final void testCloseTitles() {
+        IGDBTitleIndex.Match match = index().resolve("The Witcher 3 Wild Hunts");
+        assertNotNull(match);
+        assertEquals(1942, match.getIgdbId());
+        assertTrue(match.getConfidence() >= IGDBTitleIndex.MIN_CONFIDENCE && match.getConfidence() < 1);
+    }
+
+    @Test
+    public final void testUnknownSequelsAndAmbiguousTitlesAreNotResolved() {
+        IGDBTitleIndex index = index();
+        assertNull(index.resolve("The Witcher 4: Wild Hunt"));
+        assertNull(index.resolve("Portal 3"));
+        assertNull(index.resolve("Hollow Knight: Silksong"));
+        assertNull(index.resolve("Doom"));
+        assertNull(index.resolve("Celeste"));
+        assertNull(index.resolve("(x64)"));
+    }
+
+    @Test
+    public final void testRomanNumeralsAreNumbers() {
+        IGDBTitleIndex index = index();
+        assertNull(index.resolve("Assassin's Creed III"));
+        assertNull(index.resolve("Sid Meier's Civilization VI"));
+        assertEquals(127, index.resolve("Assassins Creed II").getIgdbId());
+        assertEquals(2134, index.resolve("Sid Meiers Civilization V").getIgdbId());
+        assertEquals(2134, index.resolve("Sid Meier's Civilization 5").getIgdbId());
+    }
+}
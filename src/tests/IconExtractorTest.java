@@ -0,0 +1,106 @@
+package tests;
+
+import com.gameroom.data.http.images.FileThumbnails;
+import com.gameroom.system.os.IconExtractor;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reads the icons of the sample executables and icon files in tests/fixtures/icons. Sample.exe has a first icon group
+ * made of a red 16x16 bitmap and a blue 48x48 PNG, then a second group made of a green 256x256 PNG. Sample.ico has a
+ * 16x16 palette bitmap whose left half is masked, and a blue 32x32 bitmap.
+ */
+public class IconExtractorTest {
+    private final static int RED = 0xFFFF0000;
+    private final static int GREEN = 0xFF00FF00;
+    private final static int BLUE = 0xFF0000FF;
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(IconExtractorTest.class);
+    }
+
+    private static File fixture(String name) throws URISyntaxException {
+        return Paths.get(IconExtractorTest.class.getResource("/tests/fixtures/icons/" + name).toURI()).toFile();
+    }
+
+    private static int center(BufferedImage image) {
+        return image.getRGB(image.getWidth() / 2, image.getHeight() / 2);
+    }
+
+    @Test
+    public final void testBestImageOfFirstGroupIsRead() throws Exception {
+        BufferedImage small = IconExtractor.extract(fixture("Sample.exe"), 16);
+        assertEquals(16, small.getWidth());
+        assertEquals(RED, center(small));
+
+        //the 48x48 image is scaled down rather than the 16x16 one up, and the second group is ignored
+        BufferedImage medium = IconExtractor.extract(fixture("Sample.exe"), 32);
+        assertEquals(32, medium.getWidth());
+        assertEquals(32, medium.getHeight());
+        assertEquals(BLUE, center(medium));
+
+        BufferedImage big = IconExtractor.extract(fixture("Sample.exe"), 256);
+        assertEquals(256, big.getWidth());
+        assertNotEquals(GREEN, center(big));
+    }
+
+    @Test
+    public final void test64BitsExecutable() throws Exception {
+        assertEquals(BLUE, center(IconExtractor.extract(fixture("Sample64.exe"), 32)));
+    }
+
+    @Test
+    public final void testExecutableWithoutIcon() throws Exception {
+        assertNull(IconExtractor.extract(fixture("NoIcon.exe"), 32));
+        try {
+            IconExtractor.extract(fixture("../msstore/Game/Launcher.exe"), 32);
+            fail("Expected an IOException for an empty file");
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    public final void testIconFile() throws Exception {
+        BufferedImage icon = IconExtractor.extract(fixture("Sample.ico"), 32);
+        assertEquals(BLUE, center(icon));
+
+        BufferedImage masked = IconExtractor.extract(fixture("Sample.ico"), 16);
+        assertEquals(0, masked.getRGB(2, 8) >>> 24);
+        assertEquals(GREEN, masked.getRGB(12, 8));
+    }
+
+    @Test
+    public final void testThumbnailsAreCached() throws Exception {
+        File folder = Files.createTempDirectory("thumbnails").toFile();
+        folder.deleteOnExit();
+        FileThumbnails thumbnails = new FileThumbnails(folder);
+        File executable = new File(folder, "Game.exe");
+        executable.deleteOnExit();
+        Files.copy(fixture("Sample.exe").toPath(), executable.toPath());
+
+        File thumbnail = thumbnails.getThumbnail(executable, 32).join();
+        assertNotNull(thumbnail);
+        thumbnail.deleteOnExit();
+        assertEquals(executable.lastModified(), thumbnail.lastModified());
+        assertTrue(thumbnails.getThumbnail(executable, 32).isDone());
+
+        //outdated once the executable changes
+        assertTrue(executable.setLastModified(executable.lastModified() + 2000));
+        assertEquals(thumbnail, thumbnails.getThumbnail(executable, 32).join());
+        assertEquals(executable.lastModified(), thumbnail.lastModified());
+
+        assertNull(thumbnails.getThumbnail(executable, 33).join());
+    }
+}
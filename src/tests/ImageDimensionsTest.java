@@ -0,0 +1,56 @@
+package tests;
+
+import com.gameroom.data.http.images.ImageDimensions;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link ImageDimensions} reads the header of an image once, and again only once it is modified
+ */
+public class ImageDimensionsTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(ImageDimensionsTest.class);
+    }
+
+    private static File image(int width, int height) throws IOException {
+        File file = File.createTempFile("image", ".png");
+        file.deleteOnExit();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+        return file;
+    }
+
+    @Test
+    public final void testDimensionsAreRead() throws IOException {
+        ImageDimensions cache = new ImageDimensions();
+        ImageDimensions.Dimensions dimensions = cache.get(image(90, 127));
+        assertEquals(90, dimensions.getWidth());
+        assertEquals(127, dimensions.getHeight());
+        assertEquals("image/png", dimensions.getMimeType());
+        assertNull(cache.get(new File("missing.png")));
+    }
+
+    @Test
+    public final void testRecordedDimensionsAreKeptUntilModified() throws IOException {
+        ImageDimensions cache = new ImageDimensions();
+        File file = image(90, 127);
+        cache.record(file, 10, 20, "image/png");
+        assertEquals(10, cache.get(file).getWidth());
+
+        ImageIO.write(new BufferedImage(30, 40, BufferedImage.TYPE_INT_RGB), "png", file);
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+        assertEquals(30, cache.get(file).getWidth());
+        assertEquals(40, cache.get(file).getHeight());
+        assertEquals(1, cache.size());
+    }
+}
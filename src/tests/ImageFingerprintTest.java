@@ -0,0 +1,34 @@
+package tests;
+
+import com.gameroom.data.http.images.ImageFingerprint;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link ImageFingerprint}s identify images by their source
+ */
+public class ImageFingerprintTest {
+
+    private static ImageFingerprint fingerprint(String path, long lastModified) {
+        return new ImageFingerprint(path, lastModified, 200, 280, false, true);
+    }
+
+    @Test
+    public final void testSameSourceIsSameImage() {
+        ImageFingerprint fingerprint = fingerprint("cover.jpg", 1);
+        assertEquals(fingerprint, fingerprint("cover.jpg", 1));
+        assertEquals(fingerprint.hashCode(), fingerprint("cover.jpg", 1).hashCode());
+    }
+
+    @Test
+    public final void testDifferentSourcesAreDifferentImages() {
+        ImageFingerprint fingerprint = fingerprint("cover.jpg", 1);
+        assertNotEquals(fingerprint, null);
+        assertNotEquals(fingerprint, fingerprint("cover.jpg", 2));
+        assertNotEquals(fingerprint, fingerprint("background.jpg", 1));
+        assertNotEquals(fingerprint, new ImageFingerprint("cover.jpg", 1, 200, 280, true, true));
+        assertNotEquals(fingerprint, new ImageFingerprint("cover.jpg", 1, 100, 140, false, true));
+        assertNotEquals(fingerprint, fingerprint("copy.jpg", 1));
+    }
+}
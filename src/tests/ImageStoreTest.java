@@ -0,0 +1,120 @@
+package tests;
+
+import com.gameroom.data.http.images.ImageStore;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link ImageStore} stores identical images once, and that garbage collection only deletes the images no
+ * file references anymore
+ */
+public class ImageStoreTest {
+    private File root;
+    private File covers;
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(ImageStoreTest.class);
+    }
+
+    @Before
+    public void createFolders() throws IOException {
+        root = Files.createTempDirectory("pictures").toFile();
+        covers = new File(root, "cover");
+        assertTrue(covers.mkdir());
+    }
+
+    @After
+    public void deleteFolders() throws IOException {
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private File image(String name, String content) throws IOException {
+        File file = new File(root, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private long countBlobs() throws IOException {
+        try (Stream<Path> paths = Files.walk(new File(root, "store").toPath())) {
+            return paths.filter(path -> path.toFile().isFile() && !path.toString().endsWith(".properties")).count();
+        }
+    }
+
+    @Test
+    public final void testIdenticalImagesAreStoredOnce() throws IOException {
+        ImageStore store = new ImageStore(root);
+        File first = store.store(image("a.jpg", "cover"), new File(covers, "1.jpg"));
+        File second = store.store(image("b.jpg", "cover"), new File(covers, "2.jpg"));
+        store.store(image("c.jpg", "other cover"), new File(covers, "3.jpg"));
+
+        assertEquals("cover", read(first));
+        assertEquals("cover", read(second));
+        assertEquals(store.getHash(first), store.getHash(second));
+        assertNotEquals(store.getHash(first), store.getHash(new File(covers, "3.jpg")));
+        assertEquals(2, countBlobs());
+    }
+
+    @Test
+    public final void testReplacingAnImage() throws IOException {
+        ImageStore store = new ImageStore(root);
+        File cover = store.store(image("a.jpg", "cover"), new File(covers, "1.jpg"));
+        store.store(image("b.jpg", "new cover"), cover);
+        assertEquals("new cover", read(cover));
+
+        store.collectGarbage();
+        assertEquals(1, countBlobs());
+        assertEquals("new cover", read(cover));
+    }
+
+    @Test
+    public final void testUnreferencedImagesAreCollected() throws IOException {
+        ImageStore store = new ImageStore(root);
+        File first = store.store(image("a.jpg", "cover"), new File(covers, "1.jpg"));
+        File second = store.store(image("b.jpg", "cover"), new File(covers, "2.jpg"));
+        File third = store.store(image("c.jpg", "other cover"), new File(covers, "3.jpg"));
+
+        store.release(first);
+        assertFalse(first.exists());
+        assertEquals(0, store.collectGarbage());
+
+        store.release(second);
+        //a file deleted without the store knowing is not a reference anymore either
+        assertTrue(third.delete());
+        assertEquals(2, store.collectGarbage());
+        assertEquals(0, countBlobs());
+    }
+
+    @Test
+    public final void testIndexIsSaved() throws IOException {
+        ImageStore store = new ImageStore(root);
+        File cover = store.store(image("a.jpg", "cover"), new File(covers, "1.jpg"));
+        String hash = store.getHash(cover);
+        store.saveIndex();
+
+        ImageStore reloaded = new ImageStore(root);
+        assertEquals(hash, reloaded.getHash(cover));
+        assertEquals(0, reloaded.collectGarbage());
+        assertEquals("cover", read(cover));
+    }
+}
@@ -0,0 +1,103 @@
+package tests;
+
+import com.gameroom.data.LevenshteinDistance;
+import com.gameroom.data.game.GameWatcher;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Compares {@link LevenshteinDistance#getClosestIndex(String, JSONArray, int)} with the previous way of matching, which
+ * normalized the searched name for every result and computed full distances. Run with the number of searches as first
+ * argument (defaults to 20000), each having 10 results.
+ */
+public class LevenshteinBenchmark {
+    private final static int ROUNDS = 5;
+    private final static int RESULTS_PER_SEARCH = 10;
+    private final static int MAX_DISTANCE = 10;
+    private final static String[] WORDS = {"Dark", "Souls", "Battlefield", "Witcher", "Wild", "Hunt", "Edition",
+            "Definitive", "Remastered", "Legends", "Origins", "Chronicles", "Assassin's", "Creed", "Fantasy", "II", "IV",
+            "Tom Clancy's", "Rainbow", "Six", "Siege", "Call", "of", "Duty", "Warfare"};
+
+    public static void main(String[] args) {
+        int searchCount = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Random random = new Random(42);
+        String[] names = new String[searchCount];
+        JSONArray[] results = new JSONArray[searchCount];
+        for (int i = 0; i < searchCount; i++) {
+            names[i] = randomTitle(random);
+            results[i] = new JSONArray();
+            for (int j = 0; j < RESULTS_PER_SEARCH; j++) {
+                //the searched title comes last, so that every result is compared
+                String title = j == RESULTS_PER_SEARCH - 1 ? names[i] : randomTitle(random);
+                results[i].put(new JSONObject().put("id", j).put("name", title));
+            }
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("legacy ", searchCount, () -> {
+                long checksum = 0;
+                for (int i = 0; i < searchCount; i++) {
+                    checksum += legacyClosestIndex(names[i], results[i]);
+                }
+                return checksum;
+            });
+            measure("bounded", searchCount, () -> {
+                long checksum = 0;
+                for (int i = 0; i < searchCount; i++) {
+                    checksum += LevenshteinDistance.getClosestIndex(names[i], results[i], MAX_DISTANCE);
+                }
+                return checksum;
+            });
+        }
+    }
+
+    /**
+     * Matching as done before, minus the early stop at the first result under the max distance, so that both compare
+     * the same number of results
+     */
+    private static int legacyClosestIndex(String searchedName, JSONArray searchResults) {
+        int minDistance = -1;
+        int jsonIndex = -1;
+        for (int i = 0; i < searchResults.length(); i++) {
+            String cleanName = GameWatcher.formatNameForComparison(searchResults.getJSONObject(i).getString("name"));
+            String cleanSearchedName = GameWatcher.formatNameForComparison(searchedName);
+            int distance = LevenshteinDistance.distance(cleanSearchedName, cleanName);
+            if (minDistance == -1 || distance < minDistance) {
+                minDistance = distance;
+                jsonIndex = i;
+            }
+        }
+        return minDistance < MAX_DISTANCE ? jsonIndex : -1;
+    }
+
+    private static void measure(String name, int searchCount, Run run) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long checksum = run.run();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.println(name + " : " + searchCount + " searches in " + elapsedMs + "ms, "
+                + (searchCount * 1000L / elapsedMs) + " searches/s, " + (allocated / searchCount) + " bytes/search (checksum " + checksum + ")");
+    }
+
+    private static String randomTitle(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(i == 2 && random.nextBoolean() ? ": " : " ");
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private interface Run {
+        long run();
+    }
+}
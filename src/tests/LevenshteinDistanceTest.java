@@ -0,0 +1,109 @@
+package tests;
+
+import com.gameroom.data.LevenshteinDistance;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link LevenshteinDistance}, and the matching of names found by scanners against IGDB search results stored
+ * in tests/fixtures/matching/launcher_names.tsv
+ */
+public class LevenshteinDistanceTest {
+
+    @Test
+    public final void testBoundedDistanceAgreesWithFullDistance() {
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            String a = randomString(random);
+            String b = random.nextBoolean() ? mutate(a, random) : randomString(random);
+            int distance = LevenshteinDistance.distance(a, b);
+            for (int max = 0; max <= 12; max++) {
+                int expected = distance <= max ? distance : max + 1;
+                assertEquals("\"" + a + "\" and \"" + b + "\" with max " + max, expected, LevenshteinDistance.boundedDistance(a, b, max));
+            }
+        }
+    }
+
+    @Test
+    public final void testBoundedDistanceEdgeCases() {
+        assertEquals(0, LevenshteinDistance.boundedDistance("", "", 0));
+        assertEquals(3, LevenshteinDistance.boundedDistance("", "abc", 5));
+        assertEquals(3, LevenshteinDistance.boundedDistance("abc", "", 2));
+        assertEquals(1, LevenshteinDistance.boundedDistance("portal", "portal2", 9));
+        assertEquals(10, LevenshteinDistance.boundedDistance("halflife2episodetwo", "halflife2", 9));
+    }
+
+    @Test
+    public final void testLauncherNamesMatchIGDBTitles() throws IOException {
+        int cases = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                LevenshteinDistanceTest.class.getResourceAsStream("/tests/fixtures/matching/launcher_names.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                JSONArray searchResults = new JSONArray();
+                int id = 0;
+                for (String title : columns[2].split(" \\| ")) {
+                    searchResults.put(new JSONObject().put("id", id++).put("name", title));
+                }
+
+                int index = LevenshteinDistance.getClosestIndex(columns[0], searchResults, 10);
+                String matched = index == -1 ? "-" : searchResults.getJSONObject(index).getString("name");
+                assertEquals("match of \"" + columns[0] + "\"", columns[1], matched);
+                cases++;
+            }
+        }
+        assertTrue(cases > 20);
+    }
+
+    @Test
+    public final void testNoResults() {
+        assertEquals(-1, LevenshteinDistance.getClosestIndex("Portal", null, 10));
+        assertEquals(-1, LevenshteinDistance.getClosestIndex("Portal", new JSONArray(), 10));
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(20);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(String s, Random random) {
+        StringBuilder builder = new StringBuilder(s);
+        int edits = random.nextInt(6);
+        for (int i = 0; i < edits; i++) {
+            int position = builder.length() == 0 ? 0 : random.nextInt(builder.length());
+            switch (random.nextInt(3)) {
+                case 0:
+                    builder.insert(position, (char) ('a' + random.nextInt(4)));
+                    break;
+                case 1:
+                    if (builder.length() > 0) {
+                        builder.deleteCharAt(position);
+                    }
+                    break;
+                default:
+                    if (builder.length() > 0) {
+                        builder.setCharAt(position, (char) ('a' + random.nextInt(4)));
+                    }
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package tests;
+
+import com.gameroom.data.game.scraper.AppxManifest;
+import com.gameroom.data.game.scraper.MSStoreScraper;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link AppxManifest} and {@link MSStoreScraper#readPackage(String, String)} against app folders stored in
+ * tests/fixtures/msstore
+ */
+public class MSStoreScraperTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(MSStoreScraperTest.class);
+    }
+
+    private static Path fixture(String name) throws URISyntaxException {
+        return Paths.get(MSStoreScraperTest.class.getResource("/tests/fixtures/msstore/" + name).toURI());
+    }
+
+    /**
+     * Copies a fixture app folder to a temporary folder, so that its files can be modified
+     */
+    private static File copyFixture(String name) throws IOException, URISyntaxException {
+        Path source = fixture(name);
+        Path target = Files.createTempDirectory("msstore");
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.equals(source)) {
+                    continue;
+                }
+                Files.copy(path, target.resolve(source.relativize(path).toString()));
+            }
+        }
+        return target.toFile();
+    }
+
+    @Test
+    public final void testReadManifest() throws IOException {
+        try (InputStream stream = MSStoreScraperTest.class.getResourceAsStream("/tests/fixtures/msstore/Game/AppxManifest.xml")) {
+            AppxManifest manifest = AppxManifest.read(stream);
+            assertEquals("Sample Game", manifest.getDisplayName());
+            assertEquals("Assets\\StoreLogo.png", manifest.getLogo());
+            assertEquals("SampleGameApp", manifest.getApplicationId());
+            assertEquals("Binaries\\SampleGame.exe", manifest.getExecutable());
+        }
+    }
+
+    @Test
+    public final void testReadPackage() throws Exception {
+        File folder = fixture("Game").toFile();
+        MSStoreScraper.MSStoreEntry entry = MSStoreScraper.readPackage("Contoso.SampleGame_8wekyb3d8bbwe", folder.getPath());
+        assertNotNull(entry);
+        assertEquals("Sample Game", entry.getName());
+        assertEquals("shell:AppsFolder\\Contoso.SampleGame_8wekyb3d8bbwe!SampleGameApp", entry.getStartCommand());
+        assertEquals(new File(folder, "Binaries" + File.separator + "SampleGame.exe").getAbsolutePath(), entry.getExecutableFilePath());
+        // the largest scaled variant is picked, StoreLogoOld.png is another icon
+        assertEquals("StoreLogo.scale-200.png", new File(entry.getIconPath()).getName());
+    }
+
+    @Test
+    public final void testExcludedPackages() throws Exception {
+        assertNull(MSStoreScraper.readPackage("Contoso.Utility_8wekyb3d8bbwe", fixture("ResourceApp").toString()));
+        assertNull(MSStoreScraper.readPackage("Microsoft.WindowsCalculator_8wekyb3d8bbwe", fixture("Game").toString()));
+        assertNull(MSStoreScraper.readPackage("Contoso.Missing_8wekyb3d8bbwe", fixture("Game").resolve("Missing").toString()));
+    }
+
+    @Test
+    public final void testEntriesAreCachedUntilManifestChanges() throws Exception {
+        File folder = copyFixture("Game");
+        File manifestFile = new File(folder, AppxManifest.FILE_NAME);
+        MSStoreScraper.MSStoreEntry first = MSStoreScraper.readPackage("Contoso.SampleGame_8wekyb3d8bbwe", folder.getPath());
+        assertSame(first, MSStoreScraper.readPackage("Contoso.SampleGame_8wekyb3d8bbwe", folder.getPath()));
+
+        String content = new String(Files.readAllBytes(manifestFile.toPath()), "UTF-8");
+        Files.write(manifestFile.toPath(), content.replace("Sample Game<", "Sample Game 2<").getBytes("UTF-8"));
+        assertTrue(manifestFile.setLastModified(manifestFile.lastModified() + 2000));
+
+        MSStoreScraper.MSStoreEntry second = MSStoreScraper.readPackage("Contoso.SampleGame_8wekyb3d8bbwe", folder.getPath());
+        assertNotSame(first, second);
+        assertEquals("Sample Game 2", second.getName());
+    }
+}
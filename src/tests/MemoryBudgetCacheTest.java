@@ -0,0 +1,110 @@
+package tests;
+
+import com.gameroom.data.http.images.MemoryBudgetCache;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the budget, eviction order, pinning and load coalescing of {@link MemoryBudgetCache}, with strings weighing
+ * their length
+ */
+public class MemoryBudgetCacheTest {
+
+    private static MemoryBudgetCache<String, String> cache(long budget) {
+        return new MemoryBudgetCache<>(budget, String::length);
+    }
+
+    @Test
+    public final void testLeastRecentlyUsedValuesAreEvicted() {
+        MemoryBudgetCache<String, String> cache = cache(10);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        assertEquals("aaaa", cache.get("a", () -> null));
+        cache.put("c", "cccc");
+
+        assertEquals(8, cache.getWeight());
+        assertNull(cache.getIfPresent("b"));
+        assertNotNull(cache.getIfPresent("a"));
+        assertNotNull(cache.getIfPresent("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public final void testPinnedValuesAreNotEvicted() {
+        MemoryBudgetCache<String, String> cache = cache(10);
+        cache.put("a", "aaaa");
+        assertTrue(cache.pin("a"));
+        assertFalse(cache.pin("missing"));
+        cache.put("b", "bbbb");
+        cache.put("c", "cccc");
+        cache.put("d", "dddd");
+        assertNotNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertNull(cache.getIfPresent("c"));
+
+        //pinned values may exceed the budget
+        cache.setBudget(2);
+        assertNotNull(cache.getIfPresent("a"));
+        assertEquals(4, cache.getWeight());
+
+        cache.unpin("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public final void testHitsAndMisses() {
+        MemoryBudgetCache<String, String> cache = cache(100);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("value", cache.get("key", () -> {
+                loads.incrementAndGet();
+                return "value";
+            }));
+        }
+        assertNull(cache.get("missing", () -> null));
+        assertNull(cache.getIfPresent("missing"));
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public final void testConcurrentLoadsAreCoalesced() throws Exception {
+        MemoryBudgetCache<String, String> cache = cache(100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "value";
+            }));
+            assertTrue(loading.await(1, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("value", first.get(1, TimeUnit.SECONDS));
+            assertEquals("value", second.get(1, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package tests;
+
+import com.gameroom.data.game.NameNormalizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Compares {@link NameNormalizer} with the chained replacements GameWatcher used to clean names, on generated names
+ * looking like the ones found by scanners. Run with the number of names as first argument (defaults to 100000). Both
+ * must give the same results on every name before they are timed, see also
+ * {@link NameNormalizerTest#testSameResultsAsLegacyChains()}.
+ */
+public class NameNormalizerBenchmark {
+    private final static int ROUNDS = 5;
+    private final static String[] WORDS = {"Dark", "Souls", "Witcher", "Wild", "Hunt", "Edition", "Definitive",
+            "Remastered", "Legends", "Origins", "Tom Clancy's", "Rainbow", "Six", "Siege", "II", "IV"};
+    private final static String[] SUFFIXES = {"", "", "", "\u00AE", " (GOG)", " [v1.0.3]", " x64", " 64 bit",
+            " for Windows 10", ".exe", " {beta}"};
+
+    public static void main(String[] args) {
+        int nameCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        String[] names = generateNames(nameCount);
+        NameNormalizer normalizer = NameNormalizer.getInstance();
+        for (String name : names) {
+            if (!legacyCleanName(name).equals(normalizer.clean(name))
+                    || !legacyFormatNameForComparison(name).equals(normalizer.formatForComparison(name))) {
+                throw new IllegalStateException("\"" + name + "\" is not cleaned as before");
+            }
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("legacy clean     ", nameCount, () -> {
+                long checksum = 0;
+                for (String name : names) {
+                    checksum += legacyCleanName(name).length();
+                }
+                return checksum;
+            });
+            measure("normalizer clean ", nameCount, () -> {
+                long checksum = 0;
+                for (String name : names) {
+                    checksum += normalizer.clean(name).length();
+                }
+                return checksum;
+            });
+            measure("legacy format    ", nameCount, () -> {
+                long checksum = 0;
+                for (String name : names) {
+                    checksum += legacyFormatNameForComparison(name).length();
+                }
+                return checksum;
+            });
+            measure("normalizer format", nameCount, () -> {
+                long checksum = 0;
+                for (String name : names) {
+                    checksum += normalizer.formatForComparison(name).length();
+                }
+                return checksum;
+            });
+        }
+    }
+
+    /**
+     * @return names made of random words and suffixes, always the same for a given count
+     */
+    static String[] generateNames(int nameCount) {
+        Random random = new Random(42);
+        String[] names = new String[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            StringBuilder builder = new StringBuilder();
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                builder.append(w == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            names[i] = builder.append(SUFFIXES[random.nextInt(SUFFIXES.length)]).toString();
+        }
+        return names;
+    }
+
+    static String legacyFormatNameForComparison(String name) {
+        return legacyCleanName(name).toLowerCase()
+                .replace(":", "")
+                .replace("-", "")
+                .replace("_", "")
+                .replace(".", "")
+                .replace("!", "")
+                .replace("?", "")
+                .replace(" ", "");
+    }
+
+    static String legacyCleanName(String name) {
+        return name.replace(".", " ")
+                .replace("\u00AE", "")//registered symbol
+                .replace("\u00A9", "")//copyright symbol
+                .replace("\u2122", "")//TM symbol
+                .replace("32bit", "")
+                .replace("32 bit", "")
+                .replace("64bit", "")
+                .replace("64 bit", "")
+                .replace("x86", "")
+                .replace("x64", "")
+                .replace("()", "")
+                .replaceAll("\\(.*\\)", "")
+                .replaceAll("\\[.*\\]", "")
+                .replaceAll("\\{.*\\}", "")
+                .replaceAll("for Windows 10", "")
+                .replaceAll("for Windows", "")
+                .trim();
+    }
+
+    private static void measure(String name, int nameCount, Run run) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long checksum = run.run();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.println(name + " : " + nameCount + " names in " + elapsedMs + "ms, "
+                + (nameCount * 1000L / elapsedMs) + " names/s, " + (allocated / nameCount) + " bytes/call (checksum " + checksum + ")");
+    }
+
+    private interface Run {
+        long run();
+    }
+}
@@ -0,0 +1,90 @@
+package tests;
+
+import com.gameroom.data.game.NameNormalizer;
+import com.gameroom.data.io.FileUtils;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link NameNormalizer} cleans names as the chained replacements it replaced did, on the names stored in
+ * tests/fixtures/matching/clean_names.tsv
+ */
+public class NameNormalizerTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(NameNormalizerTest.class);
+    }
+
+    @Test
+    public final void testDefaultRules() throws IOException {
+        NameNormalizer normalizer = NameNormalizer.defaultBuilder().build();
+        int cases = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                NameNormalizerTest.class.getResourceAsStream("/tests/fixtures/matching/clean_names.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                assertEquals("cleaned \"" + columns[0] + "\"", columns[1], normalizer.clean(columns[0]));
+                assertEquals("formatted \"" + columns[0] + "\"", columns[2], normalizer.formatForComparison(columns[0]));
+                cases++;
+            }
+        }
+        assertTrue(cases > 20);
+    }
+
+    @Test
+    public final void testSameResultsAsLegacyChains() {
+        NameNormalizer normalizer = NameNormalizer.defaultBuilder().build();
+        for (String name : NameNormalizerBenchmark.generateNames(10000)) {
+            assertEquals("cleaned \"" + name + "\"", NameNormalizerBenchmark.legacyCleanName(name), normalizer.clean(name));
+            assertEquals("formatted \"" + name + "\"", NameNormalizerBenchmark.legacyFormatNameForComparison(name),
+                    normalizer.formatForComparison(name));
+        }
+    }
+
+    @Test
+    public final void testCleanNameIsNotCopied() {
+        String name = "Hollow Knight";
+        assertSame(name, NameNormalizer.defaultBuilder().build().clean(name));
+    }
+
+    @Test
+    public final void testSegmentsAreRemovedUpToTheLastClosingChar() {
+        NameNormalizer normalizer = NameNormalizer.defaultBuilder().build();
+        assertEquals("Game", normalizer.clean("Game (Deluxe) Edition (GOG)"));
+        assertEquals("Game  Edition (GOG", normalizer.clean("Game (Deluxe) Edition (GOG"));
+    }
+
+    @Test
+    public final void testUserRules() throws IOException {
+        NameNormalizer normalizer = NameNormalizer.defaultBuilder()
+                .addRules(new StringReader("# comment\nremove= - Game of the Year Edition\nsegment=<>\ndrop=\u00B0\ninvalid\n"))
+                .build();
+        assertEquals("Fallout 3", normalizer.clean("Fallout 3 - Game of the Year Edition"));
+        assertEquals("Hitman", normalizer.clean("Hitman <beta>"));
+        assertEquals("fahrenheit", normalizer.formatForComparison("Fahrenheit\u00B0"));
+    }
+
+    @Test
+    public final void testNameNoExtension() {
+        String[] extensions = {"*.exe", "*.lnk"};
+        assertEquals("Portal 2", FileUtils.getNameNoExtension("Portal 2.exe", extensions));
+        assertEquals("Portal 2", FileUtils.getNameNoExtension("Portal 2.EXE.lnk", extensions));
+        assertEquals("Portal 2.zip", FileUtils.getNameNoExtension("Portal 2.zip", extensions));
+        assertEquals("exe", FileUtils.getNameNoExtension("exe", extensions));
+    }
+}
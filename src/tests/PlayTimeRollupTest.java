@@ -0,0 +1,132 @@
+package tests;
+
+import com.gameroom.data.io.DataBase;
+import com.gameroom.system.application.PlayTimeRollup;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how {@link PlayTimeRollup} splits sessions over days, and its statistics against a temporary database
+ */
+public class PlayTimeRollupTest {
+    private final static ZoneId UTC = ZoneOffset.UTC;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Main.LOGGER = LogManager.getLogger(PlayTimeRollupTest.class);
+        File dbFile = File.createTempFile("library", ".db");
+        dbFile.deleteOnExit();
+        Main.FILES_MAP.put("db", dbFile);
+        DataBase.initDB();
+    }
+
+    private static long date(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static int addGame(String name, int platformId) throws SQLException {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("INSERT INTO GameEntry(name,initial_playtime) VALUES (?,0)")) {
+            statement.setString(1, name);
+            statement.execute();
+        }
+        int id = DataBase.getLastId();
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("INSERT INTO runs_on(platformGameId,platform_id,game_id) VALUES (-1,?,?)")) {
+            statement.setInt(1, platformId);
+            statement.setInt(2, id);
+            statement.execute();
+        }
+        return id;
+    }
+
+    @Test
+    public final void testSessionWithinADay() {
+        Map<LocalDate, Long> days = PlayTimeRollup.splitByDay(date(2026, 10, 19, 20, 0), date(2026, 10, 19, 22, 0), 7000, UTC);
+        assertEquals(1, days.size());
+        assertEquals(7000, (long) days.get(LocalDate.of(2026, 10, 19)));
+
+        assertTrue(PlayTimeRollup.splitByDay(date(2026, 10, 19, 20, 0), date(2026, 10, 19, 22, 0), 0, UTC).isEmpty());
+        //the end is not known
+        days = PlayTimeRollup.splitByDay(date(2026, 10, 19, 20, 0), date(2026, 10, 19, 20, 0), 60, UTC);
+        assertEquals(60, (long) days.get(LocalDate.of(2026, 10, 19)));
+    }
+
+    @Test
+    public final void testSessionOverMidnight() {
+        //2 hours before midnight, 1 hour after
+        Map<LocalDate, Long> days = PlayTimeRollup.splitByDay(date(2026, 10, 19, 22, 0), date(2026, 10, 20, 1, 0), 9000, UTC);
+        assertEquals(Arrays.asList(LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 20)), new ArrayList<>(days.keySet()));
+        assertEquals(6000, (long) days.get(LocalDate.of(2026, 10, 19)));
+        assertEquals(3000, (long) days.get(LocalDate.of(2026, 10, 20)));
+
+        //a whole day and two parts of days, the total is kept despite rounding
+        days = PlayTimeRollup.splitByDay(date(2026, 10, 19, 12, 0), date(2026, 10, 21, 12, 0), 1001, UTC);
+        assertEquals(3, days.size());
+        assertEquals(250, (long) days.get(LocalDate.of(2026, 10, 19)));
+        assertEquals(500, (long) days.get(LocalDate.of(2026, 10, 20)));
+        assertEquals(1001, days.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public final void testDaysStartInTheGivenZone() {
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        //20:00 to 22:00 UTC is 05:00 to 07:00 the next day in Tokyo
+        Map<LocalDate, Long> days = PlayTimeRollup.splitByDay(date(2026, 10, 19, 20, 0), date(2026, 10, 19, 22, 0), 7200, tokyo);
+        assertEquals(1, days.size());
+        assertEquals(7200, (long) days.get(LocalDate.of(2026, 10, 20)));
+    }
+
+    @Test
+    public final void testStatistics() throws SQLException {
+        PlayTimeRollup rollup = new PlayTimeRollup(UTC);
+        int pcGame = addGame("Rollup PC", 1);
+        int otherPcGame = addGame("Rollup PC 2", 1);
+        int wiiGame = addGame("Rollup Wii", 8);
+        LocalDate monday = LocalDate.of(2026, 10, 19);
+        LocalDate sunday = LocalDate.of(2026, 10, 25);
+
+        rollup.add(pcGame, date(2026, 10, 19, 20, 0), date(2026, 10, 19, 21, 0), 3600);
+        rollup.add(pcGame, date(2026, 10, 20, 23, 0), date(2026, 10, 21, 1, 0), 7200);
+        rollup.add(otherPcGame, date(2026, 10, 21, 10, 0), date(2026, 10, 21, 10, 30), 1800);
+        rollup.add(wiiGame, date(2026, 10, 25, 10, 0), date(2026, 10, 25, 12, 0), 7200);
+        rollup.add(wiiGame, date(2026, 11, 2, 10, 0), date(2026, 11, 2, 11, 0), 3600);
+
+        assertEquals(19800, rollup.getPlayTime(monday, sunday));
+        assertEquals(10800, rollup.getPlayTime(pcGame, monday, sunday));
+        assertEquals(3600, rollup.getPlayTime(monday, monday));
+        assertEquals(0, rollup.getPlayTime(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 18)));
+
+        Map<Integer, Long> games = rollup.getPlayTimeByGame(monday, sunday);
+        assertEquals(Arrays.asList(pcGame, wiiGame, otherPcGame), new ArrayList<>(games.keySet()));
+        assertEquals(7200, (long) games.get(wiiGame));
+
+        Map<Integer, Long> platforms = rollup.getPlayTimeByPlatform(monday, sunday);
+        assertEquals(12600, (long) platforms.get(1));
+        assertEquals(7200, (long) platforms.get(8));
+
+        Map<LocalDate, Long> days = rollup.getPlayTimeByDay(monday, sunday);
+        assertEquals(4, days.size());
+        assertEquals(3600, (long) days.get(LocalDate.of(2026, 10, 20)));
+        assertEquals(5400, (long) days.get(LocalDate.of(2026, 10, 21)));
+
+        Map<YearMonth, Long> months = rollup.getPlayTimeByMonth(YearMonth.of(2026, 10), YearMonth.of(2026, 11));
+        assertEquals(19800, (long) months.get(YearMonth.of(2026, 10)));
+        assertEquals(3600, (long) months.get(YearMonth.of(2026, 11)));
+    }
+}
@@ -0,0 +1,132 @@
+package tests;
+
+import com.gameroom.system.application.ProcessWatcher;
+import com.gameroom.system.os.ProcProcessTable;
+import com.gameroom.system.os.ProcessInfo;
+import com.gameroom.system.os.ProcessSampler;
+import com.gameroom.system.os.ProcessTable;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives {@link ProcessSampler} and the {@link ProcessWatcher} of monitored games with a fake process table
+ */
+public class ProcessSamplerTest {
+    private final static long TICK = 1000;
+    private final static long MAX_GAP = 15000;
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(ProcessSamplerTest.class);
+    }
+
+    private static class FakeProcessTable implements ProcessTable {
+        private final List<ProcessInfo> processes = new ArrayList<>();
+        private int calls = 0;
+
+        @Override
+        public List<ProcessInfo> list() {
+            calls++;
+            return new ArrayList<>(processes);
+        }
+    }
+
+    @Test
+    public final void testLookupByImageName() {
+        FakeProcessTable table = new FakeProcessTable();
+        table.processes.add(new ProcessInfo(12, "Game.exe", 2000));
+        table.processes.add(new ProcessInfo(13, "game.EXE", 1000));
+        table.processes.add(new ProcessInfo(14, "Other.exe", ProcessInfo.UNKNOWN_CREATION_TIME));
+        ProcessSampler sampler = new ProcessSampler(table);
+
+        assertEquals(13, sampler.find("GAME.exe").getPid());
+        assertEquals(1000, sampler.find("Game.exe").getCreationTime());
+        assertTrue(sampler.isRunning("other.exe"));
+        assertFalse(sampler.isRunning("Launcher.exe"));
+        assertNull(sampler.find(null));
+        //all the lookups share the same snapshot
+        assertEquals(1, table.calls);
+        assertEquals(1, sampler.getSampleCount());
+    }
+
+    @Test
+    public final void testPlaytimeOfAGame() {
+        FakeProcessTable table = new FakeProcessTable();
+        ProcessSampler sampler = new ProcessSampler(table);
+        ProcessWatcher watcher = new ProcessWatcher(sampler, "Game.exe", TICK, MAX_GAP);
+        sampler.sample();
+        assertEquals(-1, watcher.findCreationTime());
+
+        table.processes.add(new ProcessInfo(12, "Game.exe", 5000));
+        sampler.sample();
+        assertEquals(5000, watcher.findCreationTime());
+        for (int i = 0; i < 10; i++) {
+            sampler.sample();
+            assertTrue(watcher.tick());
+        }
+
+        //a short gap, e.g. while the game restarts, does not stop the monitoring
+        table.processes.clear();
+        for (int i = 0; i < 5; i++) {
+            sampler.sample();
+            assertFalse(watcher.tick());
+        }
+        assertFalse(watcher.isKilled());
+        table.processes.add(new ProcessInfo(20, "Game.exe", 20000));
+        sampler.sample();
+        assertTrue(watcher.tick());
+
+        //the gap time is counted over the whole session, as it is subtracted from the running time
+        table.processes.clear();
+        for (int i = 5; i < MAX_GAP / TICK; i++) {
+            sampler.sample();
+            watcher.tick();
+        }
+        assertFalse(watcher.isKilled());
+        sampler.sample();
+        watcher.tick();
+        assertTrue(watcher.isKilled());
+
+        assertEquals(11 * TICK, watcher.getRunningTime());
+        assertEquals(MAX_GAP + TICK, watcher.getGapTime());
+    }
+
+    @Test
+    public final void testSteamGamesAreTickedFromTheirState() {
+        ProcessWatcher watcher = new ProcessWatcher(new ProcessSampler(new FakeProcessTable()), null, TICK, MAX_GAP);
+        assertTrue(watcher.tick(true));
+        assertFalse(watcher.tick(false));
+        assertEquals(TICK, watcher.getRunningTime());
+        assertEquals(TICK, watcher.getGapTime());
+    }
+
+    @Test
+    public final void testProcFileSystem() throws IOException {
+        File proc = new File("/proc");
+        if (!new File(proc, "stat").exists()) {
+            //not on Linux
+            return;
+        }
+        long pid = Long.parseLong(ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
+        long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        for (ProcessInfo process : new ProcProcessTable(proc).list()) {
+            if (process.getPid() == pid) {
+                assertTrue(process.getImageName().startsWith("java"));
+                //the start time is given in clock ticks, rounded to the second for the boot time
+                assertTrue(Math.abs(process.getCreationTime() - startTime) < 5000);
+                return;
+            }
+        }
+        fail("The current process was not found");
+    }
+}
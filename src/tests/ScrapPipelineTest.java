@@ -0,0 +1,237 @@
+package tests;
+
+import com.gameroom.data.game.scraper.IGDBLookupBatcher;
+import com.gameroom.data.game.scraper.ScrapPipeline;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the flow of items through a {@link ScrapPipeline}, with stages standing for the ones of a scrap
+ */
+public class ScrapPipelineTest {
+
+    @BeforeClass
+    public static void setUp() {
+        Main.LOGGER = LogManager.getLogger(ScrapPipelineTest.class);
+    }
+
+    private static List<Integer> items(int count) {
+        ArrayList<Integer> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    @Test
+    public final void testItemsGoThroughStagesOrAreDropped() throws Exception {
+        Set<Integer> lastStageItems = ConcurrentHashMap.newKeySet();
+        Map<Integer, Exception> doneItems = new ConcurrentHashMap<>();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("match", 2, 4, item -> item % 2 == 0))
+                .addStage(new ScrapPipeline.Stage<>("cover", 2, 4, item -> {
+                    lastStageItems.add(item);
+                    return true;
+                }))
+                .setOnItemDone((item, error) -> doneItems.put(item, error != null ? error : new Exception("none")));
+        pipeline.start(items(20)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(20, doneItems.size());
+        assertEquals(10, lastStageItems.size());
+        for (Integer item : lastStageItems) {
+            assertEquals(0, item % 2);
+        }
+        assertEquals(20, pipeline.getProgress().getDone());
+        assertEquals(20, pipeline.getProgress().getStages().get(0).getProcessed());
+    }
+
+    @Test
+    public final void testStagesRunAtMostTheirWorkers() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("search", 3, 2, item -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return true;
+                }));
+        pipeline.start(items(15)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, maxRunning.get());
+    }
+
+    @Test
+    public final void testOnlyRetryableErrorsAreRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        Map<Integer, Exception> errors = new ConcurrentHashMap<>();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<Integer>("search", 1, 4, item -> {
+                    if (item == 0) {
+                        //transient error, fixed by the first retry
+                        if (attempts.incrementAndGet() < 2) {
+                            throw new IOException("timeout");
+                        }
+                        return true;
+                    }
+                    throw new IllegalArgumentException("bad data");
+                }).retryOn(IOException.class, 2))
+                .setOnItemDone((item, error) -> {
+                    if (error != null) {
+                        errors.put(item, error);
+                    }
+                });
+        pipeline.start(items(2)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, attempts.get());
+        assertEquals(Collections.singleton(1), errors.keySet());
+        assertTrue(errors.get(1) instanceof IllegalArgumentException);
+        ScrapPipeline.StageProgress search = pipeline.getProgress().getStages().get(0);
+        assertEquals(1, search.getRetried());
+        assertEquals(1, search.getFailed());
+        assertEquals(1, search.getProcessed());
+    }
+
+    @Test
+    public final void testCancelReleasesAllItems() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Map<Integer, Exception> errors = new ConcurrentHashMap<>();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("search", 1, 2, item -> {
+                    started.countDown();
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    return true;
+                }))
+                .setOnItemDone((item, error) -> errors.put(item, error));
+        CompletableFuture<Void> completion = pipeline.start(items(10));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        pipeline.cancel();
+        completion.get(1, TimeUnit.SECONDS);
+        assertEquals(10, errors.size());
+        for (Exception error : errors.values()) {
+            assertTrue(error instanceof CancellationException);
+        }
+        assertTrue(pipeline.getProgress().isCancelled());
+    }
+
+    /**
+     * @return a fetcher answering with an object for every id
+     */
+    private static IGDBLookupBatcher.Fetcher fetcher() {
+        return ids -> {
+            JSONArray array = new JSONArray();
+            for (Integer id : ids) {
+                array.put(new JSONObject().put("id", id));
+            }
+            return array;
+        };
+    }
+
+    @Test
+    public final void testLookupsAreBatchedAcrossItems() throws Exception {
+        int itemCount = 16;
+        //every item is a participant, as in a scrap session, and leaves once enriched or dropped
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(itemCount, fetcher(), fetcher());
+        Set<Integer> leftItems = ConcurrentHashMap.newKeySet();
+        Set<Integer> enrichedItems = ConcurrentHashMap.newKeySet();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("match", 1, 4, item -> item % 2 == 0))
+                .addStage(new ScrapPipeline.Stage<>("enrich", 8, 4, item -> {
+                    try {
+                        IGDBLookupBatcher.Lookup lookup = batcher.lookup(Arrays.asList(item % 3, 100),
+                                Collections.singletonList(item % 5));
+                        assertEquals(2, lookup.getCompaniesData().length());
+                        assertEquals(1, lookup.getSeriesData().length());
+                        enrichedItems.add(item);
+                    } finally {
+                        if (leftItems.add(item)) {
+                            batcher.leave();
+                        }
+                    }
+                    return true;
+                }))
+                .setOnItemDone((item, error) -> {
+                    if (leftItems.add(item)) {
+                        batcher.leave();
+                    }
+                });
+        //dropped items leave the batcher, so the others do not wait for them until the batch times out
+        pipeline.start(items(itemCount)).get(IGDBLookupBatcher.MAX_WAIT / 2, TimeUnit.MILLISECONDS);
+
+        assertEquals(itemCount / 2, enrichedItems.size());
+        assertEquals(itemCount, leftItems.size());
+        //one request for the companies and one for the series of all the items
+        assertEquals(2, batcher.getRequestCount());
+    }
+
+    @Test
+    public final void testLookupsDoNotWaitForItemsBeingSearched() throws Exception {
+        int itemCount = 40;
+        int enrichWorkers = 8;
+        IGDBLookupBatcher batcher = new IGDBLookupBatcher(itemCount, fetcher(), fetcher()).setWorkers(enrichWorkers);
+        Set<Integer> leftItems = ConcurrentHashMap.newKeySet();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("search", 2, 4, item -> {
+                    Thread.sleep(10);
+                    return true;
+                }))
+                .addStage(new ScrapPipeline.Stage<>("enrich", enrichWorkers, 4, item -> {
+                    try {
+                        assertEquals(1, batcher.lookup(Collections.singletonList(item), Collections.emptyList())
+                                .getCompaniesData().length());
+                    } finally {
+                        if (leftItems.add(item)) {
+                            batcher.leave();
+                        }
+                    }
+                    return true;
+                }))
+                .setOnItemDone((item, error) -> {
+                    if (leftItems.add(item)) {
+                        batcher.leave();
+                    }
+                });
+        //most items are still being searched while the first ones are enriched, batches are sent once all the
+        //enrich workers wait rather than after MAX_WAIT
+        pipeline.start(items(itemCount)).get(IGDBLookupBatcher.MAX_WAIT, TimeUnit.MILLISECONDS);
+
+        assertEquals(itemCount, leftItems.size());
+        assertTrue(batcher.getRequestCount() <= itemCount / enrichWorkers + 1);
+    }
+
+    @Test
+    public final void testProgressIsReported() throws Exception {
+        List<ScrapPipeline.Progress> reports = new CopyOnWriteArrayList<>();
+
+        ScrapPipeline<Integer> pipeline = new ScrapPipeline<Integer>("test")
+                .addStage(new ScrapPipeline.Stage<>("search", 1, 2, item -> {
+                    Thread.sleep(10);
+                    return true;
+                }))
+                .setOnProgress(reports::add, 20);
+        pipeline.start(items(10)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(reports.size() > 1);
+        ScrapPipeline.Progress last = reports.get(reports.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(10, last.getStages().get(0).getProcessed());
+    }
+}
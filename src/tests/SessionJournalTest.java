@@ -0,0 +1,129 @@
+package tests;
+
+import com.gameroom.data.io.DataBase;
+import com.gameroom.system.application.SessionJournal;
+import com.gameroom.ui.Main;
+import org.apache.logging.log4j.LogManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link SessionJournal} against a temporary database
+ */
+public class SessionJournalTest {
+    private final static long HEARTBEAT_PERIOD = 30000;
+    private final static long START = 1500000000000L;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Main.LOGGER = LogManager.getLogger(SessionJournalTest.class);
+        File dbFile = File.createTempFile("library", ".db");
+        dbFile.deleteOnExit();
+        Main.FILES_MAP.put("db", dbFile);
+        DataBase.initDB();
+    }
+
+    private static int addGame(String name, long playTime) throws SQLException {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("INSERT INTO GameEntry(name,initial_playtime) VALUES (?,?)")) {
+            statement.setString(1, name);
+            statement.setLong(2, playTime);
+            statement.execute();
+        }
+        return DataBase.getLastId();
+    }
+
+    private static void setPlayTime(int gameId, long playTime) throws SQLException {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("UPDATE GameEntry SET initial_playtime = ? WHERE id = ?")) {
+            statement.setLong(1, playTime);
+            statement.setInt(2, gameId);
+            statement.execute();
+        }
+    }
+
+    private static long getPlayTime(int gameId) throws SQLException {
+        try (PreparedStatement statement = DataBase.getUserConnection().prepareStatement("SELECT initial_playtime FROM GameEntry WHERE id = ?")) {
+            statement.setInt(1, gameId);
+            try (ResultSet set = statement.executeQuery()) {
+                return set.getLong(1);
+            }
+        }
+    }
+
+    @Test
+    public final void testHeartbeatsAreCoalesced() throws SQLException {
+        SessionJournal journal = new SessionJournal(HEARTBEAT_PERIOD);
+        int gameId = addGame("Coalesced", 0);
+        SessionJournal.Session session = journal.open(gameId, START, 0);
+
+        int writes = 0;
+        for (long tick = 1; tick <= 90; tick++) {
+            if (journal.heartbeat(session, START + tick * 1000, tick * 1000)) {
+                writes++;
+            }
+        }
+        assertEquals(3, writes);
+
+        List<SessionJournal.Session> sessions = journal.getSessions(gameId);
+        assertEquals(1, sessions.size());
+        assertEquals(START, sessions.get(0).getStartDate());
+        assertEquals(START + 90000, sessions.get(0).getHeartbeatDate());
+        assertEquals(90000, sessions.get(0).getPlayTime());
+        assertEquals(SessionJournal.Session.NOT_ENDED, sessions.get(0).getEndDate());
+
+        journal.close(session, START + 95000, 95000);
+        sessions = journal.getSessions(gameId);
+        assertEquals(START + 95000, sessions.get(0).getEndDate());
+        assertEquals(95000, sessions.get(0).getPlayTime());
+    }
+
+    @Test
+    public final void testInterruptedSessionsAreRecovered() throws SQLException {
+        SessionJournal journal = new SessionJournal(HEARTBEAT_PERIOD);
+        int gameId = addGame("Recovered", 100);
+        int otherGameId = addGame("Closed", 100);
+
+        SessionJournal.Session interrupted = journal.open(gameId, START, 100);
+        journal.heartbeat(interrupted, START + 60000, 60000);
+        //not written yet, lost with the crash
+        journal.heartbeat(interrupted, START + 70000, 70000);
+        SessionJournal.Session closed = journal.open(otherGameId, START, 100);
+        journal.close(closed, START + 60000, 60000);
+
+        List<SessionJournal.Session> recovered = journal.recover();
+        assertEquals(1, recovered.size());
+        assertEquals(gameId, recovered.get(0).getGameId());
+        assertEquals(160, getPlayTime(gameId));
+        assertEquals(100, getPlayTime(otherGameId));
+
+        SessionJournal.Session session = journal.getSessions(gameId).get(0);
+        assertEquals(START + 60000, session.getEndDate());
+        assertEquals(60000, session.getPlayTime());
+
+        //recovering twice does not count the session again
+        assertTrue(journal.recover().isEmpty());
+        assertEquals(160, getPlayTime(gameId));
+    }
+
+    @Test
+    public final void testPlayTimeSavedDuringSessionIsNotCountedTwice() throws SQLException {
+        SessionJournal journal = new SessionJournal(HEARTBEAT_PERIOD);
+        int gameId = addGame("Edited", 100);
+
+        SessionJournal.Session interrupted = journal.open(gameId, START, 100);
+        journal.heartbeat(interrupted, START + 60000, 60000);
+        //the game is edited while it runs, which saves the running total
+        setPlayTime(gameId, 160);
+
+        journal.recover();
+        assertEquals(160, getPlayTime(gameId));
+    }
+}
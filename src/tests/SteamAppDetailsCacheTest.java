@@ -0,0 +1,118 @@
+package tests;
+
+import com.gameroom.data.game.scraper.SteamAppDetails;
+import com.gameroom.data.game.scraper.SteamAppDetailsCache;
+import com.gameroom.data.io.DataBase;
+import com.gameroom.ui.Main;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link SteamAppDetailsCache} against a local stub of the store's appdetails endpoint, with a temporary database
+ */
+public class SteamAppDetailsCacheTest {
+    private final static String ETAG = "\"v1\"";
+
+    private static HttpServer server;
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+    private static final AtomicInteger CONDITIONAL_REQUESTS = new AtomicInteger();
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Main.LOGGER = LogManager.getLogger(SteamAppDetailsCacheTest.class);
+        File dbFile = File.createTempFile("library", ".db");
+        dbFile.deleteOnExit();
+        Main.FILES_MAP.put("db", dbFile);
+        DataBase.initDB();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/appdetails", exchange -> {
+            REQUESTS.incrementAndGet();
+            String appId = exchange.getRequestURI().getQuery().replace("appids=", "");
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                CONDITIONAL_REQUESTS.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            String body = appId.equals("404")
+                    ? "{\"404\":{\"success\":false}}"
+                    : "{\"" + appId + "\":{\"success\":true,\"data\":{\"type\":\"game\",\"name\":\"Game " + appId + "\","
+                    + "\"about_the_game\":\"<b>Great</b> game\",\"release_date\":{\"date\":\"10 Oct, 2007\"}}}}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    private static String apiUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/appdetails";
+    }
+
+    @Test
+    public final void testOnlyMissingAppsAreFetched() throws Exception {
+        SteamAppDetailsCache cache = new SteamAppDetailsCache(apiUrl());
+        int before = REQUESTS.get();
+
+        Map<Integer, SteamAppDetails> details = cache.getAll(Arrays.asList(10, 20, 404, 10));
+        assertEquals(3, REQUESTS.get() - before);
+        assertEquals(3, details.size());
+        assertEquals("Game 10", details.get(10).getName());
+        assertEquals("Great game", details.get(10).getDescription());
+        assertEquals("10 Oct, 2007", details.get(20).getReleaseDate());
+        assertEquals(ETAG, details.get(20).getEtag());
+        assertTrue(details.get(20).isGame());
+        assertFalse(details.get(404).isFound());
+
+        cache.getAll(Arrays.asList(10, 20, 404, 30));
+        assertEquals(4, REQUESTS.get() - before);
+        assertEquals("Game 30", cache.get(30).getName());
+        assertEquals(4, REQUESTS.get() - before);
+    }
+
+    @Test
+    public final void testCacheIsPersisted() throws Exception {
+        new SteamAppDetailsCache(apiUrl()).get(50);
+        int before = REQUESTS.get();
+
+        SteamAppDetails details = new SteamAppDetailsCache(apiUrl()).get(50);
+        assertEquals(0, REQUESTS.get() - before);
+        assertEquals("Game 50", details.getName());
+    }
+
+    @Test
+    public final void testExpiredAppsAreRevalidated() throws Exception {
+        SteamAppDetailsCache cache = new SteamAppDetailsCache(apiUrl(), 0, 0);
+        SteamAppDetails first = cache.get(60);
+        int before = CONDITIONAL_REQUESTS.get();
+        Thread.sleep(5);
+
+        SteamAppDetails second = cache.get(60);
+        assertEquals(1, CONDITIONAL_REQUESTS.get() - before);
+        assertEquals("Game 60", second.getName());
+        assertTrue(second.getFetchDate() > first.getFetchDate());
+    }
+}
@@ -0,0 +1,66 @@
+package tests;
+
+import com.gameroom.data.game.scraper.SteamAppState;
+import com.gameroom.data.game.scraper.SteamAppStateService;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link SteamAppStateService} reads the states of apps from the values of the subkeys of Steam's Apps key,
+ * as they are read from the registry
+ */
+public class SteamAppStateServiceTest {
+
+    private static Map<String, Object> values(Object... namesAndValues) {
+        HashMap<String, Object> values = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    @Test
+    public final void testParseRegistryApps() {
+        HashMap<String, Map<String, Object>> apps = new HashMap<>();
+        apps.put("440", values("Installed", 1, "Running", 1, "Updating", 0, "Name", "Team Fortress 2"));
+        apps.put("570", values("Installed", 1, "Running", 0, "Launching", 1));
+        apps.put("292030", values("Updating", 0x10));
+        apps.put("7", values());
+
+        Map<Integer, SteamAppState> states = SteamAppStateService.parseRegistryApps(apps);
+        assertEquals(4, states.size());
+
+        SteamAppState running = states.get(440);
+        assertEquals(440, running.getAppId());
+        assertTrue(running.isInstalled());
+        assertTrue(running.isRunning());
+        assertFalse(running.isLaunching());
+        assertFalse(running.isUpdating());
+
+        SteamAppState launching = states.get(570);
+        assertTrue(launching.isInstalled());
+        assertFalse(launching.isRunning());
+        assertTrue(launching.isLaunching());
+
+        assertTrue(states.get(292030).isUpdating());
+        assertFalse(states.get(292030).isInstalled());
+        assertFalse(states.get(7).isInstalled());
+    }
+
+    @Test
+    public final void testInvalidKeysAndValuesAreIgnored() {
+        HashMap<String, Map<String, Object>> apps = new HashMap<>();
+        apps.put("Settings", values("Installed", 1));
+        apps.put("730", values("Installed", "1", "Running", new byte[]{1}));
+
+        Map<Integer, SteamAppState> states = SteamAppStateService.parseRegistryApps(apps);
+        assertEquals(1, states.size());
+        assertFalse(states.get(730).isInstalled());
+        assertFalse(states.get(730).isRunning());
+        assertTrue(SteamAppStateService.parseRegistryApps(new HashMap<>()).isEmpty());
+    }
+}
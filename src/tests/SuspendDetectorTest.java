@@ -0,0 +1,118 @@
+package tests;
+
+import com.gameroom.system.os.StandbyInterval;
+import com.gameroom.system.os.SuspendDetector;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives {@link SuspendDetector} with a clock whose wall and awake times are set by the test
+ */
+public class SuspendDetectorTest {
+    private final static long MIN_STANDBY = 5000;
+    private final static long START = 1500000000000L;
+
+    private static class TestClock implements SuspendDetector.Clock {
+        private long wallTime = START;
+        private long awakeTime = 0;
+
+        @Override
+        public long wallTime() {
+            return wallTime;
+        }
+
+        @Override
+        public long awakeTime() {
+            return awakeTime;
+        }
+
+        void awake(long time) {
+            wallTime += time;
+            awakeTime += time;
+        }
+
+        void sleep(long time) {
+            wallTime += time;
+        }
+    }
+
+    @Test
+    public final void testStandbyFoundFromClocks() {
+        TestClock clock = new TestClock();
+        SuspendDetector detector = new SuspendDetector(clock, MIN_STANDBY);
+        for (int i = 0; i < 10; i++) {
+            clock.awake(1000);
+            assertTrue(detector.check().isEmpty());
+        }
+
+        clock.awake(300);
+        clock.sleep(3600000);
+        clock.awake(700);
+        List<StandbyInterval> intervals = detector.check();
+        assertEquals(1, intervals.size());
+        assertEquals(3600000, intervals.get(0).getStandbyTime());
+        assertEquals(clock.wallTime(), intervals.get(0).getEndDate().getTime());
+
+        clock.awake(1000);
+        assertTrue(detector.check().isEmpty());
+        clock.sleep(60000);
+        clock.awake(1000);
+        assertEquals(1, detector.check().size());
+
+        assertEquals(2, detector.getIntervals().size());
+        assertEquals(3660000, detector.getStandbyTime());
+    }
+
+    @Test
+    public final void testLateChecksAreNotStandbys() {
+        TestClock clock = new TestClock();
+        SuspendDetector detector = new SuspendDetector(clock, MIN_STANDBY);
+        //e.g. the JVM was busy or the tick was delayed, both clocks advanced
+        clock.awake(30000);
+        assertTrue(detector.check().isEmpty());
+        //small adjustments of the wall clock
+        clock.sleep(MIN_STANDBY - 1);
+        clock.awake(1000);
+        assertTrue(detector.check().isEmpty());
+        clock.wallTime -= 60000;
+        clock.awake(1000);
+        assertTrue(detector.check().isEmpty());
+        assertEquals(0, detector.getStandbyTime());
+    }
+
+    @Test
+    public final void testNotifiedStandbyIsCountedOnce() {
+        TestClock clock = new TestClock();
+        SuspendDetector detector = new SuspendDetector(clock, MIN_STANDBY);
+        clock.awake(1000);
+        detector.onSuspend();
+        long suspendDate = clock.wallTime();
+        clock.sleep(120000);
+        detector.onResume();
+        clock.awake(500);
+
+        List<StandbyInterval> intervals = detector.check();
+        assertEquals(1, intervals.size());
+        assertEquals(suspendDate, intervals.get(0).getStartDate().getTime());
+        assertEquals(120000, intervals.get(0).getStandbyTime());
+        assertEquals(120000, detector.getStandbyTime());
+
+        //the check comes before the resume is notified
+        detector.onSuspend();
+        clock.sleep(60000);
+        clock.awake(500);
+        assertEquals(1, detector.check().size());
+        detector.onResume();
+        clock.awake(1000);
+        assertTrue(detector.check().isEmpty());
+        assertEquals(180000, detector.getStandbyTime());
+
+        //a resume without suspend is ignored
+        detector.onResume();
+        assertTrue(detector.check().isEmpty());
+        assertEquals(2, detector.getIntervals().size());
+    }
+}
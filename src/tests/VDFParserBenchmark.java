@@ -0,0 +1,58 @@
+package tests;
+
+import com.gameroom.data.game.scraper.SteamAppManifest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+
+/**
+ * Measures the throughput of {@link SteamAppManifest#read(File)} over a steamapps folder filled with generated
+ * manifests. Run with the number of manifests to generate as first argument (defaults to 5000).
+ */
+public class VDFParserBenchmark {
+    private final static int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int manifestCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        File folder = Files.createTempDirectory("steamapps").toFile();
+        long totalBytes = 0;
+        for (int i = 0; i < manifestCount; i++) {
+            File manifest = new File(folder, SteamAppManifest.FILE_PREFIX + i + SteamAppManifest.FILE_SUFFIX);
+            try (PrintWriter writer = new PrintWriter(manifest, "UTF-8")) {
+                writer.println("\"AppState\"\n{");
+                writer.println("\t\"appid\"\t\t\"" + i + "\"");
+                writer.println("\t\"Universe\"\t\t\"1\"");
+                writer.println("\t\"name\"\t\t\"Generated game " + i + "\"");
+                writer.println("\t\"StateFlags\"\t\t\"4\"");
+                writer.println("\t\"installdir\"\t\t\"Generated game " + i + "\"");
+                writer.println("\t\"SizeOnDisk\"\t\t\"" + (i * 1024L * 1024L) + "\"");
+                writer.println("\t\"InstalledDepots\"\n\t{");
+                for (int d = 0; d < 20; d++) {
+                    writer.println("\t\t\"" + (i + d) + "\"\n\t\t{\n\t\t\t\"manifest\"\t\t\"" + (d * 31L) + "\"\n\t\t}");
+                }
+                writer.println("\t}\n}");
+            }
+            totalBytes += manifest.length();
+        }
+
+        File[] files = folder.listFiles();
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long sizeSum = 0;
+            for (File file : files) {
+                sizeSum += SteamAppManifest.read(file).getSizeOnDisk();
+            }
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+            System.out.println("Round " + round + " : " + files.length + " manifests in " + elapsedMs + "ms, "
+                    + (files.length * 1000L / elapsedMs) + " manifests/s, "
+                    + (totalBytes / 1024 * 1000 / elapsedMs) + " KB/s (checksum " + sizeSum + ")");
+        }
+
+        for (File file : files) {
+            file.delete();
+        }
+        folder.delete();
+    }
+}
@@ -0,0 +1,102 @@
+package tests;
+
+import com.gameroom.data.game.scraper.SteamAppManifest;
+import com.gameroom.data.game.scraper.VDFNode;
+import com.gameroom.data.game.scraper.VDFParser;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link VDFParser} and {@link SteamAppManifest} against Steam files stored in tests/fixtures/steam
+ */
+public class VDFParserTest {
+
+    private static Reader fixture(String name) {
+        InputStream stream = VDFParserTest.class.getResourceAsStream("/tests/fixtures/steam/" + name);
+        assertNotNull("Missing fixture " + name, stream);
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public final void testReadManifest() throws IOException {
+        SteamAppManifest manifest = SteamAppManifest.read(fixture("appmanifest_440.acf"));
+        assertEquals(440, manifest.getAppId());
+        assertEquals("Team Fortress 2", manifest.getName());
+        assertEquals("Team Fortress 2", manifest.getInstallDir());
+        assertEquals(15426542392L, manifest.getSizeOnDisk());
+        assertTrue(manifest.isFullyInstalled());
+    }
+
+    @Test
+    public final void testReadManifestSkipsNestedObjects() throws IOException {
+        SteamAppManifest manifest = SteamAppManifest.read(fixture("appmanifest_570.acf"));
+        assertEquals(570, manifest.getAppId());
+        assertEquals("Dota 2", manifest.getName());
+        assertEquals("dota 2 beta", manifest.getInstallDir());
+        assertFalse(manifest.isFullyInstalled());
+    }
+
+    @Test
+    public final void testParseAppIdFromFileName() {
+        assertEquals(440, SteamAppManifest.parseAppId("appmanifest_440.acf"));
+        assertEquals(-1, SteamAppManifest.parseAppId("appmanifest_abc.acf"));
+        assertEquals(-1, SteamAppManifest.parseAppId("libraryfolders.vdf"));
+    }
+
+    @Test
+    public final void testLibraryFolders() throws IOException {
+        VDFNode folders = VDFParser.parseTree(fixture("libraryfolders.vdf")).getNode("libraryfolders");
+        assertNotNull(folders);
+        assertEquals("C:\\Program Files (x86)\\Steam", folders.getNode("0").getString("path"));
+        assertEquals("D:\\SteamLibrary", folders.getNode("1").getString("path"));
+        assertEquals(15426542392L, folders.getNode("1", "apps").getLong("440", -1));
+    }
+
+    @Test
+    public final void testLegacyLibraryFolders() throws IOException {
+        VDFNode folders = VDFParser.parseTree(fixture("libraryfolders_legacy.vdf")).getNode("libraryfolders");
+        assertNotNull(folders);
+        assertEquals("D:\\SteamLibrary", folders.getString("1"));
+        assertEquals("E:\\Games\\Steam", folders.getString("2"));
+        assertTrue(folders.getChildren().isEmpty());
+    }
+
+    @Test
+    public final void testAccountsWithCommentsAndConditionals() throws IOException {
+        VDFNode root = VDFParser.parseTree(fixture("config.vdf"));
+        VDFNode accounts = root.findNode("Accounts");
+        assertNotNull(accounts);
+        assertEquals(2, accounts.getChildren().size());
+        assertEquals("76561198011111111", accounts.getNode("gameroom_user").getString("SteamID"));
+        assertEquals("2017-10-18", root.getNode("InstallConfigStore", "Software", "Valve", "Steam").getString("SurveyDate"));
+    }
+
+    @Test
+    public final void testEventsAndUnquotedTokens() throws IOException {
+        VDFParser parser = new VDFParser(new StringReader("root { key value \"quoted \\\"key\\\"\" \"a\\\\b\" }"));
+        assertEquals(VDFParser.Event.START_OBJECT, parser.next());
+        assertEquals("root", parser.getKey());
+        assertEquals(VDFParser.Event.VALUE, parser.next());
+        assertEquals("key", parser.getKey());
+        assertEquals("value", parser.getValue());
+        assertEquals(VDFParser.Event.VALUE, parser.next());
+        assertEquals("quoted \"key\"", parser.getKey());
+        assertEquals("a\\b", parser.getValue());
+        assertEquals(VDFParser.Event.END_OBJECT, parser.next());
+        assertEquals(VDFParser.Event.END_DOCUMENT, parser.next());
+    }
+
+    @Test(expected = IOException.class)
+    public final void testUnclosedObject() throws IOException {
+        VDFParser.parseTree(new StringReader("\"AppState\" { \"appid\" \"440\""));
+    }
+
+    @Test(expected = IOException.class)
+    public final void testUnterminatedString() throws IOException {
+        VDFParser.parseTree(new StringReader("\"AppState\" { \"appid\" \"440 }"));
+    }
+}